@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.controller;
+
+import com.coyotesong.dojo.youtube.repository.CacheContentReport;
+import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static com.coyotesong.dojo.youtube.controller.Constants.CACHE_CONTENT_REPORT_PATH;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * REST controller that reports the storage format of the YouTube API cache
+ * <p>
+ * Existing entries are compressed by YouTubeApiCacheCompressor when the application starts.
+ * </p>
+ */
+@RestController
+public class CacheContentRestController {
+    private final YouTubeApiCacheRepository repository;
+
+    @Autowired
+    public CacheContentRestController(@NotNull YouTubeApiCacheRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Compare the size and throughput of the storage formats for each response kind.
+     *
+     * @param samples maximum number of entries to sample for each kind
+     * @return report for each kind
+     */
+    @GetMapping(value = CACHE_CONTENT_REPORT_PATH, produces = APPLICATION_JSON_VALUE)
+    public List<CacheContentReport> getContentReport(@RequestParam(defaultValue = "100") int samples) {
+        return repository.getContentReport(Math.min(Math.max(samples, 1), 1000));
+    }
+}
@@ -33,6 +33,10 @@ public interface Constants {
     String PLAYLIST_SEARCH_RESULTS = "mapResults";
     String VIDEO_SEARCH_RESULTS = "mapResults";
 
+    // continuation cursor for the next page of search results
+    String SEARCH_CURSOR = "searchCursor";
+    String SEARCH_CURSOR_PARAM = "cursor";
+
     // search forms
     String CHANNEL_SEARCH_FORM_NAME = "channelSearchForm";
     String PLAYLIST_SEARCH_FORM_NAME = "playlistSearchForm";
@@ -52,6 +56,8 @@ public interface Constants {
     String SELECT_LIST_GET_LANGUAGE_VALUES_PATH = SELECT_LIST_ROOT_PATH + "languageValues";
     String SELECT_LIST_GET_SAFE_SEARCH_VALUES_PATH = SELECT_LIST_ROOT_PATH + "safeSearchValues";
     String SELECT_LIST_GET_SORT_ORDER_VALUES_PATH = SELECT_LIST_ROOT_PATH + "sortOrderValues";
+    String QUOTA_STATUS_PATH = REST_ROOT_PATH + "quota";
+    String CACHE_CONTENT_REPORT_PATH = REST_ROOT_PATH + "cache/content";
 
     // html paths
     String HOME_PATH = "/";
@@ -71,6 +77,9 @@ public interface Constants {
     String SEARCH_CHANNEL_PATH = SEARCH_HOME_PATH + "channel/";
     String SEARCH_PLAYLIST_PATH = SEARCH_HOME_PATH + "playlist/";
     String SEARCH_VIDEO_PATH = SEARCH_HOME_PATH + "video/";
+    String SEARCH_CHANNEL_NEXT_PATH = SEARCH_CHANNEL_PATH + "next";
+    String SEARCH_PLAYLIST_NEXT_PATH = SEARCH_PLAYLIST_PATH + "next";
+    String SEARCH_VIDEO_NEXT_PATH = SEARCH_VIDEO_PATH + "next";
 
     String VIDEO_HOME_PATH = "/video/";
     String VIDEO_HOME_INDEX_PATH = VIDEO_HOME_PATH + "index.html";
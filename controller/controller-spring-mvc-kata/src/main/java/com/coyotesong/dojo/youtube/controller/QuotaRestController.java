@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.controller;
+
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeQuotaScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.coyotesong.dojo.youtube.controller.Constants.QUOTA_STATUS_PATH;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * REST controller that reports the YouTube API quota
+ */
+@RestController
+public class QuotaRestController {
+    private final YouTubeQuotaScheduler quota;
+
+    @Autowired
+    public QuotaRestController(@NotNull YouTubeQuotaScheduler quota) {
+        this.quota = quota;
+    }
+
+    /**
+     * Get the remaining units and, at the current rate, when they'll run out.
+     *
+     * @return current quota status
+     */
+    @GetMapping(value = QUOTA_STATUS_PATH, produces = APPLICATION_JSON_VALUE)
+    public YouTubeQuotaScheduler.Status getQuotaStatus() {
+        return quota.getStatus();
+    }
+}
@@ -22,7 +22,8 @@ import com.coyotesong.dojo.youtube.form.PlaylistSearchForm;
 import com.coyotesong.dojo.youtube.form.SelectOption;
 import com.coyotesong.dojo.youtube.form.VideoSearchForm;
 import com.coyotesong.dojo.youtube.model.SearchResult;
-import com.coyotesong.dojo.youtube.service.YouTubeSearchService;
+import com.coyotesong.dojo.youtube.service.YouTubePagedSearchService;
+import com.coyotesong.dojo.youtube.service.YouTubePagedSearchService.SearchPage;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,26 +34,33 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.io.IOException;
 import java.util.*;
 
 import static com.coyotesong.dojo.youtube.controller.Constants.*;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.OK;
 
 /**
  * Search controller
+ * <p>
+ * Only the first page of results is retrieved when the form is submitted. Search
+ * costs 100 quota units per page so later pages are only retrieved when the user
+ * follows the 'next' link, which carries the continuation cursor.
+ * </p>
  */
 @Controller
 public class SearchController {
     private static final Logger LOG = LoggerFactory.getLogger(SearchController.class);
 
-    private final YouTubeSearchService searchService;
+    private final YouTubePagedSearchService searchService;
 
     @Autowired
-    public SearchController(@NotNull YouTubeSearchService searchService) {
+    public SearchController(@NotNull YouTubePagedSearchService searchService) {
         this.searchService = searchService;
     }
 
@@ -97,20 +105,16 @@ public class SearchController {
             return mv;
         }
 
-        final List<SearchResult> results = searchService.search(searchForm);
-        final Map<String, List<SearchResult>> mapResults = mapSearchResults(results);
-
-        final ModelAndView mv = new ModelAndView();
-        mv.getModelMap().addAttribute(LANG_SELECT_OPTIONS, SelectOption.LANGUAGE_SELECT_LIST);
-        mv.getModelMap().addAttribute(ORDER_SELECT_OPTIONS, SelectOption.SORT_ORDER_SELECT_LIST);
-        mv.getModelMap().addAttribute(SAFE_SEARCH_SELECT_OPTIONS, SelectOption.SAFE_SEARCH_SELECT_LIST);
-
-        mv.getModelMap().addAttribute(CHANNEL_SEARCH_RESULTS, mapResults);
-
-        mv.setViewName(SEARCH_CHANNEL_VIEW_NAME);
-        mv.setStatus(OK);
+        return results(searchService.startSearch(searchForm), CHANNEL_SEARCH_RESULTS, SEARCH_CHANNEL_VIEW_NAME);
+    }
 
-        return mv;
+    /**
+     * Next page of channel search results
+     */
+    @RequestMapping(SEARCH_CHANNEL_NEXT_PATH)
+    public ModelAndView channelNext(@RequestParam(SEARCH_CURSOR_PARAM) String cursor) throws IOException {
+        LOG.info("channel search page (continued)");
+        return nextResults(cursor, CHANNEL_SEARCH_RESULTS, SEARCH_CHANNEL_VIEW_NAME);
     }
 
     /**
@@ -135,20 +139,16 @@ public class SearchController {
             return mv;
         }
 
-        final List<SearchResult> results = searchService.search(searchForm);
-        final Map<String, List<SearchResult>> mapResults = mapSearchResults(results);
-
-        final ModelAndView mv = new ModelAndView();
-        mv.getModelMap().addAttribute(LANG_SELECT_OPTIONS, SelectOption.LANGUAGE_SELECT_LIST);
-        mv.getModelMap().addAttribute(ORDER_SELECT_OPTIONS, SelectOption.SORT_ORDER_SELECT_LIST);
-        mv.getModelMap().addAttribute(SAFE_SEARCH_SELECT_OPTIONS, SelectOption.SAFE_SEARCH_SELECT_LIST);
-
-        mv.getModelMap().addAttribute(PLAYLIST_SEARCH_RESULTS, mapResults);
-
-        mv.setViewName(SEARCH_PLAYLIST_VIEW_NAME);
-        mv.setStatus(OK);
+        return results(searchService.startSearch(searchForm), PLAYLIST_SEARCH_RESULTS, SEARCH_PLAYLIST_VIEW_NAME);
+    }
 
-        return mv;
+    /**
+     * Next page of playlist search results
+     */
+    @RequestMapping(SEARCH_PLAYLIST_NEXT_PATH)
+    public ModelAndView playlistNext(@RequestParam(SEARCH_CURSOR_PARAM) String cursor) throws IOException {
+        LOG.info("playlist search page (continued)");
+        return nextResults(cursor, PLAYLIST_SEARCH_RESULTS, SEARCH_PLAYLIST_VIEW_NAME);
     }
 
     /**
@@ -173,17 +173,58 @@ public class SearchController {
             return mv;
         }
 
-        final List<SearchResult> results = searchService.search(searchForm);
-        final Map<String, List<SearchResult>> mapResults = mapSearchResults(results);
+        return results(searchService.startSearch(searchForm), VIDEO_SEARCH_RESULTS, SEARCH_VIDEO_VIEW_NAME);
+    }
+
+    /**
+     * Next page of video search results
+     */
+    @RequestMapping(SEARCH_VIDEO_NEXT_PATH)
+    public ModelAndView videoNext(@RequestParam(SEARCH_CURSOR_PARAM) String cursor) throws IOException {
+        LOG.info("video search page (continued)");
+        return nextResults(cursor, VIDEO_SEARCH_RESULTS, SEARCH_VIDEO_VIEW_NAME);
+    }
+
+    /**
+     * Retrieve the next page of search results
+     *
+     * @param cursor      cursor from the previous page
+     * @param resultsName model attribute for the results
+     * @param viewName    view name
+     */
+    ModelAndView nextResults(String cursor, String resultsName, String viewName) throws IOException {
+        try {
+            return results(searchService.continueSearch(cursor), resultsName, viewName);
+        } catch (IllegalArgumentException e) {
+            LOG.info("invalid search cursor: {}", e.getMessage());
+            final ModelAndView mv = new ModelAndView(SEARCH_HOME_VIEW_NAME);
+            mv.getModelMap().addAttribute(CHANNEL_SEARCH_FORM_NAME, new ChannelSearchForm());
+            mv.getModelMap().addAttribute(PLAYLIST_SEARCH_FORM_NAME, new PlaylistSearchForm());
+            mv.getModelMap().addAttribute(VIDEO_SEARCH_FORM_NAME, new VideoSearchForm());
+            mv.setStatus(BAD_REQUEST);
+            return mv;
+        }
+    }
+
+    /**
+     * Create view for a page of search results
+     *
+     * @param page        search results, plus the cursor for the next page
+     * @param resultsName model attribute for the results
+     * @param viewName    view name
+     */
+    ModelAndView results(SearchPage page, String resultsName, String viewName) {
+        final Map<String, List<SearchResult>> mapResults = mapSearchResults(page.results());
 
         final ModelAndView mv = new ModelAndView();
         mv.getModelMap().addAttribute(LANG_SELECT_OPTIONS, SelectOption.LANGUAGE_SELECT_LIST);
         mv.getModelMap().addAttribute(ORDER_SELECT_OPTIONS, SelectOption.SORT_ORDER_SELECT_LIST);
         mv.getModelMap().addAttribute(SAFE_SEARCH_SELECT_OPTIONS, SelectOption.SAFE_SEARCH_SELECT_LIST);
 
-        mv.getModelMap().addAttribute(VIDEO_SEARCH_RESULTS, mapResults);
+        mv.getModelMap().addAttribute(resultsName, mapResults);
+        mv.getModelMap().addAttribute(SEARCH_CURSOR, page.cursor());
 
-        mv.setViewName(SEARCH_VIDEO_VIEW_NAME);
+        mv.setViewName(viewName);
         mv.setStatus(OK);
 
         return mv;
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.controller;
+
+import com.coyotesong.dojo.youtube.config.ComponentTestConfiguration;
+import com.coyotesong.dojo.youtube.config.PersistenceTestConfiguration;
+import com.coyotesong.dojo.youtube.config.ServiceTestConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.coyotesong.dojo.youtube.controller.Constants.*;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = QuotaRestController.class)
+@ContextConfiguration(classes = {
+        PersistenceTestConfiguration.class,
+        ServiceTestConfiguration.class,
+        ComponentTestConfiguration.class
+})
+public class QuotaRestControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void Given_QuotaRestController_When_GetQuotaStatus_Then_Success() throws Exception {
+        mockMvc.perform(get(QUOTA_STATUS_PATH)).andExpectAll(
+                        content().contentType(APPLICATION_JSON),
+                        jsonPath("$.dailyLimit", notNullValue()),
+                        jsonPath("$.remaining", notNullValue()),
+                        jsonPath("$.resetAt", notNullValue()),
+                        status().isOk())
+                .andDo(print())
+                .andReturn();
+    }
+}
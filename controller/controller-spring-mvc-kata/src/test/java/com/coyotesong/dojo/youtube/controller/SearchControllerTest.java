@@ -89,4 +89,21 @@ public class SearchControllerTest {
                 .andDo(print())
                 .andReturn();
     }
+
+    /**
+     * Test continuing a search with an invalid cursor
+     *
+     * @throws Exception a problem occurred
+     */
+    @Test
+    public void Given_SearchController_When_GetNextWithInvalidCursor_Then_BadRequest() throws Exception {
+        mockMvc.perform(get(SEARCH_VIDEO_NEXT_PATH).param(SEARCH_CURSOR_PARAM, "not a cursor"))
+                .andExpectAll(
+                        handler().handlerType(SearchController.class),
+                        handler().methodName("videoNext"),
+                        status().isBadRequest(),
+                        view().name(SEARCH_HOME_VIEW_NAME))
+                .andDo(print())
+                .andReturn();
+    }
 }
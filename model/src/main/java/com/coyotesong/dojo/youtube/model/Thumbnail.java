@@ -60,7 +60,7 @@ public class Thumbnail implements Serializable {
         this.url = url;
 
         if (size != null) {
-            this.name = size.name().toLowerCase();
+            this.name = size.getLabel();
             this.height = size.getHeight();
             this.width = size.getWidth();
         }
@@ -29,10 +29,12 @@ public enum ThumbnailSize {
 
     private final int height;
     private final int width;
+    private final String label;
 
     ThumbnailSize(int height, int width) {
         this.height = height;
         this.width = width;
+        this.label = name().toLowerCase();
     }
 
     public int getHeight() {
@@ -42,4 +44,13 @@ public enum ThumbnailSize {
     public int getWidth() {
         return width;
     }
+
+    /**
+     * Lower-case name. This is computed once so every thumbnail shares it.
+     *
+     * @return lower-case name, e.g., 'default'
+     */
+    public String getLabel() {
+        return label;
+    }
 }
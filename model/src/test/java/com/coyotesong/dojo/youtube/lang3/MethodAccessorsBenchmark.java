@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.lang3;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Compare reflective access (the original YouTubeClientState and YouTubeApiCacheEntry
+ * implementation) with the MethodAccessors lambdas and a direct call.
+ * <p>
+ * This is not run as part of the unit tests. Run it with
+ * </p>
+ * <pre>
+ *     mvn -pl model test-compile
+ *     java -cp "model/target/test-classes:model/target/classes:$(cat cp.txt)" \
+ *         com.coyotesong.dojo.youtube.lang3.MethodAccessorsBenchmark
+ * </pre>
+ * <p>
+ * where 'cp.txt' is created by 'mvn -pl model dependency:build-classpath -Dmdep.outputFile=cp.txt'.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodAccessorsBenchmark {
+    private final MethodAccessorsTest.Request request = new MethodAccessorsTest.Request().setPageToken("token");
+
+    private Method reflectiveGetter;
+    private Method reflectiveSetter;
+    private Function<MethodAccessorsTest.Request, String> lambdaGetter;
+    private BiConsumer<MethodAccessorsTest.Request, String> lambdaSetter;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        reflectiveGetter = MethodAccessorsTest.Request.class.getMethod("getPageToken");
+        reflectiveSetter = MethodAccessorsTest.Request.class.getMethod("setPageToken", String.class);
+        lambdaGetter = MethodAccessors.getter(reflectiveGetter);
+        lambdaSetter = MethodAccessors.setter(reflectiveSetter);
+    }
+
+    @Benchmark
+    public Object getterReflection() throws InvocationTargetException, IllegalAccessException {
+        return reflectiveGetter.invoke(request);
+    }
+
+    @Benchmark
+    public String getterLambda() {
+        return lambdaGetter.apply(request);
+    }
+
+    @Benchmark
+    public String getterDirect() {
+        return request.getPageToken();
+    }
+
+    @Benchmark
+    public Object setterReflection() throws InvocationTargetException, IllegalAccessException {
+        return reflectiveSetter.invoke(request, "next");
+    }
+
+    @Benchmark
+    public MethodAccessorsTest.Request setterLambda() {
+        lambdaSetter.accept(request, "next");
+        return request;
+    }
+
+    @Benchmark
+    public MethodAccessorsTest.Request setterDirect() {
+        return request.setPageToken("next");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(MethodAccessorsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
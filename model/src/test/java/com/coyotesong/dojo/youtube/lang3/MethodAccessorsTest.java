@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.lang3;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for MethodAccessors
+ */
+public class MethodAccessorsTest {
+
+    /**
+     * Mimics the fluent setters used by the YouTube API requests
+     */
+    public static class Request {
+        private String pageToken;
+        private Long maxResults;
+        private int count;
+
+        public String getPageToken() {
+            return pageToken;
+        }
+
+        public Request setPageToken(String pageToken) {
+            this.pageToken = pageToken;
+            return this;
+        }
+
+        public Long getMaxResults() {
+            return maxResults;
+        }
+
+        public Request setMaxResults(Long maxResults) {
+            this.maxResults = maxResults;
+            return this;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    @Test
+    public void Given_Getter_When_Apply_Then_ValueReturned() throws NoSuchMethodException {
+        final Function<Request, String> getter = MethodAccessors.getter(Request.class.getMethod("getPageToken"));
+        final Request request = new Request().setPageToken("token");
+
+        assertThat(getter.apply(request), equalTo("token"));
+    }
+
+    @Test
+    public void Given_FluentSetter_When_Accept_Then_ValueSet() throws NoSuchMethodException {
+        final BiConsumer<Request, Long> setter = MethodAccessors.setter(Request.class.getMethod("setMaxResults", Long.class));
+        final Request request = new Request();
+
+        setter.accept(request, 50L);
+
+        assertThat(request.getMaxResults(), equalTo(50L));
+    }
+
+    @Test
+    public void Given_PrimitiveProperty_When_Accessed_Then_ValueBoxed() throws NoSuchMethodException {
+        final BiConsumer<Request, Integer> setter = MethodAccessors.setter(Request.class.getMethod("setCount", int.class));
+        final Function<Request, Integer> getter = MethodAccessors.getter(Request.class.getMethod("getCount"));
+        final Request request = new Request();
+
+        setter.accept(request, 3);
+
+        assertThat(getter.apply(request), equalTo(3));
+    }
+
+    @Test
+    public void Given_Setter_When_CreateGetter_Then_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MethodAccessors.getter(Request.class.getMethod("setCount", int.class)));
+    }
+}
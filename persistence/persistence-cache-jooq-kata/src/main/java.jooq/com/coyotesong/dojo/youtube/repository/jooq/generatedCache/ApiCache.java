@@ -5,6 +5,7 @@ package com.coyotesong.dojo.youtube.repository.jooq.generatedCache;
 
 
 import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCache;
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCacheDictionary;
 
 import java.util.Arrays;
 import java.util.List;
@@ -32,6 +33,11 @@ public class ApiCache extends SchemaImpl {
      */
     public final YoutubeApiCache YOUTUBE_API_CACHE = YoutubeApiCache.YOUTUBE_API_CACHE;
 
+    /**
+     * The table <code>api_cache.youtube_api_cache_dictionary</code>.
+     */
+    public final YoutubeApiCacheDictionary YOUTUBE_API_CACHE_DICTIONARY = YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY;
+
     /**
      * No further instances allowed
      */
@@ -48,7 +54,8 @@ public class ApiCache extends SchemaImpl {
     @Override
     public final List<Table<?>> getTables() {
         return Arrays.asList(
-            YoutubeApiCache.YOUTUBE_API_CACHE
+            YoutubeApiCache.YOUTUBE_API_CACHE,
+            YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY
         );
     }
 }
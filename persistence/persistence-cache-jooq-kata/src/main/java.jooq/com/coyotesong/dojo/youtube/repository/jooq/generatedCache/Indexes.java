@@ -0,0 +1,29 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package com.coyotesong.dojo.youtube.repository.jooq.generatedCache;
+
+
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCache;
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCacheDictionary;
+
+import org.jooq.Index;
+import org.jooq.OrderField;
+import org.jooq.impl.DSL;
+import org.jooq.impl.Internal;
+
+
+/**
+ * A class modelling indexes of tables in api_cache.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class Indexes {
+
+    // -------------------------------------------------------------------------
+    // INDEX definitions
+    // -------------------------------------------------------------------------
+
+    public static final Index YOUTUBE_API_CACHE_DICTIONARY_KIND_IDX = Internal.createIndex(DSL.name("youtube_api_cache_dictionary_kind_idx"), YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY, new OrderField[] { YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY.KIND }, false);
+    public static final Index YOUTUBE_API_CACHE_LAST_UPDATED_IDX = Internal.createIndex(DSL.name("youtube_api_cache_last_updated_idx"), YoutubeApiCache.YOUTUBE_API_CACHE, new OrderField[] { YoutubeApiCache.YOUTUBE_API_CACHE.LAST_UPDATED.desc(), YoutubeApiCache.YOUTUBE_API_CACHE.KEY.desc() }, false);
+    public static final Index YOUTUBE_API_CACHE_REQUEST_HASH_IDX = Internal.createIndex(DSL.name("youtube_api_cache_request_hash_idx"), YoutubeApiCache.YOUTUBE_API_CACHE, new OrderField[] { YoutubeApiCache.YOUTUBE_API_CACHE.REQUEST_HASH }, false);
+}
@@ -5,6 +5,8 @@ package com.coyotesong.dojo.youtube.repository.jooq.generatedCache;
 
 
 import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCache;
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCacheDictionary;
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.records.YoutubeApiCacheDictionaryRecord;
 import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.records.YoutubeApiCacheRecord;
 
 import org.jooq.TableField;
@@ -24,5 +26,6 @@ public class Keys {
     // UNIQUE and PRIMARY KEY definitions
     // -------------------------------------------------------------------------
 
-    public static final UniqueKey<YoutubeApiCacheRecord> YOUTUBE_API_CACHE_PKEY = Internal.createUniqueKey(YoutubeApiCache.YOUTUBE_API_CACHE, DSL.name("youtube_api_cache_pkey"), new TableField[] { YoutubeApiCache.YOUTUBE_API_CACHE.KEY }, true);
+    public static final UniqueKey<YoutubeApiCacheRecord> YOUTUBE_API_CACHE_PKEY = Internal.createUniqueKey(YoutubeApiCache.YOUTUBE_API_CACHE, DSL.name("youtube_api_cache_pkey"), new TableField[] { YoutubeApiCache.YOUTUBE_API_CACHE.KEY, YoutubeApiCache.YOUTUBE_API_CACHE.LAST_UPDATED }, true);
+    public static final UniqueKey<YoutubeApiCacheDictionaryRecord> YOUTUBE_API_CACHE_DICTIONARY_PKEY = Internal.createUniqueKey(YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY, DSL.name("youtube_api_cache_dictionary_pkey"), new TableField[] { YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY.DICTIONARY_ID }, true);
 }
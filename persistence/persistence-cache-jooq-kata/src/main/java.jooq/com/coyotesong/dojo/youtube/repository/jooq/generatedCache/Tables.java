@@ -5,6 +5,7 @@ package com.coyotesong.dojo.youtube.repository.jooq.generatedCache;
 
 
 import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCache;
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCacheDictionary;
 
 
 /**
@@ -17,4 +18,9 @@ public class Tables {
      * The table <code>api_cache.youtube_api_cache</code>.
      */
     public static final YoutubeApiCache YOUTUBE_API_CACHE = YoutubeApiCache.YOUTUBE_API_CACHE;
+
+    /**
+     * The table <code>api_cache.youtube_api_cache_dictionary</code>.
+     */
+    public static final YoutubeApiCacheDictionary YOUTUBE_API_CACHE_DICTIONARY = YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY;
 }
@@ -6,21 +6,26 @@ package com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables;
 
 import com.coyotesong.dojo.youtube.repository.jooq.bindings.LocalDateTimeToInstantBinding;
 import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.ApiCache;
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.Indexes;
 import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.Keys;
 import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.records.YoutubeApiCacheRecord;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
 import java.util.function.Function;
 
 import org.jooq.Field;
 import org.jooq.ForeignKey;
-import org.jooq.Function14;
+import org.jooq.Function16;
 import org.jooq.Identity;
+import org.jooq.Index;
 import org.jooq.JSON;
 import org.jooq.Name;
 import org.jooq.Record;
 import org.jooq.Records;
-import org.jooq.Row14;
+import org.jooq.Row16;
 import org.jooq.Schema;
 import org.jooq.SelectField;
 import org.jooq.Table;
@@ -121,7 +126,17 @@ public class YoutubeApiCache extends TableImpl<YoutubeApiCacheRecord> {
     /**
      * The column <code>api_cache.youtube_api_cache.last_updated</code>.
      */
-    public final TableField<YoutubeApiCacheRecord, Instant> LAST_UPDATED = createField(DSL.name("last_updated"), SQLDataType.LOCALDATETIME(0), this, "", new LocalDateTimeToInstantBinding());
+    public final TableField<YoutubeApiCacheRecord, Instant> LAST_UPDATED = createField(DSL.name("last_updated"), SQLDataType.LOCALDATETIME(0).nullable(false).defaultValue(DSL.field(DSL.raw("now()"), SQLDataType.LOCALDATETIME)), this, "", new LocalDateTimeToInstantBinding());
+
+    /**
+     * The column <code>api_cache.youtube_api_cache.request_hash</code>.
+     */
+    public final TableField<YoutubeApiCacheRecord, UUID> REQUEST_HASH = createField(DSL.name("request_hash"), SQLDataType.UUID, this, "");
+
+    /**
+     * The column <code>api_cache.youtube_api_cache.content_deflated</code>.
+     */
+    public final TableField<YoutubeApiCacheRecord, byte[]> CONTENT_DEFLATED = createField(DSL.name("content_deflated"), SQLDataType.BLOB, this, "");
 
     private YoutubeApiCache(Name alias, Table<YoutubeApiCacheRecord> aliased) {
         this(alias, aliased, null);
@@ -163,6 +178,11 @@ public class YoutubeApiCache extends TableImpl<YoutubeApiCacheRecord> {
         return aliased() ? null : ApiCache.API_CACHE;
     }
 
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.YOUTUBE_API_CACHE_LAST_UPDATED_IDX, Indexes.YOUTUBE_API_CACHE_REQUEST_HASH_IDX);
+    }
+
     @Override
     public Identity<YoutubeApiCacheRecord, Integer> getIdentity() {
         return (Identity<YoutubeApiCacheRecord, Integer>) super.getIdentity();
@@ -213,18 +233,18 @@ public class YoutubeApiCache extends TableImpl<YoutubeApiCacheRecord> {
     }
 
     // -------------------------------------------------------------------------
-    // Row14 type methods
+    // Row16 type methods
     // -------------------------------------------------------------------------
 
     @Override
-    public Row14<Integer, JSON, String, String, String, String, Integer, Integer, String, String, String, JSON, String, Instant> fieldsRow() {
-        return (Row14) super.fieldsRow();
+    public Row16<Integer, JSON, String, String, String, String, Integer, Integer, String, String, String, JSON, String, Instant, UUID, byte[]> fieldsRow() {
+        return (Row16) super.fieldsRow();
     }
 
     /**
      * Convenience mapping calling {@link SelectField#convertFrom(Function)}.
      */
-    public <U> SelectField<U> mapping(Function14<? super Integer, ? super JSON, ? super String, ? super String, ? super String, ? super String, ? super Integer, ? super Integer, ? super String, ? super String, ? super String, ? super JSON, ? super String, ? super Instant, ? extends U> from) {
+    public <U> SelectField<U> mapping(Function16<? super Integer, ? super JSON, ? super String, ? super String, ? super String, ? super String, ? super Integer, ? super Integer, ? super String, ? super String, ? super String, ? super JSON, ? super String, ? super Instant, ? super UUID, ? super byte[], ? extends U> from) {
         return convertFrom(Records.mapping(from));
     }
 
@@ -232,7 +252,7 @@ public class YoutubeApiCache extends TableImpl<YoutubeApiCacheRecord> {
      * Convenience mapping calling {@link SelectField#convertFrom(Class,
      * Function)}.
      */
-    public <U> SelectField<U> mapping(Class<U> toType, Function14<? super Integer, ? super JSON, ? super String, ? super String, ? super String, ? super String, ? super Integer, ? super Integer, ? super String, ? super String, ? super String, ? super JSON, ? super String, ? super Instant, ? extends U> from) {
+    public <U> SelectField<U> mapping(Class<U> toType, Function16<? super Integer, ? super JSON, ? super String, ? super String, ? super String, ? super String, ? super Integer, ? super Integer, ? super String, ? super String, ? super String, ? super JSON, ? super String, ? super Instant, ? super UUID, ? super byte[], ? extends U> from) {
         return convertFrom(toType, Records.mapping(from));
     }
 }
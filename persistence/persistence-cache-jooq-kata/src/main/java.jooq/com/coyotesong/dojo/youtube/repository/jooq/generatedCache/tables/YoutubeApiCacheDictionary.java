@@ -0,0 +1,194 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables;
+
+
+import com.coyotesong.dojo.youtube.repository.jooq.bindings.LocalDateTimeToInstantBinding;
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.ApiCache;
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.Indexes;
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.Keys;
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.records.YoutubeApiCacheDictionaryRecord;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jooq.Field;
+import org.jooq.ForeignKey;
+import org.jooq.Function4;
+import org.jooq.Index;
+import org.jooq.Name;
+import org.jooq.Record;
+import org.jooq.Records;
+import org.jooq.Row4;
+import org.jooq.Schema;
+import org.jooq.SelectField;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.TableOptions;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class YoutubeApiCacheDictionary extends TableImpl<YoutubeApiCacheDictionaryRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The reference instance of
+     * <code>api_cache.youtube_api_cache_dictionary</code>
+     */
+    public static final YoutubeApiCacheDictionary YOUTUBE_API_CACHE_DICTIONARY = new YoutubeApiCacheDictionary();
+
+    /**
+     * The class holding records for this type
+     */
+    @Override
+    public Class<YoutubeApiCacheDictionaryRecord> getRecordType() {
+        return YoutubeApiCacheDictionaryRecord.class;
+    }
+
+    /**
+     * The column
+     * <code>api_cache.youtube_api_cache_dictionary.dictionary_id</code>.
+     */
+    public final TableField<YoutubeApiCacheDictionaryRecord, Integer> DICTIONARY_ID = createField(DSL.name("dictionary_id"), SQLDataType.INTEGER.nullable(false), this, "");
+
+    /**
+     * The column <code>api_cache.youtube_api_cache_dictionary.kind</code>.
+     */
+    public final TableField<YoutubeApiCacheDictionaryRecord, String> KIND = createField(DSL.name("kind"), SQLDataType.CLOB.nullable(false), this, "");
+
+    /**
+     * The column
+     * <code>api_cache.youtube_api_cache_dictionary.dictionary</code>.
+     */
+    public final TableField<YoutubeApiCacheDictionaryRecord, byte[]> DICTIONARY = createField(DSL.name("dictionary"), SQLDataType.BLOB.nullable(false), this, "");
+
+    /**
+     * The column <code>api_cache.youtube_api_cache_dictionary.created</code>.
+     */
+    public final TableField<YoutubeApiCacheDictionaryRecord, Instant> CREATED = createField(DSL.name("created"), SQLDataType.LOCALDATETIME(0).nullable(false).defaultValue(DSL.field(DSL.raw("now()"), SQLDataType.LOCALDATETIME)), this, "", new LocalDateTimeToInstantBinding());
+
+    private YoutubeApiCacheDictionary(Name alias, Table<YoutubeApiCacheDictionaryRecord> aliased) {
+        this(alias, aliased, null);
+    }
+
+    private YoutubeApiCacheDictionary(Name alias, Table<YoutubeApiCacheDictionaryRecord> aliased, Field<?>[] parameters) {
+        super(alias, null, aliased, parameters, DSL.comment(""), TableOptions.table());
+    }
+
+    /**
+     * Create an aliased <code>api_cache.youtube_api_cache_dictionary</code>
+     * table reference
+     */
+    public YoutubeApiCacheDictionary(String alias) {
+        this(DSL.name(alias), YOUTUBE_API_CACHE_DICTIONARY);
+    }
+
+    /**
+     * Create an aliased <code>api_cache.youtube_api_cache_dictionary</code>
+     * table reference
+     */
+    public YoutubeApiCacheDictionary(Name alias) {
+        this(alias, YOUTUBE_API_CACHE_DICTIONARY);
+    }
+
+    /**
+     * Create a <code>api_cache.youtube_api_cache_dictionary</code> table
+     * reference
+     */
+    public YoutubeApiCacheDictionary() {
+        this(DSL.name("youtube_api_cache_dictionary"), null);
+    }
+
+    public <O extends Record> YoutubeApiCacheDictionary(Table<O> child, ForeignKey<O, YoutubeApiCacheDictionaryRecord> key) {
+        super(child, key, YOUTUBE_API_CACHE_DICTIONARY);
+    }
+
+    @Override
+    public Schema getSchema() {
+        return aliased() ? null : ApiCache.API_CACHE;
+    }
+
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.YOUTUBE_API_CACHE_DICTIONARY_KIND_IDX);
+    }
+
+    @Override
+    public UniqueKey<YoutubeApiCacheDictionaryRecord> getPrimaryKey() {
+        return Keys.YOUTUBE_API_CACHE_DICTIONARY_PKEY;
+    }
+
+    @Override
+    public YoutubeApiCacheDictionary as(String alias) {
+        return new YoutubeApiCacheDictionary(DSL.name(alias), this);
+    }
+
+    @Override
+    public YoutubeApiCacheDictionary as(Name alias) {
+        return new YoutubeApiCacheDictionary(alias, this);
+    }
+
+    @Override
+    public YoutubeApiCacheDictionary as(Table<?> alias) {
+        return new YoutubeApiCacheDictionary(alias.getQualifiedName(), this);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public YoutubeApiCacheDictionary rename(String name) {
+        return new YoutubeApiCacheDictionary(DSL.name(name), null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public YoutubeApiCacheDictionary rename(Name name) {
+        return new YoutubeApiCacheDictionary(name, null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public YoutubeApiCacheDictionary rename(Table<?> name) {
+        return new YoutubeApiCacheDictionary(name.getQualifiedName(), null);
+    }
+
+    // -------------------------------------------------------------------------
+    // Row4 type methods
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Row4<Integer, String, byte[], Instant> fieldsRow() {
+        return (Row4) super.fieldsRow();
+    }
+
+    /**
+     * Convenience mapping calling {@link SelectField#convertFrom(Function)}.
+     */
+    public <U> SelectField<U> mapping(Function4<? super Integer, ? super String, ? super byte[], ? super Instant, ? extends U> from) {
+        return convertFrom(Records.mapping(from));
+    }
+
+    /**
+     * Convenience mapping calling {@link SelectField#convertFrom(Class,
+     * Function)}.
+     */
+    public <U> SelectField<U> mapping(Class<U> toType, Function4<? super Integer, ? super String, ? super byte[], ? super Instant, ? extends U> from) {
+        return convertFrom(toType, Records.mapping(from));
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.records;
+
+
+import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCacheDictionary;
+
+import java.time.Instant;
+
+import org.jooq.Field;
+import org.jooq.Record1;
+import org.jooq.Record4;
+import org.jooq.Row4;
+import org.jooq.impl.UpdatableRecordImpl;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class YoutubeApiCacheDictionaryRecord extends UpdatableRecordImpl<YoutubeApiCacheDictionaryRecord> implements Record4<Integer, String, byte[], Instant> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Setter for
+     * <code>api_cache.youtube_api_cache_dictionary.dictionary_id</code>.
+     */
+    public void setDictionaryId(Integer value) {
+        set(0, value);
+    }
+
+    /**
+     * Getter for
+     * <code>api_cache.youtube_api_cache_dictionary.dictionary_id</code>.
+     */
+    public Integer getDictionaryId() {
+        return (Integer) get(0);
+    }
+
+    /**
+     * Setter for <code>api_cache.youtube_api_cache_dictionary.kind</code>.
+     */
+    public void setKind(String value) {
+        set(1, value);
+    }
+
+    /**
+     * Getter for <code>api_cache.youtube_api_cache_dictionary.kind</code>.
+     */
+    public String getKind() {
+        return (String) get(1);
+    }
+
+    /**
+     * Setter for
+     * <code>api_cache.youtube_api_cache_dictionary.dictionary</code>.
+     */
+    public void setDictionary(byte[] value) {
+        set(2, value);
+    }
+
+    /**
+     * Getter for
+     * <code>api_cache.youtube_api_cache_dictionary.dictionary</code>.
+     */
+    public byte[] getDictionary() {
+        return (byte[]) get(2);
+    }
+
+    /**
+     * Setter for <code>api_cache.youtube_api_cache_dictionary.created</code>.
+     */
+    public void setCreated(Instant value) {
+        set(3, value);
+    }
+
+    /**
+     * Getter for <code>api_cache.youtube_api_cache_dictionary.created</code>.
+     */
+    public Instant getCreated() {
+        return (Instant) get(3);
+    }
+
+    // -------------------------------------------------------------------------
+    // Primary key information
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Record1<Integer> key() {
+        return (Record1) super.key();
+    }
+
+    // -------------------------------------------------------------------------
+    // Record4 type implementation
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Row4<Integer, String, byte[], Instant> fieldsRow() {
+        return (Row4) super.fieldsRow();
+    }
+
+    @Override
+    public Row4<Integer, String, byte[], Instant> valuesRow() {
+        return (Row4) super.valuesRow();
+    }
+
+    @Override
+    public Field<Integer> field1() {
+        return YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY.DICTIONARY_ID;
+    }
+
+    @Override
+    public Field<String> field2() {
+        return YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY.KIND;
+    }
+
+    @Override
+    public Field<byte[]> field3() {
+        return YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY.DICTIONARY;
+    }
+
+    @Override
+    public Field<Instant> field4() {
+        return YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY.CREATED;
+    }
+
+    @Override
+    public Integer component1() {
+        return getDictionaryId();
+    }
+
+    @Override
+    public String component2() {
+        return getKind();
+    }
+
+    @Override
+    public byte[] component3() {
+        return getDictionary();
+    }
+
+    @Override
+    public Instant component4() {
+        return getCreated();
+    }
+
+    @Override
+    public Integer value1() {
+        return getDictionaryId();
+    }
+
+    @Override
+    public String value2() {
+        return getKind();
+    }
+
+    @Override
+    public byte[] value3() {
+        return getDictionary();
+    }
+
+    @Override
+    public Instant value4() {
+        return getCreated();
+    }
+
+    @Override
+    public YoutubeApiCacheDictionaryRecord value1(Integer value) {
+        setDictionaryId(value);
+        return this;
+    }
+
+    @Override
+    public YoutubeApiCacheDictionaryRecord value2(String value) {
+        setKind(value);
+        return this;
+    }
+
+    @Override
+    public YoutubeApiCacheDictionaryRecord value3(byte[] value) {
+        setDictionary(value);
+        return this;
+    }
+
+    @Override
+    public YoutubeApiCacheDictionaryRecord value4(Instant value) {
+        setCreated(value);
+        return this;
+    }
+
+    @Override
+    public YoutubeApiCacheDictionaryRecord values(Integer value1, String value2, byte[] value3, Instant value4) {
+        value1(value1);
+        value2(value2);
+        value3(value3);
+        value4(value4);
+        return this;
+    }
+
+    // -------------------------------------------------------------------------
+    // Constructors
+    // -------------------------------------------------------------------------
+
+    /**
+     * Create a detached YoutubeApiCacheDictionaryRecord
+     */
+    public YoutubeApiCacheDictionaryRecord() {
+        super(YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY);
+    }
+
+    /**
+     * Create a detached, initialised YoutubeApiCacheDictionaryRecord
+     */
+    public YoutubeApiCacheDictionaryRecord(Integer dictionaryId, String kind, byte[] dictionary, Instant created) {
+        super(YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY);
+
+        setDictionaryId(dictionaryId);
+        setKind(kind);
+        setDictionary(dictionary);
+        setCreated(created);
+        resetChangedOnNotNull();
+    }
+}
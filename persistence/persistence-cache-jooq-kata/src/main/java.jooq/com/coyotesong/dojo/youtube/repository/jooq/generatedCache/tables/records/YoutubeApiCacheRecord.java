@@ -7,12 +7,13 @@ package com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.record
 import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCache;
 
 import java.time.Instant;
+import java.util.UUID;
 
 import org.jooq.Field;
 import org.jooq.JSON;
-import org.jooq.Record1;
-import org.jooq.Record14;
-import org.jooq.Row14;
+import org.jooq.Record16;
+import org.jooq.Record2;
+import org.jooq.Row16;
 import org.jooq.impl.UpdatableRecordImpl;
 
 
@@ -20,7 +21,7 @@ import org.jooq.impl.UpdatableRecordImpl;
  * This class is generated by jOOQ.
  */
 @SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
-public class YoutubeApiCacheRecord extends UpdatableRecordImpl<YoutubeApiCacheRecord> implements Record14<Integer, JSON, String, String, String, String, Integer, Integer, String, String, String, JSON, String, Instant> {
+public class YoutubeApiCacheRecord extends UpdatableRecordImpl<YoutubeApiCacheRecord> implements Record16<Integer, JSON, String, String, String, String, Integer, Integer, String, String, String, JSON, String, Instant, UUID, byte[]> {
 
     private static final long serialVersionUID = 1L;
 
@@ -220,27 +221,55 @@ public class YoutubeApiCacheRecord extends UpdatableRecordImpl<YoutubeApiCacheRe
         return (Instant) get(13);
     }
 
+    /**
+     * Setter for <code>api_cache.youtube_api_cache.request_hash</code>.
+     */
+    public void setRequestHash(UUID value) {
+        set(14, value);
+    }
+
+    /**
+     * Getter for <code>api_cache.youtube_api_cache.request_hash</code>.
+     */
+    public UUID getRequestHash() {
+        return (UUID) get(14);
+    }
+
+    /**
+     * Setter for <code>api_cache.youtube_api_cache.content_deflated</code>.
+     */
+    public void setContentDeflated(byte[] value) {
+        set(15, value);
+    }
+
+    /**
+     * Getter for <code>api_cache.youtube_api_cache.content_deflated</code>.
+     */
+    public byte[] getContentDeflated() {
+        return (byte[]) get(15);
+    }
+
     // -------------------------------------------------------------------------
     // Primary key information
     // -------------------------------------------------------------------------
 
     @Override
-    public Record1<Integer> key() {
-        return (Record1) super.key();
+    public Record2<Integer, Instant> key() {
+        return (Record2) super.key();
     }
 
     // -------------------------------------------------------------------------
-    // Record14 type implementation
+    // Record16 type implementation
     // -------------------------------------------------------------------------
 
     @Override
-    public Row14<Integer, JSON, String, String, String, String, Integer, Integer, String, String, String, JSON, String, Instant> fieldsRow() {
-        return (Row14) super.fieldsRow();
+    public Row16<Integer, JSON, String, String, String, String, Integer, Integer, String, String, String, JSON, String, Instant, UUID, byte[]> fieldsRow() {
+        return (Row16) super.fieldsRow();
     }
 
     @Override
-    public Row14<Integer, JSON, String, String, String, String, Integer, Integer, String, String, String, JSON, String, Instant> valuesRow() {
-        return (Row14) super.valuesRow();
+    public Row16<Integer, JSON, String, String, String, String, Integer, Integer, String, String, String, JSON, String, Instant, UUID, byte[]> valuesRow() {
+        return (Row16) super.valuesRow();
     }
 
     @Override
@@ -313,6 +342,16 @@ public class YoutubeApiCacheRecord extends UpdatableRecordImpl<YoutubeApiCacheRe
         return YoutubeApiCache.YOUTUBE_API_CACHE.LAST_UPDATED;
     }
 
+    @Override
+    public Field<UUID> field15() {
+        return YoutubeApiCache.YOUTUBE_API_CACHE.REQUEST_HASH;
+    }
+
+    @Override
+    public Field<byte[]> field16() {
+        return YoutubeApiCache.YOUTUBE_API_CACHE.CONTENT_DEFLATED;
+    }
+
     @Override
     public Integer component1() {
         return getKey();
@@ -383,6 +422,16 @@ public class YoutubeApiCacheRecord extends UpdatableRecordImpl<YoutubeApiCacheRe
         return getLastUpdated();
     }
 
+    @Override
+    public UUID component15() {
+        return getRequestHash();
+    }
+
+    @Override
+    public byte[] component16() {
+        return getContentDeflated();
+    }
+
     @Override
     public Integer value1() {
         return getKey();
@@ -453,6 +502,16 @@ public class YoutubeApiCacheRecord extends UpdatableRecordImpl<YoutubeApiCacheRe
         return getLastUpdated();
     }
 
+    @Override
+    public UUID value15() {
+        return getRequestHash();
+    }
+
+    @Override
+    public byte[] value16() {
+        return getContentDeflated();
+    }
+
     @Override
     public YoutubeApiCacheRecord value1(Integer value) {
         setKey(value);
@@ -538,7 +597,19 @@ public class YoutubeApiCacheRecord extends UpdatableRecordImpl<YoutubeApiCacheRe
     }
 
     @Override
-    public YoutubeApiCacheRecord values(Integer value1, JSON value2, String value3, String value4, String value5, String value6, Integer value7, Integer value8, String value9, String value10, String value11, JSON value12, String value13, Instant value14) {
+    public YoutubeApiCacheRecord value15(UUID value) {
+        setRequestHash(value);
+        return this;
+    }
+
+    @Override
+    public YoutubeApiCacheRecord value16(byte[] value) {
+        setContentDeflated(value);
+        return this;
+    }
+
+    @Override
+    public YoutubeApiCacheRecord values(Integer value1, JSON value2, String value3, String value4, String value5, String value6, Integer value7, Integer value8, String value9, String value10, String value11, JSON value12, String value13, Instant value14, UUID value15, byte[] value16) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -553,6 +624,8 @@ public class YoutubeApiCacheRecord extends UpdatableRecordImpl<YoutubeApiCacheRe
         value12(value12);
         value13(value13);
         value14(value14);
+        value15(value15);
+        value16(value16);
         return this;
     }
 
@@ -570,7 +643,7 @@ public class YoutubeApiCacheRecord extends UpdatableRecordImpl<YoutubeApiCacheRe
     /**
      * Create a detached, initialised YoutubeApiCacheRecord
      */
-    public YoutubeApiCacheRecord(Integer key, JSON requestJson, String kind, String regionCode, String eventId, String visitorId, Integer resultsPerPage, Integer totalResults, String pageToken, String nextPageToken, String prevPageToken, JSON content, String etag, Instant lastUpdated) {
+    public YoutubeApiCacheRecord(Integer key, JSON requestJson, String kind, String regionCode, String eventId, String visitorId, Integer resultsPerPage, Integer totalResults, String pageToken, String nextPageToken, String prevPageToken, JSON content, String etag, Instant lastUpdated, UUID requestHash, byte[] contentDeflated) {
         super(YoutubeApiCache.YOUTUBE_API_CACHE);
 
         setKey(key);
@@ -587,6 +660,8 @@ public class YoutubeApiCacheRecord extends UpdatableRecordImpl<YoutubeApiCacheRe
         setContent(content);
         setEtag(etag);
         setLastUpdated(lastUpdated);
+        setRequestHash(requestHash);
+        setContentDeflated(contentDeflated);
         resetChangedOnNotNull();
     }
 }
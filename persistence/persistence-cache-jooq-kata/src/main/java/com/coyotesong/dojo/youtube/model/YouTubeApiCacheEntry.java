@@ -32,13 +32,10 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.Serial;
 import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.time.Clock;
 import java.time.Instant;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
+import static com.coyotesong.dojo.youtube.model.YouTubeApiResponseAccessors.apply;
 import static java.time.format.DateTimeFormatter.ISO_INSTANT;
 
 /**
@@ -57,34 +54,6 @@ public class YouTubeApiCacheEntry implements Serializable {
 
     private static final Logger LOG = LoggerFactory.getLogger(YouTubeApiCacheEntry.class);
 
-    private static final Map<Class<?>, Method> GET_ETAG = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_EVENT_ID = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_ITEMS = new LinkedHashMap<>(); // unused
-    private static final Map<Class<?>, Method> GET_KIND = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_NEXT_PAGE_TOKEN = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_PAGE_INFO = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_PREV_PAGE_TOKEN = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_REGION_CODE = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_VISITOR_ID = new LinkedHashMap<>();
-    private static final Map<Class<?>, JsonFactory> FACTORY_MAP = new LinkedHashMap<>();
-
-    static {
-        // we could perform this as-needed but that would require adding every time
-        // the copy constructor is called. This is better since we know there's only
-        // a very limited number of supported responses.
-        initialize(CaptionListResponse.class,
-                ChannelListResponse.class,
-                ChannelSectionListResponse.class,
-                I18nLanguageListResponse.class,
-                I18nRegionListResponse.class,
-                PlaylistImageListResponse.class,
-                PlaylistItemListResponse.class,
-                PlaylistListResponse.class,
-                SearchListResponse.class,
-                VideoCategoryListResponse.class,
-                VideoListResponse.class);
-    }
-
     // we don't expose this
     private Class<? extends GenericJson> responseClass;
 
@@ -107,6 +76,9 @@ public class YouTubeApiCacheEntry implements Serializable {
     // not an Instant in order to avoid potential problems.
     private Instant lastUpdated;
 
+    // decoded content - this is never persisted
+    private transient volatile GenericJson decodedValue;
+
     /**
      * Default constructor
      */
@@ -140,37 +112,25 @@ public class YouTubeApiCacheEntry implements Serializable {
     protected YouTubeApiCacheEntry(@NotNull GenericJson userValue) {
         this.responseClass = userValue.getClass();
 
-        // There's no default JsonFactory
-        // Question: is it worth the trouble to use a lock or concurrent map?
-        if (!FACTORY_MAP.containsKey(responseClass)) {
-            final JsonFactory factory = userValue.getFactory();
-            if (factory != null) {
-                FACTORY_MAP.put(responseClass, factory);
-            }
-        }
-
-        this.etag = apply(GET_ETAG, responseClass, userValue);
-        this.eventId = apply(GET_EVENT_ID, responseClass, userValue);
-        this.kind = apply(GET_KIND, responseClass, userValue);
-        this.nextPageToken = apply(GET_NEXT_PAGE_TOKEN, responseClass, userValue);
-        this.prevPageToken = apply(GET_PREV_PAGE_TOKEN, responseClass, userValue);
-        this.regionCode = apply(GET_REGION_CODE, responseClass, userValue);
-        this.visitorId = apply(GET_VISITOR_ID, responseClass, userValue);
+        final YouTubeApiResponseAccessors accessors = YouTubeApiResponseAccessors.forClass(responseClass);
+        this.etag = apply(accessors.etag(), userValue);
+        this.eventId = apply(accessors.eventId(), userValue);
+        this.kind = apply(accessors.kind(), userValue);
+        this.nextPageToken = apply(accessors.nextPageToken(), userValue);
+        this.prevPageToken = apply(accessors.prevPageToken(), userValue);
+        this.regionCode = apply(accessors.regionCode(), userValue);
+        this.visitorId = apply(accessors.visitorId(), userValue);
 
-        final PageInfo pageInfo = apply(GET_PAGE_INFO, responseClass, userValue);
+        final PageInfo pageInfo = apply(accessors.pageInfo(), userValue);
         if (pageInfo != null) {
             this.resultsPerPage = pageInfo.getResultsPerPage();
             this.totalResults = pageInfo.getTotalResults();
         }
 
-        if (FACTORY_MAP.containsKey(responseClass)) {
+        final JsonFactory factory = YouTubeApiResponseAccessors.jsonFactory(userValue, responseClass);
+        if (factory != null) {
             try {
-                final JsonFactory factory = FACTORY_MAP.get(responseClass);
-                if (factory != null) {
-                    this.content = factory.toPrettyString(userValue);
-                } else {
-                    LOG.warn("factory was null ?!");
-                }
+                this.content = factory.toPrettyString(userValue);
             } catch (IOException e) {
                 LOG.warn("{}: error serializing response {}: {}", e.getClass().getName(), responseClass.getName(), e.getMessage());
             }
@@ -179,18 +139,6 @@ public class YouTubeApiCacheEntry implements Serializable {
         this.lastUpdated = Instant.now(Clock.systemUTC());
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T> T apply(Map<Class<?>, Method> map, Class<? extends GenericJson> clz, GenericJson userValue) {
-        if (map.containsKey(clz)) {
-            try {
-                return (T) map.get(clz).invoke(userValue);
-            } catch (InvocationTargetException | IllegalAccessException e) {
-                LOG.warn("{}: error retrieving {}#{}: {}", e.getClass().getName(), clz.getName(), map.get(clz).getName(), e.getMessage());
-            }
-        }
-        return null;
-    }
-
     /**
      * Convert this object to YouTube API response
      *
@@ -198,18 +146,34 @@ public class YouTubeApiCacheEntry implements Serializable {
      * @return YouTube API response
      */
     public <T extends GenericJson> T valueOf() {
-        LOG.info("valueOf({})", kind);
-        if (FACTORY_MAP.containsKey(responseClass)) {
-            LOG.info("converting!");
+        LOG.trace("valueOf({})", kind);
+
+        if (decodedValue != null) {
+            @SuppressWarnings("unchecked")
+            T t = (T) decodedValue;
+            return t;
+        }
+
+        // this isn't set when the entry is loaded from the database
+        final Class<? extends GenericJson> clz = (responseClass != null) ? responseClass : YouTubeApiResponseAccessors.responseClass(kind);
+        if (clz == null) {
+            LOG.warn("unrecognized kind: {}", kind);
+            return null;
+        }
+
+        final JsonFactory factory = YouTubeApiResponseAccessors.jsonFactory(null, clz);
+        if (factory != null) {
+            LOG.trace("decoding {} content", kind);
             try {
                 @SuppressWarnings("unchecked")
-                T t = (T) FACTORY_MAP.get(responseClass).fromString(content, responseClass);
+                T t = (T) factory.fromString(content, clz);
+                decodedValue = t;
                 return t;
             } catch (IOException e) {
                 LOG.warn("{}: error deserializing content: {}", e.getClass().getName(), e.getMessage());
             }
         } else {
-            LOG.info("no factory map found!");
+            LOG.trace("no JSON factory for {}", kind);
         }
 
         return null;
@@ -313,6 +277,16 @@ public class YouTubeApiCacheEntry implements Serializable {
 
     public void setContent(String content) {
         this.content = content;
+        this.decodedValue = null;
+    }
+
+    /**
+     * Set the decoded content, e.g., when the entry is created from a response.
+     *
+     * @param decodedValue YouTube API response
+     */
+    public void setDecodedValue(@Nullable GenericJson decodedValue) {
+        this.decodedValue = decodedValue;
     }
 
     public Instant getLastUpdated() {
@@ -374,94 +348,4 @@ public class YouTubeApiCacheEntry implements Serializable {
                 .append("content", (content == null) ? null : "\n  >   " + content.substring(0, Math.min(100, content.length())).replace("\n", "\n  >   "))
                 .toString();
     }
-
-    /**
-     * Initialize static maps for clas -> method
-     *
-     * @param classes YouTube API response classes
-     */
-    static void initialize(@NotNull Class<?>... classes) {
-        for (Class<?> clz : classes) {
-            initialize(clz);
-        }
-    }
-
-    /**
-     * Initialize static maps for class -> method
-     *
-     * @param clz individual YouTube API response class
-     */
-    static void initialize(@NotNull Class<?> clz) {
-        // using a loop lets us avoid dealing with NoSuchMethodExceptions
-        for (Method m : clz.getMethods()) {
-            // make sure this is a 'getter'
-            if (!m.getName().startsWith("get") || m.getParameterCount() > 0) {
-                continue;
-            }
-
-            // plus a little more paranoia...
-            if (Void.class.equals(m.getReturnType())) {
-                continue;
-            }
-
-            switch (m.getName()) {
-                case "getEtag":
-                    GET_ETAG.put(clz, m);
-                    break;
-
-                case "getEventId":
-                    GET_EVENT_ID.put(clz, m);
-                    break;
-
-                case "getKind":
-                    GET_KIND.put(clz, m);
-                    break;
-
-                case "getNextPageToken":
-                    GET_NEXT_PAGE_TOKEN.put(clz, m);
-                    break;
-
-                case "getPageInfo":
-                    GET_PAGE_INFO.put(clz, m);
-                    break;
-
-                case "getPrevPageToken":
-                    GET_PREV_PAGE_TOKEN.put(clz, m);
-                    break;
-
-                case "getRegionCode":
-                    GET_REGION_CODE.put(clz, m);
-                    break;
-
-                case "getVisitorId":
-                    GET_VISITOR_ID.put(clz, m);
-                    break;
-
-                case "getItems":
-                    GET_ITEMS.put(clz, m);
-                    break;
-
-                case "getFactory":
-                    // this is usually null
-                    // @TODO - was something lost here?
-                    // try {
-                    //    //
-                    //}
-                    // LOG.info("getFactory is not null!");
-                    // FACTORY_MAP.put(clz, m);
-                    break;
-
-                case "getTokenPagination":
-                case "getUnknownKeys":
-                case "getClass":
-                case "getClassInfo":
-                    // standard...
-                    break;
-
-                default:
-                    // I know there's a 'getSummary()'...
-                    LOG.info("unhandled getter: {}", m.getName());
-            }
-        }
-    }
 }
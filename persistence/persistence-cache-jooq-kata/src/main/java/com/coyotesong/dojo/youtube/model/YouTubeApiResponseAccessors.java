@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.model;
+
+import com.coyotesong.dojo.youtube.lang3.MethodAccessors;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.youtube.model.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Typed accessors for the top-level fields of the YouTube API responses
+ * <p>
+ * The response classes don't share an interface for 'getEtag()', etc., so we discover the
+ * getters once at class initialization and convert them into lambdas. The registry is
+ * immutable after that so it's safe to share between threads.
+ * </p>
+ * <p>
+ * A null accessor means the response class doesn't have that field.
+ * </p>
+ */
+public record YouTubeApiResponseAccessors(@Nullable Function<GenericJson, String> etag,
+                                          @Nullable Function<GenericJson, String> eventId,
+                                          @Nullable Function<GenericJson, String> kind,
+                                          @Nullable Function<GenericJson, String> nextPageToken,
+                                          @Nullable Function<GenericJson, PageInfo> pageInfo,
+                                          @Nullable Function<GenericJson, String> prevPageToken,
+                                          @Nullable Function<GenericJson, String> regionCode,
+                                          @Nullable Function<GenericJson, String> visitorId) {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeApiResponseAccessors.class);
+
+    private static final YouTubeApiResponseAccessors NONE = new YouTubeApiResponseAccessors(null, null, null, null, null, null, null, null);
+
+    private static final Map<Class<?>, YouTubeApiResponseAccessors> ACCESSORS;
+
+    // response class for each 'kind', e.g., 'youtube#videoListResponse'
+    private static final Map<String, Class<? extends GenericJson>> KIND_MAP;
+
+    // There's no default JsonFactory so we remember the one used by each response class.
+    // Entries loaded from the database before we've seen a response fall back to Gson.
+    private static final ConcurrentMap<Class<?>, JsonFactory> FACTORY_MAP = new ConcurrentHashMap<>();
+
+    static {
+        // we could perform this as-needed but this is better since we know there's only
+        // a very limited number of supported responses.
+        final Map<Class<?>, YouTubeApiResponseAccessors> accessors = new LinkedHashMap<>();
+        final Map<String, Class<? extends GenericJson>> kinds = new LinkedHashMap<>();
+        for (Class<? extends GenericJson> clz : List.of(
+                CaptionListResponse.class,
+                ChannelListResponse.class,
+                ChannelSectionListResponse.class,
+                I18nLanguageListResponse.class,
+                I18nRegionListResponse.class,
+                PlaylistImageListResponse.class,
+                PlaylistItemListResponse.class,
+                PlaylistListResponse.class,
+                SearchListResponse.class,
+                VideoCategoryListResponse.class,
+                VideoListResponse.class)) {
+            accessors.put(clz, initialize(clz));
+            kinds.put("youtube#" + Character.toLowerCase(clz.getSimpleName().charAt(0)) + clz.getSimpleName().substring(1), clz);
+        }
+        ACCESSORS = Map.copyOf(accessors);
+        KIND_MAP = Map.copyOf(kinds);
+    }
+
+    /**
+     * Get accessors for YouTube API response class
+     *
+     * @param clz YouTube API response class
+     * @return accessors (all null if class is not supported)
+     */
+    @NotNull
+    public static YouTubeApiResponseAccessors forClass(@NotNull Class<?> clz) {
+        return ACCESSORS.getOrDefault(clz, NONE);
+    }
+
+    /**
+     * Get JsonFactory used by YouTube API response class
+     *
+     * @param userValue YouTube API response. If not null its factory is recorded.
+     * @param clz       YouTube API response class
+     * @return factory (Gson if we haven't seen a response yet)
+     */
+    @Nullable
+    public static JsonFactory jsonFactory(@Nullable GenericJson userValue, @NotNull Class<?> clz) {
+        final JsonFactory factory = FACTORY_MAP.get(clz);
+        if (factory == null && userValue != null && userValue.getFactory() != null) {
+            final JsonFactory previous = FACTORY_MAP.putIfAbsent(clz, userValue.getFactory());
+            return (previous != null) ? previous : userValue.getFactory();
+        }
+        return (factory != null) ? factory : GsonFactory.getDefaultInstance();
+    }
+
+    /**
+     * Get the response class for a 'kind'. This is required for entries loaded from the database.
+     *
+     * @param kind YouTube API response kind, e.g., 'youtube#videoListResponse'
+     * @return response class, or null if the kind is not supported
+     */
+    @Nullable
+    public static Class<? extends GenericJson> responseClass(@Nullable String kind) {
+        return (kind == null) ? null : KIND_MAP.get(kind);
+    }
+
+    /**
+     * Apply accessor, if it exists
+     *
+     * @param accessor  accessor (may be null)
+     * @param userValue YouTube API response
+     * @param <T>       field type
+     * @return field value, or null if there's no accessor
+     */
+    @Nullable
+    public static <T> T apply(@Nullable Function<GenericJson, T> accessor, @NotNull GenericJson userValue) {
+        return (accessor == null) ? null : accessor.apply(userValue);
+    }
+
+    /**
+     * Discover getters for an individual YouTube API response class
+     *
+     * @param clz individual YouTube API response class
+     */
+    @NotNull
+    static YouTubeApiResponseAccessors initialize(@NotNull Class<?> clz) {
+        final Map<String, Function<GenericJson, ?>> getters = new LinkedHashMap<>();
+
+        // using a loop lets us avoid dealing with NoSuchMethodExceptions
+        for (Method m : clz.getMethods()) {
+            // make sure this is a 'getter'
+            if (!m.getName().startsWith("get") || m.getParameterCount() > 0) {
+                continue;
+            }
+
+            // plus a little more paranoia...
+            if (Void.class.equals(m.getReturnType())) {
+                continue;
+            }
+
+            switch (m.getName()) {
+                case "getEtag":
+                case "getEventId":
+                case "getKind":
+                case "getNextPageToken":
+                case "getPageInfo":
+                case "getPrevPageToken":
+                case "getRegionCode":
+                case "getVisitorId":
+                    getters.put(m.getName(), MethodAccessors.getter(m));
+                    break;
+
+                case "getItems":
+                case "getTokenPagination":
+                case "getFactory":
+                case "getUnknownKeys":
+                case "getClass":
+                case "getClassInfo":
+                    // standard...
+                    break;
+
+                default:
+                    // I know there's a 'getSummary()'...
+                    LOG.info("unhandled getter: {}", m.getName());
+            }
+        }
+
+        return new YouTubeApiResponseAccessors(
+                cast(getters.get("getEtag")),
+                cast(getters.get("getEventId")),
+                cast(getters.get("getKind")),
+                cast(getters.get("getNextPageToken")),
+                cast(getters.get("getPageInfo")),
+                cast(getters.get("getPrevPageToken")),
+                cast(getters.get("getRegionCode")),
+                cast(getters.get("getVisitorId")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Function<GenericJson, T> cast(@Nullable Function<GenericJson, ?> getter) {
+        return (Function<GenericJson, T>) getter;
+    }
+}
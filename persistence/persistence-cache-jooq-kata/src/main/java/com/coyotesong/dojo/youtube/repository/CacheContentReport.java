@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.repository;
+
+/**
+ * Comparison of the cache storage formats for a single response 'kind'.
+ *
+ * The stored values are the current totals for the table. The remaining values are
+ * measured on a sample of the entries.
+ *
+ * @param kind                response kind
+ * @param entries             number of entries
+ * @param storedJsonBytes     bytes currently stored as JSON
+ * @param storedDeflatedBytes bytes currently stored compressed
+ * @param samples             number of entries sampled
+ * @param jsonBytes           sample size as stored
+ * @param compactBytes        sample size as compact JSON
+ * @param deflateBytes        sample size compressed without a dictionary
+ * @param dictionaryBytes     sample size compressed with the dictionary
+ * @param dictionarySize      dictionary size
+ * @param compressMBps        compression throughput with the dictionary, in MB of compact JSON per second
+ * @param decompressMBps      decompression throughput with the dictionary, in MB of compact JSON per second
+ */
+public record CacheContentReport(String kind, long entries, long storedJsonBytes, long storedDeflatedBytes,
+                                 int samples, long jsonBytes, long compactBytes, long deflateBytes,
+                                 long dictionaryBytes, int dictionarySize, double compressMBps, double decompressMBps) {
+}
@@ -19,8 +19,13 @@ package com.coyotesong.dojo.youtube.repository;
 
 // import com.coyotesong.dojo.youtube.cache.YouTubeApiCache;
 import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Instant;
+import java.time.YearMonth;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,9 +38,135 @@ public interface YouTubeApiCacheRepository {
 
     Optional<YouTubeApiCacheEntry> findOptionalByRequestJson(String requestJson);
 
+    /**
+     * Get a page of entries, most recently updated first. Entries that have never been
+     * updated are skipped.
+     * <p>
+     * The default implementation sorts findAll(). Implementations should use the database.
+     * </p>
+     *
+     * @param after last entry of the previous page, or null for the first page
+     * @param limit maximum number of entries
+     * @return entries
+     */
+    default List<YouTubeApiCacheEntry> findRecentlyUpdated(@Nullable YouTubeApiCacheEntry after, int limit) {
+        final Comparator<YouTubeApiCacheEntry> order = Comparator
+                .comparing(YouTubeApiCacheEntry::getLastUpdated, Comparator.reverseOrder())
+                .thenComparing(YouTubeApiCacheEntry::getKey, Comparator.nullsLast(Comparator.reverseOrder()));
+        return findAll().stream()
+                .filter(e -> e.getLastUpdated() != null)
+                .sorted(order)
+                .filter(e -> (after == null) || (order.compare(e, after) > 0))
+                .limit(limit)
+                .toList();
+    }
+
     // YouTubeApiCache getById(String id);
 
     void insert(YouTubeApiCacheEntry entry);
 
     void insert(Collection<YouTubeApiCacheEntry> entries);
+
+    /**
+     * Replace an existing entry, e.g., after the cached response has changed.
+     *
+     * @param entry entry with key
+     */
+    void update(YouTubeApiCacheEntry entry);
+
+    /**
+     * Record that an existing entry is still valid, e.g., after a '304 Not Modified' response.
+     *
+     * @param key         entry key
+     * @param lastUpdated time entry was confirmed
+     */
+    void updateLastUpdated(Integer key, Instant lastUpdated);
+
+    /**
+     * Compress entries that are still stored as JSON. This is the migration path for
+     * existing entries and should be called until it returns 0.
+     * <p>
+     * The default implementation doesn't compress content so there's nothing to do.
+     * </p>
+     *
+     * @param batchSize maximum number of entries to compress
+     * @return number of entries compressed
+     */
+    default int compressContent(int batchSize) {
+        return 0;
+    }
+
+    /**
+     * Compare the storage formats for each response kind.
+     * <p>
+     * The default implementation doesn't compress content so there's nothing to report.
+     * </p>
+     *
+     * @param maxSamples maximum number of entries to sample for each kind
+     * @return report for each kind
+     */
+    default List<CacheContentReport> getContentReport(int maxSamples) {
+        return List.of();
+    }
+
+    /**
+     * Is the cache partitioned by month?
+     * <p>
+     * The default implementation isn't partitioned so there's nothing to maintain.
+     * </p>
+     *
+     * @return true if partitions must be created and dropped
+     */
+    default boolean isPartitioned() {
+        return false;
+    }
+
+    /**
+     * Get the months that have a partition. The default partition isn't included.
+     * <p>
+     * The default implementation isn't partitioned so there are none.
+     * </p>
+     *
+     * @return months, oldest first
+     */
+    default List<YearMonth> findPartitions() {
+        return List.of();
+    }
+
+    /**
+     * Create the partition for a month, if it doesn't already exist. This fails if
+     * the default partition has entries for that month.
+     * <p>
+     * The default implementation isn't partitioned so this does nothing.
+     * </p>
+     *
+     * @param month month
+     */
+    default void createPartition(@NotNull YearMonth month) {
+    }
+
+    /**
+     * Drop the partition for a month, and all of its entries.
+     * <p>
+     * The default implementation isn't partitioned so this does nothing.
+     * </p>
+     *
+     * @param month month
+     */
+    default void dropPartition(@NotNull YearMonth month) {
+    }
+
+    /**
+     * Count the entries in the default partition, i.e., entries written when their
+     * month had no partition. They're never dropped, and they prevent the partition
+     * for their month from being created.
+     * <p>
+     * The default implementation isn't partitioned so there are none.
+     * </p>
+     *
+     * @return number of entries
+     */
+    default long countDefaultPartition() {
+        return 0;
+    }
 }
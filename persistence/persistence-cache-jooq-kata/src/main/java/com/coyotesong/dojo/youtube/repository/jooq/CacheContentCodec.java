@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.repository.jooq;
+
+import com.coyotesong.dojo.youtube.repository.CacheContentReport;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Codec for the compressed form of cached YouTube API responses.
+ *
+ * The content is compact JSON compressed with deflate (zlib format). Each response
+ * 'kind' can have a preset dictionary of its common keys and values. The zlib header
+ * records the dictionary's Adler-32 checksum so the stored bytes identify the
+ * dictionary needed to decompress them.
+ */
+public final class CacheContentCodec {
+
+    /**
+     * Largest useful dictionary - deflate can't look back further than this.
+     */
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    /**
+     * Longest segment considered for the dictionary
+     */
+    private static final int MAX_SEGMENT_LENGTH = 256;
+
+    private CacheContentCodec() {
+    }
+
+    /**
+     * Remove the insignificant whitespace from JSON text, e.g., pretty-printed content.
+     *
+     * @param json JSON text
+     * @return compact JSON text
+     */
+    @NotNull
+    public static String compact(@NotNull String json) {
+        final StringBuilder sb = new StringBuilder(json.length());
+        boolean inString = false;
+        boolean escaped = false;
+        for (int i = 0; i < json.length(); i++) {
+            final char c = json.charAt(i);
+            if (inString) {
+                sb.append(c);
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+                sb.append(c);
+            } else if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Compress content
+     *
+     * @param content    JSON text
+     * @param dictionary preset dictionary, may be null
+     * @return compressed content
+     */
+    @NotNull
+    public static byte[] deflate(@NotNull String content, @Nullable byte[] dictionary) {
+        final byte[] input = content.getBytes(StandardCharsets.UTF_8);
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(input);
+            deflater.finish();
+
+            final ByteArrayOutputStream os = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            final byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                final int len = deflater.deflate(buffer);
+                os.write(buffer, 0, len);
+            }
+            return os.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompress content
+     *
+     * @param bytes        compressed content
+     * @param dictionaries lookup of preset dictionaries by id, returns null if unknown
+     * @return JSON text
+     * @throws IllegalArgumentException the content is corrupt or requires an unknown dictionary
+     */
+    @NotNull
+    public static String inflate(@NotNull byte[] bytes, @NotNull IntFunction<byte[]> dictionaries) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+
+            final ByteArrayOutputStream os = new ByteArrayOutputStream(bytes.length * 4);
+            final byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                final int len = inflater.inflate(buffer);
+                if (len == 0) {
+                    if (inflater.needsDictionary()) {
+                        final int id = inflater.getAdler();
+                        final byte[] dictionary = dictionaries.apply(id);
+                        if (dictionary == null) {
+                            throw new IllegalArgumentException("unknown dictionary: " + id);
+                        }
+                        inflater.setDictionary(dictionary);
+                    } else if (inflater.needsInput()) {
+                        throw new IllegalArgumentException("truncated content");
+                    }
+                }
+                os.write(buffer, 0, len);
+            }
+            return os.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("corrupt content: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Get the id of a dictionary. This is the value recorded in the zlib header.
+     *
+     * @param dictionary preset dictionary
+     * @return dictionary id
+     */
+    public static int dictionaryId(@NotNull byte[] dictionary) {
+        final Adler32 adler = new Adler32();
+        adler.update(dictionary);
+        return (int) adler.getValue();
+    }
+
+    /**
+     * Build a preset dictionary from sample content of a single 'kind'.
+     *
+     * The content is split after each ',', '{' and '[' so a segment is typically a key
+     * and its value. Segments that occur in at least half the samples are kept, with
+     * the segments that save the most at the end of the dictionary where deflate
+     * finds them with the shortest distances.
+     *
+     * @param samples sample content
+     * @param maxSize maximum dictionary size in bytes
+     * @return dictionary, may be empty if the samples have nothing in common
+     */
+    @NotNull
+    public static byte[] train(@NotNull Collection<String> samples, int maxSize) {
+        if (maxSize < 1 || maxSize > MAX_DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("'maxSize' must be between 1 and " + MAX_DICTIONARY_SIZE);
+        }
+
+        final Map<String, Integer> frequency = new HashMap<>();
+        for (String sample : samples) {
+            final Set<String> segments = new HashSet<>();
+            final String json = compact(sample);
+            int start = 0;
+            for (int i = 0; i < json.length(); i++) {
+                final char c = json.charAt(i);
+                if (c == ',' || c == '{' || c == '[' || i == json.length() - 1) {
+                    if (i + 1 - start <= MAX_SEGMENT_LENGTH) {
+                        segments.add(json.substring(start, i + 1));
+                    }
+                    start = i + 1;
+                }
+            }
+            segments.forEach(segment -> frequency.merge(segment, 1, Integer::sum));
+        }
+
+        final int threshold = Math.max(2, (samples.size() + 1) / 2);
+        final List<Map.Entry<String, Integer>> common = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : frequency.entrySet()) {
+            if (entry.getValue() >= threshold && entry.getKey().length() > 2) {
+                common.add(entry);
+            }
+        }
+
+        // most valuable first, ties broken by text so the dictionary is reproducible
+        common.sort(Comparator.<Map.Entry<String, Integer>>comparingLong(e -> -(long) e.getValue() * e.getKey().length())
+                .thenComparing(Map.Entry::getKey));
+
+        final Deque<byte[]> selected = new ArrayDeque<>();
+        int size = 0;
+        for (Map.Entry<String, Integer> entry : common) {
+            final byte[] segment = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            if (size + segment.length <= maxSize) {
+                selected.push(segment);
+                size += segment.length;
+            }
+        }
+
+        final ByteArrayOutputStream os = new ByteArrayOutputStream(size);
+        selected.forEach(os::writeBytes);
+        return os.toByteArray();
+    }
+
+    /**
+     * Measure the formats on sample content
+     *
+     * @param kind                response kind
+     * @param entries             number of entries
+     * @param storedJsonBytes     bytes currently stored as JSON
+     * @param storedDeflatedBytes bytes currently stored compressed
+     * @param samples             sample content
+     * @param dictionary          dictionary for the kind, may be null
+     * @return report
+     */
+    @NotNull
+    public static CacheContentReport measure(@NotNull String kind, long entries, long storedJsonBytes, long storedDeflatedBytes,
+                                             @NotNull List<String> samples, @Nullable byte[] dictionary) {
+        long jsonBytes = 0;
+        long compactBytes = 0;
+        long deflateBytes = 0;
+        long dictionaryBytes = 0;
+        long compressNanos = 0;
+        long decompressNanos = 0;
+
+        for (String sample : samples) {
+            final String compact = compact(sample);
+            jsonBytes += sample.getBytes(StandardCharsets.UTF_8).length;
+            compactBytes += compact.getBytes(StandardCharsets.UTF_8).length;
+            deflateBytes += deflate(compact, null).length;
+
+            final long start = System.nanoTime();
+            final byte[] bytes = deflate(compact, dictionary);
+            final long mid = System.nanoTime();
+            inflate(bytes, id -> dictionary);
+            final long end = System.nanoTime();
+
+            dictionaryBytes += bytes.length;
+            compressNanos += mid - start;
+            decompressNanos += end - mid;
+        }
+
+        return new CacheContentReport(kind, entries, storedJsonBytes, storedDeflatedBytes,
+                samples.size(), jsonBytes, compactBytes, deflateBytes, dictionaryBytes,
+                (dictionary == null) ? 0 : dictionary.length,
+                throughput(compactBytes, compressNanos), throughput(compactBytes, decompressNanos));
+    }
+
+    private static double throughput(long bytes, long nanos) {
+        return (nanos == 0) ? 0.0 : (bytes / 1_000_000.0) / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.repository.jooq;
+
+/**
+ * Storage format for new cached YouTube API responses. Entries are readable in either format.
+ */
+public enum CacheContentFormat {
+    /**
+     * JSON text in the 'content' column
+     */
+    JSON,
+
+    /**
+     * Compact JSON compressed with deflate and a per-kind dictionary in the 'content_deflated' column
+     */
+    DEFLATE
+}
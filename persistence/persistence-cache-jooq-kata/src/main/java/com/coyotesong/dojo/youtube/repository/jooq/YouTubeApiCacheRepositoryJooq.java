@@ -14,38 +14,583 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.coyotesong.dojo.youtube.repository.jooq;
 
 import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import com.coyotesong.dojo.youtube.repository.CacheContentReport;
 import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
 import com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.records.YoutubeApiCacheRecord;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jooq.*;
+import org.jooq.Record;
 import org.jooq.impl.DAOImpl;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCache.YOUTUBE_API_CACHE;
+import static com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY;
 
 @Repository
 public class YouTubeApiCacheRepositoryJooq extends DAOImpl<YoutubeApiCacheRecord, YouTubeApiCacheEntry, Integer> implements YouTubeApiCacheRepository {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeApiCacheRepositoryJooq.class);
+
+    // monthly partitions, e.g., 'youtube_api_cache_p202407', and the default partition (see V8)
+    static final String PARTITION_PREFIX = "youtube_api_cache_p";
+    static final String DEFAULT_PARTITION = "youtube_api_cache_default";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // minimum number of entries before a dictionary is trained for a kind
+    static final int MIN_TRAINING_SAMPLES = 8;
+
+    static final int TRAINING_SAMPLES = 200;
+
+    // an unknown dictionary id reloads the dictionaries at most this often
+    static final Duration DICTIONARY_RELOAD_INTERVAL = Duration.ofMinutes(1);
+
+    // 'request_hash' is generated by the database (see V6)
+    static final List<Field<?>> INSERT_FIELDS = Arrays.stream(YOUTUBE_API_CACHE.fields())
+            .filter(f -> !f.equals(YOUTUBE_API_CACHE.REQUEST_HASH))
+            .toList();
+
+    private final CacheContentFormat format;
+
+    // dictionaries by id, and the current dictionary for each kind
+    private final Map<Integer, byte[]> dictionaries = new ConcurrentHashMap<>();
+    private final Map<String, Integer> dictionaryIds = new ConcurrentHashMap<>();
+    private volatile boolean dictionariesLoaded;
+    private volatile long dictionariesLoadedAt;
 
-    @Autowired
     public YouTubeApiCacheRepositoryJooq(Configuration configuration) {
+        this(configuration, CacheContentFormat.JSON);
+    }
+
+    @Autowired
+    public YouTubeApiCacheRepositoryJooq(Configuration configuration,
+                                         @Value("${youtube.cache.content.format:DEFLATE}") CacheContentFormat format) {
         super(YOUTUBE_API_CACHE, YouTubeApiCacheEntry.class, configuration);
+        this.format = format;
     }
 
     public Integer getId(final YouTubeApiCacheEntry entry) {
         return entry.getKey();
     }
 
+    @Override
+    public List<YouTubeApiCacheEntry> findAll() {
+        return ctx()
+                .select(YOUTUBE_API_CACHE.fields())
+                .from(YOUTUBE_API_CACHE)
+                .fetch(this::toEntry)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     @Override
     public Optional<YouTubeApiCacheEntry> findOptionalByRequestJson(String requestJson) {
         return ctx()
-                .selectFrom(YOUTUBE_API_CACHE)
-                .where(YOUTUBE_API_CACHE.REQUEST_JSON.cast(String.class).eq(requestJson))
-                .fetchOptionalInto(YouTubeApiCacheEntry.class);
+                .select(YOUTUBE_API_CACHE.fields())
+                .from(YOUTUBE_API_CACHE)
+                .where(YOUTUBE_API_CACHE.REQUEST_HASH.eq(requestHash(requestJson)))
+                // guard against (extremely unlikely) hash collisions
+                .and(YOUTUBE_API_CACHE.REQUEST_JSON.cast(String.class).eq(requestJson))
+                // concurrent writers may have added a duplicate (see V8)
+                .orderBy(YOUTUBE_API_CACHE.LAST_UPDATED.desc(), YOUTUBE_API_CACHE.KEY.desc())
+                .limit(1)
+                .fetchOptional()
+                .map(this::toEntry);
+    }
+
+    @Override
+    public List<YouTubeApiCacheEntry> findRecentlyUpdated(@Nullable YouTubeApiCacheEntry after, int limit) {
+        final SelectSeekStep2<Record, Instant, Integer> query = ctx()
+                .select(YOUTUBE_API_CACHE.fields())
+                .from(YOUTUBE_API_CACHE)
+                .where(YOUTUBE_API_CACHE.LAST_UPDATED.isNotNull())
+                .orderBy(YOUTUBE_API_CACHE.LAST_UPDATED.desc(), YOUTUBE_API_CACHE.KEY.desc());
+
+        final Result<Record> page = (after == null)
+                ? query.limit(limit).fetch()
+                : query.seek(after.getLastUpdated(), after.getKey()).limit(limit).fetch();
+
+        return page.stream()
+                .map(this::toEntry)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Insert the entry, or replace the existing entry for the same request. The
+     * entry's key is updated to the database key.
+     *
+     * @param entry cache entry
+     */
+    @Override
+    public void insert(YouTubeApiCacheEntry entry) {
+        entry.setKey(write(List.of(entry)).get(entry.getRequestJson()));
+    }
+
+    /**
+     * Insert or replace the entries with a single multi-row insert. The entries' keys
+     * are not updated.
+     *
+     * @param entries cache entries
+     */
+    @Override
+    public void insert(Collection<YouTubeApiCacheEntry> entries) {
+        if (!entries.isEmpty()) {
+            write(entries);
+        }
+    }
+
+    /**
+     * Replace the existing entries for the same requests in one transaction.
+     * <p>
+     * 'request_hash' isn't unique in the partitioned table (see V8) so we can't use
+     * 'insert ... on conflict'. Instead the existing entries are deleted and all of
+     * the entries are inserted with a single multi-row statement. A replaced entry
+     * keeps its key. If a request has duplicate entries they're collapsed into one.
+     * </p>
+     * <p>
+     * COPY isn't used - it can't return the keys, and the writer's batches are small
+     * enough that a single 'insert' is only one round trip.
+     * </p>
+     *
+     * @param entries cache entries - the last entry for a request wins
+     * @return database key for each request
+     */
+    @NotNull
+    Map<String, Integer> write(@NotNull Collection<YouTubeApiCacheEntry> entries) {
+        final Map<String, YouTubeApiCacheEntry> requests = new LinkedHashMap<>();
+        for (YouTubeApiCacheEntry entry : entries) {
+            requests.put(entry.getRequestJson(), entry);
+        }
+
+        final List<Field<UUID>> hashes = requests.keySet().stream().map(YouTubeApiCacheRepositoryJooq::requestHash).toList();
+        return ctx().transactionResult(configuration -> {
+            final DSLContext tx = configuration.dsl();
+
+            final Map<String, Integer> replaced = new HashMap<>();
+            tx.deleteFrom(YOUTUBE_API_CACHE)
+                    .where(YOUTUBE_API_CACHE.REQUEST_HASH.in(hashes))
+                    // guard against (extremely unlikely) hash collisions
+                    .and(YOUTUBE_API_CACHE.REQUEST_JSON.cast(String.class).in(requests.keySet()))
+                    .returningResult(YOUTUBE_API_CACHE.KEY, YOUTUBE_API_CACHE.REQUEST_JSON.cast(String.class))
+                    .fetch()
+                    .forEach(r -> replaced.merge(r.value2(), r.value1(), Math::max));
+
+            InsertValuesStepN<YoutubeApiCacheRecord> insert = tx.insertInto(YOUTUBE_API_CACHE, INSERT_FIELDS);
+            for (YouTubeApiCacheEntry entry : requests.values()) {
+                final YoutubeApiCacheRecord record = toRecord(entry);
+                final Integer key = replaced.getOrDefault(entry.getRequestJson(), entry.getKey());
+                if (key != null) {
+                    record.setKey(key);
+                } else {
+                    // let the database assign the key
+                    record.changed(YOUTUBE_API_CACHE.KEY, false);
+                }
+                insert = insert.values(values(record));
+            }
+
+            final Map<String, Integer> keys = new HashMap<>();
+            insert.returningResult(YOUTUBE_API_CACHE.KEY, YOUTUBE_API_CACHE.REQUEST_JSON.cast(String.class))
+                    .fetch()
+                    .forEach(r -> keys.put(r.value2(), r.value1()));
+            return keys;
+        });
+    }
+
+    /**
+     * Get the values for a row of a multi-row insert. Every row has the same columns
+     * so the fields that haven't been set use the column default.
+     *
+     * @param record record
+     * @return values, in the same order as INSERT_FIELDS
+     */
+    @NotNull
+    static List<Field<?>> values(@NotNull YoutubeApiCacheRecord record) {
+        final List<Field<?>> values = new ArrayList<>(INSERT_FIELDS.size());
+        for (Field<?> field : INSERT_FIELDS) {
+            values.add(record.changed(field) ? value(record, field) : DSL.defaultValue(field));
+        }
+        return values;
+    }
+
+    @NotNull
+    private static <T> Field<T> value(@NotNull Record record, @NotNull Field<T> field) {
+        return DSL.val(record.get(field), field);
+    }
+
+    @Override
+    public void update(YouTubeApiCacheEntry entry) {
+        set(entry)
+                .where(YOUTUBE_API_CACHE.KEY.eq(entry.getKey()))
+                .execute();
+    }
+
+    @Override
+    public void updateLastUpdated(Integer key, Instant lastUpdated) {
+        ctx()
+                .update(YOUTUBE_API_CACHE)
+                .set(YOUTUBE_API_CACHE.LAST_UPDATED, lastUpdated)
+                .where(YOUTUBE_API_CACHE.KEY.eq(key))
+                .execute();
+    }
+
+    /**
+     * Compress entries that are still stored as JSON, training a dictionary for
+     * each kind that doesn't have one yet. Training is only attempted once per kind
+     * for each call. Nothing is compressed when the content format is JSON.
+     *
+     * @param batchSize maximum number of entries to compress
+     * @return number of entries compressed
+     */
+    @Override
+    public int compressContent(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("'batchSize' must be positive");
+        }
+        if (format != CacheContentFormat.DEFLATE) {
+            return 0;
+        }
+
+        final Result<Record3<Integer, String, String>> rows = ctx()
+                .select(YOUTUBE_API_CACHE.KEY, YOUTUBE_API_CACHE.KIND, YOUTUBE_API_CACHE.CONTENT.cast(String.class))
+                .from(YOUTUBE_API_CACHE)
+                .where(YOUTUBE_API_CACHE.CONTENT.isNotNull())
+                .and(YOUTUBE_API_CACHE.CONTENT_DEFLATED.isNull())
+                .orderBy(YOUTUBE_API_CACHE.KEY)
+                .limit(batchSize)
+                .fetch();
+
+        final List<Query> queries = new ArrayList<>(rows.size());
+        final Set<String> trained = new HashSet<>();
+        for (Record3<Integer, String, String> row : rows) {
+            final String kind = row.value2();
+            if (kind != null && trained.add(kind) && getDictionaryId(kind) == null) {
+                trainDictionary(kind, TRAINING_SAMPLES);
+            }
+            final byte[] bytes = CacheContentCodec.deflate(CacheContentCodec.compact(row.value3()), getDictionary(kind));
+            queries.add(ctx()
+                    .update(YOUTUBE_API_CACHE)
+                    .set(YOUTUBE_API_CACHE.CONTENT, (JSON) null)
+                    .set(YOUTUBE_API_CACHE.CONTENT_DEFLATED, bytes)
+                    .where(YOUTUBE_API_CACHE.KEY.eq(row.value1())));
+        }
+
+        if (!queries.isEmpty()) {
+            ctx().batch(queries).execute();
+        }
+        LOG.debug("compressed {} cache entries", queries.size());
+        return queries.size();
+    }
+
+    /**
+     * Train and save a new dictionary for a kind. Entries that have already been
+     * compressed keep using the dictionary they were compressed with.
+     *
+     * @param kind       response kind
+     * @param maxSamples maximum number of entries to sample
+     * @return dictionary id, or null if there are too few entries
+     */
+    @Nullable
+    public Integer trainDictionary(@NotNull String kind, int maxSamples) {
+        final List<String> samples = sampleContent(kind, maxSamples);
+        if (samples.size() < MIN_TRAINING_SAMPLES) {
+            LOG.info("too few entries to train dictionary for {}: {}", kind, samples.size());
+            return null;
+        }
+
+        final byte[] dictionary = CacheContentCodec.train(samples, CacheContentCodec.MAX_DICTIONARY_SIZE);
+        if (dictionary.length == 0) {
+            return null;
+        }
+
+        final int id = CacheContentCodec.dictionaryId(dictionary);
+        ctx()
+                .insertInto(YOUTUBE_API_CACHE_DICTIONARY)
+                .columns(YOUTUBE_API_CACHE_DICTIONARY.DICTIONARY_ID, YOUTUBE_API_CACHE_DICTIONARY.KIND, YOUTUBE_API_CACHE_DICTIONARY.DICTIONARY)
+                .values(id, kind, dictionary)
+                .onConflict(YOUTUBE_API_CACHE_DICTIONARY.DICTIONARY_ID)
+                .doNothing()
+                .execute();
+
+        dictionaries.put(id, dictionary);
+        dictionaryIds.put(kind, id);
+        LOG.info("trained {}-byte dictionary {} for {} from {} entries", dictionary.length, id, kind, samples.size());
+        return id;
+    }
+
+    /**
+     * Compare the storage formats for each kind.
+     *
+     * @param maxSamples maximum number of entries to sample for each kind
+     * @return report for each kind
+     */
+    @Override
+    @NotNull
+    public List<CacheContentReport> getContentReport(int maxSamples) {
+        final Result<Record4<String, Integer, Long, Long>> totals = ctx()
+                .select(YOUTUBE_API_CACHE.KIND,
+                        DSL.count(),
+                        DSL.sum(DSL.octetLength(YOUTUBE_API_CACHE.CONTENT.cast(String.class))).cast(SQLDataType.BIGINT),
+                        DSL.sum(DSL.field("octet_length({0})", Integer.class, YOUTUBE_API_CACHE.CONTENT_DEFLATED)).cast(SQLDataType.BIGINT))
+                .from(YOUTUBE_API_CACHE)
+                .groupBy(YOUTUBE_API_CACHE.KIND)
+                .orderBy(YOUTUBE_API_CACHE.KIND)
+                .fetch();
+
+        final List<CacheContentReport> reports = new ArrayList<>(totals.size());
+        for (Record4<String, Integer, Long, Long> total : totals) {
+            final String kind = total.value1();
+            final List<String> samples = sampleContent(kind, maxSamples);
+            byte[] dictionary = getDictionary(kind);
+            if (dictionary == null && samples.size() >= MIN_TRAINING_SAMPLES) {
+                // what we would get if we trained a dictionary now
+                dictionary = CacheContentCodec.train(samples, CacheContentCodec.MAX_DICTIONARY_SIZE);
+            }
+            reports.add(CacheContentCodec.measure(kind, total.value2(),
+                    Objects.requireNonNullElse(total.value3(), 0L), Objects.requireNonNullElse(total.value4(), 0L),
+                    samples, dictionary));
+        }
+        return reports;
+    }
+
+    /**
+     * Get a sample of the (decoded) content for a kind
+     *
+     * @param kind       response kind
+     * @param maxSamples maximum number of entries
+     * @return content
+     */
+    @NotNull
+    List<String> sampleContent(@NotNull String kind, int maxSamples) {
+        return ctx()
+                .select(YOUTUBE_API_CACHE.CONTENT.cast(String.class), YOUTUBE_API_CACHE.CONTENT_DEFLATED)
+                .from(YOUTUBE_API_CACHE)
+                .where(YOUTUBE_API_CACHE.KIND.eq(kind))
+                .and(YOUTUBE_API_CACHE.CONTENT.isNotNull().or(YOUTUBE_API_CACHE.CONTENT_DEFLATED.isNotNull()))
+                .orderBy(YOUTUBE_API_CACHE.KEY.desc())
+                .limit(maxSamples)
+                .fetch(r -> (r.value2() != null) ? decode(r.value2()) : r.value1())
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        return true;
+    }
+
+    @Override
+    public List<YearMonth> findPartitions() {
+        final List<YearMonth> months = new ArrayList<>();
+        for (String name : ctx()
+                .fetch("select c.relname from pg_catalog.pg_inherits i join pg_catalog.pg_class c on c.oid = i.inhrelid where i.inhparent = {0}::regclass",
+                        DSL.inline(YOUTUBE_API_CACHE.getSchema().getName() + "." + YOUTUBE_API_CACHE.getName()))
+                .getValues(0, String.class)) {
+            if (name.startsWith(PARTITION_PREFIX)) {
+                try {
+                    months.add(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_MONTH));
+                } catch (DateTimeParseException e) {
+                    LOG.warn("unexpected cache partition: {}", name);
+                }
+            }
+        }
+        Collections.sort(months);
+        return months;
+    }
+
+    @Override
+    public void createPartition(@NotNull YearMonth month) {
+        ctx().execute("create table if not exists {0} partition of {1} for values from ({2}) to ({3})",
+                partition(month), YOUTUBE_API_CACHE,
+                DSL.inline(month.atDay(1).toString()), DSL.inline(month.plusMonths(1).atDay(1).toString()));
+    }
+
+    /**
+     * Detach and drop the partition for a month. All of its entries are removed
+     * without touching the rest of the table.
+     *
+     * @param month month
+     */
+    @Override
+    public void dropPartition(@NotNull YearMonth month) {
+        ctx().execute("alter table {0} detach partition {1}", YOUTUBE_API_CACHE, partition(month));
+        ctx().execute("drop table {0}", partition(month));
+    }
+
+    @Override
+    public long countDefaultPartition() {
+        return ctx().fetchCount(DSL.table(DSL.name(YOUTUBE_API_CACHE.getSchema().getName(), DEFAULT_PARTITION)));
+    }
+
+    @NotNull
+    static Table<Record> partition(@NotNull YearMonth month) {
+        return DSL.table(DSL.name(YOUTUBE_API_CACHE.getSchema().getName(), PARTITION_PREFIX + PARTITION_MONTH.format(month)));
+    }
+
+    /**
+     * Create the 'update ... set' part of a statement that replaces the content
+     * of existing entries. The key isn't changed.
+     *
+     * @param entry cache entry
+     * @return update statement without a condition
+     */
+    private UpdateSetMoreStep<YoutubeApiCacheRecord> set(YouTubeApiCacheEntry entry) {
+        final YoutubeApiCacheRecord record = toRecord(entry);
+        record.changed(YOUTUBE_API_CACHE.KEY, false);
+        return ctx()
+                .update(YOUTUBE_API_CACHE)
+                .set(record);
+    }
+
+    /**
+     * Convert entry to record. The content is moved to 'content_deflated' when it's
+     * stored compressed.
+     *
+     * @param entry cache entry
+     * @return record
+     */
+    YoutubeApiCacheRecord toRecord(YouTubeApiCacheEntry entry) {
+        final YoutubeApiCacheRecord record = ctx().newRecord(YOUTUBE_API_CACHE, entry);
+        // 'request_hash' is generated by the database (see V6)
+        record.changed(YOUTUBE_API_CACHE.REQUEST_HASH, false);
+        record.setContentDeflated(encode(entry));
+        if (record.getContentDeflated() != null) {
+            record.setContent(null);
+        }
+        if (entry.getLastUpdated() == null) {
+            // 'last_updated' is the partition key so it's never null - use the database's default
+            record.changed(YOUTUBE_API_CACHE.LAST_UPDATED, false);
+        }
+        return record;
+    }
+
+    /**
+     * Get compressed content, if the entry is stored compressed.
+     *
+     * @param entry cache entry
+     * @return compressed content, or null
+     */
+    @Nullable
+    byte[] encode(YouTubeApiCacheEntry entry) {
+        if (format != CacheContentFormat.DEFLATE || entry.getContent() == null) {
+            return null;
+        }
+        return CacheContentCodec.deflate(CacheContentCodec.compact(entry.getContent()), getDictionary(entry.getKind()));
+    }
+
+    /**
+     * Convert a row to an entry, decompressing the content if necessary.
+     *
+     * @param r row with all YOUTUBE_API_CACHE fields
+     * @return entry, or null if the content can't be decompressed
+     */
+    @Nullable
+    YouTubeApiCacheEntry toEntry(Record r) {
+        final YouTubeApiCacheEntry entry = r.into(YOUTUBE_API_CACHE).into(YouTubeApiCacheEntry.class);
+        final byte[] bytes = r.get(YOUTUBE_API_CACHE.CONTENT_DEFLATED);
+        if (bytes != null) {
+            final String content = decode(bytes);
+            if (content == null) {
+                // treat it as a cache miss - it will be replaced
+                return null;
+            }
+            entry.setContent(content);
+        }
+        return entry;
+    }
+
+    @Nullable
+    private String decode(byte[] bytes) {
+        try {
+            return CacheContentCodec.inflate(bytes, this::getDictionary);
+        } catch (IllegalArgumentException e) {
+            LOG.warn("{}: unable to decompress cache entry: {}", e.getClass().getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get the current dictionary for a kind
+     *
+     * @param kind response kind
+     * @return dictionary, or null if there isn't one
+     */
+    @Nullable
+    byte[] getDictionary(@Nullable String kind) {
+        final Integer id = getDictionaryId(kind);
+        return (id == null) ? null : dictionaries.get(id);
+    }
+
+    @Nullable
+    private Integer getDictionaryId(@Nullable String kind) {
+        if (kind == null) {
+            return null;
+        }
+        if (!dictionariesLoaded) {
+            loadDictionaries();
+        }
+        return dictionaryIds.get(kind);
+    }
+
+    /**
+     * Get a dictionary by id. The dictionaries are reloaded if it's unknown since
+     * another instance may have trained it, but no more than once per
+     * DICTIONARY_RELOAD_INTERVAL so corrupt or foreign ids can't force a table
+     * read on every decode.
+     *
+     * @param id dictionary id
+     * @return dictionary, or null if there isn't one
+     */
+    @Nullable
+    byte[] getDictionary(int id) {
+        if (!dictionaries.containsKey(id)) {
+            loadDictionaries();
+        }
+        return dictionaries.get(id);
+    }
+
+    private synchronized void loadDictionaries() {
+        if (dictionariesLoaded && System.nanoTime() - dictionariesLoadedAt < DICTIONARY_RELOAD_INTERVAL.toNanos()) {
+            return;
+        }
+        ctx()
+                .select(YOUTUBE_API_CACHE_DICTIONARY.DICTIONARY_ID, YOUTUBE_API_CACHE_DICTIONARY.KIND, YOUTUBE_API_CACHE_DICTIONARY.DICTIONARY)
+                .from(YOUTUBE_API_CACHE_DICTIONARY)
+                .orderBy(YOUTUBE_API_CACHE_DICTIONARY.CREATED)
+                .forEach(r -> {
+                    dictionaries.put(r.value1(), r.value3());
+                    // the most recent dictionary wins
+                    dictionaryIds.put(r.value2(), r.value1());
+                });
+        dictionariesLoadedAt = System.nanoTime();
+        dictionariesLoaded = true;
+    }
+
+    /**
+     * Compute the request hash the same way the database does.
+     *
+     * @param requestJson canonical request
+     * @return expression matching 'request_hash'
+     */
+    static Field<UUID> requestHash(String requestJson) {
+        return DSL.md5(DSL.val(requestJson)).cast(SQLDataType.UUID);
     }
 }
@@ -0,0 +1,38 @@
+--
+-- Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+-- All Rights Reserved.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--    http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+--
+-- Index cache lookups by a fixed-width hash of the canonical request.
+--
+-- Lookups previously cast every 'request_json' value to text, i.e., a
+-- sequential scan of the entire cache. The canonical request already
+-- includes the response 'kind'.
+--
+-- The hash is a generated column so existing code that inserts entries
+-- doesn't need to know about it.
+--
+
+-- remove duplicates left by concurrent inserts, keeping the most recent entry
+delete from api_cache.youtube_api_cache
+ where key not in (select max(key)
+                     from api_cache.youtube_api_cache
+                    group by md5(request_json::text));
+
+alter table api_cache.youtube_api_cache
+    add column request_hash uuid generated always as (md5(request_json::text)::uuid) stored;
+
+create unique index youtube_api_cache_request_hash_idx
+    on api_cache.youtube_api_cache (request_hash);
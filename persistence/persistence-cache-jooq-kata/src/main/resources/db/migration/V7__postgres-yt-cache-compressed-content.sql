@@ -0,0 +1,48 @@
+--
+-- Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+-- All Rights Reserved.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--    http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+--
+-- Store cached responses as compact JSON compressed with deflate.
+--
+-- The responses are mostly whitespace and repeated keys. Each 'kind' can
+-- have a preset dictionary of its common keys and values. The dictionary_id
+-- is the dictionary's Adler-32 checksum, which deflate records in the
+-- compressed content.
+--
+-- Existing entries keep their json 'content' until they're compressed by
+-- the application (YouTubeApiCacheRepositoryJooq.compressContent()). An
+-- entry has either 'content' or 'content_deflated', never both.
+--
+
+create table api_cache.youtube_api_cache_dictionary
+(
+    dictionary_id int4                           not null,
+    kind          text                           not null,
+    dictionary    bytea                          not null,
+    created       timestamp(0) without time zone not null default now(),
+
+    constraint youtube_api_cache_dictionary_pkey primary key (dictionary_id)
+);
+
+create index youtube_api_cache_dictionary_kind_idx
+    on api_cache.youtube_api_cache_dictionary (kind);
+
+-- the content is already compressed
+alter table api_cache.youtube_api_cache
+    add column content_deflated bytea;
+
+alter table api_cache.youtube_api_cache
+    alter column content_deflated set storage external;
@@ -0,0 +1,115 @@
+--
+-- Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+-- All Rights Reserved.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--    http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+--
+-- Partition the cache by month of 'last_updated'.
+--
+-- Old entries are removed by dropping their partition instead of deleting
+-- rows, so there's no table bloat or long vacuum. Partitions are named
+-- 'youtube_api_cache_pYYYYMM'. The application creates future partitions
+-- and drops expired ones (YouTubeApiCacheRetention). The default partition
+-- only catches entries outside the existing partitions and should be empty.
+--
+-- A unique index on a partitioned table must include the partition key so
+-- 'request_hash' is no longer unique. The application replaces an entry by
+-- deleting every row for its request and inserting the new one in the same
+-- transaction, and reads the most recent entry if concurrent writers ever
+-- add a duplicate. The older duplicate is dropped with its partition.
+--
+-- Entries without a 'last_updated' time were never confirmed. They're
+-- given the migration time.
+--
+
+update api_cache.youtube_api_cache
+   set last_updated = now()
+ where last_updated is null;
+
+alter table api_cache.youtube_api_cache
+    rename to youtube_api_cache_unpartitioned;
+
+alter table api_cache.youtube_api_cache_unpartitioned
+    rename constraint youtube_api_cache_pkey to youtube_api_cache_unpartitioned_pkey;
+
+alter index api_cache.youtube_api_cache_request_hash_idx
+    rename to youtube_api_cache_unpartitioned_request_hash_idx;
+
+alter sequence api_cache.youtube_api_cache_key_seq owned by none;
+
+create table api_cache.youtube_api_cache
+(
+    key              int4                           not null default nextval('api_cache.youtube_api_cache_key_seq'),
+    request_json     json                           not null,
+    kind             text                           not null,
+    region_code      text,
+    event_id         text,
+    visitor_id       text,
+    results_per_page int4,
+    total_results    int4,
+    page_token       text,
+    next_page_token  text,
+    prev_page_token  text,
+    content          json,
+    etag             text,
+    last_updated     timestamp(0) without time zone not null default now(),
+    request_hash     uuid generated always as (md5(request_json::text)::uuid) stored,
+    content_deflated bytea,
+
+    constraint youtube_api_cache_pkey primary key (key, last_updated)
+) partition by range (last_updated);
+
+-- inherited by the partitions
+alter table api_cache.youtube_api_cache
+    alter column content_deflated set storage external;
+
+create index youtube_api_cache_request_hash_idx
+    on api_cache.youtube_api_cache (request_hash);
+
+-- cache warm-up reads the most recently updated entries first
+create index youtube_api_cache_last_updated_idx
+    on api_cache.youtube_api_cache (last_updated desc, key desc);
+
+create table api_cache.youtube_api_cache_default
+    partition of api_cache.youtube_api_cache default;
+
+-- monthly partitions from the oldest entry through three months from now
+do
+$$
+    declare
+        month date;
+    begin
+        for month in
+            select generate_series(date_trunc('month', coalesce(min(last_updated), now())),
+                                   date_trunc('month', now()) + interval '3 months',
+                                   interval '1 month')::date
+              from api_cache.youtube_api_cache_unpartitioned
+            loop
+                execute format('create table api_cache.%I partition of api_cache.youtube_api_cache for values from (%L) to (%L)',
+                               'youtube_api_cache_p' || to_char(month, 'YYYYMM'), month, (month + interval '1 month')::date);
+            end loop;
+    end
+$$;
+
+insert into api_cache.youtube_api_cache (key, request_json, kind, region_code, event_id, visitor_id,
+                                         results_per_page, total_results, page_token, next_page_token,
+                                         prev_page_token, content, etag, last_updated, content_deflated)
+select key, request_json, kind, region_code, event_id, visitor_id,
+       results_per_page, total_results, page_token, next_page_token,
+       prev_page_token, content, etag, last_updated, content_deflated
+  from api_cache.youtube_api_cache_unpartitioned;
+
+drop table api_cache.youtube_api_cache_unpartitioned;
+
+alter sequence api_cache.youtube_api_cache_key_seq owned by api_cache.youtube_api_cache.key;
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.repository.jooq;
+
+import com.coyotesong.dojo.youtube.repository.CacheContentReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test CacheContentCodec
+ */
+public class CacheContentCodecTest {
+    private static final String PRETTY = """
+            {
+              "kind" : "youtube#videoListResponse",
+              "items" : [ {
+                "id" : "abc",
+                "snippet" : { "title" : "a \\"quoted\\" title ", "tags" : [ "x y" ] }
+              } ]
+            }
+            """;
+
+    private static List<String> samples() {
+        final List<String> samples = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            samples.add("{\"kind\":\"youtube#videoListResponse\",\"etag\":\"etag" + i + "\",\"items\":[{\"kind\":\"youtube#video\","
+                    + "\"id\":\"id" + i + "\",\"snippet\":{\"publishedAt\":\"2024-01-0" + (i % 9 + 1) + "T00:00:00Z\","
+                    + "\"channelTitle\":\"Channel\",\"liveBroadcastContent\":\"none\",\"defaultAudioLanguage\":\"en\"}}],"
+                    + "\"pageInfo\":{\"totalResults\":1,\"resultsPerPage\":1}}");
+        }
+        return samples;
+    }
+
+    @Test
+    public void Given_PrettyJson_When_Compact_Then_OnlyWhitespaceInStringsRemains() {
+        assertThat(CacheContentCodec.compact(PRETTY), equalTo("{\"kind\":\"youtube#videoListResponse\",\"items\":[{\"id\":\"abc\","
+                + "\"snippet\":{\"title\":\"a \\\"quoted\\\" title \",\"tags\":[\"x y\"]}}]}"));
+    }
+
+    @Test
+    public void Given_Content_When_DeflateAndInflate_Then_RoundTrip() {
+        final String content = CacheContentCodec.compact(PRETTY);
+        final byte[] bytes = CacheContentCodec.deflate(content, null);
+
+        assertThat(CacheContentCodec.inflate(bytes, id -> null), equalTo(content));
+    }
+
+    @Test
+    public void Given_Dictionary_When_Deflate_Then_SmallerAndDictionaryIdentified() {
+        final List<String> samples = samples();
+        final byte[] dictionary = CacheContentCodec.train(samples, 4096);
+        final int dictionaryId = CacheContentCodec.dictionaryId(dictionary);
+        final String content = samples.get(3);
+
+        final byte[] plain = CacheContentCodec.deflate(content, null);
+        final byte[] bytes = CacheContentCodec.deflate(content, dictionary);
+
+        assertThat(bytes.length, lessThan(plain.length));
+        assertThat(CacheContentCodec.inflate(bytes, id -> (id == dictionaryId) ? dictionary : null), equalTo(content));
+        assertThrows(IllegalArgumentException.class, () -> CacheContentCodec.inflate(bytes, id -> null));
+    }
+
+    @Test
+    public void Given_Samples_When_Measure_Then_ReportComparesFormats() {
+        final List<String> samples = samples();
+        final CacheContentReport report = CacheContentCodec.measure("youtube#videoListResponse", 20, 0, 0,
+                samples, CacheContentCodec.train(samples, 4096));
+
+        assertThat(report.samples(), equalTo(20));
+        assertThat(report.compactBytes(), equalTo(report.jsonBytes()));
+        assertThat(report.deflateBytes(), lessThan(report.compactBytes()));
+        assertThat(report.dictionaryBytes(), lessThan(report.deflateBytes()));
+    }
+}
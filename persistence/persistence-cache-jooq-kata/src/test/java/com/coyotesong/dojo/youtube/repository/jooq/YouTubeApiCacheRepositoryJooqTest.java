@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.repository.jooq;
+
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+import org.jooq.Record3;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockDataProvider;
+import org.jooq.tools.jdbc.MockExecuteContext;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCache.YOUTUBE_API_CACHE;
+import static com.coyotesong.dojo.youtube.repository.jooq.generatedCache.tables.YoutubeApiCacheDictionary.YOUTUBE_API_CACHE_DICTIONARY;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test YouTubeApiCacheRepositoryJooq dictionary handling, without a database
+ */
+public class YouTubeApiCacheRepositoryJooqTest {
+    private static final String KIND = "youtube#videoListResponse";
+
+    /**
+     * Database with a few uncompressed entries of a single kind and no dictionaries.
+     * It counts the dictionary loads and training samples.
+     */
+    static class UntrainedDatabase implements MockDataProvider {
+        private final DSLContext create = DSL.using(SQLDialect.POSTGRES);
+        final AtomicInteger dictionaryLoads = new AtomicInteger();
+        final AtomicInteger sampleQueries = new AtomicInteger();
+        final int entries;
+
+        UntrainedDatabase(int entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public MockResult[] execute(@NotNull MockExecuteContext ctx) {
+            if (ctx.batch()) {
+                final MockResult[] results = new MockResult[ctx.batchSQL().length];
+                Arrays.fill(results, new MockResult(1));
+                return results;
+            }
+
+            final String sql = ctx.sql();
+            if (sql.contains(YOUTUBE_API_CACHE_DICTIONARY.getName())) {
+                dictionaryLoads.incrementAndGet();
+                return new MockResult[]{new MockResult(0, create.newResult(YOUTUBE_API_CACHE_DICTIONARY.DICTIONARY_ID,
+                        YOUTUBE_API_CACHE_DICTIONARY.KIND, YOUTUBE_API_CACHE_DICTIONARY.DICTIONARY))};
+            }
+            if (sql.contains(" desc")) {
+                sampleQueries.incrementAndGet();
+                return new MockResult[]{new MockResult(0, create.newResult(YOUTUBE_API_CACHE.CONTENT.cast(String.class),
+                        YOUTUBE_API_CACHE.CONTENT_DEFLATED))};
+            }
+
+            final Result<Record3<Integer, String, String>> rows = create.newResult(YOUTUBE_API_CACHE.KEY,
+                    YOUTUBE_API_CACHE.KIND, YOUTUBE_API_CACHE.CONTENT.cast(String.class));
+            for (int i = 1; i <= entries; i++) {
+                final Record3<Integer, String, String> row = create.newRecord(YOUTUBE_API_CACHE.KEY,
+                        YOUTUBE_API_CACHE.KIND, YOUTUBE_API_CACHE.CONTENT.cast(String.class));
+                rows.add(row.values(i, KIND, "{\"kind\":\"" + KIND + "\",\"etag\":\"etag" + i + "\"}"));
+            }
+            return new MockResult[]{new MockResult(rows.size(), rows)};
+        }
+    }
+
+    @NotNull
+    static YouTubeApiCacheRepositoryJooq repository(@NotNull MockDataProvider database) {
+        return new YouTubeApiCacheRepositoryJooq(
+                new DefaultConfiguration().set(SQLDialect.POSTGRES).set(new MockConnection(database)),
+                CacheContentFormat.DEFLATE);
+    }
+
+    @Test
+    public void Given_KindWithTooFewEntries_When_CompressContent_Then_TrainingAttemptedOnce() {
+        final int entries = YouTubeApiCacheRepositoryJooq.MIN_TRAINING_SAMPLES - 1;
+        final UntrainedDatabase database = new UntrainedDatabase(entries);
+        final YouTubeApiCacheRepositoryJooq repository = repository(database);
+
+        assertThat(repository.compressContent(500), equalTo(entries));
+        assertThat(database.sampleQueries.get(), equalTo(1));
+    }
+
+    @Test
+    public void Given_UnknownDictionaryId_When_GetDictionaryRepeatedly_Then_DictionariesLoadedOnce() {
+        final UntrainedDatabase database = new UntrainedDatabase(0);
+        final YouTubeApiCacheRepositoryJooq repository = repository(database);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(repository.getDictionary(12345), nullValue());
+        }
+        assertThat(database.dictionaryLoads.get(), equalTo(1));
+    }
+}
@@ -21,6 +21,9 @@ import com.coyotesong.dojo.youtube.config.YouTubeContext;
 import com.coyotesong.dojo.youtube.model.Channel;
 import com.coyotesong.dojo.youtube.security.LogSanitizerImpl;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForChannelListFactory;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMicroBatcher;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeQuotaScheduler;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -38,6 +41,9 @@ import static org.junit.jupiter.api.Assumptions.assumeFalse;
         classes = {
                 LogSanitizerImpl.class,
                 YouTubeContext.class,
+                YouTubeMultiGet.class,
+                YouTubeMicroBatcher.class,
+                YouTubeQuotaScheduler.class,
                 ClientForChannelListFactory.class,
                 YouTubeChannelsServiceImpl.class
         })
@@ -20,6 +20,9 @@ package com.coyotesong.dojo.youtube.service;
 import com.coyotesong.dojo.youtube.config.YouTubeContext;
 import com.coyotesong.dojo.youtube.security.LogSanitizerImpl;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForChannelListFactory;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMicroBatcher;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeQuotaScheduler;
 import org.junit.Ignore;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,6 +43,9 @@ import static org.junit.jupiter.api.Assumptions.assumeFalse;
 
                 LogSanitizerImpl.class,
                 YouTubeContext.class,
+                YouTubeMultiGet.class,
+                YouTubeMicroBatcher.class,
+                YouTubeQuotaScheduler.class,
                 BadYouTubeProperties.class,
                 ClientForChannelListFactory.class,
                 YouTubeChannelsServiceImpl.class
@@ -24,6 +24,9 @@ import com.coyotesong.dojo.youtube.repository.jooq.YouTubeApiCacheRepositoryJooq
 import com.coyotesong.dojo.youtube.security.LogSanitizerImpl;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForCaptionListFactory;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForChannelListFactory;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMicroBatcher;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeQuotaScheduler;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +52,9 @@ import static org.junit.jupiter.api.Assumptions.assumeFalse;
         classes = {
                 LogSanitizerImpl.class,
                 YouTubeContext.class,
+                YouTubeMultiGet.class,
+                YouTubeMicroBatcher.class,
+                YouTubeQuotaScheduler.class,
                 ClientForCaptionListFactory.class,
                 ClientForChannelListFactory.class,
                 YouTubeCaptionsServiceImpl.class,
@@ -22,6 +22,9 @@ import com.coyotesong.dojo.youtube.model.ChannelSection;
 import com.coyotesong.dojo.youtube.security.LogSanitizerImpl;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForChannelListFactory;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForChannelSectionListFactory;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMicroBatcher;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeQuotaScheduler;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +50,9 @@ import static org.junit.jupiter.api.Assumptions.assumeFalse;
         classes = {
                 LogSanitizerImpl.class,
                 YouTubeContext.class,
+                YouTubeMultiGet.class,
+                YouTubeMicroBatcher.class,
+                YouTubeQuotaScheduler.class,
                 ClientForChannelListFactory.class,
                 ClientForChannelSectionListFactory.class,
                 YouTubeChannelsServiceImpl.class,
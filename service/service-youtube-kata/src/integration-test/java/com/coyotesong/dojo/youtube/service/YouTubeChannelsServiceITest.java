@@ -23,6 +23,9 @@ import com.coyotesong.dojo.youtube.container.PostgreSQLContainerWithFlyway;
 import com.coyotesong.dojo.youtube.model.Channel;
 import com.coyotesong.dojo.youtube.security.LogSanitizerImpl;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForChannelListFactory;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMicroBatcher;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeQuotaScheduler;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -52,6 +55,9 @@ import static org.junit.jupiter.api.Assumptions.assumeFalse;
                 PersistenceTestConfiguration.class,
                 LogSanitizerImpl.class,
                 YouTubeContext.class,
+                YouTubeMultiGet.class,
+                YouTubeMicroBatcher.class,
+                YouTubeQuotaScheduler.class,
                 ClientForChannelListFactory.class,
                 YouTubeChannelsServiceImpl.class
         })
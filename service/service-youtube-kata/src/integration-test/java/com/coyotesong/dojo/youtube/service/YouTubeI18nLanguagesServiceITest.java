@@ -22,6 +22,9 @@ import com.coyotesong.dojo.youtube.model.I18nLanguage;
 import com.coyotesong.dojo.youtube.security.LogSanitizerImpl;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForChannelListFactory;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForI18nLanguageListFactory;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMicroBatcher;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeQuotaScheduler;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +51,9 @@ import static org.junit.jupiter.api.Assumptions.assumeFalse;
         classes = {
                 LogSanitizerImpl.class,
                 YouTubeContext.class,
+                YouTubeMultiGet.class,
+                YouTubeMicroBatcher.class,
+                YouTubeQuotaScheduler.class,
                 ClientForChannelListFactory.class,
                 ClientForI18nLanguageListFactory.class,
                 YouTubeChannelsServiceImpl.class,
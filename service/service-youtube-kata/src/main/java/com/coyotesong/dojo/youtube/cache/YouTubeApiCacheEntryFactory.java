@@ -19,6 +19,7 @@ package com.coyotesong.dojo.youtube.cache;
 
 import com.coyotesong.dojo.youtube.lang3.MyToStringStyle;
 import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import com.coyotesong.dojo.youtube.model.YouTubeApiResponseAccessors;
 import com.google.api.client.json.GenericJson;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.services.youtube.model.*;
@@ -33,13 +34,10 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.Serial;
 import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.time.Clock;
 import java.time.Instant;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
+import static com.coyotesong.dojo.youtube.model.YouTubeApiResponseAccessors.apply;
 import static java.time.format.DateTimeFormatter.ISO_INSTANT;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
@@ -56,32 +54,14 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 public class YouTubeApiCacheEntryFactory {
     private static final Logger LOG = LoggerFactory.getLogger(YouTubeApiCacheEntryFactory.class);
 
-    private static final Map<Class<?>, Method> GET_ETAG = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_EVENT_ID = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_ITEMS = new LinkedHashMap<>(); // unused
-    private static final Map<Class<?>, Method> GET_KIND = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_NEXT_PAGE_TOKEN = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_PAGE_INFO = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_PREV_PAGE_TOKEN = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_REGION_CODE = new LinkedHashMap<>();
-    private static final Map<Class<?>, Method> GET_VISITOR_ID = new LinkedHashMap<>();
-    private static final Map<Class<?>, JsonFactory> FACTORY_MAP = new LinkedHashMap<>();
-
-    static {
-        // we could perform this as-needed but that would require adding every time
-        // the copy constructor is called. This is better since we know there's only
-        // a very limited number of supported responses.
-        initialize(CaptionListResponse.class,
-                ChannelListResponse.class,
-                ChannelSectionListResponse.class,
-                I18nLanguageListResponse.class,
-                I18nRegionListResponse.class,
-                PlaylistImageListResponse.class,
-                PlaylistItemListResponse.class,
-                PlaylistListResponse.class,
-                SearchListResponse.class,
-                VideoCategoryListResponse.class,
-                VideoListResponse.class);
+    /**
+     * Create a new instance populated with the contents of the userValue
+     *
+     * @param userValue   YouTube API response to be copied
+     * @param requestJson summarized YouTube API request
+     */
+    public YouTubeApiCacheEntry newInstance(@NotNull GenericJson userValue, @NotNull String requestJson) {
+        return newInstance(userValue, requestJson, null);
     }
 
     /**
@@ -89,9 +69,10 @@ public class YouTubeApiCacheEntryFactory {
      *
      * @param userValue   YouTube API response to be copied
      * @param requestJson summarized YouTube API request
+     * @param content     response body userValue was decoded from, or null if it must be serialized
      */
-    public YouTubeApiCacheEntry newInstance(@NotNull GenericJson userValue, @NotNull String requestJson) {
-        final YouTubeApiCacheEntry entry = newInstance(userValue);
+    public YouTubeApiCacheEntry newInstance(@NotNull GenericJson userValue, @NotNull String requestJson, @Nullable String content) {
+        final YouTubeApiCacheEntry entry = copyOf(userValue, content);
 
         if (isNotBlank(requestJson)) {
             entry.setRequestJson(requestJson);
@@ -106,63 +87,47 @@ public class YouTubeApiCacheEntryFactory {
      * @param userValue YouTube API response to be copied
      */
     public YouTubeApiCacheEntry newInstance(@NotNull GenericJson userValue) {
+        return copyOf(userValue, null);
+    }
+
+    private YouTubeApiCacheEntry copyOf(@NotNull GenericJson userValue, @Nullable String content) {
         final YouTubeApiCacheEntry entry = new YouTubeApiCacheEntry();
 
         Class<? extends GenericJson> responseClass = userValue.getClass();
 
-        // There's no default JsonFactory
-        // Question: is it worth the trouble to use a lock or concurrent map?
-        if (!FACTORY_MAP.containsKey(responseClass)) {
-            final JsonFactory factory = userValue.getFactory();
-            if (factory != null) {
-                FACTORY_MAP.put(responseClass, factory);
-            }
-        }
+        final YouTubeApiResponseAccessors accessors = YouTubeApiResponseAccessors.forClass(responseClass);
+        entry.setEtag(apply(accessors.etag(), userValue));
+        entry.setEventId(apply(accessors.eventId(), userValue));
+        entry.setKind(apply(accessors.kind(), userValue));
+        entry.setNextPageToken(apply(accessors.nextPageToken(), userValue));
+        entry.setPrevPageToken(apply(accessors.prevPageToken(), userValue));
+        entry.setRegionCode(apply(accessors.regionCode(), userValue));
+        entry.setVisitorId(apply(accessors.visitorId(), userValue));
 
-        entry.setEtag(apply(GET_ETAG, responseClass, userValue));
-        entry.setEventId(apply(GET_EVENT_ID, responseClass, userValue));
-        entry.setKind(apply(GET_KIND, responseClass, userValue));
-        entry.setNextPageToken(apply(GET_NEXT_PAGE_TOKEN, responseClass, userValue));
-        entry.setPrevPageToken(apply(GET_PREV_PAGE_TOKEN, responseClass, userValue));
-        entry.setRegionCode(apply(GET_REGION_CODE, responseClass, userValue));
-        entry.setVisitorId(apply(GET_VISITOR_ID, responseClass, userValue));
-
-        final PageInfo pageInfo = apply(GET_PAGE_INFO, responseClass, userValue);
+        final PageInfo pageInfo = apply(accessors.pageInfo(), userValue);
         if (pageInfo != null) {
             entry.setResultsPerPage(pageInfo.getResultsPerPage());
             entry.setTotalResults(pageInfo.getTotalResults());
         }
 
-        if (FACTORY_MAP.containsKey(responseClass)) {
+        // the original response body costs nothing - otherwise serialize it as compact JSON
+        final JsonFactory factory = YouTubeApiResponseAccessors.jsonFactory(userValue, responseClass);
+        if (isNotBlank(content)) {
+            entry.setContent(content);
+        } else if (factory != null) {
             try {
-                final JsonFactory factory = FACTORY_MAP.get(responseClass);
-                if (factory != null) {
-                    entry.setContent(factory.toPrettyString(userValue));
-                } else {
-                    LOG.warn("factory was null ?!");
-                }
+                entry.setContent(factory.toString(userValue));
             } catch (IOException e) {
                 LOG.warn("{}: error serializing response {}: {}", e.getClass().getName(), responseClass.getName(), e.getMessage());
             }
         }
+        entry.setDecodedValue(userValue);
 
         entry.setLastUpdated(Instant.now(Clock.systemUTC()));
 
         return entry;
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T> T apply(Map<Class<?>, Method> map, Class<? extends GenericJson> clz, GenericJson userValue) {
-        if (map.containsKey(clz)) {
-            try {
-                return (T) map.get(clz).invoke(userValue);
-            } catch (InvocationTargetException | IllegalAccessException e) {
-                LOG.warn("{}: error retrieving {}#{}: {}", e.getClass().getName(), clz.getName(), map.get(clz).getName(), e.getMessage());
-            }
-        }
-        return null;
-    }
-
     /**
      * Convert this object to YouTube API response
      *
@@ -184,86 +149,4 @@ public class YouTubeApiCacheEntryFactory {
         return null;
     }
      */
-
-    /**
-     * Initialize static maps for clas -> method
-     *
-     * @param classes YouTube API response classes
-     */
-    static void initialize(@NotNull Class<?>... classes) {
-        for (Class<?> clz : classes) {
-            initialize(clz);
-        }
-    }
-
-    /**
-     * Initialize static maps for class -> method
-     *
-     * @param clz individual YouTube API response class
-     */
-    static void initialize(@NotNull Class<?> clz) {
-        // using a loop lets us avoid dealing with NoSuchMethodExceptions
-        for (Method m : clz.getMethods()) {
-            // make sure this is a 'getter'
-            if (!m.getName().startsWith("get") || m.getParameterCount() > 0) {
-                continue;
-            }
-
-            // plus a little more paranoia...
-            if (Void.class.equals(m.getReturnType())) {
-                continue;
-            }
-
-            switch (m.getName()) {
-                case "getEtag":
-                    GET_ETAG.put(clz, m);
-                    break;
-
-                case "getEventId":
-                    GET_EVENT_ID.put(clz, m);
-                    break;
-
-                case "getKind":
-                    GET_KIND.put(clz, m);
-                    break;
-
-                case "getNextPageToken":
-                    GET_NEXT_PAGE_TOKEN.put(clz, m);
-                    break;
-
-                case "getPageInfo":
-                    GET_PAGE_INFO.put(clz, m);
-                    break;
-
-                case "getPrevPageToken":
-                    GET_PREV_PAGE_TOKEN.put(clz, m);
-                    break;
-
-                case "getRegionCode":
-                    GET_REGION_CODE.put(clz, m);
-                    break;
-
-                case "getVisitorId":
-                    GET_VISITOR_ID.put(clz, m);
-                    break;
-
-                case "getItems":
-                    GET_ITEMS.put(clz, m);
-                    break;
-
-                case "getTokenPagination":
-
-                case "getFactory":
-                case "getUnknownKeys":
-                case "getClass":
-                case "getClassInfo":
-                    // standard...
-                    break;
-
-                default:
-                    // I know there's a 'getSummary()'...
-                    LOG.info("unhandled getter: {}", m.getName());
-            }
-        }
-    }
 }
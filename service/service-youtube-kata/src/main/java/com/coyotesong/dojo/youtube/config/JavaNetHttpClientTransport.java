@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.config;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HttpTransport backed by {@code java.net.http.HttpClient}
+ * <p>
+ * A single HttpClient is shared by every request. It keeps connections alive between
+ * requests and multiplexes concurrent requests over a single HTTP/2 connection, so we
+ * don't pay for a TLS handshake on every call.
+ * </p>
+ * <p>
+ * The google-http-client layer still handles gzip (it sends 'Accept-Encoding: gzip' and
+ * decompresses the response) and redirects, so this class only moves bytes.
+ * </p>
+ * <p>
+ * The connect timeout belongs to the shared client. The read timeout comes from each
+ * request (see {@link YouTubeTimeoutInitializer}) and bounds the wait for the response
+ * headers. It doesn't bound reading the body.
+ * </p>
+ */
+public class JavaNetHttpClientTransport extends HttpTransport {
+    private static final Logger LOG = LoggerFactory.getLogger(JavaNetHttpClientTransport.class);
+
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    // headers that java.net.http manages itself
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient client;
+
+    public JavaNetHttpClientTransport() {
+        this(DEFAULT_CONNECT_TIMEOUT);
+    }
+
+    public JavaNetHttpClientTransport(@NotNull Duration connectTimeout) {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build());
+    }
+
+    public JavaNetHttpClientTransport(@NotNull HttpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public boolean supportsMethod(String method) {
+        return true;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new Request(method, url);
+    }
+
+    /**
+     * Release the connection pool. Requests in flight are allowed to complete.
+     */
+    @Override
+    public void shutdown() {
+        client.shutdown();
+    }
+
+    private class Request extends LowLevelHttpRequest {
+        private final String method;
+        private final String url;
+        private final List<String[]> headers = new ArrayList<>();
+        private Duration timeout;
+
+        Request(@NotNull String method, @NotNull String url) {
+            this.method = method;
+            this.url = url;
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.add(new String[]{name, value});
+        }
+
+        /**
+         * Called by google-http-client before every request with the HttpRequest's
+         * timeouts (20 seconds unless an HttpRequestInitializer changes them). The
+         * connect timeout belongs to the shared client so only the read timeout is
+         * used. It's the time allowed until the response headers arrive - java.net.http
+         * doesn't have a timeout for reading the body. 0 means no timeout.
+         */
+        @Override
+        public void setTimeout(int connectTimeout, int readTimeout) {
+            this.timeout = (readTimeout > 0) ? Duration.ofMillis(readTimeout) : null;
+        }
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+            final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url));
+            if (timeout != null) {
+                builder.timeout(timeout);
+            }
+            for (String[] header : headers) {
+                if (!RESTRICTED_HEADERS.contains(header[0].toLowerCase(Locale.ROOT))) {
+                    builder.header(header[0], header[1]);
+                }
+            }
+
+            if (getStreamingContent() != null) {
+                final ByteArrayOutputStream os = new ByteArrayOutputStream();
+                getStreamingContent().writeTo(os);
+                if (getContentType() != null) {
+                    builder.header("Content-Type", getContentType());
+                }
+                if (getContentEncoding() != null) {
+                    builder.header("Content-Encoding", getContentEncoding());
+                }
+                builder.method(method, HttpRequest.BodyPublishers.ofByteArray(os.toByteArray()));
+            } else {
+                builder.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+
+            try {
+                return new Response(client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                final InterruptedIOException ex = new InterruptedIOException("interrupted during " + method + " request");
+                ex.initCause(e);
+                throw ex;
+            }
+        }
+    }
+
+    private static class Response extends LowLevelHttpResponse {
+        private final HttpResponse<InputStream> response;
+        private final List<String> names = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+
+        Response(@NotNull HttpResponse<InputStream> response) {
+            this.response = response;
+            for (Map.Entry<String, List<String>> entry : response.headers().map().entrySet()) {
+                // HTTP/2 pseudo-headers
+                if (entry.getKey().startsWith(":")) {
+                    continue;
+                }
+                for (String value : entry.getValue()) {
+                    names.add(entry.getKey());
+                    values.add(value);
+                }
+            }
+        }
+
+        @Override
+        public InputStream getContent() {
+            return response.body();
+        }
+
+        @Override
+        @Nullable
+        public String getContentEncoding() {
+            return response.headers().firstValue("Content-Encoding").orElse(null);
+        }
+
+        @Override
+        public long getContentLength() {
+            return response.headers().firstValueAsLong("Content-Length").orElse(-1L);
+        }
+
+        @Override
+        @Nullable
+        public String getContentType() {
+            return response.headers().firstValue("Content-Type").orElse(null);
+        }
+
+        @Override
+        public String getStatusLine() {
+            return ((response.version() == HttpClient.Version.HTTP_2) ? "HTTP/2 " : "HTTP/1.1 ") + response.statusCode();
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.statusCode();
+        }
+
+        /**
+         * HTTP/2 doesn't have reason phrases
+         */
+        @Override
+        @Nullable
+        public String getReasonPhrase() {
+            return null;
+        }
+
+        @Override
+        public int getHeaderCount() {
+            return names.size();
+        }
+
+        @Override
+        public String getHeaderName(int index) {
+            return names.get(index);
+        }
+
+        @Override
+        public String getHeaderValue(int index) {
+            return values.get(index);
+        }
+
+        @Override
+        public void disconnect() {
+            try {
+                response.body().close();
+            } catch (IOException e) {
+                LOG.debug("{}: error closing response: {}", e.getClass().getName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -36,6 +36,7 @@ import org.springframework.context.annotation.*;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
 
 /**
  * Prepare YouTube client builder here - this lets the katas focus
@@ -49,6 +50,7 @@ import java.security.GeneralSecurityException;
 @ConfigurationPropertiesScan
 @ComponentScan({
         "com.coyotesong.dojo.youtube.config", // for jooq config
+        "com.coyotesong.dojo.youtube.replay", // 'record' and 'replay' profiles, if the module is present
         "com.coyotesong.dojo.youtube.repository",
         "com.coyotesong.dojo.youtube.security",
         "com.coyotesong.dojo.youtube.service"
@@ -68,27 +70,65 @@ public class YouTubeContext {
     private String testChannelId;
 
     /**
-     * Create YouTube client API builder
+     * HTTP transport used by the YouTube client.
+     * <p>
+     * 'java-net-http' (the default) shares a single java.net.http.HttpClient with HTTP/2
+     * and keep-alive. 'google-net-http' is the transport recommended by Google, based on
+     * HttpURLConnection.
+     * </p>
+     * <p>
+     * The 'record' and 'replay' profiles wrap or replace this transport when the
+     * service-youtube-replay module is on the classpath (see YouTubeReplayContext).
+     * </p>
+     */
+    @Value("${youtube.http.transport:java-net-http}")
+    private String transportName;
+
+    @Value("${youtube.http.connectTimeout:PT10S}")
+    private Duration connectTimeout;
+
+    /**
+     * Time allowed for the response (see {@link YouTubeTimeoutInitializer})
+     */
+    @Value("${youtube.http.readTimeout:PT30S}")
+    private Duration readTimeout;
+
+    /**
+     * Create HTTP transport. This is thread-safe and shared by all requests.
      *
-     * @return YouTube builder
+     * @return HTTP transport
      * @throws IOException              may be thrown by newTrustedTransport()
      * @throws GeneralSecurityException may be thrown by newTrustedTransport()
      */
     @Bean
-    public YouTube.Builder builder() throws IOException, GeneralSecurityException {
+    public HttpTransport httpTransport() throws IOException, GeneralSecurityException {
+        if ("google-net-http".equals(transportName)) {
+            // final MtlsProvider mtlsProvider = null;
+            // return GoogleNetHttpTransport.newTrustedTransport(mtlsProvider);
+
+            // this method - alone - may trigger IOException or GeneralSecurityException
+            return GoogleNetHttpTransport.newTrustedTransport();
+        }
 
-        // final MtlsProvider mtlsProvider = null;
-        // final HttpTransport transport = GoogleNetHttpTransport.newTrustedTransport(mtlsProvider);
+        // return new CapturingHttpTransport();
+        return new JavaNetHttpClientTransport(connectTimeout);
+    }
+
+    /**
+     * Create YouTube client API builder
+     *
+     * @param transport HTTP transport
+     * @param retry     retries and circuit breakers
+     * @return YouTube builder
+     */
+    @Bean
+    public YouTube.Builder builder(HttpTransport transport, YouTubeRetryInitializer retry) {
 
         // INITIALIZER = new YouTubeRequestInitializer(key, USER_IP);
         final GoogleClientRequestInitializer initializer = new YouTubeRequestInitializer(key);
 
         final JsonFactory jsonFactory = new GsonFactory();
-        final HttpRequestInitializer httpRequestInitializer = null;
-
-        // this method - alone - may trigger IOException or GeneralSecurityException
-        final HttpTransport transport = GoogleNetHttpTransport.newTrustedTransport();
-        // final HttpTransport transport = new CapturingHttpTransport();
+        final HttpRequestInitializer httpRequestInitializer = new YouTubeTimeoutInitializer(connectTimeout, readTimeout, retry);
 
         final YouTube.Builder builder = new YouTube.Builder(transport, jsonFactory, httpRequestInitializer);
         builder.setGoogleClientRequestInitializer(initializer);
@@ -100,6 +140,21 @@ public class YouTubeContext {
         return builder;
     }
 
+    /**
+     * Create YouTube client.
+     * <p>
+     * The client is thread-safe - only the individual requests are not - so all
+     * factories share a single instance instead of building one per request.
+     * </p>
+     *
+     * @param builder YouTube builder
+     * @return YouTube client
+     */
+    @Bean
+    public YouTube youTube(YouTube.Builder builder) {
+        return builder.build();
+    }
+
     // @Bean
     // @Autowired
     // public YouTubeApiCacheRepository youTubeApiCacheRepository(org.jooq.Configuration configuration) {
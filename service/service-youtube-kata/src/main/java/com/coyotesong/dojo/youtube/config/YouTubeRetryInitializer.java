@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.coyotesong.dojo.youtube.config;
+
+import com.google.api.client.http.*;
+import com.google.api.client.util.Sleeper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Resilience layer for YouTube API calls.
+ * <p>
+ * Idempotent (GET) requests that fail with a server error (5xx), '429 Too Many Requests',
+ * or an I/O error are retried with exponential backoff and full jitter. 'Retry-After' is
+ * honored when present. Quota errors ('403 youtube.quota') are never retried - they won't
+ * succeed until the quota is reset.
+ * </p>
+ * <p>
+ * Each endpoint (URL path) has a circuit breaker. It opens after 'failureThreshold'
+ * consecutive failures and requests fail fast, without calling YouTube, until
+ * 'openDuration' has passed. The next request is a trial - a success closes the
+ * circuit and a failure opens it again.
+ * </p>
+ */
+@Component
+public class YouTubeRetryInitializer implements HttpRequestInitializer {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeRetryInitializer.class);
+
+    private final int maxAttempts;
+    private final Duration initialInterval;
+    private final Duration maxInterval;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Sleeper sleeper;
+    private final Clock clock;
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * Thrown when a request is rejected because the endpoint's circuit is open.
+     */
+    public static class CircuitOpenException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public CircuitOpenException(@NotNull String endpoint, @NotNull Instant openUntil) {
+            super("circuit open for '" + endpoint + "' until " + openUntil);
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxAttempts      maximum number of attempts, including the first one
+     * @param initialInterval  backoff before the first retry
+     * @param maxInterval      maximum backoff. We give up if 'Retry-After' asks for more.
+     * @param failureThreshold consecutive failures before the circuit opens
+     * @param openDuration     how long the circuit stays open
+     */
+    @Autowired
+    public YouTubeRetryInitializer(@Value("${youtube.http.retry.maxAttempts:4}") int maxAttempts,
+                                   @Value("${youtube.http.retry.initialInterval:PT0.5S}") @NotNull Duration initialInterval,
+                                   @Value("${youtube.http.retry.maxInterval:PT30S}") @NotNull Duration maxInterval,
+                                   @Value("${youtube.http.circuitBreaker.failureThreshold:5}") int failureThreshold,
+                                   @Value("${youtube.http.circuitBreaker.openDuration:PT30S}") @NotNull Duration openDuration) {
+        this(maxAttempts, initialInterval, maxInterval, failureThreshold, openDuration, Sleeper.DEFAULT, Clock.systemUTC());
+    }
+
+    YouTubeRetryInitializer(int maxAttempts, @NotNull Duration initialInterval, @NotNull Duration maxInterval,
+                            int failureThreshold, @NotNull Duration openDuration,
+                            @NotNull Sleeper sleeper, @NotNull Clock clock) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("'maxAttempts' must be positive");
+        }
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("'failureThreshold' must be positive");
+        }
+
+        this.maxAttempts = maxAttempts;
+        this.initialInterval = initialInterval;
+        this.maxInterval = maxInterval;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.sleeper = sleeper;
+        this.clock = clock;
+    }
+
+    /**
+     * Install the handlers. This is called before the request method and URL are set
+     * so the handlers look at them when they're called.
+     *
+     * @param request HTTP request
+     */
+    @Override
+    public void initialize(@NotNull HttpRequest request) {
+        final Handler handler = new Handler();
+        request.setNumberOfRetries(maxAttempts - 1);
+        request.setInterceptor(handler);
+        request.setResponseInterceptor(handler);
+        request.setUnsuccessfulResponseHandler(handler);
+        request.setIOExceptionHandler(handler);
+    }
+
+    /**
+     * Is the endpoint's circuit open?
+     *
+     * @param endpoint URL path
+     * @return true if requests are currently rejected
+     */
+    public boolean isOpen(@NotNull String endpoint) {
+        final CircuitBreaker breaker = breakers.get(endpoint);
+        return (breaker != null) && (breaker.openUntil() != null);
+    }
+
+    @NotNull
+    static String endpointOf(@NotNull HttpRequest request) {
+        return request.getUrl().getRawPath();
+    }
+
+    static boolean isRetryable(int statusCode) {
+        return (statusCode >= HttpStatusCodes.STATUS_CODE_SERVER_ERROR) || (statusCode == 429);
+    }
+
+    /**
+     * Parse 'Retry-After' header - either delay-seconds or an HTTP date.
+     *
+     * @param value header value
+     * @param now   current time
+     * @return requested delay, or null if the value is missing or unparseable
+     */
+    @Nullable
+    static Duration parseRetryAfter(@Nullable String value, @NotNull Instant now) {
+        if ((value == null) || value.isBlank()) {
+            return null;
+        }
+
+        try {
+            return Duration.ofSeconds(Math.max(0L, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // try date below
+        }
+
+        try {
+            final Instant until = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return until.isAfter(now) ? Duration.between(now, until) : Duration.ZERO;
+        } catch (DateTimeParseException e) {
+            LOG.info("unrecognized Retry-After value: '{}'", value);
+            return null;
+        }
+    }
+
+    /**
+     * Exponential backoff with full jitter.
+     *
+     * @param retry retry number, starting at 1
+     * @return delay before the retry
+     */
+    @NotNull
+    Duration backoff(int retry) {
+        final long cap = Math.min(maxInterval.toMillis(), initialInterval.toMillis() << Math.min(retry - 1, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    /**
+     * Consecutive failures for a single endpoint.
+     */
+    private final class CircuitBreaker {
+        private int failures;
+        private Instant openUntil;
+
+        /**
+         * Check whether a request may be attempted.
+         *
+         * @param endpoint URL path, for the exception message
+         * @throws CircuitOpenException the circuit is open
+         */
+        synchronized void check(@NotNull String endpoint) throws CircuitOpenException {
+            if ((openUntil != null) && clock.instant().isBefore(openUntil)) {
+                throw new CircuitOpenException(endpoint, openUntil);
+            }
+        }
+
+        synchronized void success() {
+            failures = 0;
+            openUntil = null;
+        }
+
+        synchronized void failure(@NotNull String endpoint) {
+            failures++;
+            if (failures >= failureThreshold) {
+                openUntil = clock.instant().plus(openDuration);
+                LOG.warn("{} consecutive failures - circuit for '{}' open until {}", failures, endpoint, openUntil);
+            }
+        }
+
+        @Nullable
+        synchronized Instant openUntil() {
+            return ((openUntil != null) && clock.instant().isBefore(openUntil)) ? openUntil : null;
+        }
+    }
+
+    /**
+     * Per-request handler. It's created for each request since it tracks the number of retries.
+     */
+    private final class Handler implements HttpExecuteInterceptor, HttpResponseInterceptor,
+            HttpUnsuccessfulResponseHandler, HttpIOExceptionHandler {
+        private int retries;
+
+        @NotNull
+        private CircuitBreaker breaker(@NotNull HttpRequest request) {
+            return breakers.computeIfAbsent(endpointOf(request), k -> new CircuitBreaker());
+        }
+
+        /**
+         * Called before every attempt - this is where we fail fast.
+         */
+        @Override
+        public void intercept(@NotNull HttpRequest request) throws IOException {
+            breaker(request).check(endpointOf(request));
+        }
+
+        /**
+         * Called once with the final response. Unsuccessful responses have already been seen by handleResponse().
+         */
+        @Override
+        public void interceptResponse(@NotNull HttpResponse response) {
+            if (!isRetryable(response.getStatusCode())) {
+                breaker(response.getRequest()).success();
+            }
+        }
+
+        @Override
+        public boolean handleResponse(@NotNull HttpRequest request, @NotNull HttpResponse response, boolean supportsRetry) throws IOException {
+            final int statusCode = response.getStatusCode();
+            if (!isRetryable(statusCode)) {
+                // this includes quota errors - they're a 403
+                return false;
+            }
+
+            breaker(request).failure(endpointOf(request));
+            if (!supportsRetry || !HttpMethods.GET.equals(request.getRequestMethod())) {
+                return false;
+            }
+
+            final Duration retryAfter = parseRetryAfter(response.getHeaders().getRetryAfter(), clock.instant());
+            if ((retryAfter != null) && (retryAfter.compareTo(maxInterval) > 0)) {
+                LOG.info("{}: Retry-After {} exceeds maximum backoff", endpointOf(request), retryAfter);
+                return false;
+            }
+
+            final int retry = ++retries;
+            return pause(request, (retryAfter != null) ? retryAfter : backoff(retry), statusCode);
+        }
+
+        @Override
+        public boolean handleIOException(@NotNull HttpRequest request, boolean supportsRetry) throws IOException {
+            breaker(request).failure(endpointOf(request));
+            if (!supportsRetry || !HttpMethods.GET.equals(request.getRequestMethod())) {
+                return false;
+            }
+
+            return pause(request, backoff(++retries), null);
+        }
+
+        private boolean pause(@NotNull HttpRequest request, @NotNull Duration delay, @Nullable Integer statusCode) throws IOException {
+            LOG.info("{}: retrying after {} ms (status {})", endpointOf(request), delay.toMillis(), statusCode);
+            try {
+                sleeper.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+
+            // the circuit may have opened while we were waiting
+            breaker(request).check(endpointOf(request));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.config;
+
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestInitializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Sets the timeouts of every YouTube request, then calls the next initializer.
+ * <p>
+ * google-http-client gives every request a 20 second connect and read timeout and
+ * passes them to the transport, so this is the only place the configured timeouts
+ * can be applied. The connect timeout bounds opening a connection. The read timeout
+ * bounds each read from the socket for 'google-net-http', and the wait for the
+ * response headers for 'java-net-http'. Neither bounds the entire request.
+ * </p>
+ */
+public class YouTubeTimeoutInitializer implements HttpRequestInitializer {
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final HttpRequestInitializer next;
+
+    /**
+     * Constructor
+     *
+     * @param connectTimeout connect timeout (0 for no timeout)
+     * @param readTimeout    read timeout (0 for no timeout)
+     * @param next           next initializer, e.g., retries (may be null)
+     */
+    public YouTubeTimeoutInitializer(@NotNull Duration connectTimeout, @NotNull Duration readTimeout,
+                                     @Nullable HttpRequestInitializer next) {
+        if (connectTimeout.isNegative()) {
+            throw new IllegalArgumentException("'connectTimeout' must not be negative");
+        }
+        if (readTimeout.isNegative()) {
+            throw new IllegalArgumentException("'readTimeout' must not be negative");
+        }
+        this.connectTimeout = (int) Math.min(connectTimeout.toMillis(), Integer.MAX_VALUE);
+        this.readTimeout = (int) Math.min(readTimeout.toMillis(), Integer.MAX_VALUE);
+        this.next = next;
+    }
+
+    @Override
+    public void initialize(@NotNull HttpRequest request) throws IOException {
+        request.setConnectTimeout(connectTimeout);
+        request.setReadTimeout(readTimeout);
+        if (next != null) {
+            next.initialize(request);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Compresses the YouTube API cache entries that are still stored as JSON when the
+ * application starts.
+ * <p>
+ * Entries are compressed 'youtube.cache.compress.batchSize' at a time until none are
+ * left. Each batch is a short transaction so the table stays available. A batch size
+ * of 0 disables the migration. Nothing is compressed when the content format is JSON.
+ * </p>
+ * <p>
+ * The migration runs on its own thread so it doesn't delay the rest of the application
+ * context. Entries that haven't been compressed yet are still read as usual.
+ * </p>
+ */
+@Component
+public class YouTubeApiCacheCompressor implements InitializingBean, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeApiCacheCompressor.class);
+
+    private final YouTubeApiCacheRepository repository;
+    private final int batchSize;
+
+    private volatile boolean closed;
+    private volatile CompletableFuture<Result> migration;
+
+    /**
+     * Migration result
+     *
+     * @param entries number of entries compressed
+     * @param elapsed time taken
+     */
+    public record Result(int entries, Duration elapsed) {
+    }
+
+    @Autowired
+    public YouTubeApiCacheCompressor(@NotNull YouTubeApiCacheRepository repository,
+                                     @Value("${youtube.cache.compress.batchSize:500}") int batchSize) {
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("'batchSize' must not be negative");
+        }
+        this.repository = repository;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (batchSize > 0) {
+            start();
+        }
+    }
+
+    /**
+     * Start the migration on a background thread
+     *
+     * @return migration result
+     */
+    @NotNull
+    public synchronized CompletableFuture<Result> start() {
+        if (migration == null) {
+            final CompletableFuture<Result> future = new CompletableFuture<>();
+            final Thread thread = new Thread(() -> {
+                try {
+                    future.complete(compress());
+                } catch (RuntimeException e) {
+                    LOG.warn("{}: cache compression failed: {}", e.getClass().getName(), e.getMessage());
+                    future.completeExceptionally(e);
+                }
+            }, "youtube-cache-compressor");
+            thread.setDaemon(true);
+            thread.start();
+            migration = future;
+        }
+        return migration;
+    }
+
+    /**
+     * Compress the entries on the caller's thread
+     *
+     * @return migration result
+     */
+    @NotNull
+    Result compress() {
+        final long start = System.nanoTime();
+
+        int entries = 0;
+        while (!closed) {
+            final int count = repository.compressContent(batchSize);
+            if (count == 0) {
+                break;
+            }
+            entries += count;
+        }
+
+        final Result result = new Result(entries, Duration.ofNanos(System.nanoTime() - start));
+        if (entries > 0) {
+            LOG.info("cache compression compressed {} entries in {} ms", entries, result.elapsed().toMillis());
+        }
+        return result;
+    }
+
+    /**
+     * Stop the migration, e.g., if the application is shut down before it finishes.
+     * The current batch is completed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Freshness policy for the YouTube API cache.
+ * <p>
+ * An entry is fresh for a time-to-live that depends on its response 'kind'. Kinds
+ * without their own TTL use 'youtube.cache.refreshAfter'. The defaults can be
+ * overridden with 'youtube.cache.ttl', e.g.,
+ * 'youtube#searchListResponse=PT5M,youtube#channelListResponse=PT1H'.
+ * </p>
+ * <p>
+ * A stale entry is normally revalidated before it's returned. When
+ * 'youtube.cache.staleWhileRevalidate' is positive a stale entry that's no older
+ * than that past its TTL is returned immediately and revalidated in the background.
+ * </p>
+ */
+@Component
+public class YouTubeApiCachePolicy {
+
+    /**
+     * Default time-to-live by response kind
+     */
+    public static final Map<String, Duration> DEFAULT_TTLS = Map.of(
+            "youtube#i18nLanguageListResponse", Duration.ofDays(14),
+            "youtube#i18nRegionListResponse", Duration.ofDays(14),
+            "youtube#videoCategoryListResponse", Duration.ofDays(14),
+            "youtube#channelListResponse", Duration.ofHours(6),
+            "youtube#searchListResponse", Duration.ofMinutes(15));
+
+    private final Duration defaultTtl;
+    private final Map<String, Duration> ttls;
+    private final Duration staleWhileRevalidate;
+
+    /**
+     * Create a policy with a single TTL and no stale-while-revalidate
+     *
+     * @param ttl time-to-live for all kinds
+     * @return policy
+     */
+    @NotNull
+    public static YouTubeApiCachePolicy of(@NotNull Duration ttl) {
+        return new YouTubeApiCachePolicy(ttl, Collections.emptyMap(), Duration.ZERO);
+    }
+
+    @Autowired
+    public YouTubeApiCachePolicy(@Value("${youtube.cache.refreshAfter:P1D}") @NotNull Duration defaultTtl,
+                                 @Value("${youtube.cache.ttl:}") @Nullable String ttls,
+                                 @Value("${youtube.cache.staleWhileRevalidate:P1D}") @NotNull Duration staleWhileRevalidate) {
+        this(defaultTtl, merge(DEFAULT_TTLS, parse(ttls)), staleWhileRevalidate);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param defaultTtl           time-to-live for kinds that don't have their own
+     * @param ttls                 time-to-live by kind
+     * @param staleWhileRevalidate how long past its TTL an entry may be returned while it's revalidated
+     */
+    public YouTubeApiCachePolicy(@NotNull Duration defaultTtl, @NotNull Map<String, Duration> ttls,
+                                 @NotNull Duration staleWhileRevalidate) {
+        if (defaultTtl.isNegative()) {
+            throw new IllegalArgumentException("'defaultTtl' must not be negative");
+        }
+        if (ttls.values().stream().anyMatch(Duration::isNegative)) {
+            throw new IllegalArgumentException("'ttls' must not be negative");
+        }
+        if (staleWhileRevalidate.isNegative()) {
+            throw new IllegalArgumentException("'staleWhileRevalidate' must not be negative");
+        }
+        this.defaultTtl = defaultTtl;
+        this.ttls = Map.copyOf(ttls);
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    /**
+     * Parse 'kind=duration' pairs separated by commas
+     *
+     * @param spec TTL specification
+     * @return time-to-live by kind
+     */
+    @NotNull
+    static Map<String, Duration> parse(@Nullable String spec) {
+        final Map<String, Duration> ttls = new LinkedHashMap<>();
+        if (isBlank(spec)) {
+            return ttls;
+        }
+
+        for (String pair : spec.split(",")) {
+            final int idx = pair.indexOf('=');
+            if (idx <= 0) {
+                throw new IllegalArgumentException("'youtube.cache.ttl' must be a list of kind=duration pairs: " + pair.trim());
+            }
+            try {
+                ttls.put(pair.substring(0, idx).trim(), Duration.parse(pair.substring(idx + 1).trim()));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("'youtube.cache.ttl' must use ISO-8601 durations: " + pair.trim(), e);
+            }
+        }
+        return ttls;
+    }
+
+    @NotNull
+    private static Map<String, Duration> merge(@NotNull Map<String, Duration> defaults, @NotNull Map<String, Duration> overrides) {
+        final Map<String, Duration> ttls = new LinkedHashMap<>(defaults);
+        ttls.putAll(overrides);
+        return ttls;
+    }
+
+    /**
+     * Get the time-to-live for a kind
+     *
+     * @param kind response kind (may be null)
+     * @return time-to-live
+     */
+    @NotNull
+    public Duration getTtl(@Nullable String kind) {
+        return (kind == null) ? defaultTtl : ttls.getOrDefault(kind, defaultTtl);
+    }
+
+    @NotNull
+    public Duration getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    /**
+     * Get the age at which no entry can be returned without revalidation, whatever its kind.
+     *
+     * @return longest TTL plus the stale-while-revalidate window
+     */
+    @NotNull
+    public Duration getMaxAge() {
+        Duration max = defaultTtl;
+        for (Duration ttl : ttls.values()) {
+            if (ttl.compareTo(max) > 0) {
+                max = ttl;
+            }
+        }
+        return max.plus(staleWhileRevalidate);
+    }
+
+    /**
+     * Is the entry still fresh?
+     *
+     * @param entry cache entry
+     * @param now   current time
+     * @return true if the entry can be returned without revalidation
+     */
+    public boolean isFresh(@NotNull YouTubeApiCacheEntry entry, @NotNull Instant now) {
+        return (entry.getLastUpdated() != null) && entry.getLastUpdated().plus(getTtl(entry.getKind())).isAfter(now);
+    }
+
+    /**
+     * Can the stale entry be returned while it's revalidated in the background?
+     *
+     * @param entry cache entry
+     * @param now   current time
+     * @return true if the entry is within the stale-while-revalidate window
+     */
+    public boolean canServeStale(@NotNull YouTubeApiCacheEntry entry, @NotNull Instant now) {
+        return !staleWhileRevalidate.isZero() && (entry.getLastUpdated() != null)
+                && entry.getLastUpdated().plus(getTtl(entry.getKind())).plus(staleWhileRevalidate).isAfter(now);
+    }
+
+    /**
+     * Can the entry be returned without waiting for revalidation?
+     *
+     * @param entry cache entry
+     * @param now   current time
+     * @return true if the entry is fresh or within the stale-while-revalidate window
+     */
+    public boolean isUsable(@NotNull YouTubeApiCacheEntry entry, @NotNull Instant now) {
+        return isFresh(entry, now) || canServeStale(entry, now);
+    }
+}
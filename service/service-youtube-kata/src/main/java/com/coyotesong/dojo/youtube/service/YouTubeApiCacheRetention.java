@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains the monthly partitions of the YouTube API cache table.
+ * <p>
+ * Partitions are created 'youtube.cache.partitions.ahead' months in advance so new
+ * entries never land in the default partition. A partition is dropped once all of
+ * its entries are older than 'youtube.cache.retention'. A retention of 0 keeps
+ * everything. The job runs at startup and then every 'youtube.cache.retention.interval'.
+ * </p>
+ * <p>
+ * Each month is handled on its own so one failure doesn't block the others. The usual
+ * cause is entries in the default partition - a month's partition can't be created
+ * while the default partition holds entries for it, and those entries are never
+ * dropped. They're reported on every run until they're moved or deleted.
+ * </p>
+ * <p>
+ * The retention should be much longer than the cache TTLs since old entries still
+ * save quota when they're revalidated with their etag.
+ * </p>
+ * <p>
+ * Nothing is scheduled if the repository isn't partitioned.
+ * </p>
+ */
+@Component
+public class YouTubeApiCacheRetention implements InitializingBean, AutoCloseable, Runnable {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeApiCacheRetention.class);
+
+    private final YouTubeApiCacheRepository repository;
+    private final Duration retention;
+    private final int monthsAhead;
+    private final Duration interval;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Maintenance result
+     *
+     * @param created     partitions created
+     * @param dropped     partitions dropped
+     * @param failed      partitions that couldn't be created or dropped
+     * @param defaultRows entries in the default partition, or -1 if unknown
+     */
+    public record Result(List<YearMonth> created, List<YearMonth> dropped, List<YearMonth> failed, long defaultRows) {
+    }
+
+    @Autowired
+    public YouTubeApiCacheRetention(@NotNull YouTubeApiCacheRepository repository,
+                                    @Value("${youtube.cache.retention:P180D}") @NotNull Duration retention,
+                                    @Value("${youtube.cache.partitions.ahead:3}") int monthsAhead,
+                                    @Value("${youtube.cache.retention.interval:PT24H}") @NotNull Duration interval) {
+        if (retention.isNegative()) {
+            throw new IllegalArgumentException("'retention' must not be negative");
+        }
+        if (monthsAhead < 1) {
+            throw new IllegalArgumentException("'monthsAhead' must be positive");
+        }
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("'interval' must be positive");
+        }
+        this.repository = repository;
+        this.retention = retention;
+        this.monthsAhead = monthsAhead;
+        this.interval = interval;
+    }
+
+    @Override
+    public synchronized void afterPropertiesSet() {
+        if (!repository.isPartitioned()) {
+            LOG.debug("cache repository isn't partitioned - partition maintenance disabled");
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "youtube-cache-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void run() {
+        try {
+            maintain(LocalDateTime.now(Clock.systemUTC()));
+        } catch (RuntimeException e) {
+            // don't let the exception cancel later runs
+            LOG.error("cache partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Create future partitions and drop expired ones
+     *
+     * @param now current time (UTC)
+     * @return partitions created, dropped, and failed
+     */
+    @NotNull
+    Result maintain(@NotNull LocalDateTime now) {
+        if (!repository.isPartitioned()) {
+            return new Result(List.of(), List.of(), List.of(), 0L);
+        }
+
+        final List<YearMonth> existing = repository.findPartitions();
+        final List<YearMonth> created = new ArrayList<>();
+        final List<YearMonth> dropped = new ArrayList<>();
+        final List<YearMonth> failed = new ArrayList<>();
+
+        // expired partitions first, in case a new partition can't be created
+        if (!retention.isZero()) {
+            final LocalDateTime cutoff = now.minus(retention);
+            for (YearMonth month : existing) {
+                // the partition's upper bound is exclusive
+                if (!month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                    try {
+                        repository.dropPartition(month);
+                        dropped.add(month);
+                    } catch (RuntimeException e) {
+                        LOG.warn("{}: unable to drop cache partition for {}: {}", e.getClass().getName(), month, e.getMessage());
+                        failed.add(month);
+                    }
+                }
+            }
+        }
+
+        final YearMonth current = YearMonth.from(now);
+        for (int i = 0; i <= monthsAhead; i++) {
+            final YearMonth month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                try {
+                    repository.createPartition(month);
+                    created.add(month);
+                } catch (RuntimeException e) {
+                    LOG.warn("{}: unable to create cache partition for {}: {}", e.getClass().getName(), month, e.getMessage());
+                    failed.add(month);
+                }
+            }
+        }
+
+        long defaultRows = -1L;
+        try {
+            defaultRows = repository.countDefaultPartition();
+            if (defaultRows > 0) {
+                LOG.warn("{} cache entries are in the default partition - they're never dropped and they block partitions for their months", defaultRows);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("{}: unable to count the default cache partition: {}", e.getClass().getName(), e.getMessage());
+        }
+
+        if (!created.isEmpty() || !dropped.isEmpty()) {
+            LOG.info("cache partitions created: {}, dropped: {}", created, dropped);
+        }
+        return new Result(created, dropped, failed, defaultRows);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
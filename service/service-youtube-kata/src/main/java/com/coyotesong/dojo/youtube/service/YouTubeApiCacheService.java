@@ -18,30 +18,77 @@
 package com.coyotesong.dojo.youtube.service;
 
 import com.coyotesong.dojo.youtube.cache.YouTubeApiCacheEntryFactory;
-// import com.coyotesong.dojo.youtube.cache.YouTubeApiCachePersistence;
-import com.coyotesong.dojo.youtube.cache.YouTubeApiCachePersistence;
 import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
 import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.api.client.json.GenericJson;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
 import java.lang.ref.Cleaner;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Cache used by YouTube API implemented in order to reduce costs and improve
  * performance during routine testing.
+ * <p>
+ * Stale entries, as determined by the YouTubeApiCachePolicy, are revalidated with a
+ * conditional request when the caller supports it and reloaded otherwise. A '304 Not
+ * Modified' response only updates the entry's 'lastUpdated' timestamp.
+ * </p>
+ * <p>
+ * If the caller can also provide a loader that's safe to run later on another thread
+ * the policy may allow a stale entry to be returned immediately. It's then revalidated
+ * on a small, bounded background executor ('youtube.cache.revalidate.threads'). A
+ * revalidation is skipped, not queued, when the executor is saturated.
+ * </p>
+ * <p>
+ * Concurrent requests for the same key are coalesced - only the first caller
+ * performs the lookup and calls YouTube, the others wait for its result.
+ * </p>
+ * <p>
+ * New, replaced and revalidated entries are written to the database by a
+ * write-behind YouTubeApiCacheWriter so neither a cache miss nor a revalidation
+ * waits for the database. Closing the cache writes the remaining entries.
+ * </p>
+ * <p>
+ * Entries held in memory keep the decoded response so a cache hit doesn't
+ * parse the stored JSON again. Entries read from the database are parsed once.
+ * </p>
+ * <p>
+ * The in-memory tier is bounded by 'youtube.cache.memory.maxWeight', an estimate of
+ * the memory held by the entries. It uses Caffeine's W-TinyLFU policy so a burst of
+ * one-off requests, e.g., a full harvest, doesn't evict the frequently used entries.
+ * Evicted entries are still in the database.
+ * </p>
  */
 @Service
 public class YouTubeApiCacheService extends ConcurrentMapCache implements AutoCloseable {
@@ -52,16 +99,156 @@ public class YouTubeApiCacheService extends ConcurrentMapCache implements AutoCl
 
     private final YouTubeApiCacheEntryFactory entryFactory;
     private final YouTubeApiCacheRepository repository;
+    private final YouTubeApiCacheWriter writer;
+    private final YouTubeApiCachePolicy policy;
+    private final Executor revalidationExecutor;
+    private final YouTubeApiMetrics metrics = YouTubeApiMetrics.global();
+
+    // requests currently being loaded, by key
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    // keys currently being revalidated in the background
+    private final ConcurrentMap<Object, Boolean> revalidating = new ConcurrentHashMap<>();
+
+    /**
+     * Loader that can perform a conditional request.
+     *
+     * @param <T> YouTube API response
+     */
+    @FunctionalInterface
+    public interface ConditionalLoader<T> {
+        /**
+         * Load the value
+         *
+         * @param etag etag of the cached response, or null if there isn't one
+         * @return new response, or null if the cached response is still valid
+         * @throws Exception error during REST call
+         */
+        @Nullable
+        Response<T> load(@Nullable String etag) throws Exception;
+    }
+
+    /**
+     * Response and the body it was decoded from. The body is stored as-is so
+     * we don't need to serialize the response again.
+     *
+     * @param value   YouTube API response
+     * @param content response body (may be null)
+     * @param <T>     YouTube API response
+     */
+    public record Response<T>(@NotNull T value, @Nullable String content) {
+    }
 
-    @Autowired
     public YouTubeApiCacheService(@NotNull YouTubeApiCacheRepository repository) {
-        super("etag", false);
+        this(repository, Duration.ofDays(1));
+    }
+
+    public YouTubeApiCacheService(@NotNull YouTubeApiCacheRepository repository, @NotNull Duration refreshAfter) {
+        this(repository, YouTubeApiCachePolicy.of(refreshAfter), DataSize.ofMegabytes(64), 1,
+                new YouTubeApiCacheWriter(repository));
+    }
+
+    @Autowired
+    public YouTubeApiCacheService(@NotNull YouTubeApiCacheRepository repository,
+                                  @NotNull YouTubeApiCachePolicy policy,
+                                  @Value("${youtube.cache.memory.maxWeight:64MB}") @NotNull DataSize maxWeight,
+                                  @Value("${youtube.cache.revalidate.threads:2}") int revalidateThreads,
+                                  @NotNull YouTubeApiCacheWriter writer) {
+        this(repository, policy, maxWeight, ForkJoinPool.commonPool(), newRevalidationExecutor(revalidateThreads), writer);
+    }
+
+    YouTubeApiCacheService(@NotNull YouTubeApiCacheRepository repository, @NotNull Duration refreshAfter,
+                           @NotNull DataSize maxWeight, @NotNull Executor executor) {
+        this(repository, YouTubeApiCachePolicy.of(refreshAfter), maxWeight, executor, executor,
+                new YouTubeApiCacheWriter(repository));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param repository           database tier
+     * @param policy               determines when entries are revalidated
+     * @param maxWeight            approximate upper bound on the memory used by the in-memory tier
+     * @param executor             runs Caffeine's maintenance, e.g., eviction (tests use the caller's thread)
+     * @param revalidationExecutor runs background revalidations
+     * @param writer               writes new entries to the database
+     */
+    YouTubeApiCacheService(@NotNull YouTubeApiCacheRepository repository, @NotNull YouTubeApiCachePolicy policy,
+                           @NotNull DataSize maxWeight, @NotNull Executor executor, @NotNull Executor revalidationExecutor,
+                           @NotNull YouTubeApiCacheWriter writer) {
+        super("etag", newStore(maxWeight, executor), false);
         this.repository = repository;
+        this.writer = writer;
+        this.policy = policy;
+        this.revalidationExecutor = revalidationExecutor;
 
         // we don't need injection yet.
         this.entryFactory = new YouTubeApiCacheEntryFactory();
 
-        this.cleanable = cleaner.register(this, new YouTubeApiCachePersistence(this, repository));
+        // the writer doesn't refer to this cache so it can be the Cleaner's action
+        this.cleanable = cleaner.register(this, writer);
+    }
+
+    /**
+     * Create the in-memory tier
+     *
+     * @param maxWeight approximate upper bound on the memory used
+     * @param executor  runs maintenance
+     * @return bounded map
+     */
+    @NotNull
+    static ConcurrentMap<Object, Object> newStore(@NotNull DataSize maxWeight, @NotNull Executor executor) {
+        if (maxWeight.toBytes() <= 0) {
+            throw new IllegalArgumentException("'maxWeight' must be positive");
+        }
+
+        return Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher(YouTubeApiCacheService::weigh)
+                .executor(executor)
+                .build()
+                .asMap();
+    }
+
+    /**
+     * Create the background revalidation executor. Its queue is short since a skipped
+     * revalidation only means the entry is revalidated by a later request.
+     *
+     * @param threads maximum number of concurrent revalidations
+     * @return executor that rejects tasks when it's saturated
+     */
+    @NotNull
+    static Executor newRevalidationExecutor(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("'threads' must be positive");
+        }
+
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(16 * threads), r -> {
+            final Thread thread = new Thread(r, "youtube-cache-revalidate-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Estimate the memory held by an entry. The decoded response is roughly the same
+     * size as its JSON so we count the content twice, at one byte per character since
+     * it's nearly always ASCII.
+     *
+     * @param key   canonical request
+     * @param value cache entry
+     * @return approximate size in bytes
+     */
+    static int weigh(@NotNull Object key, @NotNull Object value) {
+        long weight = key.toString().length();
+        if ((value instanceof YouTubeApiCacheEntry entry) && (entry.getContent() != null)) {
+            weight += 2L * entry.getContent().length();
+        }
+        return (int) Math.min(Math.max(weight, 1L), Integer.MAX_VALUE);
     }
 
     @SuppressWarnings("unused")
@@ -71,48 +258,345 @@ public class YouTubeApiCacheService extends ConcurrentMapCache implements AutoCl
 
     void store(@NotNull Object key, @NotNull YouTubeApiCacheEntry entry) {
         getNativeCache().put(key, entry);
-        repository.insert(entry);
+        writer.write(entry);
+    }
+
+    /**
+     * Add an entry read from the database to the in-memory tier, e.g., during warm-up.
+     * An entry that's already in memory is newer so it's kept.
+     *
+     * @param entry cache entry
+     * @return true if the entry was added
+     */
+    boolean warm(@NotNull YouTubeApiCacheEntry entry) {
+        return (entry.getRequestJson() != null) && (getNativeCache().putIfAbsent(entry.getRequestJson(), entry) == null);
+    }
+
+    /**
+     * Find an entry in the database, including entries that haven't been written yet.
+     *
+     * @param key canonical request
+     * @return entry, if found
+     */
+    @NotNull
+    private Optional<YouTubeApiCacheEntry> find(@NotNull Object key) {
+        final YouTubeApiCacheEntry pending = writer.getPending((String) key);
+        return (pending != null) ? Optional.of(pending) : repository.findOptionalByRequestJson((String) key);
     }
 
+    /**
+     * Write the queued entries to the database.
+     */
     @Override
     public void close() {
-        // cleanable.clean();
+        cleanable.clean();
     }
 
     @Override
     @Nullable
     public <T> T get(@NotNull Object key, @NotNull Callable<T> valueLoader) {
-        LOG.info("get('{}')", key);
+        return singleFlight(key, () -> load(key, valueLoader));
+    }
+
+    @Nullable
+    private <T> T load(@NotNull Object key, @NotNull Callable<T> valueLoader) {
+        LOG.trace("get('{}')", key);
+        final Timer.Sample sample = metrics.start();
         try {
-            Optional<YouTubeApiCacheEntry> dbEntry = repository.findOptionalByRequestJson((String) key);
-            if (dbEntry.isPresent()) {
-                LOG.info("found in database!");
+            if ((getNativeCache().get(key) instanceof YouTubeApiCacheEntry e) && !isStale(e)) {
+                LOG.trace("found in memory!");
+                @SuppressWarnings("unchecked") final T t = (T) fromStoreValue(e);
+                metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_MEMORY);
+                return t;
+            }
+
+            Optional<YouTubeApiCacheEntry> dbEntry = find(key);
+            if (dbEntry.isPresent() && !isStale(dbEntry.get())) {
+                LOG.debug("found in database!");
                 YouTubeApiCacheEntry e = dbEntry.get();
-                LOG.info("found:\n{}\n", e);
+                LOG.trace("found:\n{}\n", e);
                 Object o = fromStoreValue(dbEntry.get());
-                LOG.info("converted:\n{}\n", o);
+                getNativeCache().put(key, e);
+                LOG.trace("converted:\n{}\n", o);
+                metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_DATABASE);
                 return (T) o;
             }
 
-            LOG.info("calling service!");
+            LOG.debug("calling service!");
             T t = valueLoader.call();
             final YouTubeApiCacheEntry entry = entryFactory.newInstance((GenericJson) t, key.toString());
             store(key, entry);
+            metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_MISS);
             return t;
         } catch (Exception e) {
+            metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_ERROR);
             throw new Cache.ValueRetrievalException(key, valueLoader, e);
         }
     }
 
+    /**
+     * Get a fresh cached value without calling YouTube. Stale values aren't returned
+     * and misses aren't recorded - the caller is expected to call get() next.
+     *
+     * @param key canonical request
+     * @param <T> YouTube API response
+     * @return YouTube API response, or null if there isn't a fresh cached value
+     */
+    @Nullable
+    public <T> T getIfFresh(@NotNull Object key) {
+        final Timer.Sample sample = metrics.start();
+        final Instant now = Instant.now(Clock.systemUTC());
+        if ((getNativeCache().get(key) instanceof YouTubeApiCacheEntry e) && policy.isFresh(e, now)) {
+            @SuppressWarnings("unchecked") final T t = (T) fromStoreValue(e);
+            metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_MEMORY);
+            return t;
+        }
+
+        final Optional<YouTubeApiCacheEntry> dbEntry = find(key);
+        if (dbEntry.isPresent() && policy.isFresh(dbEntry.get(), now)) {
+            final YouTubeApiCacheEntry e = dbEntry.get();
+            @SuppressWarnings("unchecked") final T t = (T) fromStoreValue(e);
+            getNativeCache().put(key, e);
+            metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_DATABASE);
+            return t;
+        }
+        return null;
+    }
+
+    /**
+     * Cache a response that was retrieved as part of another request, e.g., one item
+     * of a multi-id request cached under its single-id request. It replaces any
+     * existing value.
+     *
+     * @param key   canonical request
+     * @param value YouTube API response
+     */
+    public void putResponse(@NotNull Object key, @NotNull GenericJson value) {
+        store(key, entryFactory.newInstance(value, key.toString()));
+    }
+
+    /**
+     * Get cached value, revalidating it if it's stale.
+     *
+     * @param key    canonical request
+     * @param loader performs the (conditional) request
+     * @param <T>    YouTube API response
+     * @return YouTube API response
+     */
+    @Nullable
+    public <T> T get(@NotNull Object key, @NotNull ConditionalLoader<T> loader) {
+        return get(key, loader, null);
+    }
+
+    /**
+     * Get cached value, allowing a stale value to be returned while it's revalidated
+     * in the background.
+     *
+     * @param key         canonical request
+     * @param loader      performs the (conditional) request on the caller's thread
+     * @param revalidator creates a loader that can perform the request later on another thread,
+     *                    or null if the stale value must be revalidated before it's returned
+     * @param <T>         YouTube API response
+     * @return YouTube API response
+     */
+    @Nullable
+    public <T> T get(@NotNull Object key, @NotNull ConditionalLoader<T> loader,
+                     @Nullable Supplier<ConditionalLoader<T>> revalidator) {
+        return singleFlight(key, () -> load(key, loader, revalidator));
+    }
+
+    @Nullable
+    private <T> T load(@NotNull Object key, @NotNull ConditionalLoader<T> loader,
+                       @Nullable Supplier<ConditionalLoader<T>> revalidator) {
+        LOG.trace("get('{}')", key);
+        final Timer.Sample sample = metrics.start();
+        try {
+            final Instant now = Instant.now(Clock.systemUTC());
+
+            // the in-memory entry keeps the decoded response so we don't parse it again
+            if (getNativeCache().get(key) instanceof YouTubeApiCacheEntry e) {
+                if (policy.isFresh(e, now)) {
+                    LOG.trace("found in memory!");
+                    @SuppressWarnings("unchecked") final T t = (T) fromStoreValue(e);
+                    metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_MEMORY);
+                    return t;
+                }
+                if ((revalidator != null) && policy.canServeStale(e, now)) {
+                    LOG.debug("stale in memory - revalidating in background");
+                    revalidate(key, e, revalidator);
+                    @SuppressWarnings("unchecked") final T t = (T) fromStoreValue(e);
+                    metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_STALE);
+                    return t;
+                }
+            }
+
+            final Optional<YouTubeApiCacheEntry> dbEntry = find(key);
+            if (dbEntry.isPresent()) {
+                final YouTubeApiCacheEntry e = dbEntry.get();
+                if (policy.isFresh(e, now)) {
+                    LOG.debug("found in database!");
+                    @SuppressWarnings("unchecked") final T t = (T) fromStoreValue(e);
+                    getNativeCache().put(key, e);
+                    metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_DATABASE);
+                    return t;
+                }
+                if ((revalidator != null) && policy.canServeStale(e, now)) {
+                    LOG.debug("stale in database - revalidating in background");
+                    @SuppressWarnings("unchecked") final T t = (T) fromStoreValue(e);
+                    getNativeCache().put(key, e);
+                    revalidate(key, e, revalidator);
+                    metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_STALE);
+                    return t;
+                }
+            }
+
+            final String etag = dbEntry.map(YouTubeApiCacheEntry::getEtag).orElse(null);
+            final Response<T> response = loader.load(etag);
+            if (response == null) {
+                if (dbEntry.isEmpty()) {
+                    metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_MISS);
+                    return null;
+                }
+
+                // not modified - nothing to parse or convert
+                LOG.debug("not modified!");
+                final YouTubeApiCacheEntry e = dbEntry.get();
+                e.setLastUpdated(Instant.now(Clock.systemUTC()));
+                @SuppressWarnings("unchecked") final T cached = (T) fromStoreValue(e);
+                store(key, e);
+                metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_NOT_MODIFIED);
+                return cached;
+            }
+
+            final T t = response.value();
+            // the writer replaces any existing entry for the request
+            store(key, entryFactory.newInstance((GenericJson) t, key.toString(), response.content()));
+            metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_MISS);
+            return t;
+        } catch (Exception e) {
+            metrics.cacheGet(sample, YouTubeApiMetrics.CACHE_ERROR);
+            throw new Cache.ValueRetrievalException(key, null, e);
+        }
+    }
+
+    /**
+     * Perform the lookup unless there's already one in flight for the same key. In
+     * that case we wait for it and share its result (or exception).
+     *
+     * @param key    canonical request
+     * @param lookup lookup, including any call to YouTube
+     * @param <T>    YouTube API response
+     * @return YouTube API response
+     */
+    @Nullable
+    private <T> T singleFlight(@NotNull Object key, @NotNull Supplier<T> lookup) {
+        final CompletableFuture<Object> flight = new CompletableFuture<>();
+        final CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            LOG.debug("waiting for in-flight request");
+            try {
+                @SuppressWarnings("unchecked") final T t = (T) leader.join();
+                return t;
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            final T t = lookup.get();
+            flight.complete(t);
+            return t;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private boolean isStale(@NotNull YouTubeApiCacheEntry entry) {
+        return !policy.isFresh(entry, Instant.now(Clock.systemUTC()));
+    }
+
+    /**
+     * Revalidate a stale entry in the background unless it's already being revalidated.
+     * <p>
+     * The refresh doesn't go through singleFlight(). A foreground lookup for the same
+     * key may be in flight - it would return the stale entry to the refresh instead of
+     * sending the conditional request, and it would make later callers wait for the
+     * YouTube round trip. 'revalidating' ensures there's only one refresh per key and
+     * callers keep getting the stale entry until it completes.
+     * </p>
+     *
+     * @param key         canonical request
+     * @param stale       stale entry
+     * @param revalidator creates a loader that can run on another thread
+     * @param <T>         YouTube API response
+     */
+    private <T> void revalidate(@NotNull Object key, @NotNull YouTubeApiCacheEntry stale,
+                                @NotNull Supplier<ConditionalLoader<T>> revalidator) {
+        if (revalidating.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+
+        try {
+            // the loader must be created now, while it still matches the key
+            final ConditionalLoader<T> loader = revalidator.get();
+            revalidationExecutor.execute(() -> {
+                try {
+                    refresh(key, stale, loader);
+                } catch (RuntimeException e) {
+                    LOG.warn("{}: unable to revalidate '{}': {}", e.getClass().getName(), key, e.getMessage());
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidating.remove(key);
+            LOG.debug("revalidation queue is full - skipping '{}'", key);
+        } catch (RuntimeException e) {
+            revalidating.remove(key);
+            throw e;
+        }
+    }
+
+    /**
+     * Revalidate an entry, replacing it if it has changed.
+     *
+     * @param key    canonical request
+     * @param stale  stale entry
+     * @param loader performs the conditional request
+     * @param <T>    YouTube API response
+     */
+    private <T> void refresh(@NotNull Object key, @NotNull YouTubeApiCacheEntry stale, @NotNull ConditionalLoader<T> loader) {
+        try {
+            final Response<T> response = loader.load(stale.getEtag());
+            if (response == null) {
+                LOG.debug("not modified!");
+                // the entry is already in memory
+                stale.setLastUpdated(Instant.now(Clock.systemUTC()));
+                writer.write(stale);
+                return;
+            }
+
+            store(key, entryFactory.newInstance((GenericJson) response.value(), key.toString(), response.content()));
+        } catch (Exception e) {
+            throw new Cache.ValueRetrievalException(key, null, e);
+        }
+    }
+
     @Override
     public ValueWrapper putIfAbsent(@NotNull Object key, @Nullable Object value) {
-        LOG.info("putIfAbsent('{}', value)", key);
+        LOG.trace("putIfAbsent('{}', value)", key);
         if (value == null) {
             // we don't do anything with null values...
             return super.putIfAbsent(key, null);
         }
 
-        LOG.info("also need to persist to database...");
+        LOG.trace("also need to persist to database...");
         final YouTubeApiCacheEntry entry = entryFactory.newInstance((GenericJson) value, key.toString());
         store(key, entry);
         return super.putIfAbsent(key, entry);
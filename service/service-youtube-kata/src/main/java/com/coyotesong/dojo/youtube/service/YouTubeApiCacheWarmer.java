@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Warms the in-memory tier of the YouTube API cache when the application starts.
+ * <p>
+ * The most recently updated entries are read from the database, a page at a time,
+ * until 'youtube.cache.warmup.budget' is used. Entries that are too old to be
+ * returned without revalidation are skipped. The budget is measured the same way as
+ * 'youtube.cache.memory.maxWeight' and should be smaller than it. A budget of 0
+ * disables the warm-up.
+ * </p>
+ * <p>
+ * The warm-up runs on its own thread so it doesn't delay the rest of the application
+ * context. Requests made before it finishes use the database as usual.
+ * </p>
+ */
+@Component
+public class YouTubeApiCacheWarmer implements InitializingBean, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeApiCacheWarmer.class);
+
+    static final int PAGE_SIZE = 200;
+
+    private final YouTubeApiCacheService cache;
+    private final YouTubeApiCacheRepository repository;
+    private final YouTubeApiCachePolicy policy;
+    private final long budget;
+
+    private volatile boolean closed;
+    private volatile CompletableFuture<Result> warmUp;
+
+    /**
+     * Warm-up result
+     *
+     * @param entries number of entries added to the in-memory tier
+     * @param bytes   approximate memory used by those entries
+     * @param elapsed time taken
+     */
+    public record Result(int entries, long bytes, Duration elapsed) {
+    }
+
+    @Autowired
+    public YouTubeApiCacheWarmer(@NotNull YouTubeApiCacheService cache,
+                                 @NotNull YouTubeApiCacheRepository repository,
+                                 @NotNull YouTubeApiCachePolicy policy,
+                                 @Value("${youtube.cache.warmup.budget:16MB}") @NotNull DataSize budget) {
+        if (budget.isNegative()) {
+            throw new IllegalArgumentException("'budget' must not be negative");
+        }
+        this.cache = cache;
+        this.repository = repository;
+        this.policy = policy;
+        this.budget = budget.toBytes();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (budget > 0) {
+            start();
+        }
+    }
+
+    /**
+     * Start the warm-up on a background thread
+     *
+     * @return warm-up result
+     */
+    @NotNull
+    public synchronized CompletableFuture<Result> start() {
+        if (warmUp == null) {
+            final CompletableFuture<Result> future = new CompletableFuture<>();
+            final Thread thread = new Thread(() -> {
+                try {
+                    future.complete(warmUp());
+                } catch (RuntimeException e) {
+                    LOG.warn("{}: cache warm-up failed: {}", e.getClass().getName(), e.getMessage());
+                    future.completeExceptionally(e);
+                }
+            }, "youtube-cache-warmup");
+            thread.setDaemon(true);
+            thread.start();
+            warmUp = future;
+        }
+        return warmUp;
+    }
+
+    /**
+     * Warm the cache on the caller's thread
+     *
+     * @return warm-up result
+     */
+    @NotNull
+    Result warmUp() {
+        final long start = System.nanoTime();
+        final Instant now = Instant.now(Clock.systemUTC());
+        final Instant oldest = now.minus(policy.getMaxAge());
+
+        int entries = 0;
+        long bytes = 0;
+        YouTubeApiCacheEntry after = null;
+        while (!closed) {
+            final List<YouTubeApiCacheEntry> page = repository.findRecentlyUpdated(after, PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            after = page.get(page.size() - 1);
+
+            for (YouTubeApiCacheEntry entry : page) {
+                if ((entry.getLastUpdated() != null) && entry.getLastUpdated().isBefore(oldest)) {
+                    // everything else is older still
+                    return done(entries, bytes, start);
+                }
+                if (entry.getRequestJson() == null || !policy.isUsable(entry, now)) {
+                    continue;
+                }
+
+                final int weight = YouTubeApiCacheService.weigh(entry.getRequestJson(), entry);
+                if (bytes + weight > budget) {
+                    return done(entries, bytes, start);
+                }
+                if (cache.warm(entry)) {
+                    entries++;
+                    bytes += weight;
+                }
+            }
+        }
+        return done(entries, bytes, start);
+    }
+
+    @NotNull
+    private Result done(int entries, long bytes, long start) {
+        final Result result = new Result(entries, bytes, Duration.ofNanos(System.nanoTime() - start));
+        LOG.info("cache warm-up loaded {} entries ({} bytes) in {} ms", entries, bytes, result.elapsed().toMillis());
+        return result;
+    }
+
+    /**
+     * Stop the warm-up, e.g., if the application is shut down before it finishes.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
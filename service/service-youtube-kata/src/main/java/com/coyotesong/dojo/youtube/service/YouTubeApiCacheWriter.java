@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for new YouTube API cache entries.
+ * <p>
+ * Entries are written by a background thread in batches of up to
+ * 'youtube.cache.writeBehind.batchSize' entries, or when the oldest queued entry is
+ * 'youtube.cache.writeBehind.flushInterval' old. A cache miss no longer waits for
+ * the database.
+ * </p>
+ * <p>
+ * The queue holds at most 'youtube.cache.writeBehind.capacity' entries. When it's full
+ * the caller writes a batch itself, i.e., callers slow down to the database's pace
+ * instead of the queue growing without bound. A capacity of 0 writes every entry
+ * immediately on the caller's thread.
+ * </p>
+ * <p>
+ * Queued entries can be found with getPending() until they've been written. The
+ * remaining entries are written when the writer is closed.
+ * </p>
+ */
+@Component
+public class YouTubeApiCacheWriter implements Runnable, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeApiCacheWriter.class);
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000L;
+
+    // how often the background thread checks whether it's been closed
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final YouTubeApiCacheRepository repository;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final YouTubeApiMetrics metrics = YouTubeApiMetrics.global();
+
+    @Nullable
+    private final BlockingQueue<YouTubeApiCacheEntry> queue;
+
+    // queued entries by request
+    private final ConcurrentMap<String, YouTubeApiCacheEntry> pending = new ConcurrentHashMap<>();
+
+    @Nullable
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * Writer that writes every entry immediately
+     *
+     * @param repository database tier
+     */
+    public YouTubeApiCacheWriter(@NotNull YouTubeApiCacheRepository repository) {
+        this(repository, 1, Duration.ZERO, 0);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param repository    database tier
+     * @param batchSize     maximum entries per batch
+     * @param flushInterval maximum time an entry is queued before it's written
+     * @param capacity      maximum number of queued entries, 0 to write immediately
+     */
+    @Autowired
+    public YouTubeApiCacheWriter(@NotNull YouTubeApiCacheRepository repository,
+                                 @Value("${youtube.cache.writeBehind.batchSize:100}") int batchSize,
+                                 @Value("${youtube.cache.writeBehind.flushInterval:PT1S}") @NotNull Duration flushInterval,
+                                 @Value("${youtube.cache.writeBehind.capacity:10000}") int capacity) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("'batchSize' must be positive");
+        }
+        if (flushInterval.isNegative()) {
+            throw new IllegalArgumentException("'flushInterval' must not be negative");
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("'capacity' must not be negative");
+        }
+
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+
+        if (capacity == 0) {
+            this.queue = null;
+            this.thread = null;
+        } else {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            metrics.writeQueue(queue);
+            this.thread = new Thread(this::drain, "youtube-cache-writer");
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+    }
+
+    /**
+     * Queue an entry to be written
+     *
+     * @param entry cache entry
+     */
+    public void write(@NotNull YouTubeApiCacheEntry entry) {
+        if ((queue == null) || closed) {
+            flush(List.of(entry));
+            return;
+        }
+
+        if (entry.getRequestJson() != null) {
+            pending.put(entry.getRequestJson(), entry);
+        }
+
+        while (!queue.offer(entry)) {
+            // backpressure - write a batch ourselves
+            metrics.writeBackpressure();
+            final List<YouTubeApiCacheEntry> batch = new ArrayList<>(batchSize);
+            queue.drainTo(batch, batchSize);
+            flush(batch);
+        }
+    }
+
+    /**
+     * Get an entry that has been queued but not yet written
+     *
+     * @param requestJson canonical request
+     * @return entry, or null if there isn't one
+     */
+    @Nullable
+    public YouTubeApiCacheEntry getPending(@NotNull String requestJson) {
+        return pending.get(requestJson);
+    }
+
+    /**
+     * Number of queued entries
+     *
+     * @return number of queued entries
+     */
+    public int size() {
+        return (queue == null) ? 0 : queue.size();
+    }
+
+    /**
+     * Write queued entries in the background until the writer is closed.
+     */
+    private void drain() {
+        final long intervalNanos = flushInterval.toNanos();
+        final List<YouTubeApiCacheEntry> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                final YouTubeApiCacheEntry first = queue.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                final long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < batchSize && !closed) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    final long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    final YouTubeApiCacheEntry next = queue.poll(Math.min(remaining, POLL_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Write a batch. A request may have been queued more than once - only the latest
+     * entry is written.
+     *
+     * @param batch cache entries
+     */
+    void flush(@NotNull List<YouTubeApiCacheEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        final Map<String, YouTubeApiCacheEntry> latest = new LinkedHashMap<>();
+        for (YouTubeApiCacheEntry entry : batch) {
+            latest.put(entry.getRequestJson(), entry);
+        }
+
+        final Timer.Sample sample = metrics.start();
+        try {
+            if (latest.size() == 1) {
+                // this also sets the entry's key
+                repository.insert(latest.values().iterator().next());
+            } else {
+                repository.insert(latest.values());
+            }
+            metrics.cacheWrite(sample, latest.size(), null);
+        } catch (RuntimeException e) {
+            // the entries are still in memory - they'll be written the next time they're loaded
+            LOG.warn("{}: unable to write {} cache entries: {}", e.getClass().getName(), latest.size(), e.getMessage());
+            metrics.cacheWrite(sample, latest.size(), e);
+        } finally {
+            for (YouTubeApiCacheEntry entry : batch) {
+                if (entry.getRequestJson() != null) {
+                    pending.remove(entry.getRequestJson(), entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the remaining entries. This is also the Cleaner action for the cache.
+     */
+    @Override
+    public void run() {
+        close();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (thread != null) {
+            try {
+                thread.join(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // anything the background thread didn't get to
+        if (queue != null && !queue.isEmpty()) {
+            final List<YouTubeApiCacheEntry> batch = new ArrayList<>(queue.size());
+            queue.drainTo(batch);
+            for (int i = 0; i < batch.size(); i += batchSize) {
+                flush(batch.subList(i, Math.min(i + batchSize, batch.size())));
+            }
+        }
+        LOG.info("cache writer closed");
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.coyotesong.dojo.youtube.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+
+/**
+ * Micrometer meters for the YouTube API client and its cache.
+ * <p>
+ * Client meters are tagged with the response 'kind' (e.g., 'youtube#videoListResponse').
+ * </p>
+ * <p>
+ * The meters are registered with Micrometer's global registry by default. Spring Boot adds
+ * its own registries (e.g., Prometheus) to the global registry so nothing needs to be
+ * injected. That matters since YouTubeClientState is created by the client factories,
+ * not by Spring.
+ * </p>
+ */
+public class YouTubeApiMetrics {
+    public static final String UPDATE = "youtube.client.update";
+    public static final String RESPONSE_BYTES = "youtube.client.response.size";
+    public static final String ITEMS = "youtube.client.items";
+    public static final String PAGES = "youtube.client.pages";
+    public static final String QUOTA_UNITS = "youtube.client.quota.units";
+    public static final String CACHE_GET = "youtube.cache.get";
+    public static final String CACHE_WRITE = "youtube.cache.write";
+    public static final String CACHE_WRITE_BATCH = "youtube.cache.write.batch";
+    public static final String CACHE_WRITE_QUEUE = "youtube.cache.write.queue";
+    public static final String CACHE_WRITE_BACKPRESSURE = "youtube.cache.write.backpressure";
+
+    /**
+     * Where the response came from.
+     */
+    public static final String SOURCE_CACHE = "cache";
+    public static final String SOURCE_YOUTUBE = "youtube";
+    public static final String SOURCE_NOT_MODIFIED = "not_modified";
+
+    /**
+     * Cache lookup results.
+     */
+    public static final String CACHE_MEMORY = "memory";
+    public static final String CACHE_DATABASE = "database";
+    public static final String CACHE_MISS = "miss";
+    public static final String CACHE_NOT_MODIFIED = "not_modified";
+    public static final String CACHE_STALE = "stale";
+    public static final String CACHE_ERROR = "error";
+
+    private static final YouTubeApiMetrics GLOBAL = new YouTubeApiMetrics(Metrics.globalRegistry);
+
+    private final MeterRegistry registry;
+
+    public YouTubeApiMetrics(@NotNull MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Metrics registered with the global registry
+     *
+     * @return global metrics
+     */
+    @NotNull
+    public static YouTubeApiMetrics global() {
+        return GLOBAL;
+    }
+
+    @NotNull
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Record a call to YouTubeClientState.update()
+     *
+     * @param sample started when update() was called
+     * @param kind   response kind
+     * @param source where the response came from
+     * @param error  exception thrown by update(), if any
+     */
+    public void update(@NotNull Timer.Sample sample, @NotNull String kind, @NotNull String source, @Nullable Throwable error) {
+        sample.stop(Timer.builder(UPDATE)
+                .description("YouTube API page retrieval, including the cache lookup")
+                .tag("kind", kind)
+                .tag("source", source)
+                .tag("exception", (error == null) ? "none" : error.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public void responseSize(@NotNull String kind, long bytes) {
+        DistributionSummary.builder(RESPONSE_BYTES)
+                .description("YouTube API response body size")
+                .baseUnit("bytes")
+                .tag("kind", kind)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(bytes);
+    }
+
+    public void items(@NotNull String kind, int count) {
+        DistributionSummary.builder(ITEMS)
+                .description("Items per YouTube API page")
+                .tag("kind", kind)
+                .register(registry)
+                .record(count);
+    }
+
+    public void pages(@NotNull String kind, int count) {
+        DistributionSummary.builder(PAGES)
+                .description("Pages per YouTube API iteration")
+                .tag("kind", kind)
+                .register(registry)
+                .record(count);
+    }
+
+    public void quotaUnits(@NotNull String kind, int units) {
+        Counter.builder(QUOTA_UNITS)
+                .description("Estimated YouTube API quota units")
+                .tag("kind", kind)
+                .register(registry)
+                .increment(units);
+    }
+
+    /**
+     * Record a call to YouTubeApiCacheService.get()
+     *
+     * @param sample started when get() was called
+     * @param result lookup result
+     */
+    public void cacheGet(@NotNull Timer.Sample sample, @NotNull String result) {
+        sample.stop(Timer.builder(CACHE_GET)
+                .description("YouTube API cache lookup, including any call to YouTube")
+                .tag("result", result)
+                .register(registry));
+    }
+
+    /**
+     * Record a batch written by YouTubeApiCacheWriter
+     *
+     * @param sample started when the write started
+     * @param size   number of entries
+     * @param error  exception thrown by the write, if any
+     */
+    public void cacheWrite(@NotNull Timer.Sample sample, int size, @Nullable Throwable error) {
+        sample.stop(Timer.builder(CACHE_WRITE)
+                .description("YouTube API cache batch write")
+                .tag("exception", (error == null) ? "none" : error.getClass().getSimpleName())
+                .register(registry));
+        DistributionSummary.builder(CACHE_WRITE_BATCH)
+                .description("Entries per YouTube API cache batch write")
+                .register(registry)
+                .record(size);
+    }
+
+    /**
+     * Record that a caller had to write a batch because the write-behind queue was full
+     */
+    public void writeBackpressure() {
+        Counter.builder(CACHE_WRITE_BACKPRESSURE)
+                .description("YouTube API cache writes performed by the caller because the queue was full")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Report the depth of the write-behind queue
+     *
+     * @param queue write-behind queue
+     */
+    public void writeQueue(@NotNull Collection<?> queue) {
+        registry.gauge(CACHE_WRITE_QUEUE, queue, Collection::size);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.model.Channel;
+import com.coyotesong.dojo.youtube.model.Video;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Retrieve all videos published by a channel
+ * <p>
+ * This reads the channel's 'uploads' playlist instead of using 'search.list'. The
+ * playlist costs 1 quota unit per page of 50 videos while a search costs 100 units
+ * per page and is capped at a few hundred results.
+ * </p>
+ */
+public interface YouTubeChannelVideosService {
+
+    /**
+     * Retrieve the channel's videos, newest first
+     *
+     * @param channel        channel
+     * @param publishedAfter only return videos published after this time, or null for all videos
+     * @return videos
+     * @throws IOException error during REST call
+     */
+    @NotNull
+    List<Video> getVideosForChannel(@NotNull Channel channel, @Nullable Instant publishedAfter) throws IOException;
+
+    /**
+     * Retrieve the videos in a channel's 'uploads' playlist, newest first
+     *
+     * @param uploadsPlaylistId 'uploads' playlist id
+     * @param publishedAfter    only return videos published after this time, or null for all videos
+     * @return videos
+     * @throws IOException error during REST call
+     */
+    @NotNull
+    List<Video> getVideosForUploadsPlaylist(@NotNull String uploadsPlaylistId, @Nullable Instant publishedAfter) throws IOException;
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.model.Channel;
+import com.coyotesong.dojo.youtube.model.PlaylistItem;
+import com.coyotesong.dojo.youtube.model.Video;
+import com.coyotesong.dojo.youtube.security.LogSanitizer;
+import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForPlaylistItemListFactory;
+import com.coyotesong.dojo.youtube.service.youTubeClient.Constants;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Implementation of YouTubeChannelVideosService
+ * <p>
+ * The 'uploads' playlist is read with the summary profile since we only need the
+ * video ids. The videos are then retrieved through YouTubeVideosService, 50 ids per
+ * request.
+ * </p>
+ */
+@Service("YouTubeChannelVideosService")
+public class YouTubeChannelVideosServiceImpl implements YouTubeChannelVideosService {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeChannelVideosServiceImpl.class);
+
+    private static final int PAGE_SIZE = 50;
+
+    private final ClientForPlaylistItemListFactory clientForPlaylistItemListFactory;
+    private final YouTubeVideosService videosService;
+    private final LogSanitizer sanitize;
+
+    @Autowired
+    public YouTubeChannelVideosServiceImpl(@NotNull ClientForPlaylistItemListFactory clientForPlaylistItemListFactory,
+                                           @NotNull YouTubeVideosService videosService,
+                                           @NotNull LogSanitizer sanitize) {
+        this.clientForPlaylistItemListFactory = clientForPlaylistItemListFactory;
+        this.videosService = videosService;
+        this.sanitize = sanitize;
+    }
+
+    /**
+     * Retrieve the channel's videos, newest first
+     *
+     * @param channel        channel
+     * @param publishedAfter only return videos published after this time, or null for all videos
+     * @return videos
+     * @throws IOException error during REST call
+     */
+    @Override
+    @NotNull
+    public List<Video> getVideosForChannel(@NotNull Channel channel, @Nullable Instant publishedAfter) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("'channel' must be non-null");
+        }
+
+        final String uploads = getUploadsPlaylistId(channel);
+        if (uploads == null) {
+            LOG.info("channel '{}' does not have an 'uploads' playlist", sanitize.forChannelId(channel.getChannelId()));
+            return Collections.emptyList();
+        }
+
+        return getVideosForUploadsPlaylist(uploads, publishedAfter);
+    }
+
+    /**
+     * Retrieve the videos in a channel's 'uploads' playlist, newest first
+     * <p>
+     * The playlist is in reverse chronological order so paging stops at the first
+     * item older than 'publishedAfter'.
+     * </p>
+     *
+     * @param uploadsPlaylistId 'uploads' playlist id
+     * @param publishedAfter    only return videos published after this time, or null for all videos
+     * @return videos
+     * @throws IOException error during REST call
+     */
+    @Override
+    @NotNull
+    public List<Video> getVideosForUploadsPlaylist(@NotNull String uploadsPlaylistId, @Nullable Instant publishedAfter) throws IOException {
+        if (isBlank(uploadsPlaylistId)) {
+            throw new IllegalArgumentException("'uploadsPlaylistId' must not be blank");
+        }
+
+        LOG.trace("getVideosForUploadsPlaylist('{}', {})...", sanitize.forPlaylistId(uploadsPlaylistId), publishedAfter);
+
+        final List<String> ids;
+        try (Stream<PlaylistItem> items = clientForPlaylistItemListFactory.newBuilder()
+                .withPlaylistId(uploadsPlaylistId)
+                .withProfile(Constants.Profile.SUMMARY)
+                .withMaxResults(PAGE_SIZE)
+                .build()
+                .stream()) {
+            ids = items.takeWhile(item -> isPublishedAfter(item, publishedAfter))
+                    .map(PlaylistItem::getVideoId)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+        }
+
+        final List<Video> videos = videosService.getVideos(ids);
+
+        LOG.trace("getVideosForUploadsPlaylist('{}')... {} record(s)", sanitize.forPlaylistId(uploadsPlaylistId), videos.size());
+        return videos;
+    }
+
+    /**
+     * Get the 'uploads' playlist id. Older channel records may not have it but YouTube
+     * derives it from the channel id ('UC...' becomes 'UU...').
+     */
+    @Nullable
+    static String getUploadsPlaylistId(@NotNull Channel channel) {
+        if (!isBlank(channel.getUploads())) {
+            return channel.getUploads();
+        }
+
+        final String channelId = channel.getChannelId();
+        if ((channelId != null) && channelId.startsWith("UC")) {
+            return "UU" + channelId.substring(2);
+        }
+
+        return null;
+    }
+
+    static boolean isPublishedAfter(@NotNull PlaylistItem item, @Nullable Instant publishedAfter) {
+        return (publishedAfter == null) || (item.getPublishedAt() == null) || item.getPublishedAt().isAfter(publishedAfter);
+    }
+}
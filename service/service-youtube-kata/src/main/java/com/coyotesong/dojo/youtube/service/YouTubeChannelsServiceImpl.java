@@ -20,6 +20,8 @@ import com.coyotesong.dojo.youtube.model.Channel;
 import com.coyotesong.dojo.youtube.security.LogSanitizer;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForChannelListFactory;
 import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeClient.ListChannels;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMicroBatcher;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -43,12 +45,18 @@ public class YouTubeChannelsServiceImpl implements YouTubeChannelsService {
     private static final Logger LOG = LoggerFactory.getLogger(YouTubeChannelsServiceImpl.class);
 
     private final ClientForChannelListFactory clientForChannelListFactory;
+    private final YouTubeMultiGet multiGet;
+    private final YouTubeMicroBatcher.Lookup<Channel> channelLookup;
     private final LogSanitizer sanitize;
 
     @Autowired
     public YouTubeChannelsServiceImpl(@NotNull ClientForChannelListFactory clientForChannelListFactory,
+                                      @NotNull YouTubeMultiGet multiGet,
+                                      @NotNull YouTubeMicroBatcher microBatcher,
                                       @NotNull LogSanitizer sanitize) {
         this.clientForChannelListFactory = clientForChannelListFactory;
+        this.multiGet = multiGet;
+        this.channelLookup = microBatcher.newLookup(Channel::getChannelId, this::getCachedChannel, this::getChannels);
         this.sanitize = sanitize;
     }
 
@@ -106,6 +114,10 @@ public class YouTubeChannelsServiceImpl implements YouTubeChannelsService {
 
     /**
      * Retrieve information about specified channel
+     * <p>
+     * A cached channel is returned immediately. Otherwise concurrent calls are
+     * combined into a single REST call.
+     * </p>
      *
      * @param id - channel to load
      * @return requested channel (when available)
@@ -118,9 +130,8 @@ public class YouTubeChannelsServiceImpl implements YouTubeChannelsService {
         }
 
         LOG.trace("getChannel('{}')...", sanitize.forChannelId(id));
-        final List<Channel> channels = getChannels(Collections.singletonList(id));
-        if (!channels.isEmpty()) {
-            final Channel channel = channels.get(0);
+        final Channel channel = channelLookup.get(id);
+        if (channel != null) {
             LOG.trace("getChannel('{}') -> '{}'", sanitize.forChannelId(id), sanitize.forString(channel.getTitle()));
             return channel;
         }
@@ -129,6 +140,17 @@ public class YouTubeChannelsServiceImpl implements YouTubeChannelsService {
         return null;
     }
 
+    /**
+     * Get a channel from the cache without calling YouTube
+     *
+     * @param id channel id
+     * @return cached channel - empty if YouTube didn't return it - or null if it isn't cached
+     */
+    @Nullable
+    private List<Channel> getCachedChannel(@NotNull String id) throws IOException {
+        return clientForChannelListFactory.newBuilder().withId(id).build().getCached();
+    }
+
     /**
      * Retrieve information about specified channels
      *
@@ -149,14 +171,7 @@ public class YouTubeChannelsServiceImpl implements YouTubeChannelsService {
 
         final List<Channel> channels = new ArrayList<>();
 
-        // TODO - should handle this in underlying service...
-        for (int offset = 0; offset < ids.size(); offset += 50) {
-            final List<String> list = ids.subList(offset, Math.min(offset + 50, ids.size()));
-            final ListChannels client = clientForChannelListFactory.newBuilder().withIds(list).build();
-            while (client.hasNext()) {
-                channels.addAll(client.next());
-            }
-        }
+        channels.addAll(multiGet.getAll(ids, list -> clientForChannelListFactory.newBuilder().withIds(list).build()));
 
         LOG.trace("getChannels({})... -> {} record(s)", ids.size(), channels.size());
         return channels;
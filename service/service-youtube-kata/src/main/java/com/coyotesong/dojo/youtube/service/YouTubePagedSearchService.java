@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.form.YouTubeSearchForm;
+import com.coyotesong.dojo.youtube.model.SearchResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Search that retrieves one page of results at a time
+ * <p>
+ * Search costs 100 quota units per page so interactive callers should only request
+ * the pages the user actually asks for.
+ * </p>
+ */
+public interface YouTubePagedSearchService extends YouTubeSearchService {
+
+    /**
+     * A single page of search results
+     *
+     * @param results search results
+     * @param cursor  opaque continuation cursor for the next page, or null if this is the last page
+     */
+    record SearchPage(@NotNull List<SearchResult> results, @Nullable String cursor) {
+    }
+
+    /**
+     * Retrieve the first page of search results
+     *
+     * @param searchForm search criteria
+     * @return first page of search results
+     * @throws IOException error during REST call
+     */
+    @NotNull
+    <T extends YouTubeSearchForm> SearchPage startSearch(@NotNull T searchForm) throws IOException;
+
+    /**
+     * Retrieve the next page of search results
+     *
+     * @param cursor cursor from the previous page
+     * @return next page of search results
+     * @throws IOException              error during REST call
+     * @throws IllegalArgumentException the cursor is not valid
+     */
+    @NotNull
+    SearchPage continueSearch(@NotNull String cursor) throws IOException;
+}
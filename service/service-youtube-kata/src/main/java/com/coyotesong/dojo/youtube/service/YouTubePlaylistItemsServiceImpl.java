@@ -20,6 +20,7 @@ import com.coyotesong.dojo.youtube.model.PlaylistItem;
 import com.coyotesong.dojo.youtube.security.LogSanitizer;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForPlaylistItemListFactory;
 import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeClient.ListPlaylistItems;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -29,9 +30,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
@@ -44,13 +47,36 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
 public class YouTubePlaylistItemsServiceImpl implements YouTubePlaylistItemsService {
     private static final Logger LOG = LoggerFactory.getLogger(YouTubePlaylistItemsServiceImpl.class);
 
+    /**
+     * Number of pages retrieved ahead of the caller when listing a playlist.
+     */
+    private static final int PREFETCH_DEPTH = 2;
+
+    /**
+     * Result of an incremental playlist sync.
+     *
+     * @param items           items added since the high-water mark, in playlist order (newest first)
+     * @param lastItemId      id of the newest item - the high-water mark for the next sync
+     * @param lastPublishedAt 'publishedAt' of the newest item
+     * @param markFound       true if paging stopped at the previous high-water mark. If false
+     *                        the mark was not found (e.g., the item was removed) and 'items'
+     *                        is the entire playlist.
+     * @param pages           number of pages retrieved
+     */
+    public record PlaylistItemsDelta(@NotNull List<PlaylistItem> items, @Nullable String lastItemId,
+                                     @Nullable Instant lastPublishedAt, boolean markFound, int pages) {
+    }
+
     private final ClientForPlaylistItemListFactory clientForPlaylistItemListFactory;
+    private final YouTubeMultiGet multiGet;
     private final LogSanitizer sanitize;
 
     @Autowired
     public YouTubePlaylistItemsServiceImpl(@NotNull ClientForPlaylistItemListFactory clientForPlaylistItemListFactory,
+                                           @NotNull YouTubeMultiGet multiGet,
                                            @NotNull LogSanitizer sanitize) {
         this.clientForPlaylistItemListFactory = clientForPlaylistItemListFactory;
+        this.multiGet = multiGet;
         this.sanitize = sanitize;
     }
 
@@ -98,14 +124,7 @@ public class YouTubePlaylistItemsServiceImpl implements YouTubePlaylistItemsServ
 
         final List<PlaylistItem> items = new ArrayList<>();
 
-        // TODO - should handle this in underlying service...
-        for (int offset = 0; offset < ids.size(); offset += 50) {
-            final List<String> list = ids.subList(offset, Math.min(offset + 50, ids.size()));
-            final ListPlaylistItems client = clientForPlaylistItemListFactory.newBuilder().withIds(list).build();
-            while (client.hasNext()) {
-                items.addAll(client.next());
-            }
-        }
+        items.addAll(multiGet.getAll(ids, list -> clientForPlaylistItemListFactory.newBuilder().withIds(list).build()));
 
         LOG.trace("getPlaylistItems()... {} record(s)", items.size());
         return items;
@@ -127,12 +146,116 @@ public class YouTubePlaylistItemsServiceImpl implements YouTubePlaylistItemsServ
         LOG.trace("getPlaylistItemsForPlaylistId('{}')...", sanitize.forPlaylistId(playlistId));
         final List<PlaylistItem> items = new ArrayList<>();
 
-        final ListPlaylistItems client = clientForPlaylistItemListFactory.newBuilder().withPlaylistId(playlistId).build();
-        while (client.hasNext()) {
-            items.addAll(client.next());
+        try (ListPlaylistItems client = clientForPlaylistItemListFactory.newBuilder().withPlaylistId(playlistId).build()) {
+            client.withPrefetch(PREFETCH_DEPTH);
+            while (client.hasNext()) {
+                items.addAll(client.next());
+            }
         }
 
         LOG.trace("getPlaylistItemsForPlaylistId('{}')... {} record(s)", sanitize.forPlaylistId(playlistId), items.size());
         return items;
     }
-}
\ No newline at end of file
+
+    /**
+     * Lazily retrieve playlist items
+     * <p>
+     * Pages are retrieved as the stream is consumed, so e.g. 'limit(20)' only requests
+     * the pages required for the first 20 items. The stream should be closed if it is
+     * not fully consumed.
+     * </p>
+     *
+     * @param playlistId - playlist id to load
+     * @return requested playlist items (when available)
+     * @throws IOException error during REST call
+     */
+    @NotNull
+    public Stream<PlaylistItem> streamPlaylistItemsForPlaylistId(@NotNull String playlistId) throws IOException {
+        if (isBlank(playlistId)) {
+            throw new IllegalArgumentException("'playlistId' must not be blank");
+        }
+
+        LOG.trace("streamPlaylistItemsForPlaylistId('{}')...", sanitize.forPlaylistId(playlistId));
+        return clientForPlaylistItemListFactory.newBuilder().withPlaylistId(playlistId).build().stream();
+    }
+
+    /**
+     * Retrieve the playlist items added since the last sync.
+     * <p>
+     * Paging stops at the first item that matches the high-water mark - either the id of the
+     * newest item seen by the previous sync or, if that's not available, its 'publishedAt'
+     * timestamp. Only the pages up to that item are requested so a daily refresh of an
+     * unchanged playlist costs a single (usually 304) page.
+     * </p>
+     * <p>
+     * This assumes the playlist is in newest-first order. That's true for a channel's
+     * 'uploads' playlist and for playlists where new items are added at the top, but not
+     * for manually ordered playlists that append new items. Use
+     * getPlaylistItemsForPlaylistId() for those.
+     * </p>
+     *
+     * @param playlistId      playlist id to load
+     * @param lastItemId      newest item id from the previous sync, or null
+     * @param lastPublishedAt newest 'publishedAt' from the previous sync, or null
+     * @return new items plus the new high-water mark
+     * @throws IOException error during REST call
+     */
+    @NotNull
+    public PlaylistItemsDelta getPlaylistItemsSince(@NotNull String playlistId, @Nullable String lastItemId,
+                                                    @Nullable Instant lastPublishedAt) throws IOException {
+        if (isBlank(playlistId)) {
+            throw new IllegalArgumentException("'playlistId' must not be blank");
+        }
+
+        LOG.trace("getPlaylistItemsSince('{}', '{}', {})...", sanitize.forPlaylistId(playlistId),
+                sanitize.forPlaylistItemId(lastItemId), lastPublishedAt);
+        final List<PlaylistItem> items = new ArrayList<>();
+        boolean markFound = false;
+        int pages = 0;
+
+        // no prefetch - we don't want to pay for pages past the mark
+        try (ListPlaylistItems client = clientForPlaylistItemListFactory.newBuilder().withPlaylistId(playlistId).build()) {
+            while (!markFound && client.hasNext()) {
+                pages++;
+                for (PlaylistItem item : client.next()) {
+                    if (isHighWaterMark(item, lastItemId, lastPublishedAt)) {
+                        markFound = true;
+                        break;
+                    }
+                    items.add(item);
+                }
+            }
+        }
+
+        final PlaylistItemsDelta delta;
+        if (items.isEmpty()) {
+            delta = new PlaylistItemsDelta(items, lastItemId, lastPublishedAt, markFound, pages);
+        } else {
+            final PlaylistItem newest = items.get(0);
+            delta = new PlaylistItemsDelta(items, newest.getId(), newest.getPublishedAt(), markFound, pages);
+        }
+
+        LOG.trace("getPlaylistItemsSince('{}')... {} new record(s) from {} page(s)", sanitize.forPlaylistId(playlistId),
+                items.size(), pages);
+        return delta;
+    }
+
+    /**
+     * Has the sync reached an item it has already seen?
+     * <p>
+     * The id is authoritative when we have it. Several items may share the same 'publishedAt'
+     * (e.g., a bulk upload) so then the timestamp only stops paging once it's strictly older.
+     * </p>
+     */
+    static boolean isHighWaterMark(@NotNull PlaylistItem item, @Nullable String lastItemId,
+                                   @Nullable Instant lastPublishedAt) {
+        if (lastItemId != null && lastItemId.equals(item.getId())) {
+            return true;
+        }
+        if (lastPublishedAt == null || item.getPublishedAt() == null) {
+            return false;
+        }
+        return (lastItemId == null) ? !item.getPublishedAt().isAfter(lastPublishedAt)
+                : item.getPublishedAt().isBefore(lastPublishedAt);
+    }
+}
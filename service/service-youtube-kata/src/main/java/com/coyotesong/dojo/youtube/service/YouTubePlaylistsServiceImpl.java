@@ -20,6 +20,7 @@ import com.coyotesong.dojo.youtube.model.Playlist;
 import com.coyotesong.dojo.youtube.security.LogSanitizer;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForPlaylistListFactory;
 import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeClient.ListPlaylists;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -33,6 +34,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
@@ -47,12 +49,15 @@ public class YouTubePlaylistsServiceImpl implements YouTubePlaylistsService {
     private static final Logger LOG = LoggerFactory.getLogger(YouTubePlaylistsServiceImpl.class);
 
     private final ClientForPlaylistListFactory clientForPlaylistListFactory;
+    private final YouTubeMultiGet multiGet;
     private final LogSanitizer sanitize;
 
     @Autowired
     public YouTubePlaylistsServiceImpl(@NotNull ClientForPlaylistListFactory clientForPlaylistListFactory,
+                                       @NotNull YouTubeMultiGet multiGet,
                                        @NotNull LogSanitizer sanitize) {
         this.clientForPlaylistListFactory = clientForPlaylistListFactory;
+        this.multiGet = multiGet;
         this.sanitize = sanitize;
     }
 
@@ -100,14 +105,7 @@ public class YouTubePlaylistsServiceImpl implements YouTubePlaylistsService {
 
         final List<Playlist> playlists = new ArrayList<>();
 
-        // TODO - should handle this in underlying service...
-        for (int offset = 0; offset < ids.size(); offset += 50) {
-            final List<String> list = ids.subList(offset, Math.min(offset + 50, ids.size()));
-            final ListPlaylists client = clientForPlaylistListFactory.newBuilder().withIds(list).build();
-            while (client.hasNext()) {
-                playlists.addAll(client.next());
-            }
-        }
+        playlists.addAll(multiGet.getAll(ids, list -> clientForPlaylistListFactory.newBuilder().withIds(list).build()));
 
         LOG.trace("getPlaylists()... {} record(s)", playlists.size());
         return playlists;
@@ -138,4 +136,25 @@ public class YouTubePlaylistsServiceImpl implements YouTubePlaylistsService {
         LOG.trace("getPlaylistsForChannelId('{}')... {} record(s)", sanitize.forChannelId(channelId), playlists.size());
         return playlists;
     }
-}
\ No newline at end of file
+
+    /**
+     * Lazily retrieve playlists owned by a channel
+     * <p>
+     * Pages are retrieved as the stream is consumed. The stream should be closed if it
+     * is not fully consumed.
+     * </p>
+     *
+     * @param channelId - channel id to load
+     * @return requested playlists (when available)
+     * @throws IOException error during REST call
+     */
+    @NotNull
+    public Stream<Playlist> streamPlaylistsForChannelId(@NotNull String channelId) throws IOException {
+        if (isBlank(channelId)) {
+            throw new IllegalArgumentException("'channelId' must not be blank");
+        }
+
+        LOG.trace("streamPlaylistsForChannelId('{}')...", sanitize.forChannelId(channelId));
+        return clientForPlaylistListFactory.newBuilder().withChannelId(channelId).build().stream();
+    }
+}
@@ -30,14 +30,21 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementation of YouTubeSearchService
  */
 @Service("YouTubeSearchService")
-public class YouTubeSearchServiceImpl implements YouTubeSearchService {
+public class YouTubeSearchServiceImpl implements YouTubePagedSearchService {
     private static final Logger LOG = LoggerFactory.getLogger(YouTubeSearchServiceImpl.class);
 
+    /**
+     * Maximum number of pages retrieved by search(). Each page costs 100 quota units.
+     * Use streamSearch() or startSearch() to retrieve more results.
+     */
+    static final int MAX_PAGES = 3;
+
     private final ClientForSearchListFactory clientForSearchListFactory;
     @SuppressWarnings("unused")
     private final LogSanitizer sanitize;
@@ -61,14 +68,74 @@ public class YouTubeSearchServiceImpl implements YouTubeSearchService {
     public <T extends YouTubeSearchForm> List<SearchResult> search(@NotNull T searchForm) throws IOException {
         LOG.trace("search()...");
 
-        int counter = 0;
+        // prevent a single call from using a large part of our daily quota
+        int pages = 0;
         final List<SearchResult> results = new ArrayList<>();
         final ListSearchResults client = clientForSearchListFactory.newBuilder().withSearchForm(searchForm).build();
-        while (client.hasNext() && counter++ < 3) {
+        while (client.hasNext() && pages++ < MAX_PAGES) {
             results.addAll(client.next());
         }
 
         LOG.trace("search() -> {} record(s)", results.size());
         return results;
     }
+
+    /**
+     * Lazily retrieve search results
+     * <p>
+     * Pages are retrieved as the stream is consumed. Search is expensive (100 quota units
+     * per page) so callers should always limit the stream.
+     * </p>
+     *
+     * @param searchForm search criteria
+     * @return search results
+     * @throws IOException error during REST call
+     */
+    @NotNull
+    public <T extends YouTubeSearchForm> Stream<SearchResult> streamSearch(@NotNull T searchForm) throws IOException {
+        LOG.trace("streamSearch()...");
+        return clientForSearchListFactory.newBuilder().withSearchForm(searchForm).build().stream();
+    }
+
+    /**
+     * Retrieve the first page of search results
+     * <p>
+     * Only one page is requested. The cursor can be passed to continueSearch()
+     * when, and if, the caller wants the next page.
+     * </p>
+     *
+     * @param searchForm search criteria
+     * @return first page of search results
+     * @throws IOException error during REST call
+     */
+    @Override
+    @NotNull
+    public <T extends YouTubeSearchForm> SearchPage startSearch(@NotNull T searchForm) throws IOException {
+        LOG.trace("startSearch()...");
+        return nextPage(clientForSearchListFactory.newBuilder().withSearchForm(searchForm).build());
+    }
+
+    /**
+     * Retrieve the next page of search results
+     *
+     * @param cursor cursor from the previous page
+     * @return next page of search results
+     * @throws IOException              error during REST call
+     * @throws IllegalArgumentException the cursor is not valid
+     */
+    @Override
+    @NotNull
+    public SearchPage continueSearch(@NotNull String cursor) throws IOException {
+        LOG.trace("continueSearch()...");
+        return nextPage(clientForSearchListFactory.newBuilder().withCursor(cursor).build());
+    }
+
+    @NotNull
+    private SearchPage nextPage(@NotNull ListSearchResults client) {
+        final List<SearchResult> results = client.hasNext() ? client.next() : List.of();
+        final SearchPage page = new SearchPage(results, client.getCursor());
+
+        LOG.trace("search page -> {} record(s), more: {}", results.size(), page.cursor() != null);
+        return page;
+    }
 }
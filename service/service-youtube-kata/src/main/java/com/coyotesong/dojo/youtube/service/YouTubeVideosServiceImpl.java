@@ -20,7 +20,8 @@ package com.coyotesong.dojo.youtube.service;
 import com.coyotesong.dojo.youtube.model.Video;
 import com.coyotesong.dojo.youtube.security.LogSanitizer;
 import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForVideoListFactory;
-import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeClient.ListVideos;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMicroBatcher;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -45,17 +46,27 @@ public class YouTubeVideosServiceImpl implements YouTubeVideosService {
     private static final Logger LOG = LoggerFactory.getLogger(YouTubeVideosServiceImpl.class);
 
     private final ClientForVideoListFactory clientForVideoListFactory;
+    private final YouTubeMultiGet multiGet;
+    private final YouTubeMicroBatcher.Lookup<Video> videoLookup;
     private final LogSanitizer sanitize;
 
     @Autowired
     public YouTubeVideosServiceImpl(@NotNull ClientForVideoListFactory clientForVideoListFactory,
+                                    @NotNull YouTubeMultiGet multiGet,
+                                    @NotNull YouTubeMicroBatcher microBatcher,
                                     LogSanitizer sanitize) {
         this.clientForVideoListFactory = clientForVideoListFactory;
+        this.multiGet = multiGet;
+        this.videoLookup = microBatcher.newLookup(Video::getId, this::getCachedVideo, this::getVideos);
         this.sanitize = sanitize;
     }
 
     /**
      * Retrieve information about video
+     * <p>
+     * A cached video is returned immediately. Otherwise concurrent calls are
+     * combined into a single REST call.
+     * </p>
      *
      * @param id video to load
      * @return requested video, if available
@@ -69,17 +80,28 @@ public class YouTubeVideosServiceImpl implements YouTubeVideosService {
         }
 
         LOG.trace("getVideo('{}')...", sanitize.forVideoId(id));
-        final List<Video> videos = getVideos(Collections.singletonList(id));
-        if (!videos.isEmpty()) {
+        final Video video = videoLookup.get(id);
+        if (video != null) {
             LOG.trace("getVideo('{}') -> '{}'", sanitize.forVideoId(id),
-                    sanitize.forString(videos.get(0).getTitle()));
-            return videos.get(0);
+                    sanitize.forString(video.getTitle()));
+            return video;
         }
 
         LOG.trace("getVideo('{}') -> null", sanitize.forChannelId(id));
         return null;
     }
 
+    /**
+     * Get a video from the cache without calling YouTube
+     *
+     * @param id video id
+     * @return cached video - empty if YouTube didn't return it - or null if it isn't cached
+     */
+    @Nullable
+    private List<Video> getCachedVideo(@NotNull String id) throws IOException {
+        return clientForVideoListFactory.newBuilder().withId(id).build().getCached();
+    }
+
     /**
      * Get retrieve information about specified videos
      *
@@ -103,14 +125,7 @@ public class YouTubeVideosServiceImpl implements YouTubeVideosService {
 
         // make REST call for remaining values.
         if (!ids.isEmpty()) {
-            // TODO - should handle this in underlying service...
-            for (int offset = 0; offset < ids.size(); offset += 50) {
-                final List<String> list = ids.subList(offset, Math.min(offset + 50, ids.size()));
-                final ListVideos client = clientForVideoListFactory.newBuilder().withIds(list).build();
-                while (client.hasNext()) {
-                    videos.addAll(client.next());
-                }
-            }
+            videos.addAll(multiGet.getAll(ids, list -> clientForVideoListFactory.newBuilder().withIds(list).build()));
         }
 
         LOG.trace("getVideos({}) -> {} record(s)", ids.size(), videos.size());
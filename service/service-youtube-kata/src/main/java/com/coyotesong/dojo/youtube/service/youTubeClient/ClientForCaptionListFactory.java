@@ -40,17 +40,20 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 @Component
 @SuppressWarnings("unused")
 public class ClientForCaptionListFactory {
-    private final YouTube.Builder ytBuilder;
+    private final YouTube youTube;
     private final YouTubeApiCacheService cache;
+    private final YouTubeQuotaScheduler quota;
 
-    public ClientForCaptionListFactory(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-        this.ytBuilder = ytBuilder;
+    public ClientForCaptionListFactory(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                                       @NotNull YouTubeQuotaScheduler quota) {
+        this.youTube = youTube;
         this.cache = cache;
+        this.quota = quota;
     }
 
     @NotNull
     public Builder newBuilder() {
-        return new Builder(ytBuilder, cache);
+        return new Builder(youTube, cache, quota);
     }
 
     public static class Builder {
@@ -58,15 +61,18 @@ public class ClientForCaptionListFactory {
                 Constants.Part.ID.toString(),
                 Constants.Part.SNIPPET.toString());
 
-        private final YouTube.Builder ytBuilder;
+        private final YouTube youTube;
         private final YouTubeApiCacheService cache;
+        private final YouTubeQuotaScheduler quota;
 
         private String videoId;
         private String quotaUser;
 
-        private Builder(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-            this.ytBuilder = ytBuilder;
+        private Builder(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                        @NotNull YouTubeQuotaScheduler quota) {
+            this.youTube = youTube;
             this.cache = cache;
+            this.quota = quota;
         }
 
         public Builder withVideoId(@NotNull String videoId) {
@@ -91,7 +97,7 @@ public class ClientForCaptionListFactory {
                 throw new IllegalStateException("'videoId' must be specified");
             }
 
-            final YouTube.Captions.List request = ytBuilder.build().captions().list(CAPTION_PARTS, videoId);
+            final YouTube.Captions.List request = youTube.captions().list(CAPTION_PARTS, videoId);
             request.setVideoId(videoId);
 
             // requires oauth: setOnBehalfOf(), setOnBehalfOfContentOwner()
@@ -103,7 +109,7 @@ public class ClientForCaptionListFactory {
             }
 
             final YouTubeClientState<Caption, YouTube.Captions.List, CaptionListResponse, com.google.api.services.youtube.model.Caption> state =
-                    new YouTubeClientState<>(request, ClientForCaptionListFactory::convert, cache);
+                    new YouTubeClientState<>(request, ClientForCaptionListFactory::convert, cache, quota);
             return new YouTubeClient.ListCaptions(state);
         }
     }
@@ -28,7 +28,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
@@ -44,19 +43,23 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 @SuppressWarnings("unused")
 public class ClientForChannelListFactory {
     private static final Logger LOG = LoggerFactory.getLogger(ClientForChannelListFactory.class);
+    private static final YTUtils utils = new YTUtils();
 
-    private final YouTube.Builder ytBuilder;
+    private final YouTube youTube;
     private final YouTubeApiCacheService cache;
+    private final YouTubeQuotaScheduler quota;
 
-    public ClientForChannelListFactory(@NotNull YouTube.Builder ytBuilder,
-                                       @NotNull YouTubeApiCacheService cache) {
-        this.ytBuilder = ytBuilder;
+    public ClientForChannelListFactory(@NotNull YouTube youTube,
+                                       @NotNull YouTubeApiCacheService cache,
+                                       @NotNull YouTubeQuotaScheduler quota) {
+        this.youTube = youTube;
         this.cache = cache;
+        this.quota = quota;
     }
 
     @NotNull
     public Builder newBuilder() {
-        return new Builder(ytBuilder, cache);
+        return new Builder(youTube, cache, quota);
     }
 
     public static class Builder {
@@ -68,8 +71,17 @@ public class ClientForChannelListFactory {
                 Constants.Part.STATISTICS.toString(),
                 Constants.Part.TOPIC_DETAILS.toString());
 
-        private final YouTube.Builder ytBuilder;
+        private static final List<String> CHANNEL_SUMMARY_PARTS = Arrays.asList(
+                Constants.Part.ID.toString(),
+                Constants.Part.SNIPPET.toString());
+        private static final String CHANNEL_SUMMARY_FIELDS =
+                "kind,etag,nextPageToken,pageInfo,items(kind,etag,id,snippet(title,customUrl,publishedAt,thumbnails))";
+
+        private final YouTube youTube;
         private final YouTubeApiCacheService cache;
+        private final YouTubeQuotaScheduler quota;
+
+        private Constants.Profile profile = Constants.Profile.FULL;
 
         private List<String> ids = Collections.emptyList();
         private String forHandle;
@@ -77,9 +89,11 @@ public class ClientForChannelListFactory {
         private String hl;
         private String quotaUser;
 
-        private Builder(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-            this.ytBuilder = ytBuilder;
+        private Builder(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                        @NotNull YouTubeQuotaScheduler quota) {
+            this.youTube = youTube;
             this.cache = cache;
+            this.quota = quota;
         }
 
         public Builder withId(@NotNull String id) {
@@ -107,6 +121,14 @@ public class ClientForChannelListFactory {
             return this;
         }
 
+        /**
+         * Select the projection profile. The default is the full profile.
+         */
+        public Builder withProfile(@NotNull Constants.Profile profile) {
+            this.profile = profile;
+            return this;
+        }
+
         public Builder withQuotaUser(@NotNull String quotaUser) {
             this.quotaUser = quotaUser;
             return this;
@@ -120,8 +142,10 @@ public class ClientForChannelListFactory {
          */
         @NotNull
         public YouTubeClient.ListChannels build() throws IOException {
-            final YouTube youtube = ytBuilder.build();
-            final YouTube.Channels.List request = youtube.channels().list(CHANNEL_PARTS);
+            final YouTube.Channels.List request = youTube.channels().list((profile == Constants.Profile.SUMMARY) ? CHANNEL_SUMMARY_PARTS : CHANNEL_PARTS);
+            if (profile == Constants.Profile.SUMMARY) {
+                request.setFields(CHANNEL_SUMMARY_FIELDS);
+            }
 
             boolean valid = false;
             if (!ids.isEmpty()) {
@@ -149,11 +173,22 @@ public class ClientForChannelListFactory {
             }
 
             final YouTubeClientState<Channel, YouTube.Channels.List, ChannelListResponse, com.google.api.services.youtube.model.Channel> state =
-                    new YouTubeClientState<>(request, ClientForChannelListFactory::convert, cache);
+                    new YouTubeClientState<>(request, (profile == Constants.Profile.SUMMARY) ? ClientForChannelListFactory::convertSummary : ClientForChannelListFactory::convert, cache, quota);
+            state.setProfile(profile);
             return new YouTubeClient.ListChannels(state);
         }
     }
 
+    /**
+     * Convert YouTube API object retrieved with the summary profile to ours.
+     */
+    @NotNull
+    static Channel convertSummary(@NotNull com.google.api.services.youtube.model.Channel channel) {
+        final Channel value = convert(channel);
+        value.setSummary(true);
+        return value;
+    }
+
     /**
      * Convert YouTube API object to ours.
      *
@@ -202,11 +237,9 @@ public class ClientForChannelListFactory {
             ChannelTopicDetails details = channel.getTopicDetails();
             if (details.getTopicCategories() != null) {
                 for (String category : details.getTopicCategories()) {
-                    try {
-                        value.getTopicCategories().add(new WikipediaTopic(category));
-                    } catch (MalformedURLException e) {
-                        // @FIXME add log sanitization
-                        LOG.warn("bad Wikipedia URL: {}", category);
+                    final WikipediaTopic topic = utils.wikipediaTopic(category);
+                    if (topic != null) {
+                        value.getTopicCategories().add(topic);
                     }
                 }
             }
@@ -46,17 +46,20 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 public class ClientForChannelSectionListFactory {
     private static final Logger LOG = LoggerFactory.getLogger(ClientForChannelSectionListFactory.class);
 
-    private final YouTube.Builder ytBuilder;
+    private final YouTube youTube;
     private final YouTubeApiCacheService cache;
+    private final YouTubeQuotaScheduler quota;
 
-    public ClientForChannelSectionListFactory(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-        this.ytBuilder = ytBuilder;
+    public ClientForChannelSectionListFactory(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                                              @NotNull YouTubeQuotaScheduler quota) {
+        this.youTube = youTube;
         this.cache = cache;
+        this.quota = quota;
     }
 
     @NotNull
     public Builder newBuilder() {
-        return new Builder(ytBuilder, cache);
+        return new Builder(youTube, cache, quota);
     }
 
     public static class Builder {
@@ -66,17 +69,20 @@ public class ClientForChannelSectionListFactory {
                 Constants.Part.SNIPPET.toString());
         // TODO - TARGETING, LOCALIZATION
 
-        private final YouTube.Builder ytBuilder;
+        private final YouTube youTube;
         private final YouTubeApiCacheService cache;
+        private final YouTubeQuotaScheduler quota;
 
         private String channelId;
         private List<String> ids = Collections.emptyList();
         private String hl;
         private String quotaUser;
 
-        private Builder(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-            this.ytBuilder = ytBuilder;
+        private Builder(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                        @NotNull YouTubeQuotaScheduler quota) {
+            this.youTube = youTube;
             this.cache = cache;
+            this.quota = quota;
         }
 
         public Builder withChannelId(@NotNull String channelId) {
@@ -112,7 +118,7 @@ public class ClientForChannelSectionListFactory {
          */
         @NotNull
         public YouTubeClient.ListChannelSections build() throws IOException {
-            final YouTube.ChannelSections.List request = ytBuilder.build().channelSections().list(CHANNEL_SECTION_PARTS);
+            final YouTube.ChannelSections.List request = youTube.channelSections().list(CHANNEL_SECTION_PARTS);
 
             // requires authenticated user: request.setMine(true)
             // reserved for YouTube content partners: request.setOnBehalfOfContentOwner(String);
@@ -140,7 +146,7 @@ public class ClientForChannelSectionListFactory {
             }
 
             final YouTubeClientState<ChannelSection, YouTube.ChannelSections.List, ChannelSectionListResponse, com.google.api.services.youtube.model.ChannelSection> state =
-                    new YouTubeClientState<>(request, ClientForChannelSectionListFactory::convert, cache);
+                    new YouTubeClientState<>(request, ClientForChannelSectionListFactory::convert, cache, quota);
             return new YouTubeClient.ListChannelSections(state);
         }
     }
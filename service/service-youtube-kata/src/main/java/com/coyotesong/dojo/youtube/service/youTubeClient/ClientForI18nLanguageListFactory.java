@@ -42,31 +42,37 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 public class ClientForI18nLanguageListFactory {
     private static final Logger LOG = LoggerFactory.getLogger(ClientForI18nLanguageListFactory.class);
 
-    private final YouTube.Builder ytBuilder;
+    private final YouTube youTube;
     private final YouTubeApiCacheService cache;
+    private final YouTubeQuotaScheduler quota;
 
-    public ClientForI18nLanguageListFactory(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-        this.ytBuilder = ytBuilder;
+    public ClientForI18nLanguageListFactory(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                                            @NotNull YouTubeQuotaScheduler quota) {
+        this.youTube = youTube;
         this.cache = cache;
+        this.quota = quota;
     }
 
     @NotNull
     public Builder newBuilder() {
-        return new Builder(ytBuilder, cache);
+        return new Builder(youTube, cache, quota);
     }
 
     public static class Builder {
         private static final List<String> I18N_LANGUAGE_PARTS = Collections.singletonList(Constants.Part.SNIPPET.toString());
 
-        private final YouTube.Builder ytBuilder;
+        private final YouTube youTube;
         private final YouTubeApiCacheService cache;
+        private final YouTubeQuotaScheduler quota;
 
         private String hl;
         private String quotaUser;
 
-        private Builder(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-            this.ytBuilder = ytBuilder;
+        private Builder(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                        @NotNull YouTubeQuotaScheduler quota) {
+            this.youTube = youTube;
             this.cache = cache;
+            this.quota = quota;
         }
 
         public Builder withHl(@NotNull String hl) {
@@ -87,7 +93,7 @@ public class ClientForI18nLanguageListFactory {
          */
         @NotNull
         public YouTubeClient.ListI18nLanguages build() throws IOException {
-            final YouTube.I18nLanguages.List request = ytBuilder.build().i18nLanguages().list(I18N_LANGUAGE_PARTS);
+            final YouTube.I18nLanguages.List request = youTube.i18nLanguages().list(I18N_LANGUAGE_PARTS);
 
             if (isBlank(hl)) {
                 throw new IllegalStateException("'hl' must be specified");
@@ -100,7 +106,7 @@ public class ClientForI18nLanguageListFactory {
             }
 
             final YouTubeClientState<I18nLanguage, YouTube.I18nLanguages.List, I18nLanguageListResponse, com.google.api.services.youtube.model.I18nLanguage> state =
-                    new YouTubeClientState<>(request, ClientForI18nLanguageListFactory::convert, cache);
+                    new YouTubeClientState<>(request, ClientForI18nLanguageListFactory::convert, cache, quota);
 
             return new YouTubeClient.ListI18nLanguages(state);
         }
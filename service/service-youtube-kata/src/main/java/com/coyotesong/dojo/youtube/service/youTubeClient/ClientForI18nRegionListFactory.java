@@ -42,31 +42,37 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 public class ClientForI18nRegionListFactory {
     private static final Logger LOG = LoggerFactory.getLogger(ClientForI18nRegionListFactory.class);
 
-    private final YouTube.Builder ytBuilder;
+    private final YouTube youTube;
     private final YouTubeApiCacheService cache;
+    private final YouTubeQuotaScheduler quota;
 
-    public ClientForI18nRegionListFactory(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-        this.ytBuilder = ytBuilder;
+    public ClientForI18nRegionListFactory(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                                          @NotNull YouTubeQuotaScheduler quota) {
+        this.youTube = youTube;
         this.cache = cache;
+        this.quota = quota;
     }
 
     @NotNull
     public Builder newBuilder() {
-        return new Builder(ytBuilder, cache);
+        return new Builder(youTube, cache, quota);
     }
 
     public static class Builder {
         private static final List<String> I18N_LANGUAGE_PARTS = Collections.singletonList(Constants.Part.SNIPPET.toString());
 
-        private final YouTube.Builder ytBuilder;
+        private final YouTube youTube;
         private final YouTubeApiCacheService cache;
+        private final YouTubeQuotaScheduler quota;
 
         private String hl;
         private String quotaUser;
 
-        private Builder(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-            this.ytBuilder = ytBuilder;
+        private Builder(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                        @NotNull YouTubeQuotaScheduler quota) {
+            this.youTube = youTube;
             this.cache = cache;
+            this.quota = quota;
         }
 
         public Builder withHl(@NotNull String hl) {
@@ -87,7 +93,7 @@ public class ClientForI18nRegionListFactory {
          */
         @NotNull
         public YouTubeClient.ListI18nRegions build() throws IOException {
-            final YouTube.I18nRegions.List request = ytBuilder.build().i18nRegions().list(I18N_LANGUAGE_PARTS);
+            final YouTube.I18nRegions.List request = youTube.i18nRegions().list(I18N_LANGUAGE_PARTS);
 
             if (isBlank(hl)) {
                 throw new IllegalStateException("'hl' must be specified");
@@ -100,7 +106,7 @@ public class ClientForI18nRegionListFactory {
             }
 
             final YouTubeClientState<I18nRegion, YouTube.I18nRegions.List, I18nRegionListResponse, com.google.api.services.youtube.model.I18nRegion> state =
-                    new YouTubeClientState<>(request, ClientForI18nRegionListFactory::convert, cache);
+                    new YouTubeClientState<>(request, ClientForI18nRegionListFactory::convert, cache, quota);
 
             return new YouTubeClient.ListI18nRegions(state);
         }
@@ -35,29 +35,35 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 @Component
 @SuppressWarnings("unused")
 public class ClientForPlaylistImageListFactory {
-    private final YouTube.Builder ytBuilder;
+    private final YouTube youTube;
     private final YouTubeApiCacheService cache;
+    private final YouTubeQuotaScheduler quota;
 
-    public ClientForPlaylistImageListFactory(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-        this.ytBuilder = ytBuilder;
+    public ClientForPlaylistImageListFactory(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                                             @NotNull YouTubeQuotaScheduler quota) {
+        this.youTube = youTube;
         this.cache = cache;
+        this.quota = quota;
     }
 
     @NotNull
     public Builder newBuilder() {
-        return new Builder(ytBuilder, cache);
+        return new Builder(youTube, cache, quota);
     }
 
     public static class Builder {
-        private final YouTube.Builder ytBuilder;
+        private final YouTube youTube;
         private final YouTubeApiCacheService cache;
+        private final YouTubeQuotaScheduler quota;
 
         private String playlistId;
         private String quotaUser;
 
-        private Builder(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-            this.ytBuilder = ytBuilder;
+        private Builder(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                        @NotNull YouTubeQuotaScheduler quota) {
+            this.youTube = youTube;
             this.cache = cache;
+            this.quota = quota;
         }
 
         public Builder withPlaylistId(@NotNull String playlistId) {
@@ -78,7 +84,7 @@ public class ClientForPlaylistImageListFactory {
          */
         @NotNull
         public YouTubeClient.ListPlaylistImages build() throws IOException {
-            final YouTube.PlaylistImages.List request = ytBuilder.build().playlistImages().list();
+            final YouTube.PlaylistImages.List request = youTube.playlistImages().list();
 
             if (isNotBlank(playlistId)) {
                 request.setParent(playlistId);
@@ -91,7 +97,7 @@ public class ClientForPlaylistImageListFactory {
             }
 
             final YouTubeClientState<PlaylistImage, YouTube.PlaylistImages.List, PlaylistImageListResponse, com.google.api.services.youtube.model.PlaylistImage> state =
-                    new YouTubeClientState<>(request, ClientForPlaylistImageListFactory::convert, cache);
+                    new YouTubeClientState<>(request, ClientForPlaylistImageListFactory::convert, cache, quota);
 
             return new YouTubeClient.ListPlaylistImages(state);
         }
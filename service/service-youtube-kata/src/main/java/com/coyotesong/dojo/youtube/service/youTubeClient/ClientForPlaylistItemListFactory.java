@@ -38,17 +38,20 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 @Component
 @SuppressWarnings("unused")
 public class ClientForPlaylistItemListFactory {
-    private final YouTube.Builder ytBuilder;
+    private final YouTube youTube;
     private final YouTubeApiCacheService cache;
+    private final YouTubeQuotaScheduler quota;
 
-    public ClientForPlaylistItemListFactory(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-        this.ytBuilder = ytBuilder;
+    public ClientForPlaylistItemListFactory(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                                            @NotNull YouTubeQuotaScheduler quota) {
+        this.youTube = youTube;
         this.cache = cache;
+        this.quota = quota;
     }
 
     @NotNull
     public Builder newBuilder() {
-        return new Builder(ytBuilder, cache);
+        return new Builder(youTube, cache, quota);
     }
 
     public static class Builder {
@@ -57,17 +60,30 @@ public class ClientForPlaylistItemListFactory {
                 Constants.Part.ID.toString(),
                 Constants.Part.SNIPPET.toString());
 
-        private final YouTube.Builder ytBuilder;
+        private static final List<String> PLAYLIST_ITEM_SUMMARY_PARTS = Arrays.asList(
+                Constants.Part.CONTENT_DETAILS.toString(),
+                Constants.Part.ID.toString(),
+                Constants.Part.SNIPPET.toString());
+        private static final String PLAYLIST_ITEM_SUMMARY_FIELDS =
+                "kind,etag,nextPageToken,pageInfo,items(kind,etag,id,contentDetails(videoId),snippet(publishedAt,channelId,playlistId,position,title,thumbnails,videoOwnerChannelId))";
+
+        private final YouTube youTube;
         private final YouTubeApiCacheService cache;
+        private final YouTubeQuotaScheduler quota;
+
+        private Constants.Profile profile = Constants.Profile.FULL;
 
         private List<String> ids = Collections.emptyList();
         private String playlistId;
         private String videoId;
         private String quotaUser;
+        private Integer maxResults;
 
-        private Builder(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-            this.ytBuilder = ytBuilder;
+        private Builder(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                        @NotNull YouTubeQuotaScheduler quota) {
+            this.youTube = youTube;
             this.cache = cache;
+            this.quota = quota;
         }
 
         public Builder withId(@NotNull String id) {
@@ -90,6 +106,27 @@ public class ClientForPlaylistItemListFactory {
             return this;
         }
 
+        /**
+         * Select the projection profile. The default is the full profile.
+         */
+        public Builder withProfile(@NotNull Constants.Profile profile) {
+            this.profile = profile;
+            return this;
+        }
+
+        /**
+         * Set the page size when listing a playlist. The server default is 5.
+         *
+         * @param maxResults items per page, from 1 to 50 inclusive
+         */
+        public Builder withMaxResults(int maxResults) {
+            if (!(0 < maxResults && maxResults <= 50)) {
+                throw new IllegalArgumentException("'maxResults' is not in the range from 1 to 50, inclusive");
+            }
+            this.maxResults = maxResults;
+            return this;
+        }
+
         public Builder withQuotaUser(@NotNull String quotaUser) {
             this.quotaUser = quotaUser;
             return this;
@@ -103,12 +140,18 @@ public class ClientForPlaylistItemListFactory {
          */
         @NotNull
         public YouTubeClient.ListPlaylistItems build() throws IOException {
-            final YouTube.PlaylistItems.List request = ytBuilder.build().playlistItems().list(PLAYLIST_ITEM_PARTS);
+            final YouTube.PlaylistItems.List request = youTube.playlistItems().list((profile == Constants.Profile.SUMMARY) ? PLAYLIST_ITEM_SUMMARY_PARTS : PLAYLIST_ITEM_PARTS);
+            if (profile == Constants.Profile.SUMMARY) {
+                request.setFields(PLAYLIST_ITEM_SUMMARY_FIELDS);
+            }
 
             if (!ids.isEmpty()) {
                 request.setId(ids);
             } else if (isNotBlank(playlistId)) {
                 request.setPlaylistId(playlistId);
+                if (maxResults != null) {
+                    request.setMaxResults(maxResults.longValue());
+                }
             } else {
                 throw new IllegalStateException("either 'id' or 'playlistId' must be specified");
             }
@@ -123,7 +166,8 @@ public class ClientForPlaylistItemListFactory {
             }
 
             final YouTubeClientState<PlaylistItem, YouTube.PlaylistItems.List, PlaylistItemListResponse, com.google.api.services.youtube.model.PlaylistItem> state =
-                    new YouTubeClientState<>(request, ClientForPlaylistItemListFactory::convert, cache);
+                    new YouTubeClientState<>(request, ClientForPlaylistItemListFactory::convert, cache, quota);
+            state.setProfile(profile);
 
             return new YouTubeClient.ListPlaylistItems(state);
         }
@@ -43,17 +43,20 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 public class ClientForPlaylistListFactory {
     private static final Logger LOG = LoggerFactory.getLogger(ClientForPlaylistListFactory.class);
 
-    private final YouTube.Builder ytBuilder;
+    private final YouTube youTube;
     private final YouTubeApiCacheService cache;
+    private final YouTubeQuotaScheduler quota;
 
-    public ClientForPlaylistListFactory(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-        this.ytBuilder = ytBuilder;
+    public ClientForPlaylistListFactory(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                                        @NotNull YouTubeQuotaScheduler quota) {
+        this.youTube = youTube;
         this.cache = cache;
+        this.quota = quota;
     }
 
     @NotNull
     public Builder newBuilder() {
-        return new Builder(ytBuilder, cache);
+        return new Builder(youTube, cache, quota);
     }
 
     public static class Builder {
@@ -64,17 +67,29 @@ public class ClientForPlaylistListFactory {
                 Constants.Part.SNIPPET.toString());
                 // Constants.Part.STATUS.toString());  -- privacyStatus
 
-        private final YouTube.Builder ytBuilder;
+        private static final List<String> PLAYLIST_SUMMARY_PARTS = Arrays.asList(
+                Constants.Part.CONTENT_DETAILS.toString(),
+                Constants.Part.ID.toString(),
+                Constants.Part.SNIPPET.toString());
+        private static final String PLAYLIST_SUMMARY_FIELDS =
+                "kind,etag,nextPageToken,pageInfo,items(kind,etag,id,contentDetails,snippet(publishedAt,channelId,channelTitle,title,thumbnails))";
+
+        private final YouTube youTube;
         private final YouTubeApiCacheService cache;
+        private final YouTubeQuotaScheduler quota;
+
+        private Constants.Profile profile = Constants.Profile.FULL;
 
         private List<String> ids = Collections.emptyList();
         private String channelId;
         private String hl;
         private String quotaUser;
 
-        private Builder(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-            this.ytBuilder = ytBuilder;
+        private Builder(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                        @NotNull YouTubeQuotaScheduler quota) {
+            this.youTube = youTube;
             this.cache = cache;
+            this.quota = quota;
         }
 
         public Builder withId(@NotNull String id) {
@@ -97,6 +112,14 @@ public class ClientForPlaylistListFactory {
             return this;
         }
 
+        /**
+         * Select the projection profile. The default is the full profile.
+         */
+        public Builder withProfile(@NotNull Constants.Profile profile) {
+            this.profile = profile;
+            return this;
+        }
+
         public Builder withQuotaUser(@NotNull String quotaUser) {
             this.quotaUser = quotaUser;
             return this;
@@ -110,7 +133,10 @@ public class ClientForPlaylistListFactory {
          */
         @NotNull
         public YouTubeClient.ListPlaylists build() throws IOException {
-            final YouTube.Playlists.List request = ytBuilder.build().playlists().list(PLAYLIST_PARTS);
+            final YouTube.Playlists.List request = youTube.playlists().list((profile == Constants.Profile.SUMMARY) ? PLAYLIST_SUMMARY_PARTS : PLAYLIST_PARTS);
+            if (profile == Constants.Profile.SUMMARY) {
+                request.setFields(PLAYLIST_SUMMARY_FIELDS);
+            }
 
             if (!ids.isEmpty()) {
                 request.setId(ids);
@@ -129,12 +155,23 @@ public class ClientForPlaylistListFactory {
             }
 
             final YouTubeClientState<Playlist, YouTube.Playlists.List, PlaylistListResponse, com.google.api.services.youtube.model.Playlist> state =
-                    new YouTubeClientState<>(request, ClientForPlaylistListFactory::convert, cache);
+                    new YouTubeClientState<>(request, (profile == Constants.Profile.SUMMARY) ? ClientForPlaylistListFactory::convertSummary : ClientForPlaylistListFactory::convert, cache, quota);
+            state.setProfile(profile);
 
             return new YouTubeClient.ListPlaylists(state);
         }
     }
 
+    /**
+     * Convert YouTube API object retrieved with the summary profile to ours.
+     */
+    @NotNull
+    static Playlist convertSummary(@NotNull com.google.api.services.youtube.model.Playlist playlist) {
+        final Playlist value = convert(playlist);
+        value.setSummary(true);
+        return value;
+    }
+
     /**
      * Convert YouTube object to ours.
      *
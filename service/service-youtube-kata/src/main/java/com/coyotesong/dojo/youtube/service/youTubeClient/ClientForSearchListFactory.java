@@ -50,32 +50,48 @@ public class ClientForSearchListFactory {
     private static final Logger LOG = LoggerFactory.getLogger(ClientForSearchListFactory.class);
     private static final long MAX_RESPONSES = 100L;
 
-    private final YouTube.Builder ytBuilder;
+    private final YouTube youTube;
     private final YouTubeApiCacheService cache;
+    private final YouTubeQuotaScheduler quota;
 
-    public ClientForSearchListFactory(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-        this.ytBuilder = ytBuilder;
+    public ClientForSearchListFactory(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                                      @NotNull YouTubeQuotaScheduler quota) {
+        this.youTube = youTube;
         this.cache = cache;
+        this.quota = quota;
     }
 
     @NotNull
     public Builder newBuilder() {
-        return new Builder(ytBuilder, cache);
+        return new Builder(youTube, cache, quota);
     }
 
     public static class Builder {
+        private static final String KIND = "youtube#searchListResponse";
         private static final List<String> SEARCH_PARTS = Arrays.asList(Constants.Part.ID.toString(), Constants.Part.SNIPPET.toString());
 
-        private final YouTube.Builder ytBuilder;
+        private static final List<String> SEARCH_SUMMARY_PARTS = Arrays.asList(
+                Constants.Part.ID.toString(),
+                Constants.Part.SNIPPET.toString());
+        private static final String SEARCH_SUMMARY_FIELDS =
+                "kind,etag,nextPageToken,pageInfo,items(kind,etag,id,snippet(publishedAt,channelId,channelTitle,title,thumbnails))";
+
+        private final YouTube youTube;
         private final YouTubeApiCacheService cache;
+        private final YouTubeQuotaScheduler quota;
+
+        private Constants.Profile profile = Constants.Profile.FULL;
 
         private YouTubeSearchForm searchForm;
+        private PageCursor cursor;
 
         private String quotaUser;
 
-        private Builder(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-            this.ytBuilder = ytBuilder;
+        private Builder(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                        @NotNull YouTubeQuotaScheduler quota) {
+            this.youTube = youTube;
             this.cache = cache;
+            this.quota = quota;
         }
 
         public Builder withSearchForm(@NotNull YouTubeSearchForm searchForm) {
@@ -83,6 +99,31 @@ public class ClientForSearchListFactory {
             return this;
         }
 
+        /**
+         * Resume a search from a continuation cursor. This replaces the search form
+         * and projection profile.
+         *
+         * @param cursor encoded cursor, from YouTubeClient.getCursor()
+         * @throws IllegalArgumentException the cursor is not valid
+         */
+        public Builder withCursor(@NotNull String cursor) {
+            final PageCursor value = PageCursor.decode(cursor);
+            if (!KIND.equals(value.kind())) {
+                throw new IllegalArgumentException("'cursor' is not a search cursor");
+            }
+            this.cursor = value;
+            this.profile = value.profile();
+            return this;
+        }
+
+        /**
+         * Select the projection profile. The default is the full profile.
+         */
+        public Builder withProfile(@NotNull Constants.Profile profile) {
+            this.profile = profile;
+            return this;
+        }
+
         public Builder withQuotaUser(@NotNull String quotaUser) {
             this.quotaUser = quotaUser;
             return this;
@@ -96,9 +137,14 @@ public class ClientForSearchListFactory {
          */
         @NotNull
         public YouTubeClient.ListSearchResults build() throws IOException {
-            final YouTube.Search.List request = ytBuilder.build().search().list(SEARCH_PARTS);
+            final YouTube.Search.List request = youTube.search().list((profile == Constants.Profile.SUMMARY) ? SEARCH_SUMMARY_PARTS : SEARCH_PARTS);
+            if (profile == Constants.Profile.SUMMARY) {
+                request.setFields(SEARCH_SUMMARY_FIELDS);
+            }
 
-            if (searchForm != null) {
+            if (cursor != null) {
+                cursor.applyTo(request);
+            } else if (searchForm != null) {
                 if (isNotBlank(searchForm.getType())) {
                     request.setType(Collections.singletonList(searchForm.getType()));
                 }
@@ -156,7 +202,11 @@ public class ClientForSearchListFactory {
             }
 
             final YouTubeClientState<SearchResult, YouTube.Search.List, SearchListResponse, com.google.api.services.youtube.model.SearchResult> state =
-                    new YouTubeClientState<>(request, ClientForSearchListFactory::convert, cache);
+                    new YouTubeClientState<>(request, ClientForSearchListFactory::convert, cache, quota);
+            state.setProfile(profile);
+            if (cursor != null) {
+                state.setNextPageToken(cursor.pageToken());
+            }
 
             return new YouTubeClient.ListSearchResults(state);
         }
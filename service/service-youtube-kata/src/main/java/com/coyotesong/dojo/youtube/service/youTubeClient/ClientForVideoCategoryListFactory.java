@@ -39,33 +39,39 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 @Component
 @SuppressWarnings("unused")
 public class ClientForVideoCategoryListFactory {
-    private final YouTube.Builder ytBuilder;
+    private final YouTube youTube;
     private final YouTubeApiCacheService cache;
+    private final YouTubeQuotaScheduler quota;
 
-    public ClientForVideoCategoryListFactory(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-        this.ytBuilder = ytBuilder;
+    public ClientForVideoCategoryListFactory(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                                             @NotNull YouTubeQuotaScheduler quota) {
+        this.youTube = youTube;
         this.cache = cache;
+        this.quota = quota;
     }
 
     @NotNull
     public Builder newBuilder() {
-        return new Builder(ytBuilder, cache);
+        return new Builder(youTube, cache, quota);
     }
 
     public static class Builder {
         private static final List<String> VIDEO_CATEGORIES_PARTS = Arrays.asList(
                 Constants.Part.ID.toString(), Constants.Part.SNIPPET.toString());
 
-        private final YouTube.Builder ytBuilder;
+        private final YouTube youTube;
         private final YouTubeApiCacheService cache;
+        private final YouTubeQuotaScheduler quota;
 
         private List<String> ids = Collections.emptyList();
         private String hl;
         private String quotaUser;
 
-        private Builder(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-            this.ytBuilder = ytBuilder;
+        private Builder(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                        @NotNull YouTubeQuotaScheduler quota) {
+            this.youTube = youTube;
             this.cache = cache;
+            this.quota = quota;
         }
 
         public Builder withId(@NotNull String id) {
@@ -96,7 +102,7 @@ public class ClientForVideoCategoryListFactory {
          */
         @NotNull
         public YouTubeClient.ListVideoCategories build() throws IOException {
-            final YouTube.VideoCategories.List request = ytBuilder.build().videoCategories().list(VIDEO_CATEGORIES_PARTS);
+            final YouTube.VideoCategories.List request = youTube.videoCategories().list(VIDEO_CATEGORIES_PARTS);
 
             if (isBlank(hl)) {
                 throw new IllegalArgumentException("'hl' must be specified");
@@ -113,7 +119,7 @@ public class ClientForVideoCategoryListFactory {
             }
 
             final YouTubeClientState<VideoCategory, YouTube.VideoCategories.List, VideoCategoryListResponse, com.google.api.services.youtube.model.VideoCategory> state =
-                    new YouTubeClientState<>(request, ClientForVideoCategoryListFactory::convert, cache);
+                    new YouTubeClientState<>(request, ClientForVideoCategoryListFactory::convert, cache, quota);
 
             return new YouTubeClient.ListVideoCategories(state);
         }
@@ -18,7 +18,6 @@
 package com.coyotesong.dojo.youtube.service.youTubeClient;
 
 import com.coyotesong.dojo.youtube.service.YouTubeApiCacheService;
-import com.coyotesong.dojo.youtube.model.Tag;
 import com.coyotesong.dojo.youtube.model.Video;
 import com.coyotesong.dojo.youtube.model.WikipediaTopic;
 import com.coyotesong.dojo.youtube.security.LogSanitizer;
@@ -31,7 +30,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
@@ -51,20 +49,23 @@ public class ClientForVideoListFactory {
     private static final Logger LOG = LoggerFactory.getLogger(ClientForVideoListFactory.class);
     private static final YTUtils utils = new YTUtils();
 
-    private final YouTube.Builder ytBuilder;
+    private final YouTube youTube;
     @SuppressWarnings("unused")
     private final LogSanitizer sanitize;
     private final YouTubeApiCacheService cache;
+    private final YouTubeQuotaScheduler quota;
 
-    public ClientForVideoListFactory(@NotNull YouTube.Builder ytBuilder, @NotNull LogSanitizer sanitize, @NotNull YouTubeApiCacheService cache) {
-        this.ytBuilder = ytBuilder;
+    public ClientForVideoListFactory(@NotNull YouTube youTube, @NotNull LogSanitizer sanitize, @NotNull YouTubeApiCacheService cache,
+                                     @NotNull YouTubeQuotaScheduler quota) {
+        this.youTube = youTube;
         this.sanitize = sanitize;
         this.cache = cache;
+        this.quota = quota;
     }
 
     @NotNull
     public Builder newBuilder() {
-        return new Builder(ytBuilder, cache);
+        return new Builder(youTube, cache, quota);
     }
 
     public static class Builder {
@@ -75,16 +76,27 @@ public class ClientForVideoListFactory {
                 Constants.Part.SNIPPET.toString(),
                 Constants.Part.TOPIC_DETAILS.toString());
 
-        private final YouTube.Builder ytBuilder;
+        private static final List<String> VIDEO_SUMMARY_PARTS = Arrays.asList(
+                Constants.Part.ID.toString(),
+                Constants.Part.SNIPPET.toString());
+        private static final String VIDEO_SUMMARY_FIELDS =
+                "kind,etag,nextPageToken,pageInfo,items(kind,etag,id,snippet(publishedAt,channelId,channelTitle,title,thumbnails))";
+
+        private final YouTube youTube;
         private final YouTubeApiCacheService cache;
+        private final YouTubeQuotaScheduler quota;
+
+        private Constants.Profile profile = Constants.Profile.FULL;
 
         private List<String> ids = Collections.emptyList();
         private String hl;
         private String quotaUser;
 
-        private Builder(@NotNull YouTube.Builder ytBuilder, @NotNull YouTubeApiCacheService cache) {
-            this.ytBuilder = ytBuilder;
+        private Builder(@NotNull YouTube youTube, @NotNull YouTubeApiCacheService cache,
+                        @NotNull YouTubeQuotaScheduler quota) {
+            this.youTube = youTube;
             this.cache = cache;
+            this.quota = quota;
         }
 
         public Builder withId(@NotNull String id) {
@@ -102,6 +114,14 @@ public class ClientForVideoListFactory {
             return this;
         }
 
+        /**
+         * Select the projection profile. The default is the full profile.
+         */
+        public Builder withProfile(@NotNull Constants.Profile profile) {
+            this.profile = profile;
+            return this;
+        }
+
         public Builder withQuotaUser(@NotNull String quotaUser) {
             this.quotaUser = quotaUser;
             return this;
@@ -115,7 +135,10 @@ public class ClientForVideoListFactory {
          */
         @NotNull
         public YouTubeClient.ListVideos build() throws IOException {
-            final YouTube.Videos.List request = ytBuilder.build().videos().list(VIDEO_PARTS);
+            final YouTube.Videos.List request = youTube.videos().list((profile == Constants.Profile.SUMMARY) ? VIDEO_SUMMARY_PARTS : VIDEO_PARTS);
+            if (profile == Constants.Profile.SUMMARY) {
+                request.setFields(VIDEO_SUMMARY_FIELDS);
+            }
 
             if (LOG.isTraceEnabled()) {
                 LOG.trace("ids: '" + String.join(",", ids) + "'");
@@ -136,12 +159,23 @@ public class ClientForVideoListFactory {
             }
 
             final YouTubeClientState<Video, YouTube.Videos.List, VideoListResponse, com.google.api.services.youtube.model.Video> state =
-                    new YouTubeClientState<>(request, ClientForVideoListFactory::convert, cache);
+                    new YouTubeClientState<>(request, (profile == Constants.Profile.SUMMARY) ? ClientForVideoListFactory::convertSummary : ClientForVideoListFactory::convert, cache, quota);
+            state.setProfile(profile);
 
             return new YouTubeClient.ListVideos(state);
         }
     }
 
+    /**
+     * Convert YouTube API object retrieved with the summary profile to ours.
+     */
+    @NotNull
+    static Video convertSummary(@NotNull com.google.api.services.youtube.model.Video video) {
+        final Video value = convert(video);
+        value.setSummary(true);
+        return value;
+    }
+
     /**
      * Convert YouTube API object to ours.
      *
@@ -229,14 +263,14 @@ public class ClientForVideoListFactory {
             }
             if ((snippet.getTags() != null) && !snippet.getTags().isEmpty()) {
                 for (String tag : snippet.getTags()) {
-                    value.getTags().add(new Tag(null, tag, tag));
+                    value.getTags().add(utils.tag(tag));
                 }
             }
             value.setTitle(snippet.getTitle());
 
             final ThumbnailDetails td = snippet.getThumbnails();
             if ((td != null) && !td.isEmpty()) {
-                value.getThumbnails().putAll(utils.convertThumbnails(video.getId(), td));
+                utils.convertThumbnails(video.getId(), td, value.getThumbnails());
             }
         }
 
@@ -273,11 +307,9 @@ public class ClientForVideoListFactory {
         if (video.getTopicDetails() != null) {
             final VideoTopicDetails details = video.getTopicDetails();
             for (String category : details.getTopicCategories()) {
-                try {
-                    value.getTopicCategories().add(new WikipediaTopic(category));
-                } catch (MalformedURLException e) {
-                    // @FIXME add log sanitization
-                    LOG.warn("bad Wikipedia URL: {}", category);
+                final WikipediaTopic topic = utils.wikipediaTopic(category);
+                if (topic != null) {
+                    value.getTopicCategories().add(topic);
                 }
             }
             if (details.getTopicIds() != null) {
@@ -47,4 +47,23 @@ public interface Constants {
             return ytValue;
         }
     }
+
+    /**
+     * Projection profiles
+     * <p>
+     * Each client builder maps a profile to the 'part' and 'fields' request parameters.
+     * The profile is part of the cache key.
+     * </p>
+     */
+    enum Profile {
+        /**
+         * Everything we convert
+         */
+        FULL,
+
+        /**
+         * Just enough for list pages - id, title, and thumbnails
+         */
+        SUMMARY
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.coyotesong.dojo.youtube.service.youTubeClient;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Bounded, concurrent pool of shared immutable values (flyweights).
+ * <p>
+ * The converters see the same few hundred topics and tags on tens of thousands of
+ * videos. The pool lets them share a single copy of the tag text and of the parsed
+ * topic URL instead of keeping (and, for WikipediaTopic, parsing) it again.
+ * </p>
+ * <p>
+ * Once the pool is full new values are still created but no longer shared. The
+ * common values are seen early in a harvest so they're already in the pool, and
+ * a long tail of one-off values can't grow it without limit. The bound is
+ * approximate - concurrent callers may each add one value past it.
+ * </p>
+ * <p>
+ * Pooled values are shared by every caller so they must be immutable, e.g., strings
+ * or records. Mutable model objects are built per use from the pooled values.
+ * </p>
+ *
+ * @param <K> key, e.g., the tag text
+ * @param <V> value object
+ */
+public class InternPool<K, V> {
+    private final int maxSize;
+    private final ConcurrentMap<K, V> pool = new ConcurrentHashMap<>();
+
+    public InternPool(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("'maxSize' must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the shared value, creating it if necessary.
+     *
+     * @param key     key
+     * @param factory creates the value. It may return null, e.g., for an invalid key, and that isn't pooled.
+     * @return shared value, a new value if the pool is full, or null
+     */
+    @Nullable
+    public V intern(@NotNull K key, @NotNull Function<? super K, ? extends V> factory) {
+        final V value = pool.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        if (pool.size() >= maxSize) {
+            return factory.apply(key);
+        }
+
+        return pool.computeIfAbsent(key, factory);
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void clear() {
+        pool.clear();
+    }
+}
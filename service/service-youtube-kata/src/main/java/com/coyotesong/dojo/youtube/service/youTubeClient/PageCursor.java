@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service.youTubeClient;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.util.Data;
+import com.google.api.client.util.FieldInfo;
+import com.google.api.services.youtube.YouTubeRequest;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Opaque continuation cursor for a paged list request
+ * <p>
+ * The cursor contains the normalized request parameters and the 'nextPageToken' so a
+ * later request, e.g., from the browser, can retrieve the next page without repeating
+ * the earlier ones. The page token is only valid for the same parameters so they
+ * always travel together.
+ * </p>
+ * <p>
+ * The cursor is supplied by the caller so it's not trusted. Credentials are never
+ * stored in it. The projection profile is stored by name and the 'part' and 'fields'
+ * parameters are rebuilt from it, so a caller can only select one of the known
+ * profiles. Only parameters recognized by the target request are accepted.
+ * </p>
+ *
+ * @param kind       response kind, e.g., 'youtube#searchListResponse'
+ * @param profile    projection profile
+ * @param parameters request parameters
+ * @param pageToken  'nextPageToken' from the previous page
+ */
+public record PageCursor(@NotNull String kind, @NotNull Constants.Profile profile,
+                         @NotNull Map<String, Object> parameters, @NotNull String pageToken) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // set by the client, or by the builder from the profile
+    private static final Set<String> EXCLUDED = Set.of(
+            "$.xgafv", "accessToken", "alt", "callback", "fields", "key", "oauthToken",
+            "pageToken", "part", "prettyPrint", "quotaUser", "uploadType", "upload_protocol", "userIp");
+
+    /**
+     * Create a cursor for the next page of a request.
+     *
+     * @param kind      response kind
+     * @param profile   projection profile
+     * @param request   request used for the current page
+     * @param pageToken 'nextPageToken' from the current page
+     * @return new cursor
+     */
+    @NotNull
+    static PageCursor of(@NotNull String kind, @NotNull Constants.Profile profile,
+                         @NotNull YouTubeRequest<?> request, @NotNull String pageToken) {
+        final Map<String, Object> parameters = new TreeMap<>();
+        for (Map.Entry<String, Object> entry : request.entrySet()) {
+            if (!EXCLUDED.contains(entry.getKey()) && (entry.getValue() != null)) {
+                if (entry.getValue() instanceof Collection<?> values) {
+                    parameters.put(entry.getKey(), values.stream().map(String::valueOf).sorted().toList());
+                } else {
+                    parameters.put(entry.getKey(), String.valueOf(entry.getValue()));
+                }
+            }
+        }
+
+        return new PageCursor(kind, profile, parameters, pageToken);
+    }
+
+    /**
+     * Encode the cursor as a URL-safe string
+     *
+     * @return encoded cursor
+     */
+    @NotNull
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (JsonProcessingException e) {
+            // this should never happen
+            throw new IllegalStateException("unable to encode cursor", e);
+        }
+    }
+
+    /**
+     * Decode a cursor created by encode()
+     *
+     * @param cursor encoded cursor
+     * @return decoded cursor
+     * @throws IllegalArgumentException the cursor is not valid
+     */
+    @NotNull
+    public static PageCursor decode(@NotNull String cursor) {
+        if (isBlank(cursor)) {
+            throw new IllegalArgumentException("'cursor' must not be blank");
+        }
+
+        final PageCursor value;
+        try {
+            value = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII)), PageCursor.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("'cursor' is not valid", e);
+        }
+
+        if ((value.kind() == null) || (value.profile() == null) || (value.parameters() == null) || isBlank(value.pageToken())) {
+            throw new IllegalArgumentException("'cursor' is not valid");
+        }
+
+        return value;
+    }
+
+    /**
+     * Copy the parameters to a new request
+     *
+     * @param request request for the next page
+     * @throws IllegalArgumentException the cursor contains a parameter the request doesn't support
+     */
+    void applyTo(@NotNull YouTubeRequest<?> request) {
+        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+            final FieldInfo fieldInfo = request.getClassInfo().getFieldInfo(entry.getKey());
+            if ((fieldInfo == null) || EXCLUDED.contains(entry.getKey())) {
+                throw new IllegalArgumentException("'cursor' contains unsupported parameter");
+            }
+
+            final Object value = entry.getValue();
+            if (Collection.class.isAssignableFrom(fieldInfo.getType()) && (value instanceof Collection<?> values)) {
+                final List<String> list = new ArrayList<>();
+                values.forEach(v -> list.add(String.valueOf(v)));
+                request.set(fieldInfo.getName(), list);
+            } else if (value instanceof String s) {
+                request.set(fieldInfo.getName(), Data.parsePrimitiveValue(fieldInfo.getGenericType(), s));
+            } else {
+                throw new IllegalArgumentException("'cursor' contains unsupported parameter");
+            }
+        }
+    }
+}
@@ -17,19 +17,53 @@
 
 package com.coyotesong.dojo.youtube.service.youTubeClient;
 
+import com.coyotesong.dojo.youtube.model.Tag;
 import com.coyotesong.dojo.youtube.model.Thumbnail;
 import com.coyotesong.dojo.youtube.model.ThumbnailSize;
+import com.coyotesong.dojo.youtube.model.WikipediaTopic;
 import com.google.api.services.youtube.model.ThumbnailDetails;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class YTUtils {
+    private static final Logger LOG = LoggerFactory.getLogger(YTUtils.class);
+
+    // shared by all converters. Tag and WikipediaTopic are mutable so only their
+    // immutable contents are pooled - each video still gets its own instance.
+    static final InternPool<String, String> TAGS = new InternPool<>(20_000);
+    static final InternPool<String, Topic> TOPICS = new InternPool<>(2_000);
+
+    /**
+     * Parsed Wikipedia URL and label
+     */
+    record Topic(@NotNull URL url, @NotNull String label) {
+    }
+
     @NotNull
     Map<String, Thumbnail> convertThumbnails(@NotNull String id, @NotNull ThumbnailDetails td) {
         final Map<String, Thumbnail> thumbnails = new LinkedHashMap<>();
+        convertThumbnails(id, td, thumbnails);
+        return thumbnails;
+    }
 
+    /**
+     * Convert thumbnails directly into the target map.
+     * <p>
+     * Thumbnails aren't interned - the URL contains the video id so they're never shared.
+     * </p>
+     *
+     * @param id         video id
+     * @param td         YouTube thumbnails
+     * @param thumbnails target
+     */
+    void convertThumbnails(@NotNull String id, @NotNull ThumbnailDetails td, @NotNull Map<String, Thumbnail> thumbnails) {
         if ((td.getDefault() != null) && !td.getDefault().isEmpty()) {
             thumbnails.put("default", new Thumbnail(id, ThumbnailSize.DEFAULT, td.getDefault().getUrl()));
         }
@@ -49,7 +83,46 @@ public class YTUtils {
         if ((td.getMaxres() != null) && !td.getMaxres().isEmpty()) {
             thumbnails.put("maxres", new Thumbnail(id, ThumbnailSize.MAX_RES, td.getMaxres().getUrl()));
         }
+    }
+
+    /**
+     * Create Tag using the shared tag text
+     *
+     * @param tag tag, as provided by YouTube
+     * @return new Tag
+     */
+    @NotNull
+    Tag tag(@NotNull String tag) {
+        final String text = TAGS.intern(tag, t -> t);
+        return new Tag(null, text, text);
+    }
+
+    /**
+     * Create WikipediaTopic using the shared, already parsed, URL and label
+     *
+     * @param url Wikipedia URL, as provided by YouTube
+     * @return new WikipediaTopic, or null if the URL is invalid
+     */
+    @Nullable
+    WikipediaTopic wikipediaTopic(@NotNull String url) {
+        final Topic topic = TOPICS.intern(url, u -> {
+            try {
+                final WikipediaTopic parsed = new WikipediaTopic(u);
+                return new Topic(parsed.getUrl(), parsed.getLabel());
+            } catch (MalformedURLException e) {
+                // @FIXME add log sanitization
+                LOG.warn("bad Wikipedia URL: {}", u);
+                return null;
+            }
+        });
+
+        if (topic == null) {
+            return null;
+        }
 
-        return thumbnails;
+        final WikipediaTopic wikipediaTopic = new WikipediaTopic();
+        wikipediaTopic.setUrl(topic.url());
+        wikipediaTopic.setLabel(topic.label());
+        return wikipediaTopic;
     }
 }
@@ -37,6 +37,7 @@ import com.google.api.services.youtube.YouTubeRequest;
 import com.google.api.services.youtube.model.*;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,12 +45,29 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * YouTube REST Client.
  * <p>
  * See https://googleapis.github.io/google-http-java-client/unit-testing.html
  * </p>
+ * <p>
+ * The client can optionally prefetch pages. When enabled the next page (found via
+ * 'nextPageToken') is retrieved on a virtual thread while the caller is still
+ * processing the current page. The sequence of pages returned by 'next()' is the
+ * same in both modes.
+ * </p>
+ * <p>
+ * The client can also be consumed as a lazy stream of individual items. Pages are
+ * only requested as the stream reaches them so short-circuiting operations like
+ * 'limit()' or 'findFirst()' don't spend quota on pages nobody reads.
+ * </p>
  *
  * @param <R> our class
  * @param <C> YouTube REST client method (e.g., YouTube.Videos.List)
@@ -57,14 +75,9 @@ import java.util.List;
  * @param <T> YouTube REST client element class (e.g., Video)
  */
 @SuppressWarnings("unused")
-public class YouTubeClient<R, C extends YouTubeRequest<S>, S extends GenericJson, T extends GenericJson> implements Iterator<List<R>> {
+public class YouTubeClient<R, C extends YouTubeRequest<S>, S extends GenericJson, T extends GenericJson> implements Iterator<List<R>>, AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(YouTubeClient.class);
 
-    /**
-     * Counter used to prevent exhausting our quota in a single API call.
-     */
-    private static final int MAX_COUNTER = 2;
-
     /**
      * Convenience class for YouTube Captions client
      */
@@ -166,12 +179,43 @@ public class YouTubeClient<R, C extends YouTubeRequest<S>, S extends GenericJson
 
     private final YouTubeClientState<R, C, S, T> state;
 
-    private int counter = 0;
+    private boolean started;
+
+    // prefetch support - the state is only touched by the prefetch thread once it starts
+    private int prefetchDepth = 0;
+    private BlockingQueue<Page<R>> pages;
+    private Thread prefetchThread;
+    private Page<R> head;
+
+    /**
+     * Page retrieved by the prefetch thread. 'failure' is set if the request failed.
+     * It's always a RuntimeException or an Error.
+     */
+    private record Page<R>(List<R> items, Throwable failure, boolean last) {
+    }
 
     public YouTubeClient(@NotNull YouTubeClientState<R, C, S, T> state) {
         this.state = state;
     }
 
+    /**
+     * Enable pipelined prefetching.
+     *
+     * @param depth maximum number of pages retrieved ahead of the caller
+     * @return this client
+     */
+    @NotNull
+    public YouTubeClient<R, C, S, T> withPrefetch(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("'depth' must be positive");
+        }
+        if (started || (prefetchThread != null)) {
+            throw new IllegalStateException("prefetch must be enabled before the first page is retrieved");
+        }
+        this.prefetchDepth = depth;
+        return this;
+    }
+
     public String getEtag() {
         return state.getEtag();
     }
@@ -184,8 +228,30 @@ public class YouTubeClient<R, C extends YouTubeRequest<S>, S extends GenericJson
         return state.getVisitorId();
     }
 
+    /**
+     * Get the continuation cursor for the page after the last one returned by next().
+     * <p>
+     * This isn't available with prefetching since the prefetch thread may have
+     * already moved on.
+     * </p>
+     *
+     * @return encoded cursor, or null if there are no more pages
+     */
+    @Nullable
+    public String getCursor() {
+        if (prefetchDepth > 0) {
+            throw new IllegalStateException("cursor is not available when prefetching");
+        }
+        final PageCursor cursor = state.getCursor();
+        return (cursor == null) ? null : cursor.encode();
+    }
+
     public boolean hasNext() {
-        return state.hasNext();
+        if (prefetchDepth == 0) {
+            return state.hasNext();
+        }
+
+        return !peek().last();
     }
 
     @Override
@@ -197,15 +263,162 @@ public class YouTubeClient<R, C extends YouTubeRequest<S>, S extends GenericJson
             return Collections.emptyList();
         }
 
-        // prevent a single call from exhausting our quota
-        if (counter++ >= MAX_COUNTER) {
-            state.setFinished(true);
-            return Collections.emptyList();
+        if (prefetchDepth == 0) {
+            return fetch();
         }
 
+        final Page<R> page = head;
+        head = null;
+        if (page.failure() instanceof RuntimeException e) {
+            throw e;
+        }
+        if (page.failure() instanceof Error e) {
+            throw e;
+        }
+
+        return page.items();
+    }
+
+    /**
+     * Get the items on the first page from the cache without calling YouTube or
+     * waiting for the quota. The client isn't started.
+     *
+     * @return items, or null if there isn't a fresh cached response
+     * @throws IOException unable to create the cache key
+     */
+    @Nullable
+    public List<R> getCached() throws IOException {
+        return state.getCached();
+    }
+
+    /**
+     * Lazy stream of the individual items on all pages.
+     * <p>
+     * Only one page is held at a time. Closing the stream closes this client.
+     * </p>
+     *
+     * @return sequential, ordered stream of items
+     */
+    @NotNull
+    public Stream<R> stream() {
+        return StreamSupport.stream(new ItemSpliterator<>(this), false).onClose(this::close);
+    }
+
+    /**
+     * Spliterator that walks the items on the current page and only requests the
+     * next page when the current one is exhausted.
+     */
+    private static class ItemSpliterator<R> implements Spliterator<R> {
+        private final Iterator<List<R>> pages;
+        private Iterator<R> items = Collections.emptyIterator();
+
+        ItemSpliterator(@NotNull Iterator<List<R>> pages) {
+            this.pages = pages;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            while (!items.hasNext()) {
+                if (!pages.hasNext()) {
+                    return false;
+                }
+                items = pages.next().iterator();
+            }
+            action.accept(items.next());
+            return true;
+        }
+
+        /**
+         * Pages are retrieved sequentially so we can't split
+         */
+        @Override
+        public Spliterator<R> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+    /**
+     * Stop the prefetch thread, if any. This is only required if the caller
+     * stops iterating before all pages have been retrieved.
+     */
+    @Override
+    public void close() {
+        if (prefetchThread != null) {
+            prefetchThread.interrupt();
+        }
+    }
+
+    /**
+     * Wait for the next prefetched page. The prefetch thread is started on the first call.
+     */
+    @NotNull
+    private Page<R> peek() {
+        if (head == null) {
+            if (prefetchThread == null) {
+                pages = new ArrayBlockingQueue<>(prefetchDepth);
+                prefetchThread = Thread.ofVirtual().name("youtube-prefetch").start(this::prefetch);
+            }
+
+            try {
+                head = pages.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                prefetchThread.interrupt();
+                head = new Page<>(Collections.emptyList(), null, true);
+            }
+        }
+
+        return head;
+    }
+
+    /**
+     * Retrieve pages until we're finished, we fail, or the caller closes the client.
+     */
+    private void prefetch() {
+        try {
+            try {
+                while (state.hasNext()) {
+                    try {
+                        pages.put(new Page<>(fetch(), null, false));
+                    } catch (RuntimeException e) {
+                        pages.put(new Page<>(Collections.emptyList(), e, false));
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                // this thread is finished but the caller is waiting for its pages.
+                // Pass the failure on and then end the pages, or it waits forever.
+                pages.put(new Page<>(Collections.emptyList(), e, false));
+            }
+            pages.put(new Page<>(Collections.emptyList(), null, true));
+        } catch (InterruptedException e) {
+            LOG.trace("prefetch cancelled");
+        }
+    }
+
+    /**
+     * Retrieve the next page.
+     */
+    @NotNull
+    private List<R> fetch() {
+        started = true;
+
+        // the quota scheduler decides whether we can afford another page
         try {
             state.update();
             state.setFinished(StringUtils.isBlank(state.getNextPageToken()));
+        } catch (YouTubeQuotaExceededException e) {
+            state.setFailed(true);
+            throw e;
         } catch (GoogleJsonResponseException e) {
             final GoogleJsonError error = e.getDetails();
             state.setFailed(true);
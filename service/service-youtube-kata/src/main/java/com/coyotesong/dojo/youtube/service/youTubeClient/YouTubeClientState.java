@@ -18,22 +18,39 @@
 package com.coyotesong.dojo.youtube.service.youTubeClient;
 
 import com.coyotesong.dojo.youtube.service.YouTubeApiCacheService;
+import com.coyotesong.dojo.youtube.service.YouTubeApiMetrics;
+import com.coyotesong.dojo.youtube.lang3.MethodAccessors;
 import com.coyotesong.dojo.youtube.lang3.MyToStringStyle;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpStatusCodes;
+import com.google.api.client.json.CustomizeJsonParser;
 import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.JsonParser;
+import com.google.api.client.util.Types;
 import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.YouTubeRequest;
 import com.google.api.services.youtube.model.*;
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -64,14 +81,15 @@ public class YouTubeClientState<R, C extends YouTubeRequest<S>, S extends Generi
      * Another option is modifying the bytecode to insert a new abstraction layer
      * but that's overkill here since we can restrict all access to this class.
      * </p>
+     * <p>
+     * The methods are converted to lambdas once so we don't pay for Method.invoke()
+     * on every request and every item. Both maps are immutable after class
+     * initialization, so they're safe to share between threads.
+     * </p>
      */
-    private static final Map<String, Method> GET_HL = new LinkedHashMap<>();
-    private static final Map<String, Method> SET_HL = new LinkedHashMap<>();
-    private static final Map<String, Method> SET_MAX_RESULTS = new LinkedHashMap<>();
-    private static final Map<String, Method> SET_PAGE_TOKEN = new LinkedHashMap<>();
-    private static final Map<String, Method> SET_PARENT_ETAG = new LinkedHashMap<>();
+    private static final Map<Class<?>, Accessors> ACCESSORS;
 
-    private static final Map<Class<?>, String> KIND_MAP = new LinkedHashMap<>();
+    private static final Map<Class<?>, String> KIND_MAP;
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
@@ -84,8 +102,25 @@ public class YouTubeClientState<R, C extends YouTubeRequest<S>, S extends Generi
     @NotNull
     private final String requestClassName;
 
+    @NotNull
+    private final Accessors accessors;
+
     private final YouTubeApiCacheService cache;
 
+    @Nullable
+    private final YouTubeQuotaScheduler quota;
+
+    @NotNull
+    private final String kind;
+
+    private final YouTubeApiMetrics metrics = YouTubeApiMetrics.global();
+
+    private Constants.Profile profile = Constants.Profile.FULL;
+
+    // pages retrieved so far, and where the last one came from
+    private int pages;
+    private String source;
+
     private String etag;
     private String eventId;
     private String nextPageToken;
@@ -97,20 +132,39 @@ public class YouTubeClientState<R, C extends YouTubeRequest<S>, S extends Generi
     private boolean finished;
     private boolean failed;
 
+    // response loaded by this state, with its items already converted - see update()
+    private Loaded<S, R> loaded;
+
     private final Map<String, Object> keyMap = new LinkedHashMap<>();
 
     protected YouTubeClientState(@NotNull C request, @NotNull Function<T, R> convert) {
         this(request, convert, null);
     }
 
-    @SuppressWarnings("rawtypes")
     protected YouTubeClientState(@NotNull C request, @NotNull Function<T, R> convert, YouTubeApiCacheService cache) {
+        this(request, convert, cache, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param request YouTube API request
+     * @param convert converts YouTube API object to ours
+     * @param cache   response cache
+     * @param quota   quota scheduler consulted before each call to YouTube (may be null)
+     */
+    @SuppressWarnings("rawtypes")
+    protected YouTubeClientState(@NotNull C request, @NotNull Function<T, R> convert, YouTubeApiCacheService cache,
+                                 @Nullable YouTubeQuotaScheduler quota) {
         this.request = request;
         this.convert = convert;
         this.cache = cache;
+        this.quota = quota;
         this.requestClassName = request.getClass().getName();
+        this.accessors = ACCESSORS.getOrDefault(request.getClass(), Accessors.NONE);
+        this.kind = KIND_MAP.getOrDefault(request.getResponseClass(), request.getResponseClass().getSimpleName());
 
-        // this breaks serialization/deserialization below
+        // we don't use this - execute() parses the raw response body itself
         // request.setReturnRawInputStream(true);
 
         if (KIND_MAP.containsKey(request.getResponseClass())) {
@@ -149,6 +203,28 @@ public class YouTubeClientState<R, C extends YouTubeRequest<S>, S extends Generi
         return nextPageToken;
     }
 
+    /**
+     * Start with a later page, e.g., when resuming from a cursor.
+     *
+     * @param nextPageToken page token for the next call to update()
+     */
+    void setNextPageToken(@Nullable String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+
+    /**
+     * Get the continuation cursor for the next page
+     *
+     * @return cursor, or null if there are no more pages
+     */
+    @Nullable
+    public PageCursor getCursor() {
+        if (!isNotBlank(nextPageToken)) {
+            return null;
+        }
+        return PageCursor.of(kind, profile, request, nextPageToken);
+    }
+
     public PageInfo getPageInfo() {
         return pageInfo;
     }
@@ -190,34 +266,35 @@ public class YouTubeClientState<R, C extends YouTubeRequest<S>, S extends Generi
         this.failed = failed;
     }
 
+    /**
+     * Record the projection profile in the cache key. The full profile isn't
+     * recorded so existing cache entries remain valid.
+     *
+     * @param profile projection profile
+     */
+    void setProfile(@NotNull Constants.Profile profile) {
+        this.profile = profile;
+        if (profile == Constants.Profile.FULL) {
+            keyMap.remove("profile");
+        } else {
+            keyMap.put("profile", profile.name());
+        }
+    }
+
     /**
      * Perform indirect access to getHl() method.
      */
     @Nullable
     String getHl() {
-        final Method m = GET_HL.get(requestClassName);
-        if (m != null) {
-            try {
-                return (String) m.invoke(request);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                LOG.info("Error when invoking getHl()");
-            }
-        }
-
-        return null;
+        return (accessors.getHl() == null) ? null : accessors.getHl().apply(request);
     }
 
     /**
      * Perform indirect access to setHl(String) method.
      */
     void setHl(@NotNull R value, String hl) {
-        final Method m = SET_HL.get(requestClassName);
-        if (m != null) {
-            try {
-                m.invoke(value, hl);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                LOG.info("Error when invoking setHl()");
-            }
+        if (accessors.setHl() != null) {
+            accessors.setHl().accept(value, hl);
         }
     }
 
@@ -231,13 +308,8 @@ public class YouTubeClientState<R, C extends YouTubeRequest<S>, S extends Generi
             throw new IllegalArgumentException("'count' is not in the range from 1 to 50, inclusive");
         }
 
-        final Method m = SET_MAX_RESULTS.get(requestClassName);
-        if (m != null) {
-            try {
-                m.invoke(request, (long) count);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                LOG.info("Error when invoking setMaxResults()");
-            }
+        if (accessors.setMaxResults() != null) {
+            accessors.setMaxResults().accept(request, (long) count);
         }
     }
 
@@ -247,13 +319,8 @@ public class YouTubeClientState<R, C extends YouTubeRequest<S>, S extends Generi
      * @param pageToken page token
      */
     void setPageToken(@Nullable String pageToken) {
-        final Method m = SET_PAGE_TOKEN.get(requestClassName);
-        if (m != null) {
-            try {
-                m.invoke(request, pageToken);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                LOG.info("Error when invoking setPageToken()");
-            }
+        if (accessors.setPageToken() != null) {
+            accessors.setPageToken().accept(request, pageToken);
         }
     }
 
@@ -264,13 +331,8 @@ public class YouTubeClientState<R, C extends YouTubeRequest<S>, S extends Generi
      * @param etag  parent etag
      */
     void setParentEtag(@NotNull R value, @Nullable String etag) {
-        final Method m = SET_PARENT_ETAG.get(requestClassName);
-        if (m != null) {
-            try {
-                m.invoke(value, etag);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                LOG.info("Error when invoking setParentEtag()");
-            }
+        if (accessors.setParentEtag() != null) {
+            accessors.setParentEtag().accept(value, etag);
         }
     }
 
@@ -288,17 +350,35 @@ public class YouTubeClientState<R, C extends YouTubeRequest<S>, S extends Generi
      * This assumes request is already initialized with key (API Key), access token
      * (OAuth Token), and quota user.
      * </p>
+     * <p>
+     * The request is charged against the quota only when it isn't found in the cache.
+     * Stale cache entries are revalidated with 'If-None-Match' so an unchanged response
+     * isn't downloaded again.
+     * </p>
      */
     public void update() throws IOException {
         // this.setMaxResults(50);
         this.setPageToken(nextPageToken);
-        final S response = cache.get(updateKeyWithPageToken(), request::execute);
+        final Timer.Sample sample = metrics.start();
+        this.source = YouTubeApiMetrics.SOURCE_CACHE;
+        final S response;
+        try {
+            response = lookup();
+        } catch (IOException | RuntimeException e) {
+            metrics.update(sample, kind, source, e);
+            throw e;
+        }
+        metrics.update(sample, kind, source, null);
 
         if (response == null) {
             LOG.warn("null response!");
             return;
         }
 
+        if (YouTubeApiMetrics.SOURCE_YOUTUBE.equals(source)) {
+            writeBack(response);
+        }
+
         this.etag = (String) response.get("etag");
         this.pageInfo = (PageInfo) response.get("pageInfo");
 
@@ -308,52 +388,265 @@ public class YouTubeClientState<R, C extends YouTubeRequest<S>, S extends Generi
         // this.eventId = response.getEventId();
         // this.visitorId = response.getVisitorId();
 
+        this.items = ((loaded != null) && (loaded.response() == response)) ? decorate(loaded.items(), response) : convertItems(response);
+        this.loaded = null;
+        this.nextPageToken = this.items.isEmpty() ? null : (String) response.get("nextPageToken");
+
+        metrics.items(kind, this.items.size());
+        pages++;
+        if (!isNotBlank(nextPageToken)) {
+            metrics.pages(kind, pages);
+        }
+    }
+
+    /**
+     * Convert the items in a response to our model.
+     */
+    @NotNull
+    private List<R> convertItems(@NotNull S response) {
         @SuppressWarnings("unchecked") final List<T> items = (List<T>) response.get("items");
         if ((items == null) || items.isEmpty()) {
-            this.items = Collections.emptyList();
-            this.nextPageToken = null;
-        } else {
-            this.items = items.stream().map(convert).toList();
-            this.nextPageToken = (String) response.get("nextPageToken");
+            return Collections.emptyList();
+        }
+
+        return decorate(items.stream().map(convert).toList(), response);
+    }
+
+    /**
+     * Copy the values that our model takes from the response and request.
+     */
+    @NotNull
+    private List<R> decorate(@NotNull List<R> values, @NotNull S response) {
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // copy additional value from response
+        final String responseEtag = (String) response.get("etag");
+        values.forEach(s -> this.setParentEtag(s, responseEtag));
+
+        // copy additional value from request
+        final String hl = this.getHl();
+        if (isNotBlank(hl)) {
+            // this will not overwrite values provided by response
+            values.forEach(s -> this.setHl(s, hl));
+        }
+        return values;
+    }
+
+    /**
+     * Get the items on the first page from the cache, without calling YouTube. The
+     * state isn't changed.
+     *
+     * @return items, or null if there isn't a fresh cached response
+     */
+    @Nullable
+    List<R> getCached() throws IOException {
+        if ((cache == null) || isNotBlank(nextPageToken)) {
+            return null;
+        }
+
+        final Timer.Sample sample = metrics.start();
+        final S response = cache.getIfFresh(updateKeyWithPageToken());
+        if (response == null) {
+            return null;
+        }
+        metrics.update(sample, kind, YouTubeApiMetrics.SOURCE_CACHE, null);
+        return convertItems(response);
+    }
+
+    /**
+     * Cache each item of a multi-id response under the key of its own single-id request.
+     * <p>
+     * The key of a multi-id request depends on which ids happen to be requested together,
+     * e.g., by YouTubeMicroBatcher, so it's rarely seen again. The single-id keys are. An
+     * id that wasn't returned is cached with an empty response. The batch's etag doesn't
+     * match a single-id request so these entries don't have one, i.e., they're reloaded,
+     * not revalidated, once they're stale.
+     * </p>
+     *
+     * @param response multi-id response from YouTube
+     */
+    private void writeBack(@NotNull S response) throws IOException {
+        if ((cache == null) || !(keyMap.get("id") instanceof List<?> ids) || (ids.size() < 2) || keyMap.containsKey("pageToken")) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked") final List<T> items = (List<T>) response.get("items");
+        final Map<Object, T> itemsById = new HashMap<>();
+        if (items != null) {
+            items.forEach(item -> itemsById.put(item.get("id"), item));
+        }
+
+        final Map<String, Object> singleKeyMap = new LinkedHashMap<>(keyMap);
+        for (Object id : ids) {
+            final T item = itemsById.get(id);
+            @SuppressWarnings("unchecked") final S single = (S) response.clone();
+            single.set("etag", null);
+            single.set("items", (item == null) ? Collections.emptyList() : List.of(item));
+            single.set("pageInfo", new PageInfo().setTotalResults((item == null) ? 0 : 1).setResultsPerPage(1));
+
+            singleKeyMap.put("id", List.of(id));
+            cache.putResponse(MAPPER.writeValueAsString(singleKeyMap), single);
+        }
+    }
+
+    /**
+     * Get response from the cache, calling YouTube if necessary.
+     */
+    @Nullable
+    private S lookup() throws IOException {
+        try {
+            return cache.get(updateKeyWithPageToken(), this::execute, this::revalidator);
+        } catch (Cache.ValueRetrievalException e) {
+            // the cache wraps the loader's exception - YouTubeClient needs the original
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Call YouTube, if the quota permits.
+     * <p>
+     * The items are converted to our model while the response is parsed. update()
+     * uses them if the cache returns this response.
+     * </p>
+     *
+     * @param etag etag of the cached response, if any
+     * @return response, or null if the cached response hasn't been modified
+     */
+    @Nullable
+    private YouTubeApiCacheService.Response<S> execute(@Nullable String etag) throws IOException {
+        final List<R> values = new ArrayList<>();
+        final YouTubeApiCacheService.Response<S> response = execute(request, etag, values);
+        this.source = (response == null) ? YouTubeApiMetrics.SOURCE_NOT_MODIFIED : YouTubeApiMetrics.SOURCE_YOUTUBE;
+        this.loaded = (response == null) ? null : new Loaded<>(response.value(), Collections.unmodifiableList(values));
+        return response;
+    }
+
+    /**
+     * Create a loader for the current page that the cache can run later on another
+     * thread. It uses a copy of the request, with its own headers, since this request
+     * is reused for the next page.
+     *
+     * @return loader for background revalidation
+     */
+    @NotNull
+    private YouTubeApiCacheService.ConditionalLoader<S> revalidator() {
+        @SuppressWarnings("unchecked") final C copy = (C) request.clone();
+        copy.setRequestHeaders(request.getRequestHeaders().clone());
+        return etag -> execute(copy, etag, null);
+    }
+
+    /**
+     * Call YouTube, if the quota permits.
+     * <p>
+     * The response is parsed once, as it's read. Each item is converted to our model
+     * as soon as it's parsed, while the rest of the response is still being read. The
+     * bytes are copied as they're read so the cache can store the original response
+     * body without serializing the response again.
+     * </p>
+     * <p>
+     * The response keeps the YouTube items. They're what the cache holds in memory so
+     * each later hit gets its own copy of our (mutable) model without parsing again.
+     * </p>
+     *
+     * @param request YouTube API request
+     * @param etag    etag of the cached response, if any
+     * @param values  receives the converted items, or null if they're not needed
+     * @return response, or null if the cached response hasn't been modified
+     */
+    @Nullable
+    private YouTubeApiCacheService.Response<S> execute(@NotNull C request, @Nullable String etag,
+                                                        @Nullable List<R> values) throws IOException {
+        // the request is reused for every page so we always need to set (or clear) this
+        request.getRequestHeaders().setIfNoneMatch(isNotBlank(etag) ? quoted(etag) : null);
+
+        if (quota != null) {
+            quota.acquire(request);
+        }
+        metrics.quotaUnits(kind, YouTubeQuotaScheduler.costOf(request.getClass()));
+
+        try {
+            final HttpResponse response = request.executeUnparsed();
+            final JsonFactory jsonFactory = request.getAbstractGoogleClient().getJsonFactory();
+            final S value = Types.newInstance(request.getResponseClass());
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream is = new Tee(response.getContent(), body)) {
+                final JsonParser parser = jsonFactory.createJsonParser(is, response.getContentCharset());
+                parser.parse(value, (values == null) ? null : new ItemConverter(value, values));
+
+                // the parser may stop before trailing whitespace
+                is.transferTo(OutputStream.nullOutputStream());
+            } finally {
+                response.disconnect();
+            }
+            metrics.responseSize(kind, body.size());
 
-            // copy additional value from response
-            this.items.forEach(s -> this.setParentEtag(s, this.etag));
+            if (value.get("items") instanceof Collection<?> items) {
+                // replace the converting list with a plain one since the response is cached
+                value.set("items", new ArrayList<>(items));
+            }
+            return new YouTubeApiCacheService.Response<>(value, body.toString(response.getContentCharset()));
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() == HttpStatusCodes.STATUS_CODE_NOT_MODIFIED) {
+                return null;
+            }
 
-            // copy additional value from request
-            final String hl = this.getHl();
-            if (isNotBlank(hl)) {
-                // this will not overwrite values provided by response
-                this.items.forEach(s -> this.setHl(s, hl));
+            // our budget is out of sync with YouTube's
+            final GoogleJsonError error = e.getDetails();
+            if ((quota != null) && (error != null) && (error.getErrors() != null) && !error.getErrors().isEmpty() && "youtube.quota".equals(error.getErrors().get(0).getDomain())) {
+                quota.exhausted();
             }
+            throw e;
         }
     }
 
+    /**
+     * The etag in the response body isn't always quoted but the header value must be.
+     */
+    @NotNull
+    static String quoted(@NotNull String etag) {
+        return (etag.startsWith("\"") || etag.startsWith("W/")) ? etag : '"' + etag + '"';
+    }
+
     static {
-        initialize(YouTube.Search.List.class, SearchListResponse.class, com.coyotesong.dojo.youtube.model.SearchResult.class);
+        final Map<Class<?>, Accessors> accessors = new LinkedHashMap<>();
+        final Map<Class<?>, String> kinds = new LinkedHashMap<>();
+
+        initialize(accessors, YouTube.Search.List.class, SearchListResponse.class, com.coyotesong.dojo.youtube.model.SearchResult.class);
 
-        initialize(YouTube.Channels.List.class, ChannelListResponse.class, com.coyotesong.dojo.youtube.model.Channel.class);
-        initialize(YouTube.PlaylistImages.List.class, PlaylistImageListResponse.class, com.coyotesong.dojo.youtube.model.PlaylistImage.class);
-        initialize(YouTube.PlaylistItems.List.class, PlaylistItemListResponse.class, com.coyotesong.dojo.youtube.model.PlaylistItem.class);
-        initialize(YouTube.Playlists.List.class, PlaylistListResponse.class, com.coyotesong.dojo.youtube.model.Playlist.class);
-        initialize(YouTube.Videos.List.class, VideoListResponse.class, com.coyotesong.dojo.youtube.model.Video.class);
+        initialize(accessors, YouTube.Channels.List.class, ChannelListResponse.class, com.coyotesong.dojo.youtube.model.Channel.class);
+        initialize(accessors, YouTube.PlaylistImages.List.class, PlaylistImageListResponse.class, com.coyotesong.dojo.youtube.model.PlaylistImage.class);
+        initialize(accessors, YouTube.PlaylistItems.List.class, PlaylistItemListResponse.class, com.coyotesong.dojo.youtube.model.PlaylistItem.class);
+        initialize(accessors, YouTube.Playlists.List.class, PlaylistListResponse.class, com.coyotesong.dojo.youtube.model.Playlist.class);
+        initialize(accessors, YouTube.Videos.List.class, VideoListResponse.class, com.coyotesong.dojo.youtube.model.Video.class);
 
         // constants(?) - they always return a single page (nextPageToken = null)
-        initialize(YouTube.ChannelSections.List.class, ChannelSectionListResponse.class, com.coyotesong.dojo.youtube.model.ChannelSection.class);
-        initialize(YouTube.I18nLanguages.List.class, I18nLanguageListResponse.class, com.coyotesong.dojo.youtube.model.I18nLanguage.class);
-        initialize(YouTube.I18nRegions.List.class, I18nRegionListResponse.class, com.coyotesong.dojo.youtube.model.I18nRegion.class);
-        initialize(YouTube.VideoCategories.List.class, VideoCategoryListResponse.class, com.coyotesong.dojo.youtube.model.VideoCategory.class);
-
-        KIND_MAP.put(CaptionListResponse.class, "youtube#captionListResponse");
-        KIND_MAP.put(ChannelListResponse.class, "youtube#channelListResponse");
-        KIND_MAP.put(ChannelSectionListResponse.class, "youtube#channelSectionListResponse");
-        KIND_MAP.put(I18nLanguageListResponse.class, "youtube#i18nLanguageListResponse");
-        KIND_MAP.put(I18nRegionListResponse.class, "youtube#i18nRegionListResponse");
-        KIND_MAP.put(PlaylistImageListResponse.class, "youtube#playlistImageListResponse");
-        KIND_MAP.put(PlaylistItemListResponse.class, "youtube#playlistItemListResponse");
-        KIND_MAP.put(PlaylistListResponse.class, "youtube#playlistListResponse");
-        KIND_MAP.put(SearchListResponse.class, "youtube#searchListResponse");
-        KIND_MAP.put(VideoListResponse.class, "youtube#videoListResponse");
-        KIND_MAP.put(VideoCategoryListResponse.class, "youtube#videoCategoryListResponse");
+        initialize(accessors, YouTube.ChannelSections.List.class, ChannelSectionListResponse.class, com.coyotesong.dojo.youtube.model.ChannelSection.class);
+        initialize(accessors, YouTube.I18nLanguages.List.class, I18nLanguageListResponse.class, com.coyotesong.dojo.youtube.model.I18nLanguage.class);
+        initialize(accessors, YouTube.I18nRegions.List.class, I18nRegionListResponse.class, com.coyotesong.dojo.youtube.model.I18nRegion.class);
+        initialize(accessors, YouTube.VideoCategories.List.class, VideoCategoryListResponse.class, com.coyotesong.dojo.youtube.model.VideoCategory.class);
+
+        kinds.put(CaptionListResponse.class, "youtube#captionListResponse");
+        kinds.put(ChannelListResponse.class, "youtube#channelListResponse");
+        kinds.put(ChannelSectionListResponse.class, "youtube#channelSectionListResponse");
+        kinds.put(I18nLanguageListResponse.class, "youtube#i18nLanguageListResponse");
+        kinds.put(I18nRegionListResponse.class, "youtube#i18nRegionListResponse");
+        kinds.put(PlaylistImageListResponse.class, "youtube#playlistImageListResponse");
+        kinds.put(PlaylistItemListResponse.class, "youtube#playlistItemListResponse");
+        kinds.put(PlaylistListResponse.class, "youtube#playlistListResponse");
+        kinds.put(SearchListResponse.class, "youtube#searchListResponse");
+        kinds.put(VideoListResponse.class, "youtube#videoListResponse");
+        kinds.put(VideoCategoryListResponse.class, "youtube#videoCategoryListResponse");
+
+        ACCESSORS = Map.copyOf(accessors);
+        KIND_MAP = Map.copyOf(kinds);
 
         //
         // These are the remaining 'List' requests. Many of them are restricted to
@@ -377,68 +670,152 @@ public class YouTubeClientState<R, C extends YouTubeRequest<S>, S extends Generi
         // YouTube.VideoAbuseReportReasons.List
     }
 
+    /**
+     * Response loaded by this state, with its items converted to our model.
+     */
+    private record Loaded<S, R>(@NotNull S response, @NotNull List<R> items) {
+    }
+
+    /**
+     * Converts the response's items to our model as the parser adds them to the
+     * response. Nested arrays are parsed as usual.
+     */
+    private final class ItemConverter extends CustomizeJsonParser {
+        private final S response;
+        private final List<R> values;
+
+        ItemConverter(@NotNull S response, @NotNull List<R> values) {
+            this.response = response;
+            this.values = values;
+        }
+
+        @Override
+        @Nullable
+        public Collection<Object> newInstanceForArray(@Nullable Object context, @Nullable Field field) {
+            if ((context != response) || (field == null) || !"items".equals(field.getName())) {
+                return null;
+            }
+
+            return new ArrayList<>() {
+                @Override
+                public boolean add(Object item) {
+                    @SuppressWarnings("unchecked") final T t = (T) item;
+                    values.add(convert.apply(t));
+                    return super.add(item);
+                }
+            };
+        }
+    }
+
+    /**
+     * Copies the bytes read from a stream.
+     */
+    private static final class Tee extends FilterInputStream {
+        private final OutputStream copy;
+
+        Tee(@Nullable InputStream in, @NotNull OutputStream copy) {
+            super((in == null) ? InputStream.nullInputStream() : in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int n = super.read(b, off, len);
+            if (n > 0) {
+                copy.write(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // skipped bytes are read so they're still copied
+            return Math.max(read(new byte[(int) Math.min(Math.max(n, 0L), 8192L)]), 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    /**
+     * Accessors for a single request class. A null value means the method isn't available.
+     */
+    private record Accessors(@Nullable Function<Object, String> getHl,
+                             @Nullable BiConsumer<Object, String> setHl,
+                             @Nullable BiConsumer<Object, Long> setMaxResults,
+                             @Nullable BiConsumer<Object, String> setPageToken,
+                             @Nullable BiConsumer<Object, String> setParentEtag) {
+        static final Accessors NONE = new Accessors(null, null, null, null, null);
+    }
+
     /**
      * Initialize maps from request/response to method
      *
-     * @param request  request class
-     * @param response response class
-     * @param target   target class
+     * @param accessors map being initialized
+     * @param request   request class
+     * @param response  response class
+     * @param target    target class
      */
-    static void initialize(@NotNull Class<? extends YouTubeRequest<?>> request,
-                           @NotNull Class<? extends GenericJson> response, @NotNull Class<?> target) {
+    private static void initialize(@NotNull Map<Class<?>, Accessors> accessors,
+                                   @NotNull Class<? extends YouTubeRequest<?>> request,
+                                   @NotNull Class<? extends GenericJson> response, @NotNull Class<?> target) {
         final String requestClassName = request.getName();
-        final String responseClassName = response.getName();
+
+        Function<Object, String> getHl = null;
+        BiConsumer<Object, String> setHl = null;
+        BiConsumer<Object, Long> setMaxResults = null;
+        BiConsumer<Object, String> setPageToken = null;
+        BiConsumer<Object, String> setParentEtag = null;
 
         // not all requests include 'getHl()'
         try {
-            final Method m = request.getMethod("getHl");
-            GET_HL.put(requestClassName, m);
-            SET_HL.put(requestClassName, null);
-            if (GET_HL.containsKey(requestClassName)) {
-                // assume that the existing conversion method already has 'setHl()' if
-                // the response has 'getHl()'.
+            getHl = MethodAccessors.getter(request.getMethod("getHl"));
+            // assume that the existing conversion method already has 'setHl()' if
+            // the response has 'getHl()'.
+            try {
+                final Method m1 = response.getMethod("getHl");
+                // nothing to do...
+            } catch (NoSuchMethodException e1) {
                 try {
-                    final Method m1 = response.getMethod("getHl");
-                    // nothing to do...
-                } catch (NoSuchMethodException e1) {
-                    try {
-                        final Method m2 = target.getMethod("setHl", String.class);
-                        SET_HL.put(requestClassName, m2);
-                    } catch (NoSuchMethodException e2) {
-                        LOG.info("Unable to find {}#setHl(String)", target.getName());
-                    }
+                    setHl = MethodAccessors.setter(target.getMethod("setHl", String.class));
+                } catch (NoSuchMethodException e2) {
+                    LOG.info("Unable to find {}#setHl(String)", target.getName());
                 }
             }
         } catch (NoSuchMethodException e) {
             LOG.trace("Unable to find getHl()' on {}", requestClassName);
-            GET_HL.put(requestClassName, null);
-            SET_HL.put(requestClassName, null);
         }
 
         try {
-            final Method m = request.getMethod("setMaxResults", Long.class);
-            SET_MAX_RESULTS.put(requestClassName, m);
+            setMaxResults = MethodAccessors.setter(request.getMethod("setMaxResults", Long.class));
         } catch (NoSuchMethodException e) {
             LOG.trace("Unable to find 'setMaxResults(Long)' on {}", requestClassName);
-            SET_MAX_RESULTS.put(requestClassName, null);
         }
 
         try {
-            final Method m = request.getMethod("setPageToken", String.class);
-            SET_PAGE_TOKEN.put(requestClassName, m);
+            setPageToken = MethodAccessors.setter(request.getMethod("setPageToken", String.class));
         } catch (NoSuchMethodException e) {
             LOG.trace("Unable to find 'setPageToken(String)' on {}", requestClassName);
-            SET_PAGE_TOKEN.put(requestClassName, null);
         }
 
-        // we can use requestClassName since it's unique
         try {
-            final Method m = target.getMethod("setParentEtag", String.class);
-            SET_PARENT_ETAG.put(requestClassName, m);
+            setParentEtag = MethodAccessors.setter(target.getMethod("setParentEtag", String.class));
         } catch (NoSuchMethodException e) {
             LOG.info("Unable to find 'setParentEtag(String)' on {}", target.getName());
-            SET_PARENT_ETAG.put(requestClassName, null);
         }
+
+        accessors.put(request, new Accessors(getHl, setHl, setMaxResults, setPageToken, setParentEtag));
     }
 
     @Override
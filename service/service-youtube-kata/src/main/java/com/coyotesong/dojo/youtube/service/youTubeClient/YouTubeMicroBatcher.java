@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service.youTubeClient;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Combines concurrent single-id lookups into a single 'list' call.
+ * <p>
+ * YouTube charges the same quota for a request with one id as for a request with
+ * {@link YouTubeMultiGet#MAX_IDS_PER_REQUEST} ids. The first caller in a batch waits
+ * up to 'window' for other callers to add their ids (or until the batch is full) and
+ * then retrieves the entire batch. Each caller gets its own item, or null if YouTube
+ * didn't return it.
+ * </p>
+ * <p>
+ * The cache is checked for each id before it's added to a batch, so a cache hit
+ * doesn't wait for the window. This relies on the client caching each item of a
+ * batch under its own single-id request since the batch's cache key depends on which
+ * ids were grouped together.
+ * </p>
+ * <p>
+ * A window of zero disables batching.
+ * </p>
+ */
+@Component
+public class YouTubeMicroBatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeMicroBatcher.class);
+
+    /**
+     * Retrieves a batch of ids
+     *
+     * @param <R> domain class
+     */
+    @FunctionalInterface
+    public interface BatchLoader<R> {
+        @NotNull
+        List<R> load(@NotNull @Unmodifiable List<String> ids) throws IOException;
+    }
+
+    /**
+     * Retrieves a single id from the cache, without calling YouTube
+     *
+     * @param <R> domain class
+     */
+    @FunctionalInterface
+    public interface CacheLoader<R> {
+        /**
+         * @param id item id
+         * @return cached items - empty if YouTube didn't return the item - or null if it isn't cached
+         */
+        @Nullable
+        List<R> load(@NotNull String id) throws IOException;
+    }
+
+    private final Duration window;
+
+    public YouTubeMicroBatcher(@Value("${youtube.client.batch.window:5ms}") Duration window) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("'window' must not be negative");
+        }
+        this.window = window;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Create a new batched lookup
+     *
+     * @param idOf   id of an item returned by the loader
+     * @param loader retrieves a batch of ids
+     * @param <R>    domain class
+     * @return new lookup
+     */
+    @NotNull
+    public <R> Lookup<R> newLookup(@NotNull Function<R, String> idOf, @NotNull BatchLoader<R> loader) {
+        return newLookup(idOf, id -> null, loader);
+    }
+
+    /**
+     * Create a new batched lookup that checks the cache first
+     *
+     * @param idOf   id of an item returned by the loader
+     * @param cached retrieves a single id from the cache
+     * @param loader retrieves a batch of ids
+     * @param <R>    domain class
+     * @return new lookup
+     */
+    @NotNull
+    public <R> Lookup<R> newLookup(@NotNull Function<R, String> idOf, @NotNull CacheLoader<R> cached,
+                                   @NotNull BatchLoader<R> loader) {
+        return new Lookup<>(window, idOf, cached, loader);
+    }
+
+    /**
+     * Single-id lookup for one resource type
+     *
+     * @param <R> domain class
+     */
+    public static class Lookup<R> {
+        private final long windowNanos;
+        private final Function<R, String> idOf;
+        private final CacheLoader<R> cached;
+        private final BatchLoader<R> loader;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition closed = lock.newCondition();
+
+        // batch still accepting ids, if any
+        private Map<String, CompletableFuture<R>> open;
+
+        Lookup(@NotNull Duration window, @NotNull Function<R, String> idOf, @NotNull CacheLoader<R> cached,
+               @NotNull BatchLoader<R> loader) {
+            this.windowNanos = window.toNanos();
+            this.idOf = idOf;
+            this.cached = cached;
+            this.loader = loader;
+        }
+
+        /**
+         * Retrieve a single item
+         *
+         * @param id item id
+         * @return requested item, if available
+         * @throws IOException error occurred during REST call
+         */
+        @Nullable
+        public R get(@NotNull String id) throws IOException {
+            if (windowNanos == 0) {
+                // the single-id request goes through the cache anyway
+                final List<R> items = loader.load(List.of(id));
+                return items.isEmpty() ? null : items.get(0);
+            }
+
+            final List<R> hit = cached.load(id);
+            if (hit != null) {
+                return hit.isEmpty() ? null : hit.get(0);
+            }
+
+            final Map<String, CompletableFuture<R>> batch;
+            final CompletableFuture<R> future;
+            final boolean leader;
+
+            lock.lock();
+            try {
+                leader = (open == null);
+                if (leader) {
+                    open = new LinkedHashMap<>();
+                }
+                batch = open;
+                future = batch.computeIfAbsent(id, ignored -> new CompletableFuture<>());
+                if (batch.size() >= YouTubeMultiGet.MAX_IDS_PER_REQUEST) {
+                    open = null;
+                    closed.signalAll();
+                }
+
+                if (leader) {
+                    awaitBatch(batch);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (leader) {
+                load(batch);
+            }
+
+            return await(future);
+        }
+
+        /**
+         * Wait until the batch is full or the window has passed. The caller must hold the lock.
+         */
+        private void awaitBatch(@NotNull Map<String, CompletableFuture<R>> batch) {
+            try {
+                long remaining = windowNanos;
+                while ((open == batch) && (remaining > 0)) {
+                    remaining = closed.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                // stop waiting but still retrieve the batch - other callers are waiting for it
+                Thread.currentThread().interrupt();
+            }
+            if (open == batch) {
+                open = null;
+            }
+        }
+
+        /**
+         * Retrieve the batch and complete every caller's future
+         */
+        private void load(@NotNull Map<String, CompletableFuture<R>> batch) {
+            LOG.trace("load(): {} id(s)", batch.size());
+            try {
+                final List<R> items = loader.load(List.copyOf(batch.keySet()));
+                for (R item : items) {
+                    final CompletableFuture<R> f = batch.get(idOf.apply(item));
+                    if (f != null) {
+                        f.complete(item);
+                    }
+                }
+                // not returned by YouTube
+                batch.values().forEach(f -> f.complete(null));
+            } catch (IOException | RuntimeException | Error e) {
+                batch.values().forEach(f -> f.completeExceptionally(e));
+            }
+        }
+
+        /**
+         * Wait for our item and rethrow the batch's failure as if it had been called directly
+         */
+        @Nullable
+        private static <R> R await(@NotNull CompletableFuture<R> future) throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for YouTube results");
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException ioe) {
+                    throw ioe;
+                } else if (cause instanceof RuntimeException re) {
+                    throw re;
+                } else if (cause instanceof Error err) {
+                    throw err;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service.youTubeClient;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Retrieves resources by id when the caller has more ids than YouTube accepts in a single call.
+ * <p>
+ * The ids are split into chunks of at most {@link #MAX_IDS_PER_REQUEST} and each chunk is
+ * retrieved on its own virtual thread. No more than 'parallelism' chunks are in flight at
+ * any time for a single call. The results are merged in the order of the chunks so the
+ * caller sees the same ordering as the sequential loop this replaces.
+ * </p>
+ * <p>
+ * The first failure is rethrown as soon as it happens. Chunks that haven't started
+ * are cancelled and in-flight chunks are interrupted so no more quota is spent.
+ * </p>
+ */
+@Component
+public class YouTubeMultiGet {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeMultiGet.class);
+
+    /**
+     * Maximum number of ids accepted by the 'list' methods
+     */
+    public static final int MAX_IDS_PER_REQUEST = 50;
+
+    /**
+     * Creates a client for a single chunk of ids
+     *
+     * @param <R> domain class
+     */
+    @FunctionalInterface
+    public interface ClientFactory<R> {
+        @NotNull
+        YouTubeClient<R, ?, ?, ?> newClient(@NotNull @Unmodifiable List<String> ids) throws IOException;
+    }
+
+    private final int parallelism;
+
+    public YouTubeMultiGet(@Value("${youtube.client.multiget.parallelism:4}") int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("'parallelism' must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Retrieve all resources for the specified ids
+     *
+     * @param ids     ids to load
+     * @param factory creates the client for each chunk
+     * @param <R>     domain class
+     * @return requested resources (when available), in chunk order
+     * @throws IOException error occurred during REST call
+     */
+    @NotNull
+    public <R> List<R> getAll(@NotNull @Unmodifiable List<String> ids, @NotNull ClientFactory<R> factory) throws IOException {
+        final List<List<String>> chunks = new ArrayList<>();
+        for (int offset = 0; offset < ids.size(); offset += MAX_IDS_PER_REQUEST) {
+            chunks.add(List.copyOf(ids.subList(offset, Math.min(offset + MAX_IDS_PER_REQUEST, ids.size()))));
+        }
+
+        // no point in handing a single call to another thread
+        if (chunks.size() == 1) {
+            return getChunk(chunks.get(0), factory);
+        }
+
+        LOG.trace("getAll(): {} id(s) in {} chunk(s)", ids.size(), chunks.size());
+
+        final Semaphore permits = new Semaphore(parallelism);
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<Future<List<R>>> futures = new ArrayList<>(chunks.size());
+
+        // close() waits for every task so the remaining chunks must be cancelled before it's called
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final CompletionService<List<R>> completed = new ExecutorCompletionService<>(executor);
+            for (List<String> chunk : chunks) {
+                futures.add(completed.submit(() -> {
+                    permits.acquire();
+                    try {
+                        // the failure is recorded before the permit is released so no
+                        // chunk waiting for it will spend any more quota. The result is
+                        // discarded since the failure will be rethrown.
+                        if (failed.get()) {
+                            return List.<R>of();
+                        }
+                        return getChunk(chunk, factory);
+                    } catch (Exception | Error e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            try {
+                // wait in completion order so a failure is seen as soon as it happens
+                for (int i = 0; i < futures.size(); i++) {
+                    await(take(completed));
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                failed.set(true);
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+        }
+
+        final List<R> results = new ArrayList<>();
+        for (Future<List<R>> future : futures) {
+            results.addAll(future.resultNow());
+        }
+        return results;
+    }
+
+    @NotNull
+    private static <R> List<R> getChunk(@NotNull List<String> chunk, @NotNull ClientFactory<R> factory) throws IOException {
+        final List<R> results = new ArrayList<>();
+        final YouTubeClient<R, ?, ?, ?> client = factory.newClient(chunk);
+        while (client.hasNext()) {
+            results.addAll(client.next());
+        }
+        return results;
+    }
+
+    @NotNull
+    private static <R> Future<List<R>> take(@NotNull CompletionService<List<R>> completed) throws IOException {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for YouTube results", e);
+        }
+    }
+
+    /**
+     * Wait for a chunk and rethrow its failure as if it had been called directly
+     */
+    @NotNull
+    private static <R> List<R> await(@NotNull Future<List<R>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for YouTube results", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException ioe) {
+                throw ioe;
+            } else if (cause instanceof RuntimeException re) {
+                throw re;
+            } else if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
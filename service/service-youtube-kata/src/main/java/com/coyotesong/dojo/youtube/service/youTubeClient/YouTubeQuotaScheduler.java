@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service.youTubeClient;
+
+import com.coyotesong.dojo.youtube.service.YouTubeQuotaExceededException;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.services.youtube.YouTube;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Map.entry;
+
+/**
+ * Central scheduler for the YouTube Data API quota.
+ * <p>
+ * Every request that reaches YouTube is charged its unit cost against a daily
+ * budget. The budget behaves like a token bucket that's refilled once a day at
+ * midnight Pacific time - that's when YouTube resets its own counter. Requests
+ * that can't be admitted wait for the reset if it's within 'youtube.quota.maxWait',
+ * otherwise they fail immediately with YouTubeQuotaExceededException.
+ * </p>
+ * <p>
+ * Responses served from the cache are free so the scheduler is only consulted
+ * on a cache miss.
+ * </p>
+ * <p>
+ * See https://developers.google.com/youtube/v3/determine_quota_cost
+ * </p>
+ */
+@Component
+public class YouTubeQuotaScheduler {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeQuotaScheduler.class);
+
+    public static final ZoneId RESET_ZONE = ZoneId.of("America/Los_Angeles");
+
+    private static final int DEFAULT_COST = 1;
+
+    /**
+     * Unit cost of each request. Everything else we use costs a single unit.
+     */
+    private static final Map<Class<?>, Integer> COSTS = Map.ofEntries(
+            entry(YouTube.Search.List.class, 100),
+            entry(YouTube.Captions.List.class, 50)
+    );
+
+    private final long dailyLimit;
+    private final Duration maxWait;
+    private final Clock clock;
+
+    // fair lock so queued requests are admitted in order
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition refilled = lock.newCondition();
+
+    private long remaining;
+    private Instant periodStart;
+    private Instant resetAt;
+    private int queued;
+
+    /**
+     * Snapshot of the current budget.
+     *
+     * @param dailyLimit         units available per day
+     * @param used               units used since the last reset
+     * @param remaining          units still available
+     * @param resetAt            time of the next reset
+     * @param forecastExhaustion time the budget runs out at the current rate, or null if it lasts until the reset
+     * @param queued             number of requests waiting for the reset
+     */
+    public record Status(long dailyLimit, long used, long remaining, @NotNull Instant resetAt,
+                         @Nullable Instant forecastExhaustion, int queued) {
+    }
+
+    @Autowired
+    public YouTubeQuotaScheduler(@Value("${youtube.quota.dailyLimit:10000}") long dailyLimit,
+                                 @Value("${youtube.quota.maxWait:PT0S}") Duration maxWait) {
+        this(dailyLimit, maxWait, Clock.systemUTC());
+    }
+
+    YouTubeQuotaScheduler(long dailyLimit, @NotNull Duration maxWait, @NotNull Clock clock) {
+        if (dailyLimit <= 0) {
+            throw new IllegalArgumentException("'dailyLimit' must be positive");
+        }
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("'maxWait' must not be negative");
+        }
+        this.dailyLimit = dailyLimit;
+        this.maxWait = maxWait;
+        this.clock = clock;
+        refill(clock.instant());
+    }
+
+    /**
+     * Determine the unit cost of a request
+     *
+     * @param requestClass request class, e.g., YouTube.Search.List
+     * @return unit cost
+     */
+    public static int costOf(@NotNull Class<?> requestClass) {
+        return COSTS.getOrDefault(requestClass, DEFAULT_COST);
+    }
+
+    /**
+     * Admit a request, waiting for the daily reset if necessary.
+     *
+     * @param request request about to be sent to YouTube
+     * @throws YouTubeQuotaExceededException the budget is exhausted and won't be reset in time
+     * @throws InterruptedIOException        the thread was interrupted while waiting
+     */
+    public void acquire(@NotNull Object request) throws InterruptedIOException {
+        acquire(costOf(request.getClass()));
+    }
+
+    /**
+     * Admit a request with a known cost, waiting for the daily reset if necessary.
+     *
+     * @param units unit cost
+     * @throws YouTubeQuotaExceededException the budget is exhausted and won't be reset in time
+     * @throws InterruptedIOException        the thread was interrupted while waiting
+     */
+    public void acquire(int units) throws InterruptedIOException {
+        if (units <= 0) {
+            throw new IllegalArgumentException("'units' must be positive");
+        }
+
+        final Instant deadline = clock.instant().plus(maxWait);
+        lock.lock();
+        try {
+            queued++;
+            refreshIfExpired();
+            while (remaining < units) {
+                if (resetAt.isAfter(deadline)) {
+                    LOG.info("quota exhausted: {} units required, {} remaining until {}", units, remaining, resetAt);
+                    throw new YouTubeQuotaExceededException(quotaExceeded());
+                }
+                refilled.await(Math.max(1L, Duration.between(clock.instant(), resetAt).toMillis()), TimeUnit.MILLISECONDS);
+                refreshIfExpired();
+            }
+            remaining -= units;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for quota");
+        } finally {
+            queued--;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record that YouTube reported the quota exhausted. This happens when the
+     * quota is shared with other applications or we've been restarted.
+     */
+    public void exhausted() {
+        lock.lock();
+        try {
+            refreshIfExpired();
+            remaining = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the current budget.
+     *
+     * @return current status
+     */
+    @NotNull
+    public Status getStatus() {
+        lock.lock();
+        try {
+            refreshIfExpired();
+            final Instant now = clock.instant();
+            final long used = dailyLimit - remaining;
+
+            Instant forecast = null;
+            if (remaining == 0) {
+                forecast = now;
+            } else if (used > 0) {
+                // assume the rate we've seen since the last reset continues
+                final long elapsed = Math.max(1L, Duration.between(periodStart, now).toMillis());
+                final Instant exhaustion = now.plusMillis((long) ((double) remaining * elapsed / used));
+                if (exhaustion.isBefore(resetAt)) {
+                    forecast = exhaustion;
+                }
+            }
+
+            return new Status(dailyLimit, used, remaining, resetAt, forecast, queued);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Refill the bucket if we've passed the reset time. The caller must hold the lock.
+     */
+    private void refreshIfExpired() {
+        final Instant now = clock.instant();
+        if (!now.isBefore(resetAt)) {
+            refill(now);
+            refilled.signalAll();
+        }
+    }
+
+    private void refill(@NotNull Instant now) {
+        this.remaining = dailyLimit;
+        this.periodStart = now;
+        this.resetAt = LocalDate.ofInstant(now, RESET_ZONE).plusDays(1).atStartOfDay(RESET_ZONE).toInstant();
+        LOG.debug("quota budget of {} units available until {}", dailyLimit, resetAt);
+    }
+
+    /**
+     * Create the same error YouTube returns when the quota has been exceeded.
+     */
+    @NotNull
+    private static GoogleJsonError quotaExceeded() {
+        final GoogleJsonError.ErrorInfo info = new GoogleJsonError.ErrorInfo();
+        info.setDomain("youtube.quota");
+        info.setReason("quotaExceeded");
+        info.setMessage("The request cannot be completed because you have exceeded your quota.");
+
+        final GoogleJsonError error = new GoogleJsonError();
+        error.setCode(403);
+        error.setMessage(info.getMessage());
+        error.setErrors(List.of(info));
+        return error;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.config;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.youtube.YouTube;
+import com.google.api.services.youtube.YouTubeRequestInitializer;
+import com.google.api.services.youtube.model.PlaylistItemListResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test JavaNetHttpClientTransport against a local HTTP server
+ */
+public class JavaNetHttpClientTransportTest {
+    private static final String PAGE = """
+            { "kind": "youtube#playlistItemListResponse", "etag": "etag-1",
+              "items": [ { "kind": "youtube#playlistItem", "etag": "e1", "id": "item-1" } ] }""";
+
+    private final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+    private HttpServer server;
+    private JavaNetHttpClientTransport transport;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        transport = new JavaNetHttpClientTransport(Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    public void teardown() {
+        transport.shutdown();
+        server.stop(0);
+    }
+
+    void handle(@NotNull HttpExchange exchange) throws IOException {
+        acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+        if (exchange.getRequestURI().getQuery().contains("playlistId=slow")) {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+        if (exchange.getRequestURI().getQuery().contains("playlistId=missing")) {
+            final byte[] body = "{\"error\":{\"code\":404,\"message\":\"playlistNotFound\",\"errors\":[{\"domain\":\"youtube.playlistItem\",\"reason\":\"playlistNotFound\"}]}}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(404, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+            return;
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(bytes)) {
+            gz.write(PAGE.getBytes(StandardCharsets.UTF_8));
+        }
+        exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        exchange.sendResponseHeaders(200, bytes.size());
+        try (OutputStream os = exchange.getResponseBody()) {
+            bytes.writeTo(os);
+        }
+    }
+
+    @NotNull
+    YouTube youTube() {
+        return youTube(null);
+    }
+
+    @NotNull
+    YouTube youTube(@Nullable HttpRequestInitializer initializer) {
+        final YouTube.Builder builder = new YouTube.Builder(transport, new GsonFactory(), initializer);
+        builder.setGoogleClientRequestInitializer(new YouTubeRequestInitializer("key"));
+        builder.setApplicationName("appName");
+        builder.setRootUrl("http://localhost:" + server.getAddress().getPort() + "/");
+        return builder.build();
+    }
+
+    @Test
+    public void Given_GzipResponse_When_Execute_Then_ResponseDecoded() throws IOException {
+        final PlaylistItemListResponse response = youTube().playlistItems().list(List.of("id")).setPlaylistId("playlist").execute();
+
+        assertThat(response.getEtag(), equalTo("etag-1"));
+        assertThat(response.getItems().get(0).getId(), equalTo("item-1"));
+        assertThat(acceptEncoding.get(), equalTo("gzip"));
+    }
+
+    @Test
+    public void Given_ErrorResponse_When_Execute_Then_GoogleJsonResponseException() {
+        final GoogleJsonResponseException e = assertThrows(GoogleJsonResponseException.class,
+                () -> youTube().playlistItems().list(List.of("id")).setPlaylistId("missing").execute());
+
+        assertThat(e.getStatusCode(), equalTo(404));
+        assertThat(e.getDetails().getErrors().get(0).getReason(), equalTo("playlistNotFound"));
+    }
+
+    @Test
+    public void Given_ReadTimeout_When_SlowResponse_Then_HttpTimeoutException() {
+        final YouTubeTimeoutInitializer timeouts = new YouTubeTimeoutInitializer(Duration.ofSeconds(2), Duration.ofMillis(200), null);
+
+        assertThrows(HttpTimeoutException.class,
+                () -> youTube(timeouts).playlistItems().list(List.of("id")).setPlaylistId("slow").execute());
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.coyotesong.dojo.youtube.config;
+
+import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
+import com.coyotesong.dojo.youtube.service.YouTubeApiCacheService;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeQuotaScheduler;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.Json;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.youtube.YouTube;
+import com.google.api.services.youtube.YouTubeRequestInitializer;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * YouTube client backed by a MockHttpTransport and an in-memory cache.
+ * <p>
+ * This lets us exercise the full client without network access or quota. The
+ * 'responder' receives the request URL and returns the response body.
+ * </p>
+ */
+public class MockYouTube {
+    private final BiFunction<String, MockLowLevelHttpRequest, MockLowLevelHttpResponse> responder;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger updateCount = new AtomicInteger();
+    private final List<YouTubeApiCacheEntry> entries = new ArrayList<>();
+
+    public MockYouTube(@NotNull Function<String, MockLowLevelHttpResponse> responder) {
+        this((url, request) -> responder.apply(url));
+    }
+
+    /**
+     * Constructor for responders that need to see the request headers.
+     *
+     * @param responder receives the request URL and request
+     */
+    public MockYouTube(@NotNull BiFunction<String, MockLowLevelHttpRequest, MockLowLevelHttpResponse> responder) {
+        this.responder = responder;
+    }
+
+    /**
+     * Successful JSON response
+     *
+     * @param json response body
+     * @return response
+     */
+    @NotNull
+    public static MockLowLevelHttpResponse ok(@NotNull String json) {
+        final MockLowLevelHttpResponse response = new MockLowLevelHttpResponse();
+        response.setStatusCode(200);
+        response.setContentType(Json.MEDIA_TYPE);
+        response.setContent(json);
+        return response;
+    }
+
+    /**
+     * '304 Not Modified' response
+     *
+     * @return response
+     */
+    @NotNull
+    public static MockLowLevelHttpResponse notModified() {
+        final MockLowLevelHttpResponse response = new MockLowLevelHttpResponse();
+        response.setStatusCode(304);
+        return response;
+    }
+
+    /**
+     * Error response
+     *
+     * @param code   HTTP status code
+     * @param domain error domain, e.g., 'youtube.quota'
+     * @param reason error reason, e.g., 'quotaExceeded'
+     * @return response
+     */
+    @NotNull
+    public static MockLowLevelHttpResponse error(int code, @NotNull String domain, @NotNull String reason) {
+        final MockLowLevelHttpResponse response = new MockLowLevelHttpResponse();
+        response.setStatusCode(code);
+        response.setContentType(Json.MEDIA_TYPE);
+        response.setContent(String.format("{\"error\":{\"code\":%d,\"message\":\"%s\",\"errors\":[{\"domain\":\"%s\",\"reason\":\"%s\"}]}}",
+                code, reason, domain, reason));
+        return response;
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Number of in-place updates, i.e., writes that didn't go through insert()
+     *
+     * @return number of updates
+     */
+    public int getUpdateCount() {
+        return updateCount.get();
+    }
+
+    public List<YouTubeApiCacheEntry> getEntries() {
+        return entries;
+    }
+
+    @NotNull
+    public HttpTransport transport() {
+        return new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                return new MockLowLevelHttpRequest(url) {
+                    @Override
+                    public LowLevelHttpResponse execute() {
+                        requestCount.incrementAndGet();
+                        return responder.apply(url, this);
+                    }
+                };
+            }
+        };
+    }
+
+    @NotNull
+    public YouTube.Builder builder() {
+        final YouTube.Builder builder = new YouTube.Builder(transport(), new GsonFactory(), null);
+        builder.setGoogleClientRequestInitializer(new YouTubeRequestInitializer("key"));
+        builder.setApplicationName("appName");
+        return builder;
+    }
+
+    @NotNull
+    public YouTube youTube() {
+        return builder().build();
+    }
+
+    /**
+     * Quota scheduler with the default daily budget that never waits.
+     */
+    @NotNull
+    public YouTubeQuotaScheduler quota() {
+        return new YouTubeQuotaScheduler(10_000L, Duration.ZERO);
+    }
+
+    /**
+     * Cache backed by an in-memory repository that never has a hit.
+     */
+    @NotNull
+    public YouTubeApiCacheService cache() {
+        return new YouTubeApiCacheService(repository(false));
+    }
+
+    /**
+     * Cache backed by an in-memory repository that returns stored entries.
+     *
+     * @param refreshAfter age at which entries are revalidated
+     */
+    @NotNull
+    public YouTubeApiCacheService cache(@NotNull Duration refreshAfter) {
+        return new YouTubeApiCacheService(repository(true), refreshAfter);
+    }
+
+    /**
+     * In-memory repository
+     *
+     * @param hits true if stored entries are returned by findOptionalByRequestJson()
+     */
+    @NotNull
+    public YouTubeApiCacheRepository repository(boolean hits) {
+        return new YouTubeApiCacheRepository() {
+            @Override
+            public List<YouTubeApiCacheEntry> findAll() {
+                synchronized (entries) {
+                    return new ArrayList<>(entries);
+                }
+            }
+
+            @Override
+            public Optional<YouTubeApiCacheEntry> findOptionalByRequestJson(String requestJson) {
+                if (!hits) {
+                    return Optional.empty();
+                }
+                synchronized (entries) {
+                    return entries.stream().filter(e -> requestJson.equals(e.getRequestJson())).findFirst();
+                }
+            }
+
+            @Override
+            public void insert(YouTubeApiCacheEntry entry) {
+                synchronized (entries) {
+                    // like the database, this replaces the entry for the same request and keeps its key
+                    final Integer key = entries.stream()
+                            .filter(e -> Objects.equals(entry.getRequestJson(), e.getRequestJson()))
+                            .map(YouTubeApiCacheEntry::getKey)
+                            .findFirst()
+                            .orElse(entries.size() + 1);
+                    entries.removeIf(e -> Objects.equals(entry.getRequestJson(), e.getRequestJson()));
+                    entry.setKey(key);
+                    entries.add(entry);
+                }
+            }
+
+            @Override
+            public void insert(Collection<YouTubeApiCacheEntry> entries) {
+                entries.forEach(this::insert);
+            }
+
+            @Override
+            public void update(YouTubeApiCacheEntry entry) {
+                updateCount.incrementAndGet();
+                synchronized (entries) {
+                    entries.replaceAll(e -> entry.getKey().equals(e.getKey()) ? entry : e);
+                }
+            }
+
+            @Override
+            public void updateLastUpdated(Integer key, Instant lastUpdated) {
+                updateCount.incrementAndGet();
+                synchronized (entries) {
+                    entries.stream().filter(e -> key.equals(e.getKey())).forEach(e -> e.setLastUpdated(lastUpdated));
+                }
+            }
+        };
+    }
+}
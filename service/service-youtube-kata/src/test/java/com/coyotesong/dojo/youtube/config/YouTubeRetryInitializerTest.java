@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.coyotesong.dojo.youtube.config;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.http.json.JsonHttpContent;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test YouTubeRetryInitializer retries and circuit breakers
+ */
+public class YouTubeRetryInitializerTest {
+    private static final GenericUrl VIDEOS = new GenericUrl("https://youtube.googleapis.com/youtube/v3/videos?id=video-1");
+    private static final String QUOTA_EXCEEDED = "{\"error\":{\"code\":403,\"message\":\"quota\",\"errors\":[{\"domain\":\"youtube.quota\",\"reason\":\"quotaExceeded\"}]}}";
+
+    private final List<Long> sleeps = new ArrayList<>();
+    private final MutableClock clock = new MutableClock();
+
+    /**
+     * Clock that only moves when told to.
+     */
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-06-01T12:00:00Z");
+
+        void advance(@NotNull Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    /**
+     * Transport that returns the queued responses, then '200 OK'. A null response is a connection reset.
+     */
+    static class QueuedTransport extends MockHttpTransport {
+        final Deque<MockLowLevelHttpResponse> responses = new ArrayDeque<>();
+        int requestCount;
+
+        QueuedTransport then(int statusCode) {
+            responses.add(new MockLowLevelHttpResponse().setStatusCode(statusCode).setContent("{}"));
+            return this;
+        }
+
+        QueuedTransport then(@NotNull MockLowLevelHttpResponse response) {
+            responses.add(response);
+            return this;
+        }
+
+        @Override
+        public LowLevelHttpRequest buildRequest(String method, String url) {
+            return new MockLowLevelHttpRequest(url) {
+                @Override
+                public LowLevelHttpResponse execute() throws IOException {
+                    requestCount++;
+                    final MockLowLevelHttpResponse response = responses.poll();
+                    if ((response != null) && (response.getStatusCode() == 0)) {
+                        throw new SocketException("Connection reset");
+                    }
+                    return (response != null) ? response : new MockLowLevelHttpResponse().setContent("{}");
+                }
+            };
+        }
+    }
+
+    @NotNull
+    YouTubeRetryInitializer newInitializer(int failureThreshold) {
+        return new YouTubeRetryInitializer(4, Duration.ofMillis(100), Duration.ofSeconds(10),
+                failureThreshold, Duration.ofSeconds(30), sleeps::add, clock);
+    }
+
+    @NotNull
+    static HttpResponse get(@NotNull QueuedTransport transport, @NotNull YouTubeRetryInitializer retry) throws IOException {
+        final HttpRequestFactory factory = transport.createRequestFactory(retry);
+        return factory.buildGetRequest(VIDEOS).execute();
+    }
+
+    @Test
+    public void Given_TransientServerError_When_Get_Then_Retried() throws IOException {
+        final QueuedTransport transport = new QueuedTransport().then(503).then(new MockLowLevelHttpResponse().setStatusCode(0));
+
+        assertThat(get(transport, newInitializer(5)).getStatusCode(), equalTo(200));
+
+        assertThat(transport.requestCount, equalTo(3));
+        assertThat(sleeps.size(), equalTo(2));
+        assertThat(sleeps.get(0), lessThanOrEqualTo(100L));
+        assertThat(sleeps.get(1), lessThanOrEqualTo(200L));
+    }
+
+    @Test
+    public void Given_RetryAfter_When_Get_Then_RetryAfterHonored() throws IOException {
+        final QueuedTransport transport = new QueuedTransport()
+                .then(new MockLowLevelHttpResponse().setStatusCode(429).addHeader("Retry-After", "2").setContent("{}"));
+
+        assertThat(get(transport, newInitializer(5)).getStatusCode(), equalTo(200));
+
+        assertThat(sleeps, contains(2000L));
+    }
+
+    @Test
+    public void Given_RetryAfterTooLong_When_Get_Then_NotRetried() {
+        final QueuedTransport transport = new QueuedTransport()
+                .then(new MockLowLevelHttpResponse().setStatusCode(503).addHeader("Retry-After", "3600").setContent("{}"));
+
+        assertThrows(HttpResponseException.class, () -> get(transport, newInitializer(5)));
+
+        assertThat(transport.requestCount, equalTo(1));
+        assertThat(sleeps, empty());
+    }
+
+    @Test
+    public void Given_QuotaExceeded_When_Get_Then_NotRetried() {
+        final QueuedTransport transport = new QueuedTransport()
+                .then(new MockLowLevelHttpResponse().setStatusCode(403).setContent(QUOTA_EXCEEDED));
+
+        final HttpResponseException e = assertThrows(HttpResponseException.class, () -> get(transport, newInitializer(5)));
+
+        assertThat(e.getStatusCode(), equalTo(403));
+        assertThat(transport.requestCount, equalTo(1));
+        assertThat(sleeps, empty());
+    }
+
+    @Test
+    public void Given_ServerError_When_Post_Then_NotRetried() {
+        final QueuedTransport transport = new QueuedTransport().then(503);
+        final HttpRequestFactory factory = transport.createRequestFactory(newInitializer(5));
+
+        assertThrows(HttpResponseException.class, () ->
+                factory.buildPostRequest(VIDEOS, new JsonHttpContent(new GsonFactory(), new GenericJson())).execute());
+
+        assertThat(transport.requestCount, equalTo(1));
+    }
+
+    @Test
+    public void Given_RepeatedFailures_When_Get_Then_CircuitOpensAndCloses() throws IOException {
+        final YouTubeRetryInitializer retry = newInitializer(4);
+        final QueuedTransport transport = new QueuedTransport().then(500).then(500).then(500).then(500);
+
+        // all four attempts fail and the last one opens the circuit
+        assertThrows(HttpResponseException.class, () -> get(transport, retry));
+        assertThat(retry.isOpen(VIDEOS.getRawPath()), equalTo(true));
+
+        // fail fast
+        assertThrows(YouTubeRetryInitializer.CircuitOpenException.class, () -> get(transport, retry));
+        assertThat(transport.requestCount, equalTo(4));
+
+        // other endpoints aren't affected
+        transport.createRequestFactory(retry).buildGetRequest(new GenericUrl("https://youtube.googleapis.com/youtube/v3/channels")).execute();
+        assertThat(transport.requestCount, equalTo(5));
+
+        // trial request succeeds and closes the circuit
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(get(transport, retry).getStatusCode(), equalTo(200));
+        assertThat(retry.isOpen(VIDEOS.getRawPath()), equalTo(false));
+        assertThat(sleeps, everyItem(lessThanOrEqualTo(400L)));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.config.MockYouTube;
+import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test YouTubeApiCacheCompressor
+ */
+public class YouTubeApiCacheCompressorTest {
+
+    /**
+     * Repository with a number of uncompressed entries
+     */
+    static class UncompressedRepository implements YouTubeApiCacheRepository {
+        final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+        int remaining;
+
+        UncompressedRepository(int remaining) {
+            this.remaining = remaining;
+        }
+
+        @Override
+        public synchronized int compressContent(int batchSize) {
+            final int count = Math.min(batchSize, remaining);
+            remaining -= count;
+            batches.add(count);
+            return count;
+        }
+
+        @Override
+        public List<YouTubeApiCacheEntry> findAll() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Optional<YouTubeApiCacheEntry> findOptionalByRequestJson(String requestJson) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void insert(YouTubeApiCacheEntry entry) {
+        }
+
+        @Override
+        public void insert(Collection<YouTubeApiCacheEntry> entries) {
+        }
+
+        @Override
+        public void update(YouTubeApiCacheEntry entry) {
+        }
+
+        @Override
+        public void updateLastUpdated(Integer key, Instant lastUpdated) {
+        }
+    }
+
+    @Test
+    public void Given_UncompressedEntries_When_Compress_Then_BatchesUntilNoneLeft() {
+        final UncompressedRepository repository = new UncompressedRepository(1200);
+        final YouTubeApiCacheCompressor compressor = new YouTubeApiCacheCompressor(repository, 500);
+
+        final YouTubeApiCacheCompressor.Result result = compressor.compress();
+
+        assertThat(result.entries(), equalTo(1200));
+        assertThat(repository.batches, contains(500, 500, 200, 0));
+    }
+
+    @Test
+    public void Given_RepositoryWithoutCompression_When_Compress_Then_NothingCompressed() {
+        final YouTubeApiCacheRepository repository = new MockYouTube(url -> MockYouTube.ok("{}")).repository(false);
+        final YouTubeApiCacheCompressor compressor = new YouTubeApiCacheCompressor(repository, 500);
+
+        assertThat(compressor.compress().entries(), equalTo(0));
+    }
+
+    @Test
+    public void Given_ZeroBatchSize_When_Started_Then_MigrationDisabled() {
+        final UncompressedRepository repository = new UncompressedRepository(10);
+        final YouTubeApiCacheCompressor compressor = new YouTubeApiCacheCompressor(repository, 0);
+
+        compressor.afterPropertiesSet();
+
+        assertThat(repository.batches, empty());
+    }
+
+    @Test
+    public void Given_Closed_When_Compress_Then_Stops() {
+        final UncompressedRepository repository = new UncompressedRepository(1200);
+        final YouTubeApiCacheCompressor compressor = new YouTubeApiCacheCompressor(repository, 500);
+
+        compressor.close();
+
+        assertThat(compressor.compress().entries(), equalTo(0));
+        assertThat(repository.batches, empty());
+    }
+}
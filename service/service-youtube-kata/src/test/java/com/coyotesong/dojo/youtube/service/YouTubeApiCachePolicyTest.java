@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test YouTubeApiCachePolicy
+ */
+public class YouTubeApiCachePolicyTest {
+
+    private static YouTubeApiCacheEntry entry(String kind, Instant lastUpdated) {
+        final YouTubeApiCacheEntry entry = new YouTubeApiCacheEntry();
+        entry.setKind(kind);
+        entry.setLastUpdated(lastUpdated);
+        return entry;
+    }
+
+    @Test
+    public void Given_DefaultPolicy_When_GetTtl_Then_TtlDependsOnKind() {
+        final YouTubeApiCachePolicy policy = new YouTubeApiCachePolicy(Duration.ofDays(1), "", Duration.ofHours(1));
+
+        assertThat(policy.getTtl("youtube#i18nLanguageListResponse"), equalTo(Duration.ofDays(14)));
+        assertThat(policy.getTtl("youtube#channelListResponse"), equalTo(Duration.ofHours(6)));
+        assertThat(policy.getTtl("youtube#searchListResponse"), equalTo(Duration.ofMinutes(15)));
+        assertThat(policy.getTtl("youtube#videoListResponse"), equalTo(Duration.ofDays(1)));
+        assertThat(policy.getTtl(null), equalTo(Duration.ofDays(1)));
+    }
+
+    @Test
+    public void Given_Overrides_When_GetTtl_Then_OverridesWin() {
+        final YouTubeApiCachePolicy policy = new YouTubeApiCachePolicy(Duration.ofDays(1),
+                "youtube#searchListResponse=PT5M, youtube#videoListResponse = PT2H", Duration.ZERO);
+
+        assertThat(policy.getTtl("youtube#searchListResponse"), equalTo(Duration.ofMinutes(5)));
+        assertThat(policy.getTtl("youtube#videoListResponse"), equalTo(Duration.ofHours(2)));
+        assertThat(policy.getTtl("youtube#channelListResponse"), equalTo(Duration.ofHours(6)));
+        assertThrows(IllegalArgumentException.class, () -> new YouTubeApiCachePolicy(Duration.ofDays(1), "youtube#searchListResponse", Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new YouTubeApiCachePolicy(Duration.ofDays(1), "youtube#searchListResponse=5m", Duration.ZERO));
+    }
+
+    @Test
+    public void Given_StaleEntry_When_CanServeStale_Then_OnlyWithinWindow() {
+        final YouTubeApiCachePolicy policy = new YouTubeApiCachePolicy(Duration.ofDays(1), "", Duration.ofHours(1));
+        final Instant now = Instant.parse("2024-06-01T12:00:00Z");
+        final String kind = "youtube#searchListResponse";
+
+        assertThat(policy.isFresh(entry(kind, now.minus(Duration.ofMinutes(10))), now), equalTo(true));
+        assertThat(policy.isFresh(entry(kind, now.minus(Duration.ofMinutes(20))), now), equalTo(false));
+        assertThat(policy.canServeStale(entry(kind, now.minus(Duration.ofMinutes(20))), now), equalTo(true));
+        assertThat(policy.canServeStale(entry(kind, now.minus(Duration.ofMinutes(90))), now), equalTo(false));
+        assertThat(policy.isFresh(entry(kind, null), now), equalTo(false));
+        assertThat(YouTubeApiCachePolicy.of(Duration.ofDays(1)).canServeStale(entry(kind, now.minus(Duration.ofDays(2))), now), equalTo(false));
+    }
+}
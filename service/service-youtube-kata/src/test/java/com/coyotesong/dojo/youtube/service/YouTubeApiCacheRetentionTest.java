@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.config.MockYouTube;
+import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test YouTubeApiCacheRetention
+ */
+public class YouTubeApiCacheRetentionTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 7, 15, 12, 0);
+
+    /**
+     * Repository that tracks partitions without a database
+     */
+    static class PartitionRepository implements YouTubeApiCacheRepository {
+        final List<YearMonth> partitions = new ArrayList<>();
+        // months with entries in the default partition
+        final Set<YearMonth> blocked = new HashSet<>();
+        long defaultRows;
+
+        PartitionRepository(@NotNull YearMonth first, @NotNull YearMonth last) {
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                partitions.add(month);
+            }
+        }
+
+        @Override
+        public boolean isPartitioned() {
+            return true;
+        }
+
+        @Override
+        public List<YearMonth> findPartitions() {
+            return new ArrayList<>(partitions);
+        }
+
+        @Override
+        public void createPartition(@NotNull YearMonth month) {
+            if (blocked.contains(month)) {
+                throw new IllegalStateException("default partition has entries for " + month);
+            }
+            partitions.add(month);
+        }
+
+        @Override
+        public void dropPartition(@NotNull YearMonth month) {
+            partitions.remove(month);
+        }
+
+        @Override
+        public long countDefaultPartition() {
+            return defaultRows;
+        }
+
+        @Override
+        public List<YouTubeApiCacheEntry> findAll() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Optional<YouTubeApiCacheEntry> findOptionalByRequestJson(String requestJson) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void insert(YouTubeApiCacheEntry entry) {
+        }
+
+        @Override
+        public void insert(Collection<YouTubeApiCacheEntry> entries) {
+        }
+
+        @Override
+        public void update(YouTubeApiCacheEntry entry) {
+        }
+
+        @Override
+        public void updateLastUpdated(Integer key, Instant lastUpdated) {
+        }
+    }
+
+    @Test
+    public void Given_ExpiredPartitions_When_Maintain_Then_DroppedAndFuturePartitionsCreated() {
+        final PartitionRepository repository = new PartitionRepository(YearMonth.of(2023, 11), YearMonth.of(2024, 8));
+        final YouTubeApiCacheRetention retention = new YouTubeApiCacheRetention(repository, Duration.ofDays(180), 3, Duration.ofDays(1));
+
+        final YouTubeApiCacheRetention.Result result = retention.maintain(NOW);
+
+        // the cutoff is 2024-01-17 so January is kept
+        assertThat(result.dropped(), contains(YearMonth.of(2023, 11), YearMonth.of(2023, 12)));
+        assertThat(result.created(), contains(YearMonth.of(2024, 9), YearMonth.of(2024, 10)));
+        assertThat(repository.partitions, hasItem(YearMonth.of(2024, 1)));
+        assertThat(repository.partitions, hasSize(10));
+    }
+
+    @Test
+    public void Given_CurrentPartitions_When_Maintain_Then_NothingChanged() {
+        final PartitionRepository repository = new PartitionRepository(YearMonth.of(2024, 6), YearMonth.of(2024, 10));
+        final YouTubeApiCacheRetention retention = new YouTubeApiCacheRetention(repository, Duration.ofDays(180), 3, Duration.ofDays(1));
+
+        final YouTubeApiCacheRetention.Result result = retention.maintain(NOW);
+
+        assertThat(result.created(), empty());
+        assertThat(result.dropped(), empty());
+    }
+
+    @Test
+    public void Given_ZeroRetention_When_Maintain_Then_NothingDropped() {
+        final PartitionRepository repository = new PartitionRepository(YearMonth.of(2020, 1), YearMonth.of(2024, 10));
+        final YouTubeApiCacheRetention retention = new YouTubeApiCacheRetention(repository, Duration.ZERO, 3, Duration.ofDays(1));
+
+        final YouTubeApiCacheRetention.Result result = retention.maintain(NOW);
+
+        assertThat(result.dropped(), empty());
+        assertThat(repository.partitions.get(0), equalTo(YearMonth.of(2020, 1)));
+    }
+
+    @Test
+    public void Given_DefaultPartitionEntries_When_Maintain_Then_OtherMonthsCreatedAndFailureReported() {
+        final PartitionRepository repository = new PartitionRepository(YearMonth.of(2024, 6), YearMonth.of(2024, 6));
+        repository.blocked.add(YearMonth.of(2024, 8));
+        repository.defaultRows = 12;
+        final YouTubeApiCacheRetention retention = new YouTubeApiCacheRetention(repository, Duration.ofDays(180), 3, Duration.ofDays(1));
+
+        final YouTubeApiCacheRetention.Result result = retention.maintain(NOW);
+
+        assertThat(result.created(), contains(YearMonth.of(2024, 7), YearMonth.of(2024, 9), YearMonth.of(2024, 10)));
+        assertThat(result.failed(), contains(YearMonth.of(2024, 8)));
+        assertThat(result.defaultRows(), equalTo(12L));
+    }
+
+    @Test
+    public void Given_UnpartitionedRepository_When_Maintain_Then_NothingChanged() {
+        final YouTubeApiCacheRepository repository = new MockYouTube(url -> MockYouTube.ok("{}")).repository(false);
+        final YouTubeApiCacheRetention retention = new YouTubeApiCacheRetention(repository, Duration.ofDays(180), 3, Duration.ofDays(1));
+
+        final YouTubeApiCacheRetention.Result result = retention.maintain(NOW);
+
+        assertThat(result.created(), empty());
+        assertThat(result.dropped(), empty());
+        assertThat(result.failed(), empty());
+        assertThat(result.defaultRows(), equalTo(0L));
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.config.MockYouTube;
+import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
+import com.google.api.services.youtube.model.VideoListResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Test YouTubeApiCacheService single-flight behavior, the in-memory tier and stale-while-revalidate
+ */
+public class YouTubeApiCacheServiceTest {
+    private static final String KEY = "{\"id\":[\"video-1\"]}";
+
+    /**
+     * Wait until the thread is parked, i.e., waiting for the in-flight request.
+     */
+    static void awaitParked(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void Given_RequestInFlight_When_SameKeyRequested_Then_LoaderCalledOnce() throws Exception {
+        final YouTubeApiCacheService cache = new MockYouTube(url -> MockYouTube.ok("{}")).cache();
+        final VideoListResponse response = new VideoListResponse().setEtag("etag").setItems(Collections.emptyList());
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Callable<VideoListResponse> loader = () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await();
+            return response;
+        };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CompletableFuture<VideoListResponse> first = CompletableFuture.supplyAsync(() -> cache.get(KEY, loader), executor);
+            started.await(5, TimeUnit.SECONDS);
+
+            final AtomicReference<Thread> follower = new AtomicReference<>();
+            final CompletableFuture<VideoListResponse> second = CompletableFuture.supplyAsync(() -> {
+                follower.set(Thread.currentThread());
+                return cache.get(KEY, loader);
+            }, executor);
+            while (follower.get() == null) {
+                Thread.sleep(5);
+            }
+            awaitParked(follower.get());
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS), sameInstance(response));
+            assertThat(second.get(5, TimeUnit.SECONDS), sameInstance(response));
+            assertThat(calls.get(), equalTo(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void Given_NoRequestInFlight_When_LoaderFails_Then_NextRequestCallsLoader() {
+        final YouTubeApiCacheService cache = new MockYouTube(url -> MockYouTube.ok("{}")).cache();
+        final AtomicInteger calls = new AtomicInteger();
+
+        final Callable<VideoListResponse> loader = () -> {
+            calls.incrementAndGet();
+            throw new IOException("failed");
+        };
+
+        assertThrows(RuntimeException.class, () -> cache.get(KEY, loader));
+        assertThrows(RuntimeException.class, () -> cache.get(KEY, loader));
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    public void Given_EntryInMemory_When_Get_Then_DecodedResponseReturned() {
+        final YouTubeApiCacheService cache = new MockYouTube(url -> MockYouTube.ok("{}")).cache();
+        final VideoListResponse response = new VideoListResponse().setKind("youtube#videoListResponse").setEtag("etag").setItems(Collections.emptyList());
+        final AtomicInteger calls = new AtomicInteger();
+
+        final YouTubeApiCacheService.ConditionalLoader<VideoListResponse> loader = etag -> {
+            calls.incrementAndGet();
+            return new YouTubeApiCacheService.Response<>(response, "{\"kind\":\"youtube#videoListResponse\",\"etag\":\"etag\",\"items\":[]}");
+        };
+
+        assertThat(cache.get(KEY, loader), sameInstance(response));
+        assertThat(cache.get(KEY, loader), sameInstance(response));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    public void Given_BoundedMemoryTier_When_ManyKeysLoaded_Then_HotEntryRetained() {
+        final MockYouTube mock = new MockYouTube(url -> MockYouTube.ok("{}"));
+        final YouTubeApiCacheService cache = new YouTubeApiCacheService(mock.repository(false), Duration.ofDays(1),
+                DataSize.ofKilobytes(16), Runnable::run);
+        final String description = "x".repeat(500);
+
+        final Callable<VideoListResponse> loader = () -> new VideoListResponse().setEtag(description).setItems(Collections.emptyList());
+
+        // a hot key that's requested throughout a scan of one-off keys
+        final String hot = "{\"id\":[\"hot\"]}";
+        for (int i = 0; i < 200; i++) {
+            cache.get("{\"id\":[\"video-" + i + "\"]}", loader);
+            cache.get(hot, loader);
+        }
+
+        assertThat(cache.getNativeCache().size(), lessThan(20));
+        assertThat(cache.getNativeCache().get(hot), instanceOf(YouTubeApiCacheEntry.class));
+    }
+
+    @Test
+    public void Given_StaleEntryWithinWindow_When_Get_Then_StaleReturnedAndRevalidatedInBackground() {
+        final MockYouTube mock = new MockYouTube(url -> MockYouTube.ok("{}"));
+        final List<Runnable> background = new ArrayList<>();
+        final YouTubeApiCachePolicy policy = new YouTubeApiCachePolicy(Duration.ZERO, Collections.emptyMap(), Duration.ofDays(1));
+        final YouTubeApiCacheRepository repository = mock.repository(false);
+        final YouTubeApiCacheService cache = new YouTubeApiCacheService(repository, policy,
+                DataSize.ofMegabytes(1), Runnable::run, background::add, new YouTubeApiCacheWriter(repository));
+
+        final VideoListResponse first = new VideoListResponse().setKind("youtube#videoListResponse").setEtag("etag-1").setItems(Collections.emptyList());
+        final VideoListResponse second = new VideoListResponse().setKind("youtube#videoListResponse").setEtag("etag-2").setItems(Collections.emptyList());
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicReference<String> revalidatedEtag = new AtomicReference<>();
+
+        final YouTubeApiCacheService.ConditionalLoader<VideoListResponse> loader = etag -> {
+            calls.incrementAndGet();
+            return new YouTubeApiCacheService.Response<>(first, null);
+        };
+        final YouTubeApiCacheService.ConditionalLoader<VideoListResponse> revalidator = etag -> {
+            revalidatedEtag.set(etag);
+            return new YouTubeApiCacheService.Response<>(second, null);
+        };
+
+        assertThat(cache.get(KEY, loader, () -> revalidator), sameInstance(first));
+
+        // every entry is stale - it's returned immediately and revalidated once
+        assertThat(cache.get(KEY, loader, () -> revalidator), sameInstance(first));
+        assertThat(cache.get(KEY, loader, () -> revalidator), sameInstance(first));
+        assertThat(calls.get(), equalTo(1));
+        assertThat(background.size(), equalTo(1));
+
+        background.remove(0).run();
+        assertThat(revalidatedEtag.get(), equalTo("etag-1"));
+        assertThat(cache.get(KEY, loader, () -> revalidator), sameInstance(second));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    public void Given_RevalidationInProgress_When_Get_Then_StaleReturnedWithoutWaiting() throws Exception {
+        final MockYouTube mock = new MockYouTube(url -> MockYouTube.ok("{}"));
+        final YouTubeApiCachePolicy policy = new YouTubeApiCachePolicy(Duration.ZERO, Collections.emptyMap(), Duration.ofDays(1));
+        final YouTubeApiCacheRepository repository = mock.repository(false);
+        final Executor background = r -> {
+            final Thread thread = new Thread(r, "test-revalidate");
+            thread.setDaemon(true);
+            thread.start();
+        };
+        final YouTubeApiCacheService cache = new YouTubeApiCacheService(repository, policy,
+                DataSize.ofMegabytes(1), Runnable::run, background, new YouTubeApiCacheWriter(repository));
+
+        final VideoListResponse first = new VideoListResponse().setKind("youtube#videoListResponse").setEtag("etag-1").setItems(Collections.emptyList());
+        final VideoListResponse second = new VideoListResponse().setKind("youtube#videoListResponse").setEtag("etag-2").setItems(Collections.emptyList());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicReference<String> revalidatedEtag = new AtomicReference<>();
+
+        final YouTubeApiCacheService.ConditionalLoader<VideoListResponse> loader =
+                etag -> new YouTubeApiCacheService.Response<>(first, null);
+        final YouTubeApiCacheService.ConditionalLoader<VideoListResponse> revalidator = etag -> {
+            revalidatedEtag.set(etag);
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new YouTubeApiCacheService.Response<>(second, null);
+        };
+
+        assertThat(cache.get(KEY, loader, () -> revalidator), sameInstance(first));
+        assertThat(cache.get(KEY, loader, () -> revalidator), sameInstance(first));
+        assertThat(started.await(5, TimeUnit.SECONDS), equalTo(true));
+
+        // the conditional request is in flight - callers still get the stale entry immediately
+        assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> assertThat(cache.get(KEY, loader, () -> revalidator), sameInstance(first)));
+        assertThat(revalidatedEtag.get(), equalTo("etag-1"));
+
+        release.countDown();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((cache.get(KEY, loader, () -> revalidator) != second) && (System.nanoTime() < deadline)) {
+            Thread.sleep(5);
+        }
+        assertThat(cache.get(KEY, loader, () -> revalidator), sameInstance(second));
+    }
+
+    @Test
+    public void Given_StaleEntryInDatabase_When_Revalidated_Then_WrittenThroughWriter() {
+        final MockYouTube mock = new MockYouTube(url -> MockYouTube.ok("{}"));
+        final YouTubeApiCachePolicy policy = new YouTubeApiCachePolicy(Duration.ZERO, Collections.emptyMap(), Duration.ZERO);
+        final YouTubeApiCacheRepository repository = mock.repository(true);
+        final YouTubeApiCacheService cache = new YouTubeApiCacheService(repository, policy,
+                DataSize.ofMegabytes(1), Runnable::run, Runnable::run, new YouTubeApiCacheWriter(repository));
+
+        final VideoListResponse first = new VideoListResponse().setKind("youtube#videoListResponse").setEtag("etag-1").setItems(Collections.emptyList());
+        final VideoListResponse second = new VideoListResponse().setKind("youtube#videoListResponse").setEtag("etag-2").setItems(Collections.emptyList());
+        final AtomicInteger calls = new AtomicInteger();
+
+        // new, then not modified, then changed
+        final YouTubeApiCacheService.ConditionalLoader<VideoListResponse> loader = etag -> switch (calls.incrementAndGet()) {
+            case 1 -> new YouTubeApiCacheService.Response<>(first, null);
+            case 2 -> null;
+            default -> new YouTubeApiCacheService.Response<>(second, null);
+        };
+
+        assertThat(cache.get(KEY, loader), sameInstance(first));
+        assertThat(cache.get(KEY, loader), sameInstance(first));
+        assertThat(cache.get(KEY, loader), sameInstance(second));
+
+        assertThat(calls.get(), equalTo(3));
+        assertThat(mock.getUpdateCount(), equalTo(0));
+        assertThat(mock.getEntries().size(), equalTo(1));
+        assertThat(mock.getEntries().get(0).getEtag(), equalTo("etag-2"));
+        assertThat(mock.getEntries().get(0).getKey(), equalTo(1));
+    }
+
+    @Test
+    public void Given_StaleEntryWithoutRevalidator_When_Get_Then_RevalidatedBeforeReturn() {
+        final MockYouTube mock = new MockYouTube(url -> MockYouTube.ok("{}"));
+        final List<Runnable> background = new ArrayList<>();
+        final YouTubeApiCachePolicy policy = new YouTubeApiCachePolicy(Duration.ZERO, Collections.emptyMap(), Duration.ofDays(1));
+        final YouTubeApiCacheRepository repository = mock.repository(false);
+        final YouTubeApiCacheService cache = new YouTubeApiCacheService(repository, policy,
+                DataSize.ofMegabytes(1), Runnable::run, background::add, new YouTubeApiCacheWriter(repository));
+
+        final VideoListResponse response = new VideoListResponse().setKind("youtube#videoListResponse").setEtag("etag").setItems(Collections.emptyList());
+        final AtomicInteger calls = new AtomicInteger();
+        final YouTubeApiCacheService.ConditionalLoader<VideoListResponse> loader = etag -> {
+            calls.incrementAndGet();
+            return (etag == null) ? new YouTubeApiCacheService.Response<>(response, null) : null;
+        };
+
+        assertThat(cache.get(KEY, loader), sameInstance(response));
+        assertThat(cache.get(KEY, loader), sameInstance(response));
+        assertThat(calls.get(), equalTo(2));
+        assertThat(background.isEmpty(), equalTo(true));
+    }
+}
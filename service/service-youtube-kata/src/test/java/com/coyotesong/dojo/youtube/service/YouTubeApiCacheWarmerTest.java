@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.config.MockYouTube;
+import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test YouTubeApiCacheWarmer
+ */
+public class YouTubeApiCacheWarmerTest {
+    private static final String CONTENT = "{\"kind\":\"youtube#videoListResponse\",\"items\":[]}";
+
+    private final MockYouTube mock = new MockYouTube(url -> MockYouTube.ok("{}"));
+    private final YouTubeApiCachePolicy policy = new YouTubeApiCachePolicy(Duration.ofDays(1), Collections.emptyMap(), Duration.ZERO);
+    private final YouTubeApiCacheRepository repository = mock.repository(false);
+    private final YouTubeApiCacheService cache = new YouTubeApiCacheService(repository, policy,
+            DataSize.ofMegabytes(1), Runnable::run, Runnable::run, new YouTubeApiCacheWriter(repository));
+
+    static String requestJson(int i) {
+        return "{\"id\":[\"video-" + i + "\"]}";
+    }
+
+    /**
+     * Add entries that were last updated 'age', 'age' + 1 minute, etc., ago.
+     */
+    void addEntries(int count, Duration age) {
+        final Instant now = Instant.now();
+        for (int i = 0; i < count; i++) {
+            final YouTubeApiCacheEntry entry = new YouTubeApiCacheEntry();
+            entry.setRequestJson(requestJson(i));
+            entry.setKind("youtube#videoListResponse");
+            entry.setContent(CONTENT);
+            entry.setLastUpdated(now.minus(age).minus(Duration.ofMinutes(i)));
+            repository.insert(entry);
+        }
+    }
+
+    @Test
+    public void Given_MoreEntriesThanOnePage_When_WarmUp_Then_AllLoaded() {
+        final int count = YouTubeApiCacheWarmer.PAGE_SIZE + 50;
+        addEntries(count, Duration.ZERO);
+        final YouTubeApiCacheWarmer warmer = new YouTubeApiCacheWarmer(cache, repository, policy, DataSize.ofMegabytes(1));
+
+        final YouTubeApiCacheWarmer.Result result = warmer.warmUp();
+
+        assertThat(result.entries(), equalTo(count));
+        assertThat(cache.getNativeCache().get(requestJson(count - 1)), instanceOf(YouTubeApiCacheEntry.class));
+    }
+
+    @Test
+    public void Given_SmallBudget_When_WarmUp_Then_MostRecentEntriesLoaded() {
+        addEntries(20, Duration.ZERO);
+        final long weight = requestJson(0).length() + 2L * CONTENT.length();
+        final YouTubeApiCacheWarmer warmer = new YouTubeApiCacheWarmer(cache, repository, policy, DataSize.ofBytes(5 * weight));
+
+        final YouTubeApiCacheWarmer.Result result = warmer.warmUp();
+
+        assertThat(result.entries(), equalTo(5));
+        assertThat(result.bytes(), lessThanOrEqualTo(5 * weight));
+        assertThat(cache.getNativeCache().get(requestJson(0)), instanceOf(YouTubeApiCacheEntry.class));
+        assertThat(cache.getNativeCache().get(requestJson(4)), instanceOf(YouTubeApiCacheEntry.class));
+        assertThat(cache.getNativeCache().get(requestJson(5)), nullValue());
+    }
+
+    @Test
+    public void Given_ExpiredEntries_When_WarmUp_Then_NothingLoaded() {
+        addEntries(10, Duration.ofDays(2));
+        final YouTubeApiCacheWarmer warmer = new YouTubeApiCacheWarmer(cache, repository, policy, DataSize.ofMegabytes(1));
+
+        final YouTubeApiCacheWarmer.Result result = warmer.warmUp();
+
+        assertThat(result.entries(), equalTo(0));
+        assertThat(cache.getNativeCache().size(), equalTo(0));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.model.YouTubeApiCacheEntry;
+import com.coyotesong.dojo.youtube.repository.YouTubeApiCacheRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test YouTubeApiCacheWriter
+ */
+public class YouTubeApiCacheWriterTest {
+
+    /**
+     * Repository that records the writes, and the threads that made them.
+     */
+    static class RecordingRepository implements YouTubeApiCacheRepository {
+        final List<String> written = Collections.synchronizedList(new ArrayList<>());
+        final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean blockWriter;
+
+        @Override
+        public List<YouTubeApiCacheEntry> findAll() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Optional<YouTubeApiCacheEntry> findOptionalByRequestJson(String requestJson) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void insert(YouTubeApiCacheEntry entry) {
+            insert(List.of(entry));
+        }
+
+        @Override
+        public void insert(Collection<YouTubeApiCacheEntry> entries) {
+            if (blockWriter && Thread.currentThread().getName().equals("youtube-cache-writer")) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            batches.add(entries.size());
+            for (YouTubeApiCacheEntry entry : entries) {
+                written.add(entry.getRequestJson());
+                threads.add(Thread.currentThread().getName());
+            }
+        }
+
+        @Override
+        public void update(YouTubeApiCacheEntry entry) {
+        }
+
+        @Override
+        public void updateLastUpdated(Integer key, Instant lastUpdated) {
+        }
+
+        void awaitWritten(int count) throws InterruptedException {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (written.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    static YouTubeApiCacheEntry entry(int i) {
+        final YouTubeApiCacheEntry entry = new YouTubeApiCacheEntry();
+        entry.setRequestJson("{\"id\":[\"video-" + i + "\"]}");
+        entry.setKind("youtube#videoListResponse");
+        return entry;
+    }
+
+    @Test
+    public void Given_QueuedEntries_When_BatchFull_Then_WrittenInOneBatch() throws InterruptedException {
+        final RecordingRepository repository = new RecordingRepository();
+        final YouTubeApiCacheWriter writer = new YouTubeApiCacheWriter(repository, 3, Duration.ofSeconds(10), 100);
+        writer.write(entry(1));
+        assertThat(writer.getPending(entry(1).getRequestJson()), notNullValue());
+
+        writer.write(entry(2));
+        writer.write(entry(3));
+        repository.awaitWritten(3);
+        writer.close();
+
+        assertThat(repository.batches, contains(3));
+        assertThat(writer.getPending(entry(1).getRequestJson()), nullValue());
+    }
+
+    @Test
+    public void Given_FullQueue_When_Write_Then_CallerWritesBatch() throws InterruptedException {
+        final RecordingRepository repository = new RecordingRepository();
+        repository.blockWriter = true;
+        try (YouTubeApiCacheWriter writer = new YouTubeApiCacheWriter(repository, 1, Duration.ZERO, 1)) {
+            // the writer takes the first entry and blocks writing it
+            writer.write(entry(1));
+            while (writer.size() > 0) {
+                Thread.sleep(5);
+            }
+
+            writer.write(entry(2));
+            writer.write(entry(3));
+
+            assertThat(repository.written, contains(entry(2).getRequestJson()));
+            assertThat(repository.threads, contains(Thread.currentThread().getName()));
+
+            repository.release.countDown();
+        }
+        assertThat(repository.written, containsInAnyOrder(entry(1).getRequestJson(), entry(2).getRequestJson(), entry(3).getRequestJson()));
+    }
+
+    @Test
+    public void Given_QueuedEntries_When_Close_Then_AllWritten() {
+        final RecordingRepository repository = new RecordingRepository();
+        final YouTubeApiCacheWriter writer = new YouTubeApiCacheWriter(repository, 100, Duration.ofSeconds(10), 100);
+        for (int i = 0; i < 5; i++) {
+            writer.write(entry(i));
+        }
+        writer.write(entry(0));
+
+        writer.close();
+
+        assertThat(repository.written, hasSize(5));
+        assertThat(writer.size(), equalTo(0));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.config.MockYouTube;
+import com.coyotesong.dojo.youtube.model.Channel;
+import com.coyotesong.dojo.youtube.model.Video;
+import com.coyotesong.dojo.youtube.security.LogSanitizerImpl;
+import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForPlaylistItemListFactory;
+import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForVideoListFactory;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMicroBatcher;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Test channel video enumeration via the 'uploads' playlist
+ */
+public class YouTubeChannelVideosServiceImplTest {
+
+    // newest first
+    private static final String UPLOADS = """
+            { "kind": "youtube#playlistItemListResponse", "etag": "etag-1",
+              "items": [
+                { "kind": "youtube#playlistItem", "etag": "e3", "id": "item-3", "contentDetails": { "videoId": "video-3" }, "snippet": { "publishedAt": "2024-06-03T00:00:00Z" } },
+                { "kind": "youtube#playlistItem", "etag": "e2", "id": "item-2", "contentDetails": { "videoId": "video-2" }, "snippet": { "publishedAt": "2024-06-02T00:00:00Z" } },
+                { "kind": "youtube#playlistItem", "etag": "e1", "id": "item-1", "contentDetails": { "videoId": "video-1" }, "snippet": { "publishedAt": "2024-06-01T00:00:00Z" } } ] }""";
+
+    private static final Pattern ID = Pattern.compile("[?&]id=([^&]*)");
+
+    /**
+     * Return the videos requested by 'id=...' in the order requested.
+     */
+    @NotNull
+    static MockLowLevelHttpResponse respond(@NotNull String url) {
+        if (url.contains("/playlistItems")) {
+            return MockYouTube.ok(UPLOADS);
+        }
+
+        final List<String> items = new ArrayList<>();
+        final Matcher m = ID.matcher(url);
+        while (m.find()) {
+            final String id = m.group(1);
+            items.add("{ \"kind\": \"youtube#video\", \"etag\": \"e-" + id + "\", \"id\": \"" + id + "\" }");
+        }
+        return MockYouTube.ok("{ \"kind\": \"youtube#videoListResponse\", \"etag\": \"v\", \"items\": [ " + String.join(", ", items) + " ] }");
+    }
+
+    @NotNull
+    static YouTubeChannelVideosServiceImpl newService(@NotNull MockYouTube mock) {
+        final YouTubeMultiGet multiGet = new YouTubeMultiGet(1);
+        final YouTubeVideosServiceImpl videosService = new YouTubeVideosServiceImpl(
+                new ClientForVideoListFactory(mock.youTube(), new LogSanitizerImpl(), mock.cache(), mock.quota()), multiGet,
+                new YouTubeMicroBatcher(Duration.ofMillis(1)), new LogSanitizerImpl());
+        return new YouTubeChannelVideosServiceImpl(
+                new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota()),
+                videosService, new LogSanitizerImpl());
+    }
+
+    @Test
+    public void Given_Channel_When_GetVideos_Then_UploadsPlaylistUsed() throws IOException {
+        final List<String> urls = new ArrayList<>();
+        final MockYouTube mock = new MockYouTube(url -> {
+            urls.add(url);
+            return respond(url);
+        });
+        final Channel channel = new Channel();
+        channel.setChannelId("UC-test");
+
+        final List<Video> videos = newService(mock).getVideosForChannel(channel, null);
+
+        assertThat(videos.stream().map(Video::getId).toList(), contains("video-3", "video-2", "video-1"));
+        assertThat(urls, hasSize(2));
+        assertThat(urls.get(0), containsString("playlistId=UU-test"));
+        assertThat(urls.get(0), containsString("maxResults=50"));
+        assertThat(urls, everyItem(not(containsString("/search"))));
+    }
+
+    @Test
+    public void Given_Cutoff_When_GetVideos_Then_OlderVideosNotRetrieved() throws IOException {
+        final List<String> urls = new ArrayList<>();
+        final MockYouTube mock = new MockYouTube(url -> {
+            urls.add(url);
+            return respond(url);
+        });
+
+        final List<Video> videos = newService(mock).getVideosForUploadsPlaylist("UU-test", Instant.parse("2024-06-01T12:00:00Z"));
+
+        assertThat(videos.stream().map(Video::getId).toList(), contains("video-3", "video-2"));
+        assertThat(urls.get(1), not(containsString("video-1")));
+    }
+
+    @Test
+    public void Given_ChannelWithoutUploads_When_GetUploadsPlaylistId_Then_DerivedFromChannelId() {
+        final Channel channel = new Channel();
+        channel.setChannelId("UCabc");
+        assertThat(YouTubeChannelVideosServiceImpl.getUploadsPlaylistId(channel), equalTo("UUabc"));
+
+        channel.setUploads("UUxyz");
+        assertThat(YouTubeChannelVideosServiceImpl.getUploadsPlaylistId(channel), equalTo("UUxyz"));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.config.MockYouTube;
+import com.coyotesong.dojo.youtube.model.PlaylistItem;
+import com.coyotesong.dojo.youtube.security.LogSanitizerImpl;
+import com.coyotesong.dojo.youtube.service.YouTubePlaylistItemsServiceImpl.PlaylistItemsDelta;
+import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForPlaylistItemListFactory;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test incremental playlist sync
+ */
+public class YouTubePlaylistItemsServiceImplTest {
+    private static final String PLAYLIST_ID = "UU-test";
+
+    // newest first, as in an 'uploads' playlist
+    private static final String PAGE_1 = """
+            { "kind": "youtube#playlistItemListResponse", "etag": "etag-1", "nextPageToken": "page2",
+              "items": [ { "kind": "youtube#playlistItem", "etag": "e4", "id": "item-4", "snippet": { "publishedAt": "2024-06-04T00:00:00Z" } },
+                         { "kind": "youtube#playlistItem", "etag": "e3", "id": "item-3", "snippet": { "publishedAt": "2024-06-03T00:00:00Z" } } ] }""";
+
+    private static final String PAGE_2 = """
+            { "kind": "youtube#playlistItemListResponse", "etag": "etag-2",
+              "items": [ { "kind": "youtube#playlistItem", "etag": "e2", "id": "item-2", "snippet": { "publishedAt": "2024-06-02T00:00:00Z" } },
+                         { "kind": "youtube#playlistItem", "etag": "e1", "id": "item-1", "snippet": { "publishedAt": "2024-06-01T00:00:00Z" } } ] }""";
+
+    @NotNull
+    static MockLowLevelHttpResponse playlistPage(@NotNull String url) {
+        return MockYouTube.ok(url.contains("pageToken=page2") ? PAGE_2 : PAGE_1);
+    }
+
+    @NotNull
+    static YouTubePlaylistItemsServiceImpl newService(@NotNull MockYouTube mock) {
+        return new YouTubePlaylistItemsServiceImpl(
+                new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota()),
+                new YouTubeMultiGet(1), new LogSanitizerImpl());
+    }
+
+    @Test
+    public void Given_LastItemOnFirstPage_When_Sync_Then_OnlyFirstPageRequested() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubePlaylistItemsServiceImplTest::playlistPage);
+
+        final PlaylistItemsDelta delta = newService(mock).getPlaylistItemsSince(PLAYLIST_ID, "item-3", null);
+
+        assertThat(delta.items().stream().map(PlaylistItem::getId).toList(), contains("item-4"));
+        assertThat(delta.lastItemId(), equalTo("item-4"));
+        assertThat(delta.lastPublishedAt(), equalTo(Instant.parse("2024-06-04T00:00:00Z")));
+        assertThat(delta.markFound(), equalTo(true));
+        assertThat(mock.getRequestCount(), equalTo(1));
+    }
+
+    @Test
+    public void Given_PublishedAtMark_When_Sync_Then_StopsAtOlderItem() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubePlaylistItemsServiceImplTest::playlistPage);
+
+        final PlaylistItemsDelta delta = newService(mock).getPlaylistItemsSince(PLAYLIST_ID, null,
+                Instant.parse("2024-06-02T00:00:00Z"));
+
+        assertThat(delta.items().stream().map(PlaylistItem::getId).toList(), contains("item-4", "item-3"));
+        assertThat(delta.markFound(), equalTo(true));
+        assertThat(delta.pages(), equalTo(2));
+    }
+
+    @Test
+    public void Given_NoNewItems_When_Sync_Then_MarkUnchanged() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubePlaylistItemsServiceImplTest::playlistPage);
+
+        final PlaylistItemsDelta delta = newService(mock).getPlaylistItemsSince(PLAYLIST_ID, "item-4",
+                Instant.parse("2024-06-04T00:00:00Z"));
+
+        assertThat(delta.items(), empty());
+        assertThat(delta.lastItemId(), equalTo("item-4"));
+        assertThat(delta.lastPublishedAt(), equalTo(Instant.parse("2024-06-04T00:00:00Z")));
+        assertThat(mock.getRequestCount(), equalTo(1));
+    }
+
+    @Test
+    public void Given_UnknownMark_When_Sync_Then_EntirePlaylistReturned() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubePlaylistItemsServiceImplTest::playlistPage);
+
+        final PlaylistItemsDelta delta = newService(mock).getPlaylistItemsSince(PLAYLIST_ID, "deleted-item", null);
+
+        assertThat(delta.items().stream().map(PlaylistItem::getId).toList(), contains("item-4", "item-3", "item-2", "item-1"));
+        assertThat(delta.markFound(), equalTo(false));
+        assertThat(mock.getRequestCount(), equalTo(2));
+    }
+}
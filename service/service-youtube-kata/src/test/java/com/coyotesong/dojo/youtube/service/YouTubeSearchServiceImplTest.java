@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.config.MockYouTube;
+import com.coyotesong.dojo.youtube.form.VideoSearchForm;
+import com.coyotesong.dojo.youtube.model.SearchResult;
+import com.coyotesong.dojo.youtube.security.LogSanitizerImpl;
+import com.coyotesong.dojo.youtube.service.YouTubePagedSearchService.SearchPage;
+import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForSearchListFactory;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cursor-based search pagination
+ */
+public class YouTubeSearchServiceImplTest {
+
+    private static final String PAGE_1 = """
+            { "kind": "youtube#searchListResponse", "etag": "etag-1", "nextPageToken": "page2",
+              "items": [ { "kind": "youtube#searchResult", "etag": "e1", "id": { "kind": "youtube#video", "videoId": "video-1" } } ] }""";
+
+    private static final String PAGE_2 = """
+            { "kind": "youtube#searchListResponse", "etag": "etag-2",
+              "items": [ { "kind": "youtube#searchResult", "etag": "e2", "id": { "kind": "youtube#video", "videoId": "video-2" } } ] }""";
+
+    @NotNull
+    static MockLowLevelHttpResponse searchPage(@NotNull String url) {
+        return MockYouTube.ok(url.contains("pageToken=page2") ? PAGE_2 : PAGE_1);
+    }
+
+    @NotNull
+    static VideoSearchForm newSearchForm() {
+        final VideoSearchForm searchForm = new VideoSearchForm();
+        searchForm.setChannelId("UC-test");
+        searchForm.setOrder("date");
+        return searchForm;
+    }
+
+    @Test
+    public void Given_PagedSearch_When_StartSearch_Then_OnlyFirstPageRequested() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubeSearchServiceImplTest::searchPage);
+        final YouTubeSearchServiceImpl service = new YouTubeSearchServiceImpl(
+                new ClientForSearchListFactory(mock.youTube(), mock.cache(), mock.quota()), new LogSanitizerImpl());
+
+        final SearchPage page = service.startSearch(newSearchForm());
+
+        assertThat(page.results().stream().map(SearchResult::getVideoId).toList(), contains("video-1"));
+        assertThat(page.cursor(), notNullValue());
+        assertThat(mock.getRequestCount(), equalTo(1));
+    }
+
+    @Test
+    public void Given_Cursor_When_ContinueSearch_Then_NextPageRequestedWithSameCriteria() throws IOException {
+        final List<String> urls = new ArrayList<>();
+        final MockYouTube mock = new MockYouTube(url -> {
+            urls.add(url);
+            return searchPage(url);
+        });
+        final YouTubeSearchServiceImpl service = new YouTubeSearchServiceImpl(
+                new ClientForSearchListFactory(mock.youTube(), mock.cache(), mock.quota()), new LogSanitizerImpl());
+
+        final SearchPage first = service.startSearch(newSearchForm());
+        final SearchPage second = service.continueSearch(first.cursor());
+
+        assertThat(second.results().stream().map(SearchResult::getVideoId).toList(), contains("video-2"));
+        assertThat(second.cursor(), nullValue());
+        assertThat(urls, hasSize(2));
+        assertThat(urls.get(1), containsString("pageToken=page2"));
+        assertThat(urls.get(1), containsString("channelId=UC-test"));
+        assertThat(urls.get(1), containsString("order=date"));
+    }
+
+    @Test
+    public void Given_TamperedCursor_When_ContinueSearch_Then_Rejected() {
+        final MockYouTube mock = new MockYouTube(YouTubeSearchServiceImplTest::searchPage);
+        final YouTubeSearchServiceImpl service = new YouTubeSearchServiceImpl(
+                new ClientForSearchListFactory(mock.youTube(), mock.cache(), mock.quota()), new LogSanitizerImpl());
+
+        final String json = """
+                { "kind": "youtube#searchListResponse", "profile": "FULL", "pageToken": "page2",
+                  "parameters": { "key": "someone-elses-key" } }""";
+        final String cursor = Base64.getUrlEncoder().encodeToString(json.getBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> service.continueSearch(cursor));
+        assertThrows(IllegalArgumentException.class, () -> service.continueSearch("not a cursor"));
+        assertThat(mock.getRequestCount(), equalTo(0));
+    }
+
+    @Test
+    public void Given_EndlessResults_When_Search_Then_PagesBounded() throws IOException {
+        final AtomicInteger counter = new AtomicInteger();
+        final MockYouTube mock = new MockYouTube(url -> MockYouTube.ok(PAGE_1.replace("page2", "page" + counter.incrementAndGet())));
+        final YouTubeSearchServiceImpl service = new YouTubeSearchServiceImpl(
+                new ClientForSearchListFactory(mock.youTube(), mock.cache(), mock.quota()), new LogSanitizerImpl());
+
+        final List<SearchResult> results = service.search(newSearchForm());
+
+        assertThat(results, hasSize(YouTubeSearchServiceImpl.MAX_PAGES));
+        assertThat(mock.getRequestCount(), equalTo(YouTubeSearchServiceImpl.MAX_PAGES));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service;
+
+import com.coyotesong.dojo.youtube.config.MockYouTube;
+import com.coyotesong.dojo.youtube.model.Video;
+import com.coyotesong.dojo.youtube.security.LogSanitizerImpl;
+import com.coyotesong.dojo.youtube.service.youTubeClient.ClientForVideoListFactory;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMicroBatcher;
+import com.coyotesong.dojo.youtube.service.youTubeClient.YouTubeMultiGet;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Test YouTubeVideosServiceImpl single-video lookups
+ */
+public class YouTubeVideosServiceImplTest {
+    private static final Pattern ID = Pattern.compile("[?&]id=([^&]*)");
+
+    /**
+     * Return the videos requested by 'id=...', except 'missing'.
+     */
+    @NotNull
+    static MockLowLevelHttpResponse respond(@NotNull String url) {
+        final List<String> items = new ArrayList<>();
+        final Matcher m = ID.matcher(url);
+        while (m.find()) {
+            for (String id : URLDecoder.decode(m.group(1), StandardCharsets.UTF_8).split(",")) {
+                if (!id.equals("missing")) {
+                    items.add("{ \"kind\": \"youtube#video\", \"etag\": \"e-" + id + "\", \"id\": \"" + id + "\" }");
+                }
+            }
+        }
+        return MockYouTube.ok("{ \"kind\": \"youtube#videoListResponse\", \"etag\": \"v\", \"items\": [ " + String.join(", ", items) + " ] }");
+    }
+
+    @Test
+    public void Given_VideoRetrievedInBatch_When_GetVideoRepeated_Then_ServedFromCacheWithoutWaiting() throws Exception {
+        final MockYouTube mock = new MockYouTube(YouTubeVideosServiceImplTest::respond);
+        final ClientForVideoListFactory factory = new ClientForVideoListFactory(mock.youTube(), new LogSanitizerImpl(), mock.cache(), mock.quota());
+        final YouTubeVideosServiceImpl batched = new YouTubeVideosServiceImpl(factory, new YouTubeMultiGet(1),
+                new YouTubeMicroBatcher(Duration.ofMillis(200)), new LogSanitizerImpl());
+
+        // concurrent lookups share a single request
+        final CompletableFuture<Video> first = CompletableFuture.supplyAsync(() -> getVideo(batched, "video-1"));
+        final CompletableFuture<Video> second = CompletableFuture.supplyAsync(() -> getVideo(batched, "video-2"));
+        final CompletableFuture<Video> missing = CompletableFuture.supplyAsync(() -> getVideo(batched, "missing"));
+        assertThat(first.get().getId(), equalTo("video-1"));
+        assertThat(second.get().getId(), equalTo("video-2"));
+        assertThat(missing.get(), nullValue());
+        assertThat(mock.getRequestCount(), equalTo(1));
+
+        // the window would never close for a single caller
+        final YouTubeVideosServiceImpl service = new YouTubeVideosServiceImpl(factory, new YouTubeMultiGet(1),
+                new YouTubeMicroBatcher(Duration.ofHours(1)), new LogSanitizerImpl());
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThat(service.getVideo("video-1").getId(), equalTo("video-1"));
+            assertThat(service.getVideo("video-2").getId(), equalTo("video-2"));
+            assertThat(service.getVideo("missing"), nullValue());
+        });
+        assertThat(mock.getRequestCount(), equalTo(1));
+    }
+
+    static Video getVideo(@NotNull YouTubeVideosServiceImpl service, @NotNull String id) {
+        try {
+            return service.getVideo(id);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service.youTubeClient;
+
+import com.coyotesong.dojo.youtube.model.Tag;
+import com.coyotesong.dojo.youtube.model.WikipediaTopic;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test InternPool
+ */
+public class InternPoolTest {
+
+    @Test
+    public void Given_EqualKeys_When_Intern_Then_SameInstance() {
+        final InternPool<String, StringBuilder> pool = new InternPool<>(10);
+        final StringBuilder first = pool.intern("music", StringBuilder::new);
+        final StringBuilder second = pool.intern(new String("music"), StringBuilder::new);
+
+        assertThat(second, sameInstance(first));
+        assertThat(pool.size(), equalTo(1));
+    }
+
+    @Test
+    public void Given_FullPool_When_Intern_Then_NewValueNotPooled() {
+        final InternPool<String, StringBuilder> pool = new InternPool<>(1);
+        final StringBuilder music = pool.intern("music", StringBuilder::new);
+        final StringBuilder first = pool.intern("sports", StringBuilder::new);
+        final StringBuilder second = pool.intern("sports", StringBuilder::new);
+
+        assertThat(pool.intern("music", StringBuilder::new), sameInstance(music));
+        assertThat(second, not(sameInstance(first)));
+        assertThat(pool.size(), equalTo(1));
+    }
+
+    @Test
+    public void Given_FactoryReturnsNull_When_Intern_Then_NotPooled() {
+        final InternPool<String, StringBuilder> pool = new InternPool<>(10);
+
+        assertThat(pool.intern("bad", k -> null), nullValue());
+        assertThat(pool.size(), equalTo(0));
+    }
+
+    @Test
+    public void Given_SameTagAndTopic_When_Convert_Then_ContentsShared() {
+        final YTUtils utils = new YTUtils();
+        final String url = "https://en.wikipedia.org/wiki/Music";
+
+        final Tag tag = utils.tag(new String("music"));
+        assertThat(utils.tag("music").getTag(), sameInstance(tag.getTag()));
+
+        final WikipediaTopic topic = utils.wikipediaTopic(new String(url));
+        assertThat(utils.wikipediaTopic(url).getUrl(), sameInstance(topic.getUrl()));
+        assertThat(topic.getLabel(), equalTo("Music"));
+        assertThat(utils.wikipediaTopic("unknown://en.wikipedia.org/wiki/Music"), nullValue());
+    }
+
+    @Test
+    public void Given_SameTagAndTopic_When_Modified_Then_OtherVideosUnaffected() {
+        final YTUtils utils = new YTUtils();
+        final String url = "https://en.wikipedia.org/wiki/Sport";
+
+        final Tag tag = utils.tag("sports");
+        tag.setId(42);
+        tag.setTag("Sports");
+        assertThat(utils.tag("sports").getId(), nullValue());
+        assertThat(utils.tag("sports").getTag(), equalTo("sports"));
+
+        final WikipediaTopic topic = utils.wikipediaTopic(url);
+        topic.setKey(7);
+        topic.setLabel("Sports");
+        assertThat(utils.wikipediaTopic(url).getKey(), nullValue());
+        assertThat(utils.wikipediaTopic(url).getLabel(), equalTo("Sport"));
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.coyotesong.dojo.youtube.service.youTubeClient;
+
+import com.coyotesong.dojo.youtube.config.MockYouTube;
+import com.coyotesong.dojo.youtube.model.PlaylistItem;
+import com.coyotesong.dojo.youtube.service.YouTubeApiMetrics;
+import com.coyotesong.dojo.youtube.service.YouTubeQuotaExceededException;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static com.coyotesong.dojo.youtube.service.youTubeClient.TestConstants.TEST_PLAYLIST_ID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Test YouTubeClient paging, with and without prefetching
+ */
+public class YouTubeClientTest {
+
+    static final String PAGE_1 = """
+            { "kind": "youtube#playlistItemListResponse", "etag": "etag-1", "nextPageToken": "page2",
+              "items": [ { "kind": "youtube#playlistItem", "etag": "e1", "id": "item-1" },
+                         { "kind": "youtube#playlistItem", "etag": "e2", "id": "item-2" } ] }""";
+
+    static final String PAGE_2 = """
+            { "kind": "youtube#playlistItemListResponse", "etag": "etag-2",
+              "items": [ { "kind": "youtube#playlistItem", "etag": "e3", "id": "item-3" } ] }""";
+
+    /**
+     * Two-page playlist. The second page is requested with 'pageToken=page2'.
+     */
+    @NotNull
+    static MockLowLevelHttpResponse playlistPage(@NotNull String url) {
+        return MockYouTube.ok(url.contains("pageToken=page2") ? PAGE_2 : PAGE_1);
+    }
+
+    @NotNull
+    static List<String> drain(@NotNull YouTubeClient<PlaylistItem, ?, ?, ?> client) {
+        final List<String> ids = new ArrayList<>();
+        while (client.hasNext()) {
+            client.next().forEach(item -> ids.add(item.getId()));
+        }
+        return ids;
+    }
+
+    @Test
+    public void Given_PagedPlaylist_When_Iterate_Then_AllPagesReturned() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubeClientTest::playlistPage);
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+
+        final List<String> ids = drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build());
+
+        assertThat(ids, contains("item-1", "item-2", "item-3"));
+        assertThat(mock.getRequestCount(), equalTo(2));
+    }
+
+    @Test
+    public void Given_PagedPlaylist_When_IterateWithPrefetch_Then_SamePagesReturned() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubeClientTest::playlistPage);
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+
+        try (YouTubeClient.ListPlaylistItems client = factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build()) {
+            client.withPrefetch(2);
+            assertThat(drain(client), contains("item-1", "item-2", "item-3"));
+        }
+        assertThat(mock.getRequestCount(), equalTo(2));
+    }
+
+    @Test
+    public void Given_QuotaExceeded_When_IterateWithPrefetch_Then_ExceptionThrownByNext() throws IOException {
+        final MockYouTube mock = new MockYouTube(url -> MockYouTube.error(403, "youtube.quota", "quotaExceeded"));
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+
+        try (YouTubeClient.ListPlaylistItems client = factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build()) {
+            client.withPrefetch(1);
+            assertThat(client.hasNext(), equalTo(true));
+            assertThrows(YouTubeQuotaExceededException.class, client::next);
+            assertThat(client.hasNext(), equalTo(false));
+        }
+    }
+
+    @Test
+    public void Given_ErrorInPrefetchThread_When_IterateWithPrefetch_Then_ErrorThrownByNext() throws IOException {
+        final MockYouTube mock = new MockYouTube(url -> {
+            throw new StackOverflowError("test");
+        });
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+
+        try (YouTubeClient.ListPlaylistItems client = factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build()) {
+            client.withPrefetch(1);
+            // the caller must not wait forever for a page that will never arrive
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                assertThat(client.hasNext(), equalTo(true));
+                assertThrows(StackOverflowError.class, client::next);
+                assertThat(client.hasNext(), equalTo(false));
+            });
+        }
+    }
+
+    @Test
+    public void Given_PagedPlaylist_When_Stream_Then_AllItemsReturned() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubeClientTest::playlistPage);
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+
+        try (Stream<PlaylistItem> items = factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build().stream()) {
+            assertThat(items.map(PlaylistItem::getId).toList(), contains("item-1", "item-2", "item-3"));
+        }
+        assertThat(mock.getRequestCount(), equalTo(2));
+    }
+
+    @Test
+    public void Given_PagedPlaylist_When_StreamLimited_Then_LaterPagesNotRequested() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubeClientTest::playlistPage);
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+
+        try (Stream<PlaylistItem> items = factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build().stream()) {
+            assertThat(items.limit(2).map(PlaylistItem::getId).toList(), contains("item-1", "item-2"));
+        }
+        assertThat(mock.getRequestCount(), equalTo(1));
+    }
+
+    @Test
+    public void Given_QuotaBudgetExhausted_When_Iterate_Then_ExceptionThrownWithoutRequest() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubeClientTest::playlistPage);
+        final YouTubeQuotaScheduler quota = mock.quota();
+        quota.exhausted();
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), quota);
+
+        final YouTubeClient.ListPlaylistItems client = factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build();
+        assertThrows(YouTubeQuotaExceededException.class, client::next);
+        assertThat(client.hasNext(), equalTo(false));
+        assertThat(mock.getRequestCount(), equalTo(0));
+    }
+
+    @Test
+    public void Given_QuotaExceededResponse_When_Iterate_Then_BudgetExhausted() throws IOException {
+        final MockYouTube mock = new MockYouTube(url -> MockYouTube.error(403, "youtube.quota", "quotaExceeded"));
+        final YouTubeQuotaScheduler quota = mock.quota();
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), quota);
+
+        assertThrows(YouTubeQuotaExceededException.class, factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build()::next);
+        assertThat(quota.getStatus().remaining(), equalTo(0L));
+    }
+
+    @Test
+    public void Given_StaleCacheEntry_When_NotModified_Then_CachedResponseReturned() throws IOException {
+        final List<String> ifNoneMatch = new ArrayList<>();
+        final MockYouTube mock = new MockYouTube((url, request) -> {
+            final String etag = request.getFirstHeaderValue("If-None-Match");
+            ifNoneMatch.add(etag);
+            return (etag == null) ? playlistPage("pageToken=page2") : MockYouTube.notModified();
+        });
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(Duration.ZERO), mock.quota());
+
+        assertThat(drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build()), contains("item-3"));
+        final Instant lastUpdated = mock.getEntries().get(0).getLastUpdated();
+
+        assertThat(drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build()), contains("item-3"));
+        assertThat(ifNoneMatch, contains(nullValue(), equalTo("\"etag-2\"")));
+        assertThat(mock.getEntries().size(), equalTo(1));
+        assertThat(mock.getEntries().get(0).getLastUpdated(), greaterThanOrEqualTo(lastUpdated));
+    }
+
+    @Test
+    public void Given_StaleCacheEntry_When_Modified_Then_EntryReplaced() throws IOException {
+        final MockYouTube mock = new MockYouTube(url -> playlistPage("pageToken=page2"));
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(Duration.ZERO), mock.quota());
+
+        drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build());
+        drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build());
+
+        assertThat(mock.getRequestCount(), equalTo(2));
+        assertThat(mock.getEntries().size(), equalTo(1));
+    }
+
+    @Test
+    public void Given_FreshCacheEntry_When_Iterate_Then_NoRequest() throws IOException {
+        final MockYouTube mock = new MockYouTube(url -> playlistPage("pageToken=page2"));
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(Duration.ofHours(1)), mock.quota());
+
+        drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build());
+        assertThat(drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build()), contains("item-3"));
+
+        assertThat(mock.getRequestCount(), equalTo(1));
+    }
+
+    @Test
+    public void Given_Response_When_Cached_Then_ResponseBodyStoredVerbatim() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubeClientTest::playlistPage);
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+
+        assertThat(drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build()), contains("item-1", "item-2", "item-3"));
+
+        assertThat(mock.getEntries().size(), equalTo(2));
+        assertThat(mock.getEntries().get(0).getContent(), equalTo(PAGE_1));
+        assertThat(mock.getEntries().get(1).getContent(), equalTo(PAGE_2));
+    }
+
+    @Test
+    public void Given_LargeResponse_When_Update_Then_ItemsConvertedWhileResponseIsRead() throws IOException {
+        final String description = "x".repeat(64 * 1024);
+        final List<String> items = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            items.add(String.format("{ \"kind\": \"youtube#playlistItem\", \"id\": \"item-%d\", \"snippet\": { \"description\": \"%s\" } }", i, description));
+        }
+        final String body = "{ \"kind\": \"youtube#playlistItemListResponse\", \"etag\": \"etag-1\", \"items\": [ "
+                + String.join(", ", items) + " ] }\n";
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        final AtomicLong read = new AtomicLong();
+        final MockYouTube mock = new MockYouTube(url -> {
+            final MockLowLevelHttpResponse response = MockYouTube.ok("");
+            response.setContent(new FilterInputStream(new ByteArrayInputStream(bytes)) {
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    final int n = super.read(b, off, len);
+                    read.addAndGet(Math.max(n, 0));
+                    return n;
+                }
+            });
+            return response;
+        });
+
+        // the bytes read when each item is converted
+        final List<Long> readWhenConverted = new ArrayList<>();
+        final YouTubeClientState<PlaylistItem, ?, ?, com.google.api.services.youtube.model.PlaylistItem> state = new YouTubeClientState<>(
+                mock.youTube().playlistItems().list(List.of("snippet")).setPlaylistId(TEST_PLAYLIST_ID),
+                item -> {
+                    readWhenConverted.add(read.get());
+                    return ClientForPlaylistItemListFactory.convert(item);
+                }, mock.cache(), mock.quota());
+        state.update();
+
+        assertThat(state.getItems().stream().map(PlaylistItem::getId).toList(), contains("item-1", "item-2", "item-3"));
+        assertThat(state.getItems().get(0).getParentEtag(), equalTo("etag-1"));
+        assertThat(readWhenConverted.size(), equalTo(3));
+        assertThat(readWhenConverted.get(0), lessThan((long) bytes.length / 2));
+        assertThat(read.get(), equalTo((long) bytes.length));
+        assertThat(mock.getEntries().get(0).getContent(), equalTo(body));
+    }
+
+    @Test
+    public void Given_PagedPlaylist_When_IterateTwice_Then_MetricsRecorded() throws IOException {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(registry);
+        try {
+            final MockYouTube mock = new MockYouTube(YouTubeClientTest::playlistPage);
+            final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+
+            drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build());
+            drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build());
+
+            final String kind = "youtube#playlistItemListResponse";
+            assertThat(registry.get(YouTubeApiMetrics.UPDATE).tags("kind", kind, "source", YouTubeApiMetrics.SOURCE_YOUTUBE, "exception", "none").timer().count(), equalTo(2L));
+            assertThat(registry.get(YouTubeApiMetrics.UPDATE).tags("kind", kind, "source", YouTubeApiMetrics.SOURCE_CACHE, "exception", "none").timer().count(), equalTo(2L));
+            assertThat(registry.get(YouTubeApiMetrics.RESPONSE_BYTES).tag("kind", kind).summary().totalAmount(), equalTo((double) (PAGE_1.length() + PAGE_2.length())));
+            assertThat(registry.get(YouTubeApiMetrics.ITEMS).tag("kind", kind).summary().totalAmount(), equalTo(6.0));
+            assertThat(registry.get(YouTubeApiMetrics.PAGES).tag("kind", kind).summary().mean(), equalTo(2.0));
+            assertThat(registry.get(YouTubeApiMetrics.QUOTA_UNITS).tag("kind", kind).counter().count(), equalTo(2.0));
+            assertThat(registry.get(YouTubeApiMetrics.CACHE_GET).tag("result", YouTubeApiMetrics.CACHE_MISS).timer().count(), equalTo(2L));
+            assertThat(registry.get(YouTubeApiMetrics.CACHE_GET).tag("result", YouTubeApiMetrics.CACHE_MEMORY).timer().count(), equalTo(2L));
+        } finally {
+            Metrics.globalRegistry.remove(registry);
+        }
+    }
+
+    @Test
+    public void Given_SummaryProfile_When_Iterate_Then_FieldsRequestedAndProfileInCacheKey() throws IOException {
+        final List<String> urls = new ArrayList<>();
+        final MockYouTube mock = new MockYouTube(url -> {
+            urls.add(url);
+            return playlistPage("pageToken=page2");
+        });
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+
+        drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).build());
+        drain(factory.newBuilder().withPlaylistId(TEST_PLAYLIST_ID).withProfile(Constants.Profile.SUMMARY).build());
+
+        assertThat(urls.get(0), not(containsString("fields=")));
+        assertThat(urls.get(1), containsString("fields="));
+        assertThat(mock.getEntries().get(0).getRequestJson(), not(containsString("SUMMARY")));
+        assertThat(mock.getEntries().get(1).getRequestJson(), containsString("\"profile\":\"SUMMARY\""));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service.youTubeClient;
+
+import com.coyotesong.dojo.youtube.model.Video;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Test YouTubeMicroBatcher
+ */
+public class YouTubeMicroBatcherTest {
+
+    @NotNull
+    static Video video(@NotNull String id) {
+        final Video video = new Video();
+        video.setId(id);
+        return video;
+    }
+
+    @Test
+    public void Given_ConcurrentLookups_When_Get_Then_SingleBatchLoaded() throws Exception {
+        final List<List<String>> batches = new CopyOnWriteArrayList<>();
+        final YouTubeMicroBatcher.Lookup<Video> lookup = new YouTubeMicroBatcher(Duration.ofMillis(200))
+                .newLookup(Video::getId, ids -> {
+                    batches.add(ids);
+                    // 'missing' isn't returned, like an unknown video
+                    return ids.stream().filter(id -> !"missing".equals(id)).map(YouTubeMicroBatcherTest::video).toList();
+                });
+
+        final List<String> ids = List.of("v1", "v2", "v3", "v4", "missing");
+        final List<Future<Video>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String id : ids) {
+                futures.add(executor.submit((Callable<Video>) () -> lookup.get(id)));
+            }
+
+            for (int i = 0; i < ids.size() - 1; i++) {
+                assertThat(futures.get(i).get().getId(), equalTo(ids.get(i)));
+            }
+            assertThat(futures.get(ids.size() - 1).get(), nullValue());
+        }
+
+        assertThat(batches, hasSize(1));
+        assertThat(batches.get(0), containsInAnyOrder(ids.toArray()));
+    }
+
+    @Test
+    public void Given_CachedIds_When_Get_Then_ReturnedWithoutBatching() {
+        final List<List<String>> batches = new CopyOnWriteArrayList<>();
+        // the window is far longer than the test timeout
+        final YouTubeMicroBatcher.Lookup<Video> lookup = new YouTubeMicroBatcher(Duration.ofHours(1))
+                .newLookup(Video::getId,
+                        id -> "missing".equals(id) ? List.of() : List.of(video(id)),
+                        ids -> {
+                            batches.add(ids);
+                            return List.of();
+                        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThat(lookup.get("v1").getId(), equalTo("v1"));
+            assertThat(lookup.get("missing"), nullValue());
+        });
+        assertThat(batches, hasSize(0));
+    }
+
+    @Test
+    public void Given_FullBatch_When_Get_Then_LoadedWithoutWaiting() throws Exception {
+        final List<List<String>> batches = new CopyOnWriteArrayList<>();
+        // the window is far longer than the test timeout
+        final YouTubeMicroBatcher.Lookup<Video> lookup = new YouTubeMicroBatcher(Duration.ofHours(1))
+                .newLookup(Video::getId, ids -> {
+                    batches.add(ids);
+                    return ids.stream().map(YouTubeMicroBatcherTest::video).toList();
+                });
+
+        final List<Future<Video>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < YouTubeMultiGet.MAX_IDS_PER_REQUEST; i++) {
+                final String id = "v" + i;
+                futures.add(executor.submit((Callable<Video>) () -> lookup.get(id)));
+            }
+            for (Future<Video> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(batches, hasSize(1));
+        assertThat(batches.get(0), hasSize(YouTubeMultiGet.MAX_IDS_PER_REQUEST));
+    }
+
+    @Test
+    public void Given_BatchFails_When_Get_Then_ExceptionRethrown() {
+        final YouTubeMicroBatcher.Lookup<Video> lookup = new YouTubeMicroBatcher(Duration.ofMillis(1))
+                .newLookup(Video::getId, ids -> {
+                    throw new IOException("failed");
+                });
+
+        assertThrows(IOException.class, () -> lookup.get("v1"));
+    }
+
+    @Test
+    public void Given_ZeroWindow_When_Get_Then_LoadedDirectly() throws IOException {
+        final List<List<String>> batches = new ArrayList<>();
+        final YouTubeMicroBatcher.Lookup<Video> lookup = new YouTubeMicroBatcher(Duration.ZERO)
+                .newLookup(Video::getId, ids -> {
+                    batches.add(ids);
+                    return ids.stream().map(YouTubeMicroBatcherTest::video).toList();
+                });
+
+        assertThat(lookup.get("v1").getId(), equalTo("v1"));
+        assertThat(batches, hasSize(1));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service.youTubeClient;
+
+import com.coyotesong.dojo.youtube.config.MockYouTube;
+import com.coyotesong.dojo.youtube.model.PlaylistItem;
+import com.coyotesong.dojo.youtube.service.YouTubeQuotaExceededException;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test YouTubeMultiGet chunking and ordering
+ */
+public class YouTubeMultiGetTest {
+    private static final Pattern ID_PATTERN = Pattern.compile("[?&]id=([^&]*)");
+
+    /**
+     * Echo the requested ids back as playlist items. Earlier chunks are slower so they
+     * complete after the later ones.
+     */
+    @NotNull
+    static MockLowLevelHttpResponse echo(@NotNull String url) {
+        final List<String> ids = new ArrayList<>();
+        final Matcher m = ID_PATTERN.matcher(url);
+        while (m.find()) {
+            ids.addAll(List.of(URLDecoder.decode(m.group(1), StandardCharsets.UTF_8).split(",")));
+        }
+
+        try {
+            Thread.sleep(ids.get(0).equals("id-000") ? 200 : 10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        final String items = ids.stream()
+                .map(id -> String.format("{ \"kind\": \"youtube#playlistItem\", \"etag\": \"e\", \"id\": \"%s\" }", id))
+                .collect(Collectors.joining(","));
+        return MockYouTube.ok("{ \"kind\": \"youtube#playlistItemListResponse\", \"etag\": \"etag\", \"items\": [" + items + "] }");
+    }
+
+    @NotNull
+    static List<String> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> String.format("id-%03d", i)).toList();
+    }
+
+    @Test
+    public void Given_MoreThanOneChunk_When_GetAll_Then_ResultsInInputOrder() throws IOException {
+        final MockYouTube mock = new MockYouTube(YouTubeMultiGetTest::echo);
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+        final YouTubeMultiGet multiGet = new YouTubeMultiGet(4);
+        final List<String> ids = ids(120);
+
+        final List<PlaylistItem> items = multiGet.getAll(ids, list -> factory.newBuilder().withIds(list).build());
+
+        assertThat(items.stream().map(PlaylistItem::getId).toList(), equalTo(ids));
+        assertThat(mock.getRequestCount(), equalTo(3));
+    }
+
+    @Test
+    public void Given_QuotaExceeded_When_GetAll_Then_ExceptionNotWrapped() {
+        final MockYouTube mock = new MockYouTube(url -> MockYouTube.error(403, "youtube.quota", "quotaExceeded"));
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+        final YouTubeMultiGet multiGet = new YouTubeMultiGet(2);
+
+        assertThrows(YouTubeQuotaExceededException.class,
+                () -> multiGet.getAll(ids(120), list -> factory.newBuilder().withIds(list).build()));
+    }
+
+    @Test
+    public void Given_ChunkFails_When_GetAll_Then_RemainingChunksNotRequested() {
+        final MockYouTube mock = new MockYouTube(url -> MockYouTube.error(403, "youtube.quota", "quotaExceeded"));
+        final ClientForPlaylistItemListFactory factory = new ClientForPlaylistItemListFactory(mock.youTube(), mock.cache(), mock.quota());
+        final YouTubeMultiGet multiGet = new YouTubeMultiGet(1);
+
+        assertThrows(YouTubeQuotaExceededException.class,
+                () -> multiGet.getAll(ids(500), list -> factory.newBuilder().withIds(list).build()));
+
+        // one chunk at a time so only the failed chunk was requested
+        assertThat(mock.getRequestCount(), equalTo(1));
+    }
+}
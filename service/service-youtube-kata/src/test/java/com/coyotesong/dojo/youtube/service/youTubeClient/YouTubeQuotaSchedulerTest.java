@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.service.youTubeClient;
+
+import com.coyotesong.dojo.youtube.service.YouTubeQuotaExceededException;
+import com.google.api.services.youtube.YouTube;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test YouTubeQuotaScheduler
+ */
+public class YouTubeQuotaSchedulerTest {
+    // 6:00 AM Pacific time
+    private static final Instant START = ZonedDateTime.of(2024, 3, 1, 6, 0, 0, 0, YouTubeQuotaScheduler.RESET_ZONE).toInstant();
+    private static final Instant MIDNIGHT = ZonedDateTime.of(2024, 3, 2, 0, 0, 0, 0, YouTubeQuotaScheduler.RESET_ZONE).toInstant();
+
+    /**
+     * Clock that only moves when we tell it to.
+     */
+    static class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(@NotNull Instant now) {
+            this.now = now;
+        }
+
+        void advance(@NotNull Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    public void Given_RequestClasses_When_CostOf_Then_EndpointCostReturned() {
+        assertThat(YouTubeQuotaScheduler.costOf(YouTube.Search.List.class), equalTo(100));
+        assertThat(YouTubeQuotaScheduler.costOf(YouTube.Captions.List.class), equalTo(50));
+        assertThat(YouTubeQuotaScheduler.costOf(YouTube.Videos.List.class), equalTo(1));
+    }
+
+    @Test
+    public void Given_Budget_When_Acquire_Then_UnitsCharged() throws IOException {
+        final YouTubeQuotaScheduler quota = new YouTubeQuotaScheduler(250, Duration.ZERO, new MutableClock(START));
+
+        quota.acquire(100);
+        quota.acquire(100);
+
+        final YouTubeQuotaScheduler.Status status = quota.getStatus();
+        assertThat(status.used(), equalTo(200L));
+        assertThat(status.remaining(), equalTo(50L));
+        assertThat(status.resetAt(), equalTo(MIDNIGHT));
+        assertThrows(YouTubeQuotaExceededException.class, () -> quota.acquire(100));
+        assertThat(quota.getStatus().remaining(), equalTo(50L));
+    }
+
+    @Test
+    public void Given_ExhaustedBudget_When_ResetPassed_Then_BudgetRefilled() throws IOException {
+        final MutableClock clock = new MutableClock(START);
+        final YouTubeQuotaScheduler quota = new YouTubeQuotaScheduler(100, Duration.ZERO, clock);
+        quota.acquire(100);
+
+        clock.advance(Duration.ofHours(18));
+        quota.acquire(100);
+
+        assertThat(quota.getStatus().resetAt(), equalTo(MIDNIGHT.plus(Duration.ofDays(1))));
+    }
+
+    @Test
+    public void Given_SteadyUsage_When_GetStatus_Then_ExhaustionForecast() throws IOException {
+        final MutableClock clock = new MutableClock(START);
+        final YouTubeQuotaScheduler quota = new YouTubeQuotaScheduler(1000, Duration.ZERO, clock);
+
+        assertThat(quota.getStatus().forecastExhaustion(), nullValue());
+
+        // 250 units per hour -> remaining 750 units last another 3 hours
+        clock.advance(Duration.ofHours(1));
+        quota.acquire(250);
+        assertThat(quota.getStatus().forecastExhaustion(), equalTo(START.plus(Duration.ofHours(4))));
+
+        // 10 units per hour won't run out before midnight
+        final YouTubeQuotaScheduler idle = new YouTubeQuotaScheduler(1000, Duration.ZERO, clock);
+        clock.advance(Duration.ofHours(1));
+        idle.acquire(10);
+        assertThat(idle.getStatus().forecastExhaustion(), nullValue());
+    }
+
+    @Test
+    public void Given_ResetWithinMaxWait_When_Acquire_Then_RequestQueued() throws Exception {
+        final MutableClock clock = new MutableClock(MIDNIGHT.minusMillis(200));
+        final YouTubeQuotaScheduler quota = new YouTubeQuotaScheduler(100, Duration.ofMinutes(1), clock);
+        quota.exhausted();
+
+        final CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+            try {
+                quota.acquire(1);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        while (quota.getStatus().queued() == 0) {
+            Thread.sleep(10);
+        }
+        assertThat(waiting.isDone(), equalTo(false));
+
+        clock.advance(Duration.ofSeconds(1));
+        waiting.get(5, TimeUnit.SECONDS);
+        assertThat(quota.getStatus().remaining(), equalTo(99L));
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.coyotesong.dojo.youtube.replay;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recorded request/response pair.
+ *
+ * @param key         canonical request - see {@link FixtureStore#keyOf(String, String)}
+ * @param statusCode  HTTP status code
+ * @param contentType response content type
+ * @param headers     other response headers (e.g., 'ETag')
+ * @param body        response body, after any content encoding has been removed
+ */
+public record Fixture(@NotNull String key, int statusCode, @Nullable String contentType,
+                      @NotNull Map<String, List<String>> headers, @NotNull String body) {
+}
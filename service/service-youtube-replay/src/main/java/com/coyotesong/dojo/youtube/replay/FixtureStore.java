@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.coyotesong.dojo.youtube.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.api.client.http.GenericUrl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Directory of recorded fixtures, one JSON file per request.
+ * <p>
+ * Fixtures are keyed like the YouTube API cache: the request path and its query
+ * parameters, sorted, without the credentials. The file name is the SHA-256 hash
+ * of the key so it's safe on every filesystem.
+ * </p>
+ * <p>
+ * All fixtures are loaded into memory when the store is created so replay never
+ * touches the disk.
+ * </p>
+ */
+public class FixtureStore {
+    private static final Logger LOG = LoggerFactory.getLogger(FixtureStore.class);
+
+    // these identify the caller, not the request
+    private static final Set<String> IGNORED_PARAMETERS = Set.of("key", "access_token", "oauth_token", "quotaUser", "userIp", "prettyPrint");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Path directory;
+    private final ConcurrentMap<String, Fixture> fixtures = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param directory fixture directory. It's created if necessary.
+     * @throws IOException unable to create the directory or read a fixture
+     */
+    public FixtureStore(@NotNull Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".json")).toList()) {
+                final Fixture fixture = MAPPER.readValue(file.toFile(), Fixture.class);
+                fixtures.put(fixture.key(), fixture);
+            }
+        }
+        LOG.info("loaded {} fixtures from {}", fixtures.size(), directory);
+    }
+
+    /**
+     * Canonical request.
+     *
+     * @param method HTTP method
+     * @param url    request URL
+     * @return canonical request, e.g., 'GET /youtube/v3/videos?id=abc&amp;part=id,snippet'
+     */
+    @NotNull
+    public static String keyOf(@NotNull String method, @NotNull String url) {
+        final GenericUrl genericUrl = new GenericUrl(url);
+        final Map<String, List<String>> parameters = new TreeMap<>();
+        for (Map.Entry<String, Object> entry : genericUrl.entrySet()) {
+            if (IGNORED_PARAMETERS.contains(entry.getKey())) {
+                continue;
+            }
+            final List<String> values = new ArrayList<>();
+            if (entry.getValue() instanceof Collection<?> c) {
+                c.forEach(v -> values.add(String.valueOf(v)));
+            } else {
+                values.add(String.valueOf(entry.getValue()));
+            }
+            Collections.sort(values);
+            parameters.put(entry.getKey(), values);
+        }
+
+        final StringBuilder sb = new StringBuilder(method).append(' ').append(genericUrl.getRawPath());
+        char separator = '?';
+        for (Map.Entry<String, List<String>> entry : parameters.entrySet()) {
+            sb.append(separator).append(entry.getKey()).append('=').append(String.join(",", entry.getValue()));
+            separator = '&';
+        }
+        return sb.toString();
+    }
+
+    @NotNull
+    static String fileNameOf(@NotNull String key) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash) + ".json";
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @NotNull
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int size() {
+        return fixtures.size();
+    }
+
+    @Nullable
+    public Fixture get(@NotNull String key) {
+        return fixtures.get(key);
+    }
+
+    /**
+     * Save fixture, replacing any previous recording of the same request.
+     *
+     * @param fixture fixture
+     */
+    public void put(@NotNull Fixture fixture) {
+        final Path file = directory.resolve(fileNameOf(fixture.key()));
+        try {
+            // write and rename so a concurrent reader never sees a partial file
+            final Path tmp = Files.createTempFile(directory, "fixture", ".tmp");
+            MAPPER.writeValue(tmp.toFile(), fixture);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to save fixture '" + fixture.key() + "'", e);
+        }
+        fixtures.put(fixture.key(), fixture);
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.coyotesong.dojo.youtube.replay;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpContent;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpStatusCodes;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HttpTransport that records YouTube API responses and replays them without a network.
+ * <p>
+ * In record mode every request is sent to the delegate transport and the response is
+ * saved in the fixture store. In replay mode the response is served from the fixture
+ * store and nothing is sent anywhere. Replay can inject latency, server errors and
+ * '403 quotaExceeded' errors so load tests can exercise the retry, circuit breaker and
+ * quota logic.
+ * </p>
+ * <p>
+ * Injected faults are drawn from a seeded random sequence so a single-threaded run is
+ * repeatable.
+ * </p>
+ * <p>
+ * Conditional requests aren't replayed - 'If-None-Match' is ignored and the recorded
+ * response is always returned. '304 Not Modified' responses aren't recorded.
+ * </p>
+ */
+public class RecordReplayHttpTransport extends HttpTransport {
+    private static final Logger LOG = LoggerFactory.getLogger(RecordReplayHttpTransport.class);
+
+    private static final String JSON = "application/json; charset=UTF-8";
+
+    // headers that describe the original encoding, not the recorded body
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-encoding", "content-length", "content-type", "transfer-encoding", "connection", "date");
+
+    static final String QUOTA_EXCEEDED = """
+            {"error":{"code":403,"message":"The request cannot be completed because you have exceeded your quota.","errors":[{"message":"The request cannot be completed because you have exceeded your quota.","domain":"youtube.quota","reason":"quotaExceeded"}]}}""";
+
+    static final String BACKEND_ERROR = """
+            {"error":{"code":503,"message":"The service is currently unavailable.","errors":[{"message":"The service is currently unavailable.","domain":"global","reason":"backendError"}]}}""";
+
+    static final String NOT_RECORDED = """
+            {"error":{"code":404,"message":"No fixture recorded for this request.","errors":[{"message":"No fixture recorded for this request.","domain":"replay","reason":"notRecorded"}]}}""";
+
+    private final FixtureStore store;
+
+    @Nullable
+    private final HttpTransport delegate;
+
+    private final Duration minLatency;
+    private final Duration maxLatency;
+    private final double errorRate;
+    private final double quotaErrorRate;
+    private final long seed;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Builder
+     */
+    public static class Builder {
+        private final FixtureStore store;
+        private HttpTransport delegate;
+        private Duration minLatency = Duration.ZERO;
+        private Duration maxLatency = Duration.ZERO;
+        private double errorRate;
+        private double quotaErrorRate;
+        private long seed = 1L;
+
+        public Builder(@NotNull FixtureStore store) {
+            this.store = store;
+        }
+
+        /**
+         * Record responses from this transport instead of replaying them.
+         *
+         * @param delegate real transport
+         * @return this builder
+         */
+        public Builder withRecording(@NotNull HttpTransport delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * Injected latency, uniformly distributed between min and max.
+         *
+         * @param min minimum latency
+         * @param max maximum latency
+         * @return this builder
+         */
+        public Builder withLatency(@NotNull Duration min, @NotNull Duration max) {
+            if (min.isNegative() || (max.compareTo(min) < 0)) {
+                throw new IllegalArgumentException("'min' must not be negative and 'max' must not be less than 'min'");
+            }
+            this.minLatency = min;
+            this.maxLatency = max;
+            return this;
+        }
+
+        /**
+         * Fraction of requests that fail with '503 backendError'.
+         *
+         * @param errorRate fraction from 0.0 to 1.0
+         * @return this builder
+         */
+        public Builder withErrorRate(double errorRate) {
+            if (!(0.0 <= errorRate && errorRate <= 1.0)) {
+                throw new IllegalArgumentException("'errorRate' is not in the range from 0.0 to 1.0, inclusive");
+            }
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Fraction of requests that fail with '403 quotaExceeded'.
+         *
+         * @param quotaErrorRate fraction from 0.0 to 1.0
+         * @return this builder
+         */
+        public Builder withQuotaErrorRate(double quotaErrorRate) {
+            if (!(0.0 <= quotaErrorRate && quotaErrorRate <= 1.0)) {
+                throw new IllegalArgumentException("'quotaErrorRate' is not in the range from 0.0 to 1.0, inclusive");
+            }
+            this.quotaErrorRate = quotaErrorRate;
+            return this;
+        }
+
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public RecordReplayHttpTransport build() {
+            if (errorRate + quotaErrorRate > 1.0) {
+                throw new IllegalArgumentException("'errorRate' and 'quotaErrorRate' must not total more than 1.0");
+            }
+            return new RecordReplayHttpTransport(this);
+        }
+    }
+
+    private RecordReplayHttpTransport(@NotNull Builder builder) {
+        this.store = builder.store;
+        this.delegate = builder.delegate;
+        this.minLatency = builder.minLatency;
+        this.maxLatency = builder.maxLatency;
+        this.errorRate = builder.errorRate;
+        this.quotaErrorRate = builder.quotaErrorRate;
+        this.seed = builder.seed;
+    }
+
+    public boolean isRecording() {
+        return delegate != null;
+    }
+
+    @Override
+    public boolean supportsMethod(String method) {
+        return true;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new Request(method, url);
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+        if (delegate != null) {
+            delegate.shutdown();
+        }
+    }
+
+    private class Request extends LowLevelHttpRequest {
+        private final String method;
+        private final String url;
+        private final Map<String, List<String>> headers = new LinkedHashMap<>();
+
+        Request(@NotNull String method, @NotNull String url) {
+            this.method = method;
+            this.url = url;
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+        }
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+            final String key = FixtureStore.keyOf(method, url);
+            return isRecording() ? record(key) : replay(key);
+        }
+
+        @NotNull
+        private LowLevelHttpResponse record(@NotNull String key) throws IOException {
+            final HttpContent content;
+            if (getStreamingContent() != null) {
+                final ByteArrayOutputStream os = new ByteArrayOutputStream();
+                getStreamingContent().writeTo(os);
+                content = new ByteArrayContent(getContentType(), os.toByteArray());
+            } else {
+                content = null;
+            }
+
+            final HttpRequest request = delegate.createRequestFactory().buildRequest(method, new GenericUrl(url), content);
+            final HttpHeaders requestHeaders = new HttpHeaders();
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                requestHeaders.set(header.getKey(), header.getValue());
+            }
+            request.setHeaders(requestHeaders);
+            request.setThrowExceptionOnExecuteError(false);
+            request.setFollowRedirects(false);
+            request.setNumberOfRetries(0);
+
+            // the delegate removes the content encoding so the fixture is plain JSON
+            final HttpResponse response = request.execute();
+            final Fixture fixture;
+            try (InputStream is = response.getContent()) {
+                final byte[] body = (is == null) ? new byte[0] : is.readAllBytes();
+                final Map<String, List<String>> responseHeaders = new LinkedHashMap<>();
+                for (Map.Entry<String, Object> header : response.getHeaders().entrySet()) {
+                    if (!SKIPPED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT)) && (header.getValue() instanceof List<?> values)) {
+                        responseHeaders.put(header.getKey(), values.stream().map(String::valueOf).toList());
+                    }
+                }
+                fixture = new Fixture(key, response.getStatusCode(), response.getContentType(), responseHeaders,
+                        new String(body, response.getContentCharset()));
+            } finally {
+                response.disconnect();
+            }
+
+            if (fixture.statusCode() != HttpStatusCodes.STATUS_CODE_NOT_MODIFIED) {
+                LOG.info("recorded {} -> {}", key, fixture.statusCode());
+                store.put(fixture);
+            }
+            return new Response(fixture);
+        }
+
+        @NotNull
+        private LowLevelHttpResponse replay(@NotNull String key) throws IOException {
+            final SplittableRandom random = new SplittableRandom(seed + sequence.getAndIncrement());
+
+            final long latency = minLatency.toNanos() + ((maxLatency.compareTo(minLatency) > 0) ? random.nextLong(maxLatency.toNanos() - minLatency.toNanos() + 1) : 0L);
+            if (latency > 0L) {
+                try {
+                    Thread.sleep(Duration.ofNanos(latency));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    final InterruptedIOException ex = new InterruptedIOException("interrupted during injected latency");
+                    ex.initCause(e);
+                    throw ex;
+                }
+            }
+
+            final double r = random.nextDouble();
+            if (r < quotaErrorRate) {
+                return new Response(new Fixture(key, HttpStatusCodes.STATUS_CODE_FORBIDDEN, JSON, Map.of(), QUOTA_EXCEEDED));
+            }
+            if (r < quotaErrorRate + errorRate) {
+                return new Response(new Fixture(key, HttpStatusCodes.STATUS_CODE_SERVICE_UNAVAILABLE, JSON, Map.of(), BACKEND_ERROR));
+            }
+
+            final Fixture fixture = store.get(key);
+            if (fixture == null) {
+                LOG.warn("no fixture recorded for {}", key);
+                return new Response(new Fixture(key, HttpStatusCodes.STATUS_CODE_NOT_FOUND, JSON, Map.of(), NOT_RECORDED));
+            }
+            return new Response(fixture);
+        }
+    }
+
+    private static class Response extends LowLevelHttpResponse {
+        private final Fixture fixture;
+        private final byte[] body;
+        private final List<String> names = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+
+        Response(@NotNull Fixture fixture) {
+            this.fixture = fixture;
+            this.body = fixture.body().getBytes(StandardCharsets.UTF_8);
+            for (Map.Entry<String, List<String>> header : fixture.headers().entrySet()) {
+                for (String value : header.getValue()) {
+                    names.add(header.getKey());
+                    values.add(value);
+                }
+            }
+        }
+
+        @Override
+        public InputStream getContent() {
+            return new ByteArrayInputStream(body);
+        }
+
+        /**
+         * The body is always stored without content encoding
+         */
+        @Override
+        @Nullable
+        public String getContentEncoding() {
+            return null;
+        }
+
+        @Override
+        public long getContentLength() {
+            return body.length;
+        }
+
+        /**
+         * The body is always stored as UTF-8
+         */
+        @Override
+        @Nullable
+        public String getContentType() {
+            return (fixture.contentType() == null) ? null : fixture.contentType().replaceAll("(?i)charset=[^;]+", "charset=UTF-8");
+        }
+
+        @Override
+        public String getStatusLine() {
+            return "HTTP/1.1 " + fixture.statusCode();
+        }
+
+        @Override
+        public int getStatusCode() {
+            return fixture.statusCode();
+        }
+
+        @Override
+        @Nullable
+        public String getReasonPhrase() {
+            return null;
+        }
+
+        @Override
+        public int getHeaderCount() {
+            return names.size();
+        }
+
+        @Override
+        public String getHeaderName(int index) {
+            return names.get(index);
+        }
+
+        @Override
+        public String getHeaderValue(int index) {
+            return values.get(index);
+        }
+    }
+}
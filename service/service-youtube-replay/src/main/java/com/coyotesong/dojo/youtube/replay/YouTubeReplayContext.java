@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.replay;
+
+import com.google.api.client.http.HttpTransport;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Replaces the application's HttpTransport when the 'record' or 'replay' profile is active.
+ * <p>
+ * 'record' wraps the application's transport and saves every response in the fixture
+ * directory. 'replay' serves the saved responses without a network, e.g., for load tests.
+ * The application only needs this module on its classpath and this package in its
+ * component scan - it doesn't refer to any of these classes.
+ * </p>
+ */
+@Configuration
+@Profile({"record", "replay"})
+public class YouTubeReplayContext {
+    private static final Logger LOG = LoggerFactory.getLogger(YouTubeReplayContext.class);
+
+    /**
+     * Wrap or replace the HttpTransport bean
+     *
+     * @param environment active profiles and 'youtube.http.replay.*' properties
+     * @return bean post-processor
+     */
+    @Bean
+    public static BeanPostProcessor recordReplayTransport(@NotNull Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NotNull Object bean, @NotNull String beanName) throws BeansException {
+                if (!(bean instanceof HttpTransport transport) || (bean instanceof RecordReplayHttpTransport)) {
+                    return bean;
+                }
+                try {
+                    return newTransport(environment, transport);
+                } catch (IOException e) {
+                    throw new BeanCreationException(beanName, "unable to load fixtures", e);
+                }
+            }
+        };
+    }
+
+    @NotNull
+    static RecordReplayHttpTransport newTransport(@NotNull Environment environment, @NotNull HttpTransport transport) throws IOException {
+        final Path directory = Path.of(environment.getProperty("youtube.http.replay.directory",
+                System.getProperty("user.home") + "/.cache/youtube-dojo/fixtures"));
+        final RecordReplayHttpTransport.Builder builder = new RecordReplayHttpTransport.Builder(new FixtureStore(directory));
+
+        if (environment.acceptsProfiles(Profiles.of("record"))) {
+            LOG.info("recording YouTube responses in {}", directory);
+            return builder.withRecording(transport).build();
+        }
+
+        LOG.info("replaying YouTube responses from {}", directory);
+        return builder
+                .withLatency(Duration.parse(environment.getProperty("youtube.http.replay.minLatency", "PT0S")),
+                        Duration.parse(environment.getProperty("youtube.http.replay.maxLatency", "PT0S")))
+                .withErrorRate(environment.getProperty("youtube.http.replay.errorRate", Double.class, 0.0))
+                .withQuotaErrorRate(environment.getProperty("youtube.http.replay.quotaErrorRate", Double.class, 0.0))
+                .withSeed(environment.getProperty("youtube.http.replay.seed", Long.class, 1L))
+                .build();
+    }
+}
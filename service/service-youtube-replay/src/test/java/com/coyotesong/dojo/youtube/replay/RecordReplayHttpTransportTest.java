@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.coyotesong.dojo.youtube.replay;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.Json;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.youtube.YouTube;
+import com.google.api.services.youtube.model.VideoListResponse;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test RecordReplayHttpTransport
+ */
+public class RecordReplayHttpTransportTest {
+    private static final String VIDEOS = """
+            { "kind": "youtube#videoListResponse", "etag": "etag-1",
+              "items": [ { "kind": "youtube#video", "etag": "e1", "id": "video-1" } ] }""";
+
+    private final AtomicInteger delegateCount = new AtomicInteger();
+
+    @TempDir
+    Path fixtures;
+
+    /**
+     * Stand-in for YouTube
+     */
+    private final HttpTransport youTube = new MockHttpTransport() {
+        @Override
+        public LowLevelHttpRequest buildRequest(String method, String url) {
+            return new MockLowLevelHttpRequest(url) {
+                @Override
+                public LowLevelHttpResponse execute() {
+                    delegateCount.incrementAndGet();
+                    return new MockLowLevelHttpResponse()
+                            .setContentType(Json.MEDIA_TYPE)
+                            .addHeader("ETag", "\"etag-1\"")
+                            .setContent(VIDEOS);
+                }
+            };
+        }
+    };
+
+    @NotNull
+    static VideoListResponse listVideos(@NotNull HttpTransport transport, @NotNull String apiKey) throws IOException {
+        final YouTube client = new YouTube.Builder(transport, new GsonFactory(), null).setApplicationName("test").build();
+        return client.videos().list(List.of("id", "snippet")).setId(List.of("video-1")).setKey(apiKey).execute();
+    }
+
+    @NotNull
+    static List<Integer> statusCodes(@NotNull RecordReplayHttpTransport transport, int count) throws IOException {
+        final List<Integer> statusCodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final HttpRequest request = transport.createRequestFactory().buildGetRequest(new GenericUrl("https://youtube.googleapis.com/youtube/v3/videos?part=id,snippet&id=video-1"));
+            request.setThrowExceptionOnExecuteError(false);
+            statusCodes.add(request.execute().getStatusCode());
+        }
+        return statusCodes;
+    }
+
+    @Test
+    public void Given_Request_When_KeyOf_Then_CredentialsRemovedAndParametersSorted() {
+        assertThat(FixtureStore.keyOf("GET", "https://youtube.googleapis.com/youtube/v3/videos?part=snippet&id=b&id=a&key=secret"),
+                equalTo("GET /youtube/v3/videos?id=a,b&part=snippet"));
+    }
+
+    @Test
+    public void Given_RecordedResponse_When_Replayed_Then_DelegateNotCalled() throws IOException {
+        final RecordReplayHttpTransport recorder = new RecordReplayHttpTransport.Builder(new FixtureStore(fixtures))
+                .withRecording(youTube)
+                .build();
+        assertThat(listVideos(recorder, "key-1").getItems().get(0).getId(), equalTo("video-1"));
+        assertThat(delegateCount.get(), equalTo(1));
+
+        // a new store reads the recording from disk - and the api key isn't part of the key
+        final RecordReplayHttpTransport replayer = new RecordReplayHttpTransport.Builder(new FixtureStore(fixtures)).build();
+        final VideoListResponse response = listVideos(replayer, "key-2");
+
+        assertThat(response.getEtag(), equalTo("etag-1"));
+        assertThat(response.getItems().get(0).getId(), equalTo("video-1"));
+        assertThat(delegateCount.get(), equalTo(1));
+        try (Stream<Path> files = Files.list(fixtures)) {
+            assertThat(files.count(), equalTo(1L));
+        }
+    }
+
+    @Test
+    public void Given_NoRecording_When_Replayed_Then_NotFound() throws IOException {
+        final RecordReplayHttpTransport replayer = new RecordReplayHttpTransport.Builder(new FixtureStore(fixtures)).build();
+
+        final GoogleJsonResponseException e = assertThrows(GoogleJsonResponseException.class, () -> listVideos(replayer, "key"));
+        assertThat(e.getStatusCode(), equalTo(404));
+    }
+
+    @Test
+    public void Given_QuotaErrorRate_When_Replayed_Then_QuotaExceeded() throws IOException {
+        final RecordReplayHttpTransport replayer = new RecordReplayHttpTransport.Builder(new FixtureStore(fixtures))
+                .withQuotaErrorRate(1.0)
+                .build();
+
+        final GoogleJsonResponseException e = assertThrows(GoogleJsonResponseException.class, () -> listVideos(replayer, "key"));
+        assertThat(e.getStatusCode(), equalTo(403));
+        assertThat(e.getDetails().getErrors().get(0).getDomain(), equalTo("youtube.quota"));
+    }
+
+    @Test
+    public void Given_ErrorRateAndSeed_When_Replayed_Then_ErrorsRepeatable() throws IOException {
+        final FixtureStore store = new FixtureStore(fixtures);
+        listVideos(new RecordReplayHttpTransport.Builder(store).withRecording(youTube).build(), "key");
+
+        final List<Integer> first = statusCodes(new RecordReplayHttpTransport.Builder(store).withErrorRate(0.5).withSeed(42L).build(), 20);
+        final List<Integer> second = statusCodes(new RecordReplayHttpTransport.Builder(store).withErrorRate(0.5).withSeed(42L).build(), 20);
+
+        assertThat(first, equalTo(second));
+        assertThat(first, hasItems(200, 503));
+    }
+
+    @Test
+    public void Given_Latency_When_Replayed_Then_ResponseDelayed() throws IOException {
+        final RecordReplayHttpTransport replayer = new RecordReplayHttpTransport.Builder(new FixtureStore(fixtures))
+                .withLatency(Duration.ofMillis(20), Duration.ofMillis(30))
+                .build();
+
+        final long start = System.nanoTime();
+        statusCodes(replayer, 2);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis(), greaterThanOrEqualTo(40L));
+    }
+}
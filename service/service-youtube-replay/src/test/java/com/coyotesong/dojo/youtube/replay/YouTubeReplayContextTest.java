@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024 Bear Giles <bgiles@coyotesong.com>.
+ * All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.coyotesong.dojo.youtube.replay;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.testing.http.MockHttpTransport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test YouTubeReplayContext
+ */
+public class YouTubeReplayContextTest {
+
+    @TempDir
+    Path fixtures;
+
+    private BeanPostProcessor postProcessor(String profile) {
+        final MockEnvironment environment = new MockEnvironment()
+                .withProperty("youtube.http.replay.directory", fixtures.toString())
+                .withProperty("youtube.http.replay.maxLatency", "PT0.01S");
+        environment.setActiveProfiles(profile);
+        return YouTubeReplayContext.recordReplayTransport(environment);
+    }
+
+    @Test
+    public void Given_RecordProfile_When_TransportCreated_Then_TransportRecorded() {
+        final HttpTransport transport = new MockHttpTransport();
+
+        final Object bean = postProcessor("record").postProcessAfterInitialization(transport, "httpTransport");
+
+        assertThat(bean, instanceOf(RecordReplayHttpTransport.class));
+        assertThat(((RecordReplayHttpTransport) bean).isRecording(), equalTo(true));
+    }
+
+    @Test
+    public void Given_ReplayProfile_When_TransportCreated_Then_TransportReplaced() {
+        final Object bean = postProcessor("replay").postProcessAfterInitialization(new MockHttpTransport(), "httpTransport");
+
+        assertThat(bean, instanceOf(RecordReplayHttpTransport.class));
+        assertThat(((RecordReplayHttpTransport) bean).isRecording(), equalTo(false));
+    }
+
+    @Test
+    public void Given_OtherBean_When_Created_Then_Unchanged() {
+        final Object bean = new Object();
+
+        assertThat(postProcessor("replay").postProcessAfterInitialization(bean, "other"), sameInstance(bean));
+    }
+}